@@ -0,0 +1,33 @@
+package com.banking.account.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "account-cache")
+@Data
+public class AccountCacheConfig {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum entries in the in-process LRU
+     */
+    private int localMaxSize = 10000;
+
+    /**
+     * Upper bound on how long an in-process entry is served if an invalidation event is missed
+     */
+    private long localTtlMs = 5000;
+
+    /**
+     * TTL of the shared Redis entry
+     */
+    private long redisTtlSeconds = 60;
+
+    /**
+     * Delay of the second eviction after a write commits; should exceed the time a load takes
+     */
+    private long secondEvictionDelayMs = 1000;
+}
@@ -0,0 +1,27 @@
+package com.banking.account.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "account-numbers")
+@Data
+public class AccountNumberConfig {
+
+    /**
+     * Database sequence the account number blocks are drawn from
+     */
+    private String sequenceName = "account_number_seq";
+
+    /**
+     * Account numbers reserved per sequence call; only applied when the sequence is created,
+     * afterwards the sequence's own increment is authoritative
+     */
+    private int blockSize = 1000;
+
+    /**
+     * Reserved IBAN digit stamped on sequence-allocated numbers
+     */
+    private int reservedDigit = 0;
+}
@@ -0,0 +1,82 @@
+package com.banking.account.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "event-sourcing")
+@Data
+public class EventSourcingConfig {
+
+    /**
+     * Take a snapshot every N events per account (0 disables automatic snapshots)
+     */
+    private int snapshotFrequency = 100;
+
+    /**
+     * Start replays from the latest snapshot when one exists
+     */
+    private boolean snapshotsEnabled = true;
+
+    /**
+     * Snapshot every account with activity on the previous day, so as-of queries
+     * never replay more than about a day of events
+     */
+    private boolean checkpointsEnabled = true;
+
+    /**
+     * When the daily checkpoint job runs
+     */
+    private String checkpointCron = "0 15 0 * * *";
+
+    /**
+     * Worker threads for bulk as-of balance queries (capped at half the connection pool)
+     */
+    private int asOfParallelism = 8;
+
+    /**
+     * Account-number ranges a projection rebuild is split into (fixed for the lifetime of a run)
+     */
+    private int rebuildPartitions = 16;
+
+    /**
+     * Partitions rebuilt concurrently; each uses two database connections
+     */
+    private int rebuildParallelism = 4;
+
+    /**
+     * JDBC cursor fetch size when streaming events
+     */
+    private int rebuildFetchSize = 5000;
+
+    /**
+     * Accounts written per upsert batch (and per checkpoint)
+     */
+    private int rebuildBatchSize = 1000;
+
+    /**
+     * Monthly event partitions created ahead of the current month
+     */
+    private int partitionPremakeMonths = 3;
+
+    /**
+     * When partitions are topped up and (if enabled) old ones archived
+     */
+    private String partitionMaintenanceCron = "0 0 1 * * *";
+
+    /**
+     * Move old partitions to compressed archive files once snapshots cover them
+     */
+    private boolean archiveEnabled = false;
+
+    /**
+     * Partitions whose whole month is older than this many months are archived
+     */
+    private int archiveAfterMonths = 12;
+
+    /**
+     * Directory for archive files (local storage)
+     */
+    private String archiveDirectory = "event-archive";
+}
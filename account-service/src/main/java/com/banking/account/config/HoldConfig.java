@@ -0,0 +1,31 @@
+package com.banking.account.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "holds")
+@Data
+public class HoldConfig {
+
+    /**
+     * Hold lifetime when the request does not specify one
+     */
+    private long defaultTtlSeconds = 900;
+
+    /**
+     * Upper bound on a requested hold lifetime
+     */
+    private long maxTtlSeconds = 604800;
+
+    /**
+     * Delay between runs of the job that releases expired holds
+     */
+    private long expiryIntervalMs = 30000;
+
+    /**
+     * Expired holds released per job run
+     */
+    private int expiryBatchSize = 500;
+}
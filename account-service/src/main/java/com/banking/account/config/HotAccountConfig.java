@@ -0,0 +1,29 @@
+package com.banking.account.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Configuration
+@ConfigurationProperties(prefix = "hot-accounts")
+@Data
+public class HotAccountConfig {
+
+    /**
+     * Accounts whose credits go to striped sub-balances instead of locking the account row
+     */
+    private Set<String> accountNumbers = new HashSet<>();
+
+    /**
+     * Sub-balance rows per hot account; concurrent credits spread across them
+     */
+    private int stripes = 16;
+
+    /**
+     * Delay between compactor runs that fold sub-balances into the account balance
+     */
+    private long compactionIntervalMs = 1000;
+}
@@ -0,0 +1,26 @@
+package com.banking.account.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+@Data
+public class OutboxConfig {
+
+    /**
+     * Maximum outbox rows sent to Kafka per relay transaction
+     */
+    private int batchSize = 500;
+
+    /**
+     * Delay between relay runs when the outbox has been drained; a full batch is relayed again immediately
+     */
+    private long lingerMs = 50;
+
+    /**
+     * How long the relay waits for Kafka to acknowledge a batch before rolling it back
+     */
+    private long sendTimeoutMs = 10000;
+}
@@ -1,18 +1,28 @@
 package com.banking.account.controller;
 
+import com.banking.account.dto.AccountHistoryPage;
 import com.banking.account.dto.AccountResponse;
 import com.banking.account.dto.ApiResponse;
 import com.banking.account.dto.BalanceUpdateRequest;
+import com.banking.account.dto.BatchPostingRequest;
+import com.banking.account.dto.BatchPostingResponse;
+import com.banking.account.dto.CaptureHoldRequest;
 import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.HoldRequest;
+import com.banking.account.dto.HoldResponse;
+import com.banking.account.dto.InternalTransferRequest;
+import com.banking.account.dto.InternalTransferResponse;
 import com.banking.account.model.AccountHistory;
 import com.banking.account.service.AccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -76,6 +86,65 @@ public class AccountController {
         return ResponseEntity.ok(ApiResponse.success(response, "Account debited successfully"));
     }
 
+    @PostMapping("/postings/batch")
+    public ResponseEntity<ApiResponse<BatchPostingResponse>> postBatch(
+            @Valid @RequestBody BatchPostingRequest request) {
+        log.info("Received posting batch with {} items", request.getPostings().size());
+        BatchPostingResponse response = accountService.postBatch(request);
+        return ResponseEntity.ok(ApiResponse.success(response, "Posting batch processed"));
+    }
+
+    @PostMapping("/transfers/internal")
+    public ResponseEntity<ApiResponse<InternalTransferResponse>> transferInternal(
+            @Valid @RequestBody InternalTransferRequest request) {
+        log.info("Received internal transfer {} from {} to {}", request.getReferenceId(),
+                request.getFromAccountNumber(), request.getToAccountNumber());
+        InternalTransferResponse response = accountService.transferInternal(request);
+        return ResponseEntity.ok(ApiResponse.success(response, "Internal transfer completed"));
+    }
+
+    @PostMapping("/{accountNumber}/holds")
+    public ResponseEntity<ApiResponse<HoldResponse>> placeHold(
+            @PathVariable("accountNumber") String accountNumber,
+            @Valid @RequestBody HoldRequest request) {
+        log.info("Received request to place hold on account: {} for amount: {}", accountNumber, request.getAmount());
+        HoldResponse response = accountService.placeHold(accountNumber, request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(response, "Hold placed successfully"));
+    }
+
+    @GetMapping("/{accountNumber}/holds/active")
+    public ResponseEntity<ApiResponse<List<HoldResponse>>> getActiveHolds(
+            @PathVariable("accountNumber") String accountNumber) {
+        log.info("Received request to get active holds for account: {}", accountNumber);
+        List<HoldResponse> response = accountService.getActiveHolds(accountNumber);
+        return ResponseEntity.ok(ApiResponse.success(response, "Active holds retrieved successfully"));
+    }
+
+    @GetMapping("/holds/{holdId}")
+    public ResponseEntity<ApiResponse<HoldResponse>> getHold(@PathVariable("holdId") String holdId) {
+        log.info("Received request to get hold: {}", holdId);
+        HoldResponse response = accountService.getHold(holdId);
+        return ResponseEntity.ok(ApiResponse.success(response, "Hold retrieved successfully"));
+    }
+
+    @PostMapping("/holds/{holdId}/capture")
+    public ResponseEntity<ApiResponse<HoldResponse>> captureHold(
+            @PathVariable("holdId") String holdId,
+            @Valid @RequestBody(required = false) CaptureHoldRequest request) {
+        log.info("Received request to capture hold: {}", holdId);
+        HoldResponse response = accountService.captureHold(holdId, request);
+        return ResponseEntity.ok(ApiResponse.success(response, "Hold captured successfully"));
+    }
+
+    @PostMapping("/holds/{holdId}/release")
+    public ResponseEntity<ApiResponse<HoldResponse>> releaseHold(@PathVariable("holdId") String holdId) {
+        log.info("Received request to release hold: {}", holdId);
+        HoldResponse response = accountService.releaseHold(holdId);
+        return ResponseEntity.ok(ApiResponse.success(response, "Hold released successfully"));
+    }
+
     @PostMapping("/{accountNumber}/freeze")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<ApiResponse<AccountResponse>> freezeAccount(@PathVariable("accountNumber") String accountNumber) {
@@ -106,4 +175,26 @@ public class AccountController {
         List<AccountHistory> response = accountService.getAccountHistory(accountNumber);
         return ResponseEntity.ok(ApiResponse.success(response, "Account history retrieved successfully"));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{accountNumber}/history/page")
+    public ResponseEntity<ApiResponse<AccountHistoryPage>> getAccountHistoryPage(
+            @PathVariable("accountNumber") String accountNumber,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        log.info("Received request to get history page for account: {}", accountNumber);
+        AccountHistoryPage response = accountService.getAccountHistoryPage(accountNumber, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(response, "Account history retrieved successfully"));
+    }
+
+    @GetMapping(value = "/{accountNumber}/history/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAccountHistory(
+            @PathVariable("accountNumber") String accountNumber) {
+        log.info("Received request to stream history for account: {}", accountNumber);
+        // Resolve the account up front so a missing account is a 404, not a truncated 200
+        accountService.getAccountByAccountNumber(accountNumber);
+        StreamingResponseBody body = outputStream -> accountService.exportAccountHistory(accountNumber, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.account.controller;
+
+import com.banking.account.dto.ApiResponse;
+import com.banking.account.eventsourcing.ProjectionPromotion;
+import com.banking.account.eventsourcing.ProjectionRebuildCheckpoint;
+import com.banking.account.eventsourcing.ProjectionRebuildService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/projections")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ROLE_ADMIN')")
+public class ProjectionAdminController {
+
+    private final ProjectionRebuildService projectionRebuildService;
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<String>> startRebuild(
+            @RequestParam(value = "runId", required = false) String runId,
+            @RequestParam(value = "history", defaultValue = "false") boolean history) {
+        String effectiveRunId = runId != null ? runId : UUID.randomUUID().toString();
+        log.info("Received request to rebuild projections, run: {}", effectiveRunId);
+        projectionRebuildService.startRebuild(effectiveRunId, history);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(effectiveRunId, "Projection rebuild started"));
+    }
+
+    @GetMapping("/rebuild/{runId}")
+    public ResponseEntity<ApiResponse<List<ProjectionRebuildCheckpoint>>> getRebuildProgress(
+            @PathVariable("runId") String runId) {
+        List<ProjectionRebuildCheckpoint> response = projectionRebuildService.getProgress(runId);
+        return ResponseEntity.ok(ApiResponse.success(response, "Projection rebuild progress retrieved"));
+    }
+
+    @PostMapping("/rebuild/{runId}/promote")
+    public ResponseEntity<ApiResponse<ProjectionPromotion>> promoteRebuild(@PathVariable("runId") String runId) {
+        log.info("Received request to promote projection rebuild: {}", runId);
+        ProjectionPromotion response = projectionRebuildService.promote(runId);
+        return ResponseEntity.ok(ApiResponse.success(response, "Projection rebuild promoted"));
+    }
+}
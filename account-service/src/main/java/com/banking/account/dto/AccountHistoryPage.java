@@ -0,0 +1,20 @@
+package com.banking.account.dto;
+
+import com.banking.account.model.AccountHistory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountHistoryPage {
+
+    private List<AccountHistory> items;  // Newest first
+    private String nextCursor;  // Pass back as ?cursor= to fetch the next page; null on the last page
+    private boolean hasMore;
+}
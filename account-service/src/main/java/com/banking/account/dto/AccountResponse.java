@@ -22,6 +22,8 @@ public class AccountResponse {
     private String customerId;
     private String customerName;
     private BigDecimal balance;
+    private BigDecimal heldAmount;
+    private BigDecimal availableBalance;
     private Currency currency;
     private AccountStatus status;
     private AccountType accountType;
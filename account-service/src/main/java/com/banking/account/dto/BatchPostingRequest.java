@@ -0,0 +1,22 @@
+package com.banking.account.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchPostingRequest {
+
+    @NotEmpty(message = "At least one posting is required")
+    @Size(max = 10000, message = "A batch cannot contain more than 10000 postings")
+    private List<@Valid PostingRequest> postings;
+}
@@ -0,0 +1,28 @@
+package com.banking.account.dto;
+
+import com.banking.account.model.HoldStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HoldResponse {
+
+    private String holdId;
+    private String accountNumber;
+    private BigDecimal amount;
+    private BigDecimal capturedAmount;
+    private String referenceId;
+    private HoldStatus status;
+    private LocalDateTime expiresAt;
+    private BigDecimal balance;
+    private BigDecimal availableBalance;
+    private LocalDateTime createdAt;
+}
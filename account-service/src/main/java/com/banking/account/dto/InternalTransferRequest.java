@@ -0,0 +1,35 @@
+package com.banking.account.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InternalTransferRequest {
+
+    @NotBlank(message = "From account number is required")
+    private String fromAccountNumber;
+
+    @NotBlank(message = "To account number is required")
+    private String toAccountNumber;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    private String currency;  // Checked against both accounts when given
+
+    @NotBlank(message = "Reference ID is required")
+    private String referenceId;  // Repeating a reference returns the original postings
+
+    private String description;
+}
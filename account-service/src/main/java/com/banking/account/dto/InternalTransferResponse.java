@@ -0,0 +1,25 @@
+package com.banking.account.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InternalTransferResponse {
+
+    private String referenceId;
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private Long debitEntryId;   // History entries of the two postings
+    private Long creditEntryId;
+    private BigDecimal fromBalance;
+    private BigDecimal toBalance;
+    private boolean replayed;    // True when the reference had already been posted
+}
@@ -0,0 +1,32 @@
+package com.banking.account.dto;
+
+import com.banking.account.model.PostingOperation;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostingRequest {
+
+    @NotBlank(message = "Account number is required")
+    private String accountNumber;
+
+    @NotNull(message = "Operation is required")
+    private PostingOperation operation;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    private String referenceId;
+    private String description;
+}
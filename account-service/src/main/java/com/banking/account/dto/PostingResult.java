@@ -0,0 +1,25 @@
+package com.banking.account.dto;
+
+import com.banking.account.model.PostingOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostingResult {
+
+    private int index;  // Position of the posting in the request
+    private String accountNumber;
+    private PostingOperation operation;
+    private BigDecimal amount;
+    private String referenceId;
+    private boolean success;
+    private BigDecimal newBalance;
+    private String error;
+}
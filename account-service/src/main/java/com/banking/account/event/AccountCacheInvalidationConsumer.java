@@ -0,0 +1,50 @@
+package com.banking.account.event;
+
+import com.banking.account.config.KafkaConfig;
+import com.banking.account.service.AccountCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kafka consumer for this service's own balance and status events.
+ * Every instance joins with its own group id so each near cache sees every change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountCacheInvalidationConsumer {
+
+    private final AccountCache accountCache;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = {KafkaConfig.BALANCE_CHANGED_TOPIC, KafkaConfig.ACCOUNT_UPDATED_TOPIC, KafkaConfig.ACCOUNT_FROZEN_TOPIC},
+            groupId = "account-cache-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest",
+            autoStartup = "${account-cache.enabled:true}")
+    public void handleAccountChanged(String message) {
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            String accountNumber = event.get("accountNumber").asText();
+
+            accountCache.invalidate(accountNumber, changedAt(event));
+            log.debug("Invalidated cached account: {}", accountNumber);
+        } catch (Exception e) {
+            log.error("Error processing account cache invalidation event", e);
+        }
+    }
+
+    private LocalDateTime changedAt(JsonNode event) {
+        try {
+            return event.hasNonNull("timestamp") ? LocalDateTime.parse(event.get("timestamp").asText()) : null;
+        } catch (Exception e) {
+            return null;  // Only used for the staleness metric
+        }
+    }
+}
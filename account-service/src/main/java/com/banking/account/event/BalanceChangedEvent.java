@@ -17,7 +17,7 @@ public class BalanceChangedEvent extends AccountEvent {
 
     private String operation; // CREDIT, DEBIT
     private BigDecimal amount;
-    private BigDecimal previousBalance;
-    private BigDecimal newBalance;
+    private BigDecimal previousBalance;  // Null for credits to hot accounts, see HotAccountLedger
+    private BigDecimal newBalance;  // Null for credits to hot accounts, see HotAccountLedger
     private String referenceId;
 }
\ No newline at end of file
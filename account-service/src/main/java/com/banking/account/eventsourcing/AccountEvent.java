@@ -9,15 +9,13 @@ import java.time.LocalDateTime;
 
 /**
  * Account Event Entity - Event Store
- * Stores all state changes as immutable events
+ * Stores all state changes as immutable events.
+ * The table is range-partitioned by month on timestamp; partitions and indexes are
+ * managed by EventStorePartitionManager, and version uniqueness by the stream head
+ * (AccountEventStream).
  */
 @Entity
-@Table(name = "account_events", indexes = {
-        @Index(name = "idx_account_number", columnList = "account_number"),
-        @Index(name = "idx_aggregate_version", columnList = "aggregate_version"),
-        @Index(name = "idx_event_type", columnList = "event_type"),
-        @Index(name = "idx_timestamp", columnList = "timestamp")
-})
+@Table(name = "account_events")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
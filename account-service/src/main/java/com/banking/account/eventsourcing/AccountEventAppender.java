@@ -0,0 +1,136 @@
+package com.banking.account.eventsourcing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Account Event Appender
+ * Appends one or more events to the event store in a single statement.
+ * A data-modifying CTE advances the account's stream head (account_event_streams)
+ * and the events take the versions it hands back. The head row lock serializes
+ * concurrent writers of one account; an expected version that is no longer
+ * current updates no head row, so nothing is inserted.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountEventAppender {
+
+    // Append at the latest version: create the head or advance it unconditionally
+    private static final String LATEST_VERSION_HEAD =
+            "WITH head AS (INSERT INTO account_event_streams (account_number, version, updated_at) " +
+            "VALUES (?, ?, ?) ON CONFLICT (account_number) DO UPDATE " +
+            "SET version = account_event_streams.version + EXCLUDED.version, updated_at = EXCLUDED.updated_at " +
+            "RETURNING version - ? AS current_version) ";
+
+    // First events of a new account: only if no head exists yet
+    private static final String NEW_STREAM_HEAD =
+            "WITH head AS (INSERT INTO account_event_streams (account_number, version, updated_at) " +
+            "VALUES (?, ?, ?) ON CONFLICT (account_number) DO NOTHING " +
+            "RETURNING CAST(0 AS BIGINT) AS current_version) ";
+
+    // Existing account: only if the head is still at the expected version
+    private static final String EXPECTED_VERSION_HEAD =
+            "WITH head AS (UPDATE account_event_streams SET version = version + ?, updated_at = ? " +
+            "WHERE account_number = ? AND version = ? " +
+            "RETURNING version - ? AS current_version) ";
+
+    private static final String INSERT_SELECT =
+            "INSERT INTO account_events (account_number, event_type, aggregate_version, event_data, " +
+            "user_id, correlation_id, metadata, \"timestamp\") " +
+            "SELECT CAST(? AS VARCHAR), v.event_type, head.current_version + v.seq, v.event_data, " +
+            "v.user_id, v.correlation_id, v.metadata, CAST(? AS TIMESTAMP) FROM head, ";
+
+    private static final String VALUES_ROW =
+            "(CAST(? AS VARCHAR), %d, CAST(? AS TEXT), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS TEXT))";
+
+    private static final String VALUES_ALIAS =
+            " AS v(event_type, seq, event_data, user_id, correlation_id, metadata) ";
+
+    private static final String RETURNING =
+            "RETURNING id, aggregate_version, \"timestamp\"";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert events for one account in a single statement
+     *
+     * @param accountNumber   Account number (aggregate ID)
+     * @param expectedVersion Version the caller expects the account to be at, or null for "latest"
+     * @param events          Unsaved events, in order (id, version and timestamp are filled in)
+     * @return Events that were actually inserted; none means a version conflict
+     */
+    public List<AccountEvent> insert(String accountNumber, Long expectedVersion, List<AccountEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        long count = events.size();
+
+        StringBuilder sql = new StringBuilder();
+        List<Object> args = new ArrayList<>(7 + events.size() * 5);
+        if (expectedVersion == null) {
+            sql.append(LATEST_VERSION_HEAD);
+            args.add(accountNumber);
+            args.add(count);
+            args.add(timestamp);
+            args.add(count);
+        } else if (expectedVersion == 0) {
+            sql.append(NEW_STREAM_HEAD);
+            args.add(accountNumber);
+            args.add(count);
+            args.add(timestamp);
+        } else {
+            sql.append(EXPECTED_VERSION_HEAD);
+            args.add(count);
+            args.add(timestamp);
+            args.add(accountNumber);
+            args.add(expectedVersion);
+            args.add(count);
+        }
+
+        sql.append(INSERT_SELECT).append("(VALUES ");
+        args.add(accountNumber);
+        args.add(timestamp);
+
+        for (int i = 0; i < events.size(); i++) {
+            AccountEvent event = events.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(String.format(VALUES_ROW, i + 1));
+            args.add(event.getEventType().name());
+            args.add(event.getEventData());
+            args.add(event.getUserId());
+            args.add(event.getCorrelationId());
+            args.add(event.getMetadata());
+        }
+        sql.append(')').append(VALUES_ALIAS).append(RETURNING);
+
+        List<AccountEvent> inserted = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> AccountEvent.builder()
+                .id(rs.getLong("id"))
+                .aggregateVersion(rs.getLong("aggregate_version"))
+                .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+                .build(), args.toArray());
+
+        if (inserted.size() != events.size()) {
+            return inserted;
+        }
+
+        // All rows made it: versions are consecutive, so sorting restores the input order
+        inserted.sort(Comparator.comparing(AccountEvent::getAggregateVersion));
+        for (int i = 0; i < events.size(); i++) {
+            AccountEvent event = events.get(i);
+            AccountEvent row = inserted.get(i);
+            event.setAccountNumber(accountNumber);
+            event.setId(row.getId());
+            event.setAggregateVersion(row.getAggregateVersion());
+            event.setTimestamp(row.getTimestamp());
+        }
+        return events;
+    }
+}
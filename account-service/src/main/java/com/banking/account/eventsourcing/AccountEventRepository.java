@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -25,6 +26,18 @@ public interface AccountEventRepository extends JpaRepository<AccountEvent, Long
     List<AccountEvent> findByAccountNumberAndAggregateVersionGreaterThanOrderByAggregateVersionAsc(
             String accountNumber, Long fromVersion);
 
+    /**
+     * Find events after a specific version up to a point in time (for as-of replay)
+     */
+    List<AccountEvent> findByAccountNumberAndAggregateVersionGreaterThanAndTimestampLessThanEqualOrderByAggregateVersionAsc(
+            String accountNumber, Long fromVersion, LocalDateTime asOf);
+
+    /**
+     * Accounts with at least one event in [from, to) (for daily checkpoints)
+     */
+    @Query("SELECT DISTINCT e.accountNumber FROM AccountEvent e WHERE e.timestamp >= :from AND e.timestamp < :to")
+    List<String> findAccountNumbersWithEventsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     /**
      * Get latest version for an account
      */
@@ -0,0 +1,33 @@
+package com.banking.account.eventsourcing;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Account Event Stream Head
+ * Latest aggregate version per account. Appends bump this row in the same statement
+ * that inserts the events, so the row lock serializes writers of one stream and a
+ * stale expected version matches nothing; the partitioned event table itself cannot
+ * carry a unique (account_number, aggregate_version) constraint.
+ */
+@Entity
+@Table(name = "account_event_streams")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountEventStream {
+
+    @Id
+    @Column(name = "account_number", nullable = false, length = 50)
+    private String accountNumber;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,100 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.model.Account;
+import com.banking.account.model.AccountStatus;
+import com.banking.account.model.AccountType;
+import com.banking.account.model.Currency;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Account Snapshot Entity
+ * Materialized account state at a given aggregate version, used as the
+ * starting point for replays instead of the first event
+ */
+@Entity
+@Table(name = "account_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_snapshot_account_version",
+                columnNames = {"account_number", "aggregate_version"}),
+        indexes = {
+                @Index(name = "idx_snapshot_account_number", columnList = "account_number")
+        })
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Aggregate ID (Account Number)
+    @Column(name = "account_number", nullable = false, length = 50)
+    private String accountNumber;
+
+    @Column(name = "aggregate_version", nullable = false)
+    private Long aggregateVersion;  // Version of the last event folded into this snapshot
+
+    @Column(name = "event_timestamp")
+    private LocalDateTime eventTimestamp;  // Timestamp of that event; bounds as-of queries
+
+    // Snapshot State
+    @Column(name = "customer_id", length = 50)
+    private String customerId;
+
+    @Column(name = "customer_name", length = 100)
+    private String customerName;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 3)
+    private Currency currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private AccountStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", length = 20)
+    private AccountType accountType;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static AccountSnapshot of(Account account, AccountEvent lastEvent) {
+        return AccountSnapshot.builder()
+                .accountNumber(account.getAccountNumber())
+                .aggregateVersion(lastEvent.getAggregateVersion())
+                .eventTimestamp(lastEvent.getTimestamp())
+                .customerId(account.getCustomerId())
+                .customerName(account.getCustomerName())
+                .balance(account.getBalance())
+                .currency(account.getCurrency())
+                .status(account.getStatus())
+                .accountType(account.getAccountType())
+                .build();
+    }
+
+    public Account toAccount() {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setCustomerId(customerId);
+        account.setCustomerName(customerName);
+        account.setBalance(balance);
+        account.setCurrency(currency);
+        account.setStatus(status);
+        account.setAccountType(accountType);
+        return account;
+    }
+}
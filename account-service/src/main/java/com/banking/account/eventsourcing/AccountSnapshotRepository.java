@@ -0,0 +1,45 @@
+package com.banking.account.eventsourcing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Account Snapshot Repository
+ * Snapshot persistence layer for the event store
+ */
+@Repository
+public interface AccountSnapshotRepository extends JpaRepository<AccountSnapshot, Long> {
+
+    /**
+     * Find the most recent snapshot for an account
+     */
+    Optional<AccountSnapshot> findTopByAccountNumberOrderByAggregateVersionDesc(String accountNumber);
+
+    /**
+     * Find the most recent snapshot whose last folded event is at or before a point in time
+     */
+    Optional<AccountSnapshot> findTopByAccountNumberAndEventTimestampLessThanEqualOrderByAggregateVersionDesc(
+            String accountNumber, LocalDateTime asOf);
+
+    /**
+     * Find the oldest snapshot at or beyond a version
+     */
+    Optional<AccountSnapshot> findTopByAccountNumberAndAggregateVersionGreaterThanEqualOrderByAggregateVersionAsc(
+            String accountNumber, Long aggregateVersion);
+
+    /**
+     * Check whether a snapshot already exists at a given version
+     */
+    boolean existsByAccountNumberAndAggregateVersion(String accountNumber, Long aggregateVersion);
+
+    /**
+     * Transaction-scoped advisory lock so only one instance runs the daily checkpoints
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryCheckpointLock(@Param("key") long key);
+}
@@ -0,0 +1,94 @@
+package com.banking.account.eventsourcing;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Archived Event Reader
+ * Reads one account's events back from archived partitions. Archives are sorted by
+ * account number, so each file is scanned only up to the account's block.
+ */
+@Component
+@Slf4j
+public class ArchivedEventReader {
+
+    private final EventArchiveSegmentRepository segmentRepository;
+    private final EventArchiveStorage archiveStorage;
+    private final ObjectReader eventReader;
+    private final MeterRegistry meterRegistry;
+
+    public ArchivedEventReader(EventArchiveSegmentRepository segmentRepository,
+                               EventArchiveStorage archiveStorage,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.segmentRepository = segmentRepository;
+        this.archiveStorage = archiveStorage;
+        this.eventReader = objectMapper.readerFor(AccountEvent.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Archived events of an account with afterVersion &lt; version &lt; beforeVersion
+     *
+     * @param since Skip segments ending at or before this time, or null to scan from the oldest
+     * @param asOf  Only events at or before this time, or null for all
+     * @return Events in version order
+     */
+    public List<AccountEvent> read(String accountNumber, long afterVersion, long beforeVersion,
+                                   LocalDateTime since, LocalDateTime asOf) {
+        List<EventArchiveSegment> segments = segmentRepository.findAllByOrderByRangeToAsc();
+        if (segments.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<AccountEvent> events = new ArrayList<>();
+        for (EventArchiveSegment segment : segments) {
+            if (asOf != null && segment.getRangeFrom() != null && segment.getRangeFrom().isAfter(asOf)) {
+                break;
+            }
+            if (since != null && !segment.getRangeTo().isAfter(since)) {
+                continue;
+            }
+            scan(segment, accountNumber, afterVersion, beforeVersion, asOf, events);
+        }
+
+        meterRegistry.counter("account.eventsourcing.archive.reads").increment();
+        log.debug("Read {} archived events for account {}", events.size(), accountNumber);
+        return events;
+    }
+
+    private void scan(EventArchiveSegment segment, String accountNumber, long afterVersion, long beforeVersion,
+                      LocalDateTime asOf, List<AccountEvent> events) {
+        try (InputStream in = new GZIPInputStream(archiveStorage.open(segment.getStorageKey()));
+             MappingIterator<AccountEvent> iterator = eventReader.readValues(in)) {
+            while (iterator.hasNext()) {
+                AccountEvent event = iterator.next();
+                int order = event.getAccountNumber().compareTo(accountNumber);
+                if (order > 0) {
+                    return;
+                }
+                if (order == 0
+                        && event.getAggregateVersion() > afterVersion
+                        && event.getAggregateVersion() < beforeVersion
+                        && (asOf == null || !event.getTimestamp().isAfter(asOf))) {
+                    events.add(event);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read event archive " + segment.getStorageKey(), e);
+        }
+    }
+}
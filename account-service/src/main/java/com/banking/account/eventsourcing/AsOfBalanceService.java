@@ -0,0 +1,99 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * As-Of Balance Service
+ * Point-in-time balances from the event store, for disputes, interest
+ * calculation and month-end regulatory runs
+ */
+@Service
+@Slf4j
+public class AsOfBalanceService {
+
+    private final EventSourcingService eventSourcingService;
+    private final ExecutorService executor;
+
+    public AsOfBalanceService(EventSourcingService eventSourcingService, EventSourcingConfig eventSourcingConfig,
+                              DataSource dataSource) {
+        this.eventSourcingService = eventSourcingService;
+        // Every worker holds a connection for its replay; leave half the pool to request traffic
+        int parallelism = Math.max(1, Math.min(eventSourcingConfig.getAsOfParallelism(), maximumPoolSize(dataSource) / 2));
+        log.info("As-of balance queries use {} worker threads", parallelism);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "as-of-balance-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Balance of one account as of a point in time (inclusive)
+     */
+    public BigDecimal getBalanceAsOf(String accountNumber, LocalDateTime asOf) {
+        return eventSourcingService.replayEventsAsOf(accountNumber, asOf).getBalance();
+    }
+
+    /**
+     * Balances of many accounts as of the same point in time, computed in parallel.
+     * Accounts with no events by then are left out of the result.
+     *
+     * @return Balances keyed by account number, in request order
+     */
+    public Map<String, BigDecimal> getBalancesAsOf(Collection<String> accountNumbers, LocalDateTime asOf) {
+        Map<String, CompletableFuture<BigDecimal>> futures = new LinkedHashMap<>();
+        for (String accountNumber : accountNumbers) {
+            futures.computeIfAbsent(accountNumber, key ->
+                    CompletableFuture.supplyAsync(() -> getBalanceAsOf(key, asOf), executor));
+        }
+
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<BigDecimal>> entry : futures.entrySet()) {
+            try {
+                balances.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof IllegalArgumentException)) {
+                    throw e;
+                }
+                log.debug("Account {} has no events as of {}", entry.getKey(), asOf);
+            }
+        }
+
+        log.info("Computed as-of balances for {} of {} accounts as of {}", balances.size(), futures.size(), asOf);
+        return balances;
+    }
+
+    private static int maximumPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read the connection pool size", e);
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
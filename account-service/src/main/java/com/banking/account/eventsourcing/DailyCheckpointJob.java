@@ -0,0 +1,81 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Daily Checkpoint Job
+ * Snapshots every account that had events on the previous day.
+ * These checkpoints are the starting point for as-of queries.
+ * The run holds an advisory lock, so with several instances only one of them takes it.
+ */
+@Component
+@Slf4j
+public class DailyCheckpointJob {
+
+    private static final long CHECKPOINT_LOCK_KEY = 0x636b70745f6a6f62L;  // "ckpt_job"
+
+    private final AccountEventRepository eventRepository;
+    private final AccountSnapshotRepository snapshotRepository;
+    private final EventSourcingService eventSourcingService;
+    private final EventSourcingConfig eventSourcingConfig;
+    private final TransactionTemplate lockTransaction;
+    private final TransactionTemplate snapshotTransaction;
+
+    public DailyCheckpointJob(AccountEventRepository eventRepository,
+                              AccountSnapshotRepository snapshotRepository,
+                              EventSourcingService eventSourcingService,
+                              EventSourcingConfig eventSourcingConfig,
+                              PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.eventSourcingService = eventSourcingService;
+        this.eventSourcingConfig = eventSourcingConfig;
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        // Each snapshot commits on its own, so one failing account does not roll back the rest
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(cron = "${event-sourcing.checkpoint-cron:0 15 0 * * *}")
+    public void createDailyCheckpoints() {
+        if (!eventSourcingConfig.isCheckpointsEnabled() || !eventSourcingConfig.isSnapshotsEnabled()) {
+            return;
+        }
+
+        lockTransaction.executeWithoutResult(status -> {
+            if (!snapshotRepository.tryCheckpointLock(CHECKPOINT_LOCK_KEY)) {
+                log.info("Daily checkpoints are being created by another instance");
+                return;
+            }
+            createCheckpoints();
+        });
+    }
+
+    private void createCheckpoints() {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        List<String> accountNumbers = eventRepository.findAccountNumbersWithEventsBetween(today.minusDays(1), today);
+        log.info("Creating daily checkpoints for {} accounts", accountNumbers.size());
+
+        int failed = 0;
+        for (String accountNumber : accountNumbers) {
+            try {
+                snapshotTransaction.executeWithoutResult(status -> eventSourcingService.createSnapshot(accountNumber));
+            } catch (Exception e) {
+                failed++;
+                log.error("Failed to create daily checkpoint for account: {}", accountNumber, e);
+            }
+        }
+
+        log.info("Daily checkpoints created: {} succeeded, {} failed", accountNumbers.size() - failed, failed);
+    }
+}
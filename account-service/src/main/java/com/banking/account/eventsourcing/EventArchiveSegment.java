@@ -0,0 +1,43 @@
+package com.banking.account.eventsourcing;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event Archive Segment
+ * Catalog entry for an event partition moved to archive storage
+ */
+@Entity
+@Table(name = "account_event_archives",
+        uniqueConstraints = @UniqueConstraint(name = "uk_event_archive_partition", columnNames = "partition_name"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "partition_name", nullable = false, length = 63)
+    private String partitionName;
+
+    @Column(name = "storage_key", nullable = false, length = 255)
+    private String storageKey;
+
+    @Column(name = "range_from")
+    private LocalDateTime rangeFrom;  // Null for the legacy partition (no lower bound)
+
+    @Column(name = "range_to", nullable = false)
+    private LocalDateTime rangeTo;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
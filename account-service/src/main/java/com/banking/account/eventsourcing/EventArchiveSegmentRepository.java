@@ -0,0 +1,15 @@
+package com.banking.account.eventsourcing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Event Archive Segment Repository
+ */
+@Repository
+public interface EventArchiveSegmentRepository extends JpaRepository<EventArchiveSegment, Long> {
+
+    List<EventArchiveSegment> findAllByOrderByRangeToAsc();
+}
@@ -0,0 +1,30 @@
+package com.banking.account.eventsourcing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Event Archive Storage
+ * Where archived event partitions are kept. The archiver owns the file format
+ * (compressed NDJSON); implementations only store and return bytes by key.
+ */
+public interface EventArchiveStorage {
+
+    /**
+     * Write an archive under a key; the archive must only become visible once complete
+     */
+    void write(String key, ArchiveWriter writer) throws IOException;
+
+    /**
+     * Open an archive for reading
+     */
+    InputStream open(String key) throws IOException;
+
+    boolean exists(String key);
+
+    @FunctionalInterface
+    interface ArchiveWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
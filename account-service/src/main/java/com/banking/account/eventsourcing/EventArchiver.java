@@ -0,0 +1,182 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Event Archiver
+ * Moves old monthly partitions of account_events to archive storage as gzipped
+ * NDJSON, sorted by account number and version. A partition is only archived once
+ * every account in it has a snapshot at or beyond its last event there, so replays
+ * from the latest snapshot never need the archive.
+ */
+@Component
+@Slf4j
+public class EventArchiver {
+
+    static final String ARCHIVE_SUFFIX = ".ndjson.gz";
+
+    private static final int FETCH_SIZE = 5000;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private static final String UNCOVERED_ACCOUNTS_SQL =
+            "SELECT p.account_number FROM (SELECT account_number, MAX(aggregate_version) AS version " +
+            "FROM %s GROUP BY account_number) p WHERE NOT EXISTS (SELECT 1 FROM account_snapshots s " +
+            "WHERE s.account_number = p.account_number AND s.aggregate_version >= p.version)";
+
+    // Byte-wise collation so the file order matches String.compareTo when reading it back
+    private static final String PARTITION_EVENTS_SQL =
+            "SELECT id, account_number, event_type, aggregate_version, event_data, user_id, correlation_id, " +
+            "metadata, \"timestamp\" FROM %s ORDER BY account_number COLLATE \"C\", aggregate_version";
+
+    private final EventStorePartitionManager partitionManager;
+    private final EventSourcingService eventSourcingService;
+    private final EventArchiveStorage archiveStorage;
+    private final EventArchiveSegmentRepository segmentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventSourcingConfig eventSourcingConfig;
+    private final ObjectWriter eventWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransaction;
+    private final MeterRegistry meterRegistry;
+
+    public EventArchiver(EventStorePartitionManager partitionManager,
+                         EventSourcingService eventSourcingService,
+                         EventArchiveStorage archiveStorage,
+                         EventArchiveSegmentRepository segmentRepository,
+                         JdbcTemplate jdbcTemplate,
+                         EventSourcingConfig eventSourcingConfig,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.partitionManager = partitionManager;
+        this.eventSourcingService = eventSourcingService;
+        this.archiveStorage = archiveStorage;
+        this.segmentRepository = segmentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventSourcingConfig = eventSourcingConfig;
+        this.eventWriter = objectMapper.writerFor(AccountEvent.class).withRootValueSeparator("\n");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Archive every partition whose whole month is older than the retention window
+     *
+     * @return Number of partitions archived
+     */
+    public int archiveEligiblePartitions() {
+        LocalDateTime cutoff = LocalDate.now().withDayOfMonth(1).atStartOfDay()
+                .minusMonths(Math.max(1, eventSourcingConfig.getArchiveAfterMonths()));
+
+        int archived = 0;
+        for (EventStorePartitionManager.Partition partition : partitionManager.listPartitions()) {
+            if (partition.to().isAfter(cutoff)) {
+                break;
+            }
+            try {
+                archivePartition(partition);
+                archived++;
+            } catch (Exception e) {
+                // Later partitions must not be archived ahead of an older one
+                log.error("Failed to archive event partition {}", partition.name(), e);
+                break;
+            }
+        }
+        return archived;
+    }
+
+    void archivePartition(EventStorePartitionManager.Partition partition) throws IOException {
+        String partitionName = partition.name();
+        EventStorePartitionManager.requirePartitionName(partitionName);
+
+        coverWithSnapshots(partitionName);
+
+        String key = partitionName + ARCHIVE_SUFFIX;
+        AtomicLong written = new AtomicLong();
+        archiveStorage.write(key, out -> {
+            try (SequenceWriter sequence = eventWriter.writeValues(new GZIPOutputStream(out, GZIP_BUFFER_SIZE))) {
+                readTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(String.format(PARTITION_EVENTS_SQL, partitionName));
+                    ps.setFetchSize(FETCH_SIZE);
+                    return ps;
+                }, rs -> {
+                    try {
+                        sequence.write(AccountEvent.builder()
+                                .id(rs.getLong("id"))
+                                .accountNumber(rs.getString("account_number"))
+                                .eventType(EventType.valueOf(rs.getString("event_type")))
+                                .aggregateVersion(rs.getLong("aggregate_version"))
+                                .eventData(rs.getString("event_data"))
+                                .userId(rs.getString("user_id"))
+                                .correlationId(rs.getString("correlation_id"))
+                                .metadata(rs.getString("metadata"))
+                                .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+                                .build());
+                        written.incrementAndGet();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partitionName, Long.class);
+            if (count == null || count != written.get()) {
+                throw new IllegalStateException(String.format(
+                        "Archive of %s has %d events but the partition has %s", partitionName, written.get(), count));
+            }
+
+            segmentRepository.save(EventArchiveSegment.builder()
+                    .partitionName(partitionName)
+                    .storageKey(key)
+                    .rangeFrom(partition.from())
+                    .rangeTo(partition.to())
+                    .eventCount(written.get())
+                    .archivedAt(LocalDateTime.now())
+                    .build());
+            partitionManager.dropPartition(partitionName);
+        });
+
+        meterRegistry.counter("account.eventsourcing.archive.events").increment(written.get());
+        log.info("Archived event partition {} ({} events) to {}", partitionName, written.get(), key);
+    }
+
+    private void coverWithSnapshots(String partitionName) {
+        List<String> uncovered = findUncoveredAccounts(partitionName);
+        if (!uncovered.isEmpty()) {
+            log.info("Snapshotting {} accounts before archiving {}", uncovered.size(), partitionName);
+            uncovered.forEach(eventSourcingService::createSnapshot);
+        }
+
+        List<String> remaining = findUncoveredAccounts(partitionName);
+        if (!remaining.isEmpty()) {
+            throw new IllegalStateException(remaining.size() + " accounts in " + partitionName +
+                    " are still not covered by a snapshot");
+        }
+    }
+
+    private List<String> findUncoveredAccounts(String partitionName) {
+        return jdbcTemplate.queryForList(String.format(UNCOVERED_ACCOUNTS_SQL, partitionName), String.class);
+    }
+}
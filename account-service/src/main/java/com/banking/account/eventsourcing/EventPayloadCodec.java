@@ -0,0 +1,67 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.eventsourcing.payload.AccountCreatedPayload;
+import com.banking.account.eventsourcing.payload.BalanceCreditedPayload;
+import com.banking.account.eventsourcing.payload.BalanceDebitedPayload;
+import com.banking.account.eventsourcing.payload.BalanceUpdatedPayload;
+import com.banking.account.eventsourcing.payload.EventPayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Event Payload Codec
+ * Maps each EventType to its typed payload class and keeps a pre-bound
+ * ObjectReader per type, so replays decode straight into payload fields.
+ * The JSON layout matches the Map-based payloads already in the event store.
+ */
+@Component
+public class EventPayloadCodec {
+
+    private final Map<EventType, ObjectReader> readers = new EnumMap<>(EventType.class);
+    private final ObjectWriter writer;
+
+    public EventPayloadCodec(ObjectMapper objectMapper) {
+        register(objectMapper, EventType.ACCOUNT_CREATED, AccountCreatedPayload.class);
+        register(objectMapper, EventType.BALANCE_CREDITED, BalanceCreditedPayload.class);
+        register(objectMapper, EventType.BALANCE_DEBITED, BalanceDebitedPayload.class);
+        register(objectMapper, EventType.BALANCE_UPDATED, BalanceUpdatedPayload.class);
+        this.writer = objectMapper.writer();
+    }
+
+    /**
+     * Whether a typed payload is registered for the event type
+     */
+    public boolean supports(EventType eventType) {
+        return readers.containsKey(eventType);
+    }
+
+    /**
+     * Decode stored event data into its typed payload
+     */
+    public EventPayload decode(EventType eventType, String eventData) throws JsonProcessingException {
+        ObjectReader reader = readers.get(eventType);
+        if (reader == null) {
+            throw new IllegalArgumentException("No payload codec registered for event type: " + eventType);
+        }
+        return reader.readValue(eventData);
+    }
+
+    /**
+     * Encode a typed payload for storage
+     */
+    public String encode(EventPayload payload) throws JsonProcessingException {
+        return writer.writeValueAsString(payload);
+    }
+
+    private void register(ObjectMapper objectMapper, EventType eventType, Class<? extends EventPayload> payloadType) {
+        readers.put(eventType, objectMapper.readerFor(payloadType)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+}
@@ -1,19 +1,25 @@
 package com.banking.account.eventsourcing;
 
+import com.banking.account.config.EventSourcingConfig;
+import com.banking.account.eventsourcing.payload.EventPayload;
+import com.banking.account.exception.EventVersionConflictException;
 import com.banking.account.model.Account;
 import com.banking.account.model.AccountStatus;
-import com.banking.account.model.AccountType;
-import com.banking.account.model.Currency;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Event Sourcing Service
@@ -24,11 +30,22 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class EventSourcingService {
 
+    private static final String REPLAY_TIMER = "account.eventsourcing.replay";
+    private static final String REPLAY_MODE_SNAPSHOT = "snapshot";
+    private static final String REPLAY_MODE_FULL = "full";
+    private static final String REPLAY_MODE_AS_OF = "as-of";
+
     private final AccountEventRepository eventRepository;
+    private final AccountEventAppender eventAppender;
+    private final AccountSnapshotRepository snapshotRepository;
+    private final EventSourcingConfig eventSourcingConfig;
     private final ObjectMapper objectMapper;
+    private final EventPayloadCodec payloadCodec;
+    private final MeterRegistry meterRegistry;
+    private final ArchivedEventReader archivedEventReader;
 
     /**
-     * Save an event to the event store
+     * Save an event to the event store at the next free version
      *
      * @param accountNumber Account number (aggregate ID)
      * @param eventType     Type of event
@@ -45,43 +62,150 @@ public class EventSourcingService {
             String userId,
             String correlationId) {
 
-        // Get current version
-        Long currentVersion = eventRepository.findLatestVersion(accountNumber);
-        Long nextVersion = (currentVersion == null) ? 1L : currentVersion + 1;
-
         try {
             String jsonData = objectMapper.writeValueAsString(eventData);
+            AccountEvent event = buildEvent(eventType, jsonData, userId, correlationId);
+            return appendEvents(accountNumber, null, Collections.singletonList(event)).get(0);
+
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize event data", e);
+            throw new RuntimeException("Failed to save event", e);
+        }
+    }
+
+    /**
+     * Save a typed event payload to the event store at the next free version
+     *
+     * @param accountNumber Account number (aggregate ID)
+     * @param payload       Typed event payload (encoded by the payload codec)
+     * @param userId        User who triggered the event
+     * @param correlationId Correlation ID for tracking
+     * @return Saved event
+     */
+    @Transactional
+    public AccountEvent saveEvent(
+            String accountNumber,
+            EventPayload payload,
+            String userId,
+            String correlationId) {
+
+        return append(accountNumber, null, payload, userId, correlationId);
+    }
+
+    /**
+     * Append an event with expected-version semantics
+     *
+     * @param accountNumber   Account number (aggregate ID)
+     * @param expectedVersion Version the account must currently be at, or null to append at the latest version
+     * @param payload         Typed event payload
+     * @param userId          User who triggered the event
+     * @param correlationId   Correlation ID for tracking
+     * @return Saved event
+     * @throws EventVersionConflictException if another writer already used the version
+     */
+    @Transactional
+    public AccountEvent append(
+            String accountNumber,
+            Long expectedVersion,
+            EventPayload payload,
+            String userId,
+            String correlationId) {
+
+        return appendAll(accountNumber, expectedVersion,
+                Collections.singletonList(payload), userId, correlationId).get(0);
+    }
 
-            AccountEvent event = AccountEvent.builder()
-                    .accountNumber(accountNumber)
-                    .eventType(eventType)
-                    .aggregateVersion(nextVersion)
-                    .eventData(jsonData)
-                    .userId(userId)
-                    .correlationId(correlationId)
-                    .build();
+    /**
+     * Append several events for one command in a single statement
+     *
+     * @param accountNumber   Account number (aggregate ID)
+     * @param expectedVersion Version the account must currently be at, or null to append at the latest version
+     * @param payloads        Typed event payloads, in order
+     * @param userId          User who triggered the events
+     * @param correlationId   Correlation ID for tracking
+     * @return Saved events, with consecutive versions
+     * @throws EventVersionConflictException if another writer already used one of the versions
+     */
+    @Transactional
+    public List<AccountEvent> appendAll(
+            String accountNumber,
+            Long expectedVersion,
+            List<EventPayload> payloads,
+            String userId,
+            String correlationId) {
 
-            AccountEvent savedEvent = eventRepository.save(event);
-            log.info("Event saved: type={}, account={}, version={}",
-                    eventType, accountNumber, nextVersion);
+        if (payloads.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-            return savedEvent;
+        try {
+            List<AccountEvent> events = new ArrayList<>(payloads.size());
+            for (EventPayload payload : payloads) {
+                events.add(buildEvent(payload.eventType(), payloadCodec.encode(payload), userId, correlationId));
+            }
+            return appendEvents(accountNumber, expectedVersion, events);
 
         } catch (JsonProcessingException e) {
-            log.error("Failed to serialize event data", e);
+            log.error("Failed to serialize event payload", e);
             throw new RuntimeException("Failed to save event", e);
         }
     }
 
     /**
-     * Replay all events to reconstruct account state
+     * Insert events in one round trip. Only an expected-version append can conflict: a
+     * latest-version append advances the stream head unconditionally, waiting on its row lock.
+     */
+    private List<AccountEvent> appendEvents(String accountNumber, Long expectedVersion, List<AccountEvent> events) {
+        List<AccountEvent> inserted = eventAppender.insert(accountNumber, expectedVersion, events);
+
+        if (inserted.size() != events.size()) {
+            meterRegistry.counter("account.eventsourcing.append.conflicts").increment();
+            throw new EventVersionConflictException(String.format(
+                    "Version conflict appending %d event(s) to account %s (expected version: %s)",
+                    events.size(), accountNumber, expectedVersion == null ? "latest" : expectedVersion));
+        }
+
+        Long firstVersion = inserted.get(0).getAggregateVersion();
+        Long lastVersion = inserted.get(inserted.size() - 1).getAggregateVersion();
+        log.info("Events saved: count={}, account={}, versions={}..{}",
+                inserted.size(), accountNumber, firstVersion, lastVersion);
+
+        if (isSnapshotDue(firstVersion, lastVersion)) {
+            createSnapshot(accountNumber);
+        }
+        return inserted;
+    }
+
+    private AccountEvent buildEvent(EventType eventType, String jsonData, String userId, String correlationId) {
+        return AccountEvent.builder()
+                .eventType(eventType)
+                .eventData(jsonData)
+                .userId(userId)
+                .correlationId(correlationId)
+                .build();
+    }
+
+    /**
+     * Replay events to reconstruct account state
+     * Starts from the latest snapshot when one exists, otherwise replays the full stream
      *
      * @param accountNumber Account number
      * @return Reconstructed account state
      */
     @Transactional(readOnly = true)
     public Account replayEvents(String accountNumber) {
-        List<AccountEvent> events = eventRepository.findByAccountNumberOrderByAggregateVersionAsc(accountNumber);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Optional<AccountSnapshot> snapshot = findLatestSnapshot(accountNumber);
+        if (snapshot.isPresent()) {
+            Account account = replayEventsFrom(accountNumber,
+                    snapshot.get().getAggregateVersion(), snapshot.get().toAccount());
+            sample.stop(meterRegistry.timer(REPLAY_TIMER, "mode", REPLAY_MODE_SNAPSHOT));
+            return account;
+        }
+
+        List<AccountEvent> events = withArchivedEvents(accountNumber, 0L, null,
+                eventRepository.findByAccountNumberOrderByAggregateVersionAsc(accountNumber), null);
 
         if (events.isEmpty()) {
             throw new IllegalArgumentException("No events found for account: " + accountNumber);
@@ -94,6 +218,7 @@ public class EventSourcingService {
             applyEvent(account, event);
         }
 
+        sample.stop(meterRegistry.timer(REPLAY_TIMER, "mode", REPLAY_MODE_FULL));
         log.info("Replayed {} events for account: {}", events.size(), accountNumber);
         return account;
     }
@@ -108,9 +233,9 @@ public class EventSourcingService {
      */
     @Transactional(readOnly = true)
     public Account replayEventsFrom(String accountNumber, Long fromVersion, Account initialState) {
-        List<AccountEvent> events = eventRepository
+        List<AccountEvent> events = withArchivedEvents(accountNumber, fromVersion, null, eventRepository
                 .findByAccountNumberAndAggregateVersionGreaterThanOrderByAggregateVersionAsc(
-                        accountNumber, fromVersion);
+                        accountNumber, fromVersion), null);
 
         Account account = initialState;
 
@@ -124,17 +249,105 @@ public class EventSourcingService {
     }
 
     /**
-     * Get event history for an account
+     * Reconstruct account state as of a point in time
+     * Starts from the latest snapshot (or daily checkpoint) taken at or before asOf
+     * and applies only the events up to asOf
+     *
+     * @param accountNumber Account number
+     * @param asOf          Point in time (inclusive)
+     * @return Account state as of the given time
+     */
+    @Transactional(readOnly = true)
+    public Account replayEventsAsOf(String accountNumber, LocalDateTime asOf) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Optional<AccountSnapshot> checkpoint = eventSourcingConfig.isSnapshotsEnabled()
+                ? snapshotRepository.findTopByAccountNumberAndEventTimestampLessThanEqualOrderByAggregateVersionDesc(
+                        accountNumber, asOf)
+                : Optional.empty();
+
+        Long fromVersion = checkpoint.map(AccountSnapshot::getAggregateVersion).orElse(0L);
+        List<AccountEvent> events = withArchivedEvents(accountNumber, fromVersion,
+                checkpoint.map(AccountSnapshot::getEventTimestamp).orElse(null), eventRepository
+                        .findByAccountNumberAndAggregateVersionGreaterThanAndTimestampLessThanEqualOrderByAggregateVersionAsc(
+                                accountNumber, fromVersion, asOf), asOf);
+
+        if (checkpoint.isEmpty() && events.isEmpty()) {
+            throw new IllegalArgumentException("No events found for account: " + accountNumber + " as of " + asOf);
+        }
+
+        Account account = checkpoint.map(AccountSnapshot::toAccount).orElseGet(() -> {
+            Account initial = new Account();
+            initial.setAccountNumber(accountNumber);
+            return initial;
+        });
+
+        for (AccountEvent event : events) {
+            applyEvent(account, event);
+        }
+
+        sample.stop(meterRegistry.timer(REPLAY_TIMER, "mode", REPLAY_MODE_AS_OF));
+        log.debug("Replayed {} events from version {} for account {} as of {}",
+                events.size(), fromVersion, accountNumber, asOf);
+        return account;
+    }
+
+    /**
+     * Take a snapshot of the current account state (on demand or every N events)
+     * Folds only the events after the previous snapshot
+     *
+     * @param accountNumber Account number
+     * @return Latest snapshot
+     */
+    @Transactional
+    public AccountSnapshot createSnapshot(String accountNumber) {
+        Optional<AccountSnapshot> previous = snapshotRepository
+                .findTopByAccountNumberOrderByAggregateVersionDesc(accountNumber);
+
+        Long fromVersion = previous.map(AccountSnapshot::getAggregateVersion).orElse(0L);
+        List<AccountEvent> events = withArchivedEvents(accountNumber, fromVersion,
+                previous.map(AccountSnapshot::getEventTimestamp).orElse(null), eventRepository
+                        .findByAccountNumberAndAggregateVersionGreaterThanOrderByAggregateVersionAsc(
+                                accountNumber, fromVersion), null);
+
+        if (events.isEmpty()) {
+            return previous.orElseThrow(() ->
+                    new IllegalArgumentException("No events found for account: " + accountNumber));
+        }
+
+        Account account = previous.map(AccountSnapshot::toAccount).orElseGet(() -> {
+            Account initial = new Account();
+            initial.setAccountNumber(accountNumber);
+            return initial;
+        });
+
+        for (AccountEvent event : events) {
+            applyEvent(account, event);
+        }
+
+        AccountEvent lastEvent = events.get(events.size() - 1);
+        Long version = lastEvent.getAggregateVersion();
+        AccountSnapshot snapshot = snapshotRepository.save(AccountSnapshot.of(account, lastEvent));
+        meterRegistry.counter("account.eventsourcing.snapshots.created").increment();
+
+        log.info("Snapshot created: account={}, version={}, foldedEvents={}",
+                accountNumber, version, events.size());
+        return snapshot;
+    }
+
+    /**
+     * Get event history for an account, including archived events
      *
      * @param accountNumber Account number
      * @return List of events
      */
     public List<AccountEvent> getEventHistory(String accountNumber) {
-        return eventRepository.findByAccountNumberOrderByAggregateVersionAsc(accountNumber);
+        return withArchivedEvents(accountNumber, 0L, null,
+                eventRepository.findByAccountNumberOrderByAggregateVersionAsc(accountNumber), null);
     }
 
     /**
-     * Get event count for an account
+     * Get event count for an account (events still in the live store)
      *
      * @param accountNumber Account number
      * @return Event count
@@ -143,27 +356,62 @@ public class EventSourcingService {
         return eventRepository.countByAccountNumber(accountNumber);
     }
 
+    /**
+     * Prepend archived events when the live store does not continue right after fromVersion
+     *
+     * @param since Archive segments ending at or before this time cannot hold the missing events
+     */
+    private List<AccountEvent> withArchivedEvents(String accountNumber, long fromVersion, LocalDateTime since,
+                                                  List<AccountEvent> live, LocalDateTime asOf) {
+        if (!live.isEmpty() && live.get(0).getAggregateVersion() == fromVersion + 1) {
+            return live;
+        }
+        if (live.isEmpty() && fromVersion > 0 && asOf == null) {
+            // Nothing after the snapshot, and archived events always precede live ones
+            return live;
+        }
+
+        long beforeVersion = live.isEmpty() ? Long.MAX_VALUE : live.get(0).getAggregateVersion();
+        List<AccountEvent> archived = archivedEventReader.read(accountNumber, fromVersion, beforeVersion, since, asOf);
+        if (archived.isEmpty()) {
+            return live;
+        }
+
+        List<AccountEvent> events = new ArrayList<>(archived.size() + live.size());
+        events.addAll(archived);
+        events.addAll(live);
+        return events;
+    }
+
+    private Optional<AccountSnapshot> findLatestSnapshot(String accountNumber) {
+        if (!eventSourcingConfig.isSnapshotsEnabled()) {
+            return Optional.empty();
+        }
+        return snapshotRepository.findTopByAccountNumberOrderByAggregateVersionDesc(accountNumber);
+    }
+
+    private boolean isSnapshotDue(Long firstVersion, Long lastVersion) {
+        int frequency = eventSourcingConfig.getSnapshotFrequency();
+        return eventSourcingConfig.isSnapshotsEnabled() && frequency > 0
+                && lastVersion / frequency > (firstVersion - 1) / frequency;
+    }
+
     /**
      * Apply an event to an account (state mutation)
+     * Payload-carrying events are decoded straight into their typed payload
+     *
+     * @return Decoded payload, or null for events without one
      */
-    private void applyEvent(Account account, AccountEvent event) {
+    EventPayload applyEvent(Account account, AccountEvent event) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> data = objectMapper.readValue(event.getEventData(), Map.class);
-
             switch (event.getEventType()) {
                 case ACCOUNT_CREATED:
-                    applyAccountCreated(account, data);
-                    break;
                 case BALANCE_CREDITED:
-                    applyBalanceCredited(account, data);
-                    break;
                 case BALANCE_DEBITED:
-                    applyBalanceDebited(account, data);
-                    break;
                 case BALANCE_UPDATED:
-                    applyBalanceUpdated(account, data);
-                    break;
+                    EventPayload payload = payloadCodec.decode(event.getEventType(), event.getEventData());
+                    payload.applyTo(account);
+                    return payload;
                 case ACCOUNT_SUSPENDED:
                     account.setStatus(AccountStatus.FROZEN);
                     break;
@@ -176,33 +424,11 @@ public class EventSourcingService {
                 default:
                     log.warn("Unknown event type: {}", event.getEventType());
             }
+            return null;
 
         } catch (JsonProcessingException e) {
             log.error("Failed to deserialize event data for event ID: {}", event.getId(), e);
             throw new RuntimeException("Failed to apply event", e);
         }
     }
-
-    private void applyAccountCreated(Account account, Map<String, Object> data) {
-        account.setCustomerName((String) data.get("customerName"));
-        account.setAccountNumber((String) data.get("accountNumber"));
-        account.setAccountType(AccountType.valueOf((String) data.get("accountType")));
-        account.setCurrency(Currency.valueOf((String) data.get("currency")));
-        account.setBalance(new BigDecimal(data.get("balance").toString()));
-        account.setStatus(AccountStatus.ACTIVE);
-    }
-
-    private void applyBalanceCredited(Account account, Map<String, Object> data) {
-        BigDecimal amount = new BigDecimal(data.get("amount").toString());
-        account.setBalance(account.getBalance().add(amount));
-    }
-
-    private void applyBalanceDebited(Account account, Map<String, Object> data) {
-        BigDecimal amount = new BigDecimal(data.get("amount").toString());
-        account.setBalance(account.getBalance().subtract(amount));
-    }
-
-    private void applyBalanceUpdated(Account account, Map<String, Object> data) {
-        account.setBalance(new BigDecimal(data.get("newBalance").toString()));
-    }
 }
@@ -0,0 +1,31 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Event Store Maintenance Job
+ * Tops up future monthly partitions and, when enabled, archives old ones.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventStoreMaintenanceJob {
+
+    private final EventStorePartitionManager partitionManager;
+    private final EventArchiver eventArchiver;
+    private final EventSourcingConfig eventSourcingConfig;
+
+    @Scheduled(cron = "${event-sourcing.partition-maintenance-cron:0 0 1 * * *}")
+    public void maintain() {
+        partitionManager.ensurePartitions();
+
+        if (eventSourcingConfig.isArchiveEnabled()) {
+            int archived = eventArchiver.archiveEligiblePartitions();
+            log.info("Event store maintenance archived {} partitions", archived);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Event Store Partition Manager
+ * Keeps account_events range-partitioned by month on timestamp. On first start it
+ * converts the plain table Hibernate created: existing rows stay in place as the
+ * account_events_legacy partition and stream heads are backfilled. Afterwards it
+ * keeps monthly partitions created a few months ahead.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class EventStorePartitionManager {
+
+    static final String PARENT_TABLE = "account_events";
+    static final String LEGACY_PARTITION = "account_events_legacy";
+
+    // Serializes DDL on the event store across instances
+    private static final long DDL_LOCK_KEY = 0x6163635f65767473L;
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern BOUND_PATTERN = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+    private static final Pattern PARTITION_NAME = Pattern.compile("account_events_[a-z0-9_]+");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound " +
+            "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = CAST('account_events' AS regclass)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventSourcingConfig eventSourcingConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public EventStorePartitionManager(JdbcTemplate jdbcTemplate, EventSourcingConfig eventSourcingConfig,
+                                      PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventSourcingConfig = eventSourcingConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lockDdl();
+            if (!isPartitioned()) {
+                convertToPartitioned();
+            }
+        });
+        ensurePartitions();
+    }
+
+    /**
+     * Create monthly partitions up to the configured number of months ahead
+     */
+    public void ensurePartitions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lockDdl();
+            LocalDateTime target = LocalDate.now().withDayOfMonth(1).atStartOfDay()
+                    .plusMonths(Math.max(0, eventSourcingConfig.getPartitionPremakeMonths()) + 1L);
+
+            LocalDateTime next = listPartitions().stream()
+                    .map(Partition::to)
+                    .max(Comparator.naturalOrder())
+                    .orElse(LocalDate.now().withDayOfMonth(1).atStartOfDay());
+
+            while (next.isBefore(target)) {
+                createMonthlyPartition(next);
+                next = next.plusMonths(1);
+            }
+        });
+    }
+
+    /**
+     * Attached partitions, oldest first
+     */
+    public List<Partition> listPartitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> parsePartition(rs.getString("name"), rs.getString("bound")))
+                .stream()
+                .sorted(Comparator.comparing(Partition::to))
+                .toList();
+    }
+
+    /**
+     * Detach and drop a partition whose events have been archived.
+     * Must run inside the caller's transaction.
+     */
+    public void dropPartition(String partitionName) {
+        requirePartitionName(partitionName);
+        lockDdl();
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partitionName);
+        jdbcTemplate.execute("DROP TABLE " + partitionName);
+        log.info("Dropped archived event partition {}", partitionName);
+    }
+
+    static void requirePartitionName(String partitionName) {
+        if (!PARTITION_NAME.matcher(partitionName).matches()) {
+            throw new IllegalArgumentException("Not an event partition: " + partitionName);
+        }
+    }
+
+    private void convertToPartitioned() {
+        LocalDateTime nextMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay().plusMonths(1);
+        boolean hasEvents = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM account_events)", Boolean.class));
+        log.info("Converting account_events to a monthly partitioned table (existing events: {})", hasEvents);
+
+        // Partitioned tables cannot have identity columns here; ids come from a plain sequence
+        jdbcTemplate.execute("ALTER TABLE account_events ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS account_events_id_seq");
+        jdbcTemplate.queryForObject("SELECT setval('account_events_id_seq', " +
+                "COALESCE((SELECT MAX(id) FROM account_events), 0) + 1, false)", Long.class);
+
+        jdbcTemplate.execute("ALTER TABLE account_events RENAME TO " + LEGACY_PARTITION);
+        jdbcTemplate.execute("CREATE TABLE account_events (LIKE " + LEGACY_PARTITION + " INCLUDING DEFAULTS) " +
+                "PARTITION BY RANGE (\"timestamp\")");
+        jdbcTemplate.execute("ALTER TABLE account_events ALTER COLUMN id SET DEFAULT nextval('account_events_id_seq')");
+        jdbcTemplate.execute("ALTER SEQUENCE account_events_id_seq OWNED BY account_events.id");
+
+        if (hasEvents) {
+            // Existing rows stay where they are; new months get their own partitions
+            jdbcTemplate.execute("ALTER TABLE account_events ATTACH PARTITION " + LEGACY_PARTITION +
+                    " FOR VALUES FROM (MINVALUE) TO ('" + nextMonth.format(BOUND_FORMAT) + "')");
+        } else {
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_PARTITION);
+        }
+
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_account_events_stream " +
+                "ON account_events (account_number, aggregate_version)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_account_events_timestamp " +
+                "ON account_events (\"timestamp\")");
+
+        int streams = jdbcTemplate.update("INSERT INTO account_event_streams (account_number, version, updated_at) " +
+                "SELECT account_number, MAX(aggregate_version), now() FROM account_events GROUP BY account_number " +
+                "ON CONFLICT (account_number) DO UPDATE " +
+                "SET version = GREATEST(account_event_streams.version, EXCLUDED.version)");
+        log.info("account_events partitioned; backfilled {} stream heads", streams);
+    }
+
+    private void createMonthlyPartition(LocalDateTime monthStart) {
+        String name = PARENT_TABLE + "_" + monthStart.format(PARTITION_SUFFIX);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + PARENT_TABLE +
+                " FOR VALUES FROM ('" + monthStart.format(BOUND_FORMAT) + "') TO ('" +
+                monthStart.plusMonths(1).format(BOUND_FORMAT) + "')");
+        log.info("Created event partition {}", name);
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT CAST(relkind AS VARCHAR) FROM pg_class WHERE oid = CAST('account_events' AS regclass)", String.class);
+        return "p".equals(kind);
+    }
+
+    private void lockDdl() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, DDL_LOCK_KEY);
+    }
+
+    private static Partition parsePartition(String name, String bound) {
+        Matcher matcher = BOUND_PATTERN.matcher(bound);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected bound for partition " + name + ": " + bound);
+        }
+        return new Partition(name, parseBound(matcher.group(1)), parseBound(matcher.group(2)));
+    }
+
+    private static LocalDateTime parseBound(String value) {
+        if ("MINVALUE".equals(value)) {
+            return null;
+        }
+        return LocalDateTime.parse(value.replace("'", ""), BOUND_FORMAT);
+    }
+
+    /**
+     * One monthly (or the legacy) partition; from is null for MINVALUE
+     */
+    public record Partition(String name, LocalDateTime from, LocalDateTime to) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Local Event Archive Storage
+ * Archives as files in a local directory, written to a temp file and moved into place.
+ * Replace with another EventArchiveStorage bean (and event-sourcing.archive-storage)
+ * to keep archives elsewhere.
+ */
+@Component
+@ConditionalOnProperty(prefix = "event-sourcing", name = "archive-storage", havingValue = "local", matchIfMissing = true)
+public class LocalEventArchiveStorage implements EventArchiveStorage {
+
+    private final Path directory;
+
+    public LocalEventArchiveStorage(EventSourcingConfig eventSourcingConfig) {
+        this.directory = Paths.get(eventSourcingConfig.getArchiveDirectory());
+    }
+
+    @Override
+    public void write(String key, ArchiveWriter writer) throws IOException {
+        Files.createDirectories(directory);
+        Path target = resolve(key);
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.writeTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return new BufferedInputStream(Files.newInputStream(resolve(key)));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        Path path = directory.resolve(key).normalize();
+        if (!path.startsWith(directory.normalize())) {
+            throw new IllegalArgumentException("Invalid archive key: " + key);
+        }
+        return path;
+    }
+}
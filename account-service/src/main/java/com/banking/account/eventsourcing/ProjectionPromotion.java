@@ -0,0 +1,8 @@
+package com.banking.account.eventsourcing;
+
+/**
+ * Outcome of promoting a rebuild run: accounts staged by the run and accounts copied
+ * over the live read model. The rest were changed live after their last event and kept.
+ */
+public record ProjectionPromotion(String runId, long staged, long promoted) {
+}
@@ -0,0 +1,54 @@
+package com.banking.account.eventsourcing;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection Rebuild Checkpoint
+ * Progress of one account-number range within a rebuild run; committed together with
+ * each projection batch so an interrupted run resumes after the last written account
+ */
+@Entity
+@Table(name = "projection_rebuild_checkpoints",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rebuild_run_partition",
+                columnNames = {"run_id", "partition_no"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectionRebuildCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false, length = 100)
+    private String runId;
+
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+
+    @Column(name = "partition_count", nullable = false)
+    private Integer partitionCount;
+
+    @Column(name = "last_account_number", length = 50)
+    private String lastAccountNumber;  // Last account fully written; resume strictly after it
+
+    @Column(name = "upper_account_number", length = 50)
+    private String upperAccountNumber;  // Inclusive end of the range; null for the last range
+
+    @Column(name = "accounts_rebuilt", nullable = false)
+    private Long accountsRebuilt;
+
+    @Column(name = "events_applied", nullable = false)
+    private Long eventsApplied;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.banking.account.eventsourcing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Projection Rebuild Checkpoint Repository
+ */
+@Repository
+public interface ProjectionRebuildCheckpointRepository extends JpaRepository<ProjectionRebuildCheckpoint, Long> {
+
+    Optional<ProjectionRebuildCheckpoint> findByRunIdAndPartitionNo(String runId, Integer partitionNo);
+
+    List<ProjectionRebuildCheckpoint> findByRunIdOrderByPartitionNo(String runId);
+}
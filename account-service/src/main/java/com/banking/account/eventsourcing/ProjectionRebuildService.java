@@ -0,0 +1,461 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import com.banking.account.eventsourcing.payload.BalanceCreditedPayload;
+import com.banking.account.eventsourcing.payload.BalanceDebitedPayload;
+import com.banking.account.eventsourcing.payload.EventPayload;
+import com.banking.account.exception.InvalidAccountStateException;
+import com.banking.account.model.Account;
+import com.banking.account.model.AccountHistory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Projection Rebuild Service
+ * Rebuilds the accounts (and optionally account_history) read model from the event store.
+ * Accounts are split into account-number ranges that are streamed and folded in parallel,
+ * each on its own server-side cursor over the (account_number, aggregate_version) index.
+ * Projections are batch-written to staging tables, and every batch commits together with
+ * its partition checkpoint, so re-running the same run id resumes where an interrupted
+ * run stopped. Accounts whose early events were archived start from a covering snapshot
+ * (or the archive when there is none). The live read model is only touched when a
+ * completed run is promoted.
+ */
+@Service
+@Slf4j
+public class ProjectionRebuildService {
+
+    private static final String PARTITION_EVENTS_SQL =
+            "SELECT id, account_number, event_type, aggregate_version, event_data, \"timestamp\" " +
+            "FROM account_events " +
+            "WHERE account_number > ? AND account_number <= ? " +
+            "ORDER BY account_number, aggregate_version";
+
+    private static final String LAST_PARTITION_EVENTS_SQL =
+            "SELECT id, account_number, event_type, aggregate_version, event_data, \"timestamp\" " +
+            "FROM account_events " +
+            "WHERE account_number > ? " +
+            "ORDER BY account_number, aggregate_version";
+
+    // Upper bounds of equal-sized account-number ranges, from the accounts index
+    private static final String PARTITION_BOUNDS_SQL =
+            "SELECT MAX(account_number) FROM (" +
+            "SELECT account_number, ntile(?) OVER (ORDER BY account_number) AS part FROM accounts) ranked " +
+            "GROUP BY part ORDER BY part";
+
+    private final EventSourcingService eventSourcingService;
+    private final AccountSnapshotRepository snapshotRepository;
+    private final ArchivedEventReader archivedEventReader;
+    private final ProjectionRebuildCheckpointRepository checkpointRepository;
+    private final ProjectionStagingRepository stagingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventSourcingConfig eventSourcingConfig;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ExecutorService executor;
+    private final Counter eventsCounter;
+    private final Counter accountsCounter;
+
+    public ProjectionRebuildService(EventSourcingService eventSourcingService,
+                                    AccountSnapshotRepository snapshotRepository,
+                                    ArchivedEventReader archivedEventReader,
+                                    ProjectionRebuildCheckpointRepository checkpointRepository,
+                                    ProjectionStagingRepository stagingRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    EventSourcingConfig eventSourcingConfig,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry) {
+        this.eventSourcingService = eventSourcingService;
+        this.snapshotRepository = snapshotRepository;
+        this.archivedEventReader = archivedEventReader;
+        this.checkpointRepository = checkpointRepository;
+        this.stagingRepository = stagingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventSourcingConfig = eventSourcingConfig;
+
+        // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, eventSourcingConfig.getRebuildParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "projection-rebuild-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.eventsCounter = Counter.builder("account.projection.rebuild.events")
+                .description("Events folded by projection rebuilds")
+                .register(meterRegistry);
+        this.accountsCounter = Counter.builder("account.projection.rebuild.accounts")
+                .description("Accounts written by projection rebuilds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start (or resume) a rebuild in the background.
+     * Partitions already completed under the run id are skipped.
+     *
+     * @param runId          Run identifier; reuse it to resume an interrupted run
+     * @param rebuildHistory Also regenerate account_history from the events
+     */
+    public CompletableFuture<Void> startRebuild(String runId, boolean rebuildHistory) {
+        List<ProjectionRebuildCheckpoint> checkpoints = planPartitions(runId);
+        log.info("Starting projection rebuild {} over {} partitions (history: {})",
+                runId, checkpoints.size(), rebuildHistory);
+
+        List<CompletableFuture<Void>> partitions = new ArrayList<>(checkpoints.size());
+        for (ProjectionRebuildCheckpoint checkpoint : checkpoints) {
+            partitions.add(CompletableFuture.runAsync(() -> rebuildPartition(checkpoint, rebuildHistory), executor));
+        }
+
+        return CompletableFuture.allOf(partitions.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        log.error("Projection rebuild {} failed; re-run it to resume", runId, error);
+                    } else {
+                        log.info("Projection rebuild {} completed", runId);
+                    }
+                });
+    }
+
+    /**
+     * Copy a completed run's projections over the live read model.
+     * Accounts changed live after their last event are kept, since the events
+     * cannot reproduce those changes.
+     */
+    public ProjectionPromotion promote(String runId) {
+        List<ProjectionRebuildCheckpoint> checkpoints = checkpointRepository.findByRunIdOrderByPartitionNo(runId);
+        if (checkpoints.isEmpty() || !checkpoints.stream().allMatch(ProjectionRebuildCheckpoint::isCompleted)) {
+            throw new InvalidAccountStateException("Projection rebuild " + runId + " has not completed");
+        }
+
+        ProjectionPromotion promotion = writeTransaction.execute(status -> stagingRepository.promote(runId));
+        log.info("Promoted projection rebuild {}: {} of {} accounts replaced", runId,
+                promotion.promoted(), promotion.staged());
+        return promotion;
+    }
+
+    /**
+     * Checkpoints of a run, one per partition that has made progress
+     */
+    public List<ProjectionRebuildCheckpoint> getProgress(String runId) {
+        return checkpointRepository.findByRunIdOrderByPartitionNo(runId);
+    }
+
+    /**
+     * Rebuild one account range, resuming after its checkpoint
+     */
+    void rebuildPartition(ProjectionRebuildCheckpoint checkpoint, boolean rebuildHistory) {
+        if (checkpoint.isCompleted()) {
+            log.debug("Partition {} of rebuild {} already completed", checkpoint.getPartitionNo(), checkpoint.getRunId());
+            return;
+        }
+
+        String after = checkpoint.getLastAccountNumber() != null ? checkpoint.getLastAccountNumber() : "";
+        String upper = checkpoint.getUpperAccountNumber();
+        PartitionWriter writer = new PartitionWriter(checkpoint, rebuildHistory);
+
+        readTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(upper != null ? PARTITION_EVENTS_SQL : LAST_PARTITION_EVENTS_SQL);
+            ps.setFetchSize(eventSourcingConfig.getRebuildFetchSize());
+            ps.setString(1, after);
+            if (upper != null) {
+                ps.setString(2, upper);
+            }
+            return ps;
+        }, writer));
+
+        writer.finish();
+        log.info("Rebuilt partition {} of run {}: {} accounts, {} events", checkpoint.getPartitionNo(),
+                checkpoint.getRunId(), checkpoint.getAccountsRebuilt(), checkpoint.getEventsApplied());
+    }
+
+    /**
+     * Checkpoints of the run's account ranges, planned and saved on the first start
+     * together with discarding what earlier runs staged. A resumed run keeps the
+     * ranges it started with.
+     */
+    private List<ProjectionRebuildCheckpoint> planPartitions(String runId) {
+        List<ProjectionRebuildCheckpoint> existing = checkpointRepository.findByRunIdOrderByPartitionNo(runId);
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+
+        List<String> bounds = new ArrayList<>(jdbcTemplate.queryForList(PARTITION_BOUNDS_SQL, String.class,
+                Math.max(1, eventSourcingConfig.getRebuildPartitions())));
+        if (bounds.isEmpty()) {
+            bounds.add(null);
+        }
+        // The last range is open, so events of accounts missing from the read model are covered too
+        bounds.set(bounds.size() - 1, null);
+
+        List<ProjectionRebuildCheckpoint> checkpoints = new ArrayList<>(bounds.size());
+        String lower = null;
+        for (int partitionNo = 0; partitionNo < bounds.size(); partitionNo++) {
+            checkpoints.add(ProjectionRebuildCheckpoint.builder()
+                    .runId(runId)
+                    .partitionNo(partitionNo)
+                    .partitionCount(bounds.size())
+                    .lastAccountNumber(lower)
+                    .upperAccountNumber(bounds.get(partitionNo))
+                    .accountsRebuilt(0L)
+                    .eventsApplied(0L)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            lower = bounds.get(partitionNo);
+        }
+        return writeTransaction.execute(status -> {
+            stagingRepository.discardOtherRuns(runId);
+            return checkpointRepository.saveAll(checkpoints);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Folds the ordered event stream of one partition account by account and
+     * writes the projections in batches
+     */
+    class PartitionWriter implements RowCallbackHandler {
+
+        private final ProjectionRebuildCheckpoint checkpoint;
+        private final boolean rebuildHistory;
+        private final List<Account> pendingAccounts = new ArrayList<>();
+        private final List<AccountHistory> pendingHistory = new ArrayList<>();
+        // Accounts started from a snapshot keep their existing history
+        private final Set<String> partialHistory = new HashSet<>();
+        private Account current;
+        private long snapshotVersion;
+        private long pendingEvents;
+
+        PartitionWriter(ProjectionRebuildCheckpoint checkpoint, boolean rebuildHistory) {
+            this.checkpoint = checkpoint;
+            this.rebuildHistory = rebuildHistory;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            accept(AccountEvent.builder()
+                    .id(rs.getLong("id"))
+                    .accountNumber(rs.getString("account_number"))
+                    .eventType(EventType.valueOf(rs.getString("event_type")))
+                    .aggregateVersion(rs.getLong("aggregate_version"))
+                    .eventData(rs.getString("event_data"))
+                    .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+                    .build());
+        }
+
+        void accept(AccountEvent event) {
+            if (current == null || !current.getAccountNumber().equals(event.getAccountNumber())) {
+                completeAccount();
+                startAccount(event);
+            }
+            if (event.getAggregateVersion() <= snapshotVersion) {
+                return;
+            }
+            fold(event);
+        }
+
+        private void startAccount(AccountEvent first) {
+            current = Account.builder()
+                    .accountNumber(first.getAccountNumber())
+                    .balance(BigDecimal.ZERO)
+                    .createdAt(first.getTimestamp())
+                    .build();
+            snapshotVersion = 0;
+            if (first.getAggregateVersion() <= 1) {
+                return;
+            }
+
+            // Earlier events were archived
+            Optional<AccountSnapshot> snapshot = snapshotRepository
+                    .findTopByAccountNumberAndAggregateVersionGreaterThanEqualOrderByAggregateVersionAsc(
+                            first.getAccountNumber(), first.getAggregateVersion() - 1);
+            if (snapshot.isPresent()) {
+                current = snapshot.get().toAccount();
+                current.setUpdatedAt(snapshot.get().getEventTimestamp());
+                snapshotVersion = snapshot.get().getAggregateVersion();
+                partialHistory.add(first.getAccountNumber());
+                return;
+            }
+            archivedEventReader.read(first.getAccountNumber(), 0L, first.getAggregateVersion(), null, null)
+                    .forEach(this::fold);
+        }
+
+        private void fold(AccountEvent event) {
+            BigDecimal previousBalance = current.getBalance();
+            EventPayload payload = eventSourcingService.applyEvent(current, event);
+            // Created payloads may carry no account number; the stream key is authoritative
+            current.setAccountNumber(event.getAccountNumber());
+            current.setUpdatedAt(event.getTimestamp());
+            pendingEvents++;
+
+            if (rebuildHistory && !partialHistory.contains(event.getAccountNumber())) {
+                AccountHistory entry = toHistory(event, payload, previousBalance, current.getBalance());
+                if (entry != null) {
+                    pendingHistory.add(entry);
+                }
+            }
+        }
+
+        void finish() {
+            completeAccount();
+            flush(true);
+        }
+
+        private void completeAccount() {
+            if (current == null) {
+                return;
+            }
+            pendingAccounts.add(current);
+            current = null;
+            if (pendingAccounts.size() >= eventSourcingConfig.getRebuildBatchSize()) {
+                flush(false);
+            }
+        }
+
+        private void flush(boolean completed) {
+            if (pendingAccounts.isEmpty() && !completed) {
+                return;
+            }
+
+            List<Account> writable = new ArrayList<>(pendingAccounts.size());
+            Set<String> accountNumbers = new LinkedHashSet<>(pendingAccounts.size());
+            for (Account account : pendingAccounts) {
+                if (account.getCurrency() == null || account.getAccountType() == null || account.getStatus() == null) {
+                    log.warn("Skipping account {} during rebuild: no ACCOUNT_CREATED event", account.getAccountNumber());
+                    continue;
+                }
+                writable.add(account);
+                if (!partialHistory.contains(account.getAccountNumber())) {
+                    accountNumbers.add(account.getAccountNumber());
+                }
+            }
+
+            // Only accounts whose history is replaced get entries; skipped accounts get none
+            List<AccountHistory> history = new ArrayList<>(pendingHistory.size());
+            for (AccountHistory entry : pendingHistory) {
+                if (accountNumbers.contains(entry.getAccountNumber())) {
+                    history.add(entry);
+                }
+            }
+
+            if (!pendingAccounts.isEmpty()) {
+                checkpoint.setLastAccountNumber(pendingAccounts.get(pendingAccounts.size() - 1).getAccountNumber());
+            }
+            checkpoint.setAccountsRebuilt(checkpoint.getAccountsRebuilt() + writable.size());
+            checkpoint.setEventsApplied(checkpoint.getEventsApplied() + pendingEvents);
+            checkpoint.setCompleted(completed);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+
+            writeTransaction.executeWithoutResult(status -> {
+                stagingRepository.upsertAccounts(checkpoint.getRunId(), writable);
+                if (rebuildHistory) {
+                    stagingRepository.replaceHistory(checkpoint.getRunId(), accountNumbers, history);
+                }
+                ProjectionRebuildCheckpoint saved = checkpointRepository.save(checkpoint);
+                checkpoint.setId(saved.getId());
+            });
+
+            accountsCounter.increment(writable.size());
+            eventsCounter.increment(pendingEvents);
+            pendingAccounts.clear();
+            pendingHistory.clear();
+            partialHistory.clear();
+            pendingEvents = 0;
+        }
+
+        private AccountHistory toHistory(AccountEvent event, EventPayload payload,
+                                         BigDecimal previousBalance, BigDecimal newBalance) {
+            String operation;
+            String description;
+            switch (event.getEventType()) {
+                case ACCOUNT_CREATED:
+                    operation = "CREATE";
+                    description = "Account created";
+                    previousBalance = null;
+                    break;
+                case BALANCE_CREDITED:
+                    operation = "CREDIT";
+                    description = "Account credited";
+                    break;
+                case BALANCE_DEBITED:
+                    operation = "DEBIT";
+                    description = "Account debited";
+                    break;
+                case BALANCE_UPDATED:
+                    operation = newBalance.compareTo(previousBalance) >= 0 ? "CREDIT" : "DEBIT";
+                    description = "Balance updated";
+                    break;
+                case ACCOUNT_SUSPENDED:
+                    operation = "FREEZE";
+                    description = "Account frozen";
+                    break;
+                case ACCOUNT_ACTIVATED:
+                    operation = "ACTIVATE";
+                    description = "Account activated";
+                    break;
+                case ACCOUNT_CLOSED:
+                    operation = "CLOSE";
+                    description = "Account closed";
+                    break;
+                default:
+                    return null;
+            }
+
+            String referenceId = null;
+            if (payload instanceof BalanceCreditedPayload credited) {
+                referenceId = credited.getReferenceId();
+            } else if (payload instanceof BalanceDebitedPayload debited) {
+                referenceId = debited.getReferenceId();
+            }
+
+            BigDecimal amount = null;
+            if (event.getEventType() == EventType.ACCOUNT_CREATED) {
+                amount = newBalance;
+            } else if (payload != null) {
+                amount = newBalance.subtract(previousBalance).abs();
+            }
+
+            return AccountHistory.builder()
+                    .accountNumber(event.getAccountNumber())
+                    .operation(operation)
+                    .previousBalance(previousBalance)
+                    .newBalance(newBalance)
+                    .amount(amount)
+                    .description(description)
+                    .referenceId(referenceId)
+                    .timestamp(event.getTimestamp())
+                    .build();
+        }
+    }
+}
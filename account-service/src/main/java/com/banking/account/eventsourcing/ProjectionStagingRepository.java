@@ -0,0 +1,186 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.model.Account;
+import com.banking.account.model.AccountHistory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Projection Staging Repository
+ * Rebuilt projections are written to run-scoped staging tables instead of the live
+ * read model, and copied over it only when the run is promoted
+ */
+@Repository
+@DependsOn("entityManagerFactory")
+public class ProjectionStagingRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    // Serializes the staging DDL across instances
+    private static final long DDL_LOCK_KEY = 0x6163635f72626c64L;
+
+    private static final String CREATE_ACCOUNTS_SQL =
+            "CREATE TABLE IF NOT EXISTS accounts_rebuild (" +
+            "run_id VARCHAR(100) NOT NULL, account_number VARCHAR(26) NOT NULL, customer_id VARCHAR(50), " +
+            "customer_name VARCHAR(100), balance NUMERIC(19, 2) NOT NULL, currency VARCHAR(3) NOT NULL, " +
+            "status VARCHAR(20) NOT NULL, account_type VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL, " +
+            "updated_at TIMESTAMP NOT NULL, PRIMARY KEY (run_id, account_number))";
+
+    private static final String CREATE_HISTORY_SQL =
+            "CREATE TABLE IF NOT EXISTS account_history_rebuild (" +
+            "run_id VARCHAR(100) NOT NULL, account_number VARCHAR(26) NOT NULL, operation VARCHAR(50) NOT NULL, " +
+            "previous_balance NUMERIC(19, 2), new_balance NUMERIC(19, 2), amount NUMERIC(19, 2), " +
+            "description VARCHAR(500), reference_id VARCHAR(100), \"timestamp\" TIMESTAMP NOT NULL)";
+
+    private static final String CREATE_HISTORY_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_account_history_rebuild_run " +
+            "ON account_history_rebuild (run_id, account_number)";
+
+    private static final String UPSERT_ACCOUNT_SQL =
+            "INSERT INTO accounts_rebuild (run_id, account_number, customer_id, customer_name, balance, " +
+            "currency, status, account_type, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (run_id, account_number) DO UPDATE SET " +
+            "customer_id = EXCLUDED.customer_id, customer_name = EXCLUDED.customer_name, " +
+            "balance = EXCLUDED.balance, currency = EXCLUDED.currency, status = EXCLUDED.status, " +
+            "account_type = EXCLUDED.account_type, created_at = EXCLUDED.created_at, updated_at = EXCLUDED.updated_at";
+
+    private static final String DELETE_HISTORY_SQL =
+            "DELETE FROM account_history_rebuild WHERE run_id = ? AND account_number = ANY (?)";
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO account_history_rebuild (run_id, account_number, operation, previous_balance, " +
+            "new_balance, amount, description, reference_id, \"timestamp\") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DISCARD_OTHER_ACCOUNTS_SQL = "DELETE FROM accounts_rebuild WHERE run_id <> ?";
+    private static final String DISCARD_OTHER_HISTORY_SQL = "DELETE FROM account_history_rebuild WHERE run_id <> ?";
+    private static final String DISCARD_ACCOUNTS_SQL = "DELETE FROM accounts_rebuild WHERE run_id = ?";
+    private static final String DISCARD_HISTORY_SQL = "DELETE FROM account_history_rebuild WHERE run_id = ?";
+
+    // Live rows changed after their last event (live writes append no events) are kept as they are.
+    // History is replaced only for promoted accounts that have staged history; the account ids come
+    // from the upsert itself, so accounts created by the promotion are covered too.
+    private static final String PROMOTE_SQL =
+            "WITH promoted AS (" +
+            "INSERT INTO accounts AS live (account_number, customer_id, customer_name, balance, currency, status, " +
+            "account_type, version, created_at, updated_at) " +
+            "SELECT account_number, COALESCE(customer_id, ''), COALESCE(customer_name, ''), balance, currency, " +
+            "status, account_type, 0, created_at, updated_at FROM accounts_rebuild WHERE run_id = ? " +
+            "ON CONFLICT (account_number) DO UPDATE SET " +
+            "customer_id = COALESCE(NULLIF(EXCLUDED.customer_id, ''), live.customer_id), " +
+            "customer_name = COALESCE(NULLIF(EXCLUDED.customer_name, ''), live.customer_name), " +
+            "balance = EXCLUDED.balance, currency = EXCLUDED.currency, status = EXCLUDED.status, " +
+            "account_type = EXCLUDED.account_type, version = live.version + 1, updated_at = EXCLUDED.updated_at " +
+            "WHERE live.updated_at IS NULL OR live.updated_at <= EXCLUDED.updated_at " +
+            "RETURNING live.id, live.account_number), " +
+            "replaced AS (" +
+            "SELECT p.id, p.account_number FROM promoted p WHERE EXISTS (" +
+            "SELECT 1 FROM account_history_rebuild s WHERE s.run_id = ? AND s.account_number = p.account_number)), " +
+            "cleared AS (" +
+            "DELETE FROM account_history h USING replaced r WHERE h.account_number = r.account_number), " +
+            "inserted AS (" +
+            "INSERT INTO account_history (account_id, account_number, operation, previous_balance, new_balance, " +
+            "amount, description, reference_id, \"timestamp\") " +
+            "SELECT r.id, s.account_number, s.operation, s.previous_balance, s.new_balance, s.amount, " +
+            "s.description, s.reference_id, s.\"timestamp\" " +
+            "FROM account_history_rebuild s JOIN replaced r ON r.account_number = s.account_number " +
+            "WHERE s.run_id = ?) " +
+            "SELECT (SELECT COUNT(*) FROM accounts_rebuild WHERE run_id = ?), (SELECT COUNT(*) FROM promoted)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProjectionStagingRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, DDL_LOCK_KEY);
+            jdbcTemplate.execute(CREATE_ACCOUNTS_SQL);
+            jdbcTemplate.execute(CREATE_HISTORY_SQL);
+            jdbcTemplate.execute(CREATE_HISTORY_INDEX_SQL);
+        });
+    }
+
+    /**
+     * Drop whatever earlier runs staged; only the latest run can be promoted
+     */
+    public void discardOtherRuns(String runId) {
+        jdbcTemplate.update(DISCARD_OTHER_ACCOUNTS_SQL, runId);
+        jdbcTemplate.update(DISCARD_OTHER_HISTORY_SQL, runId);
+    }
+
+    public void upsertAccounts(String runId, List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_ACCOUNT_SQL, accounts, BATCH_SIZE, (ps, account) -> {
+            LocalDateTime createdAt = account.getCreatedAt() != null ? account.getCreatedAt() : LocalDateTime.now();
+            LocalDateTime updatedAt = account.getUpdatedAt() != null ? account.getUpdatedAt() : createdAt;
+            ps.setString(1, runId);
+            ps.setString(2, account.getAccountNumber());
+            ps.setString(3, account.getCustomerId());
+            ps.setString(4, account.getCustomerName());
+            ps.setBigDecimal(5, account.getBalance());
+            ps.setString(6, account.getCurrency().name());
+            ps.setString(7, account.getStatus().name());
+            ps.setString(8, account.getAccountType().name());
+            ps.setTimestamp(9, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(10, Timestamp.valueOf(updatedAt));
+        });
+    }
+
+    /**
+     * Replace the staged history of the given accounts, so a resumed batch does not duplicate it
+     */
+    public void replaceHistory(String runId, Collection<String> accountNumbers, List<AccountHistory> entries) {
+        if (accountNumbers.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(DELETE_HISTORY_SQL);
+            ps.setString(1, runId);
+            ps.setArray(2, con.createArrayOf("varchar", accountNumbers.toArray()));
+            return ps;
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, entries, BATCH_SIZE, (ps, history) -> {
+            ps.setString(1, runId);
+            ps.setString(2, history.getAccountNumber());
+            ps.setString(3, history.getOperation());
+            ps.setBigDecimal(4, history.getPreviousBalance());
+            ps.setBigDecimal(5, history.getNewBalance());
+            ps.setBigDecimal(6, history.getAmount());
+            ps.setString(7, history.getDescription());
+            ps.setString(8, history.getReferenceId());
+            ps.setTimestamp(9, Timestamp.valueOf(history.getTimestamp()));
+        });
+    }
+
+    /**
+     * Copy a run's staged projections over the live read model and discard them.
+     * Must run inside a transaction; promoted rows get a new version, so in-flight
+     * JPA updates of those accounts fail their optimistic lock instead of overwriting.
+     */
+    public ProjectionPromotion promote(String runId) {
+        ProjectionPromotion promotion = jdbcTemplate.queryForObject(PROMOTE_SQL,
+                (rs, rowNum) -> new ProjectionPromotion(runId, rs.getLong(1), rs.getLong(2)),
+                runId, runId, runId, runId);
+        jdbcTemplate.update(DISCARD_ACCOUNTS_SQL, runId);
+        jdbcTemplate.update(DISCARD_HISTORY_SQL, runId);
+        return promotion;
+    }
+}
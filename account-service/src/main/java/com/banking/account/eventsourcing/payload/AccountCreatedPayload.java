@@ -0,0 +1,47 @@
+package com.banking.account.eventsourcing.payload;
+
+import com.banking.account.eventsourcing.EventType;
+import com.banking.account.model.Account;
+import com.banking.account.model.AccountStatus;
+import com.banking.account.model.AccountType;
+import com.banking.account.model.Currency;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountCreatedPayload implements EventPayload {
+
+    private String accountNumber;
+    private String customerId;
+    private String customerName;
+    private AccountType accountType;
+    private Currency currency;
+    private BigDecimal balance;
+
+    @Override
+    public EventType eventType() {
+        return EventType.ACCOUNT_CREATED;
+    }
+
+    @Override
+    public void applyTo(Account account) {
+        account.setCustomerName(customerName);
+        account.setAccountNumber(accountNumber);
+        account.setAccountType(accountType);
+        account.setCurrency(currency);
+        account.setBalance(balance);
+        account.setStatus(AccountStatus.ACTIVE);
+        if (customerId != null) {
+            account.setCustomerId(customerId);
+        }
+    }
+}
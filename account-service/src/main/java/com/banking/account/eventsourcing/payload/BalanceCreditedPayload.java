@@ -0,0 +1,32 @@
+package com.banking.account.eventsourcing.payload;
+
+import com.banking.account.eventsourcing.EventType;
+import com.banking.account.model.Account;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BalanceCreditedPayload implements EventPayload {
+
+    private BigDecimal amount;
+    private String referenceId;
+
+    @Override
+    public EventType eventType() {
+        return EventType.BALANCE_CREDITED;
+    }
+
+    @Override
+    public void applyTo(Account account) {
+        account.setBalance(account.getBalance().add(amount));
+    }
+}
@@ -0,0 +1,22 @@
+package com.banking.account.eventsourcing.payload;
+
+import com.banking.account.eventsourcing.EventType;
+import com.banking.account.model.Account;
+
+/**
+ * Typed Event Payload
+ * Decoded directly from the stored event data and applied to the aggregate
+ * without an intermediate Map
+ */
+public interface EventPayload {
+
+    /**
+     * Event type this payload is stored under
+     */
+    EventType eventType();
+
+    /**
+     * Apply this payload to an account (state mutation)
+     */
+    void applyTo(Account account);
+}
@@ -0,0 +1,7 @@
+package com.banking.account.exception;
+
+public class EventVersionConflictException extends RuntimeException {
+    public EventVersionConflictException(String message) {
+        super(message);
+    }
+}
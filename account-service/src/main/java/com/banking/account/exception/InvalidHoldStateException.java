@@ -0,0 +1,7 @@
+package com.banking.account.exception;
+
+public class InvalidHoldStateException extends RuntimeException {
+    public InvalidHoldStateException(String message) {
+        super(message);
+    }
+}
@@ -51,6 +51,9 @@ public class Account {
     @Column(name = "account_type", nullable = false, length = 20)
     private AccountType accountType;
 
+    @Column(name = "held_amount", precision = 19, scale = 2)
+    private BigDecimal heldAmount;  // Sum of active holds; null on accounts that never had one
+
     @Version
     private Long version;
 
@@ -89,6 +92,24 @@ public class Account {
         this.balance = this.balance.subtract(amount);
     }
 
+    /**
+     * Balance minus funds reserved by active holds
+     */
+    public BigDecimal availableBalance() {
+        return heldAmount == null ? balance : balance.subtract(heldAmount);
+    }
+
+    public void hold(BigDecimal amount) {
+        if (availableBalance().compareTo(amount) < 0) {
+            throw new IllegalStateException("Insufficient available balance");
+        }
+        this.heldAmount = heldAmount == null ? amount : heldAmount.add(amount);
+    }
+
+    public void releaseHold(BigDecimal amount) {
+        this.heldAmount = heldAmount.subtract(amount);
+    }
+
     public void freeze() {
         this.status = AccountStatus.FROZEN;
     }
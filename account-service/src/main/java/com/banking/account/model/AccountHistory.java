@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "account_history", indexes = {
         @Index(name = "idx_history_account_id", columnList = "account_id"),
-        @Index(name = "idx_history_timestamp", columnList = "timestamp")
+        @Index(name = "idx_history_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_history_account_timestamp_id", columnList = "account_id, timestamp, id"),
+        @Index(name = "idx_history_reference", columnList = "reference_id")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -34,6 +36,8 @@ public class AccountHistory {
     @Column(name = "operation", nullable = false, length = 50)
     private String operation; // CREDIT, DEBIT, FREEZE, ACTIVATE, CLOSE
 
+    // Balances are null on credits to hot accounts: the credit goes to a sub-balance
+    // stripe and its resulting balance is only known once the stripes are folded
     @Column(name = "previous_balance", precision = 19, scale = 2)
     private BigDecimal previousBalance;
 
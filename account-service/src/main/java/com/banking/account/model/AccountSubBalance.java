@@ -0,0 +1,40 @@
+package com.banking.account.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Striped credit accumulator for a hot account.
+ * Credits add to one of N stripe rows without touching the account row;
+ * the compactor (or a debit holding the account lock) folds them into Account.balance.
+ */
+@Entity
+@Table(name = "account_sub_balances",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sub_balance_stripe", columnNames = {"account_id", "stripe"}),
+        indexes = @Index(name = "idx_sub_balance_account_id", columnList = "account_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountSubBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Integer stripe;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;  // Credits not yet folded into the account balance
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
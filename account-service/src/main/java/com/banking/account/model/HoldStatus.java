@@ -0,0 +1,8 @@
+package com.banking.account.model;
+
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,37 @@
+package com.banking.account.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional outbox row.
+ * Written in the same transaction as the account change and deleted by the
+ * relay once the message has been acknowledged by Kafka.
+ */
+@Entity
+@Table(name = "account_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;  // Relay order
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    @Column(name = "message_key", nullable = false, length = 50)
+    private String messageKey;  // Account number; keeps per-account ordering within a partition
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
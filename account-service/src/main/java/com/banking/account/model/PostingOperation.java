@@ -0,0 +1,6 @@
+package com.banking.account.model;
+
+public enum PostingOperation {
+    CREDIT,
+    DEBIT
+}
@@ -0,0 +1,47 @@
+package com.banking.account.repository;
+
+import com.banking.account.model.AccountHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch writer for account history
+ * Used by bulk postings where one INSERT per entity would dominate the batch
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountHistoryJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO account_history (account_id, account_number, operation, previous_balance, " +
+            "new_balance, amount, description, reference_id, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<AccountHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, BATCH_SIZE, (ps, history) -> {
+            LocalDateTime timestamp = history.getTimestamp() != null ? history.getTimestamp() : LocalDateTime.now();
+            ps.setLong(1, history.getAccountId());
+            ps.setString(2, history.getAccountNumber());
+            ps.setString(3, history.getOperation());
+            ps.setBigDecimal(4, history.getPreviousBalance());
+            ps.setBigDecimal(5, history.getNewBalance());
+            ps.setBigDecimal(6, history.getAmount());
+            ps.setString(7, history.getDescription());
+            ps.setString(8, history.getReferenceId());
+            ps.setTimestamp(9, Timestamp.valueOf(timestamp));
+        });
+    }
+}
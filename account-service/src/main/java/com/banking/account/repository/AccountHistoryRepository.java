@@ -4,16 +4,53 @@ import com.banking.account.model.AccountHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface AccountHistoryRepository extends JpaRepository<AccountHistory, Long> {
 
     List<AccountHistory> findByAccountIdOrderByTimestampDesc(Long accountId);
 
+    List<AccountHistory> findByReferenceIdOrderByIdAsc(String referenceId);
+
+    /**
+     * First keyset page, newest first (served by idx_history_account_timestamp_id)
+     */
+    @Query("SELECT h FROM AccountHistory h WHERE h.accountId = :accountId ORDER BY h.timestamp DESC, h.id DESC")
+    List<AccountHistory> findFirstPage(@Param("accountId") Long accountId, Pageable limit);
+
+    /**
+     * Keyset page strictly older than the (timestamp, id) cursor
+     */
+    @Query("SELECT h FROM AccountHistory h WHERE h.accountId = :accountId " +
+            "AND (h.timestamp < :timestamp OR (h.timestamp = :timestamp AND h.id < :id)) " +
+            "ORDER BY h.timestamp DESC, h.id DESC")
+    List<AccountHistory> findPageBefore(@Param("accountId") Long accountId,
+                                        @Param("timestamp") LocalDateTime timestamp,
+                                        @Param("id") Long id,
+                                        Pageable limit);
+
+    /**
+     * Server-side cursor over the full history; must be consumed inside a transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM AccountHistory h WHERE h.accountId = :accountId ORDER BY h.timestamp DESC, h.id DESC")
+    Stream<AccountHistory> streamByAccountId(@Param("accountId") Long accountId);
+
     Page<AccountHistory> findByAccountId(Long accountId, Pageable pageable);
 
     List<AccountHistory> findByAccountNumberOrderByTimestampDesc(String accountNumber);
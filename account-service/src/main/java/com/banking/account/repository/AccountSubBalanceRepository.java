@@ -0,0 +1,45 @@
+package com.banking.account.repository;
+
+import com.banking.account.model.AccountSubBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface AccountSubBalanceRepository extends JpaRepository<AccountSubBalance, Long> {
+
+    /**
+     * Add a credit to one stripe, creating the stripe row on first use, if the account is active.
+     * The account row is only share-locked, so credits on different stripes still run in parallel,
+     * while a status change waits for them (and they see its result).
+     *
+     * @return 0 when the account is not active
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO account_sub_balances (account_id, stripe, amount, updated_at) " +
+            "SELECT a.id, :stripe, :amount, now() FROM accounts a " +
+            "WHERE a.id = :accountId AND a.status = 'ACTIVE' FOR SHARE " +
+            "ON CONFLICT (account_id, stripe) DO UPDATE " +
+            "SET amount = account_sub_balances.amount + EXCLUDED.amount, updated_at = EXCLUDED.updated_at",
+            nativeQuery = true)
+    int addToStripe(@Param("accountId") Long accountId, @Param("stripe") int stripe, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM AccountSubBalance s WHERE s.accountId = :accountId")
+    BigDecimal sumByAccountId(@Param("accountId") Long accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountSubBalance s WHERE s.accountId = :accountId AND s.amount <> 0 ORDER BY s.stripe")
+    List<AccountSubBalance> findPendingByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    @Query("SELECT DISTINCT s.accountId FROM AccountSubBalance s WHERE s.amount <> 0")
+    List<Long> findAccountIdsWithPendingCredits();
+}
@@ -0,0 +1,30 @@
+package com.banking.account.repository;
+
+import com.banking.account.model.FundsHold;
+import com.banking.account.model.HoldStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface FundsHoldRepository extends JpaRepository<FundsHold, Long> {
+
+    Optional<FundsHold> findByHoldId(String holdId);
+
+    Optional<FundsHold> findByAccountNumberAndReferenceId(String accountNumber, String referenceId);
+
+    List<FundsHold> findByAccountNumberAndStatusOrderByCreatedAtAsc(String accountNumber, HoldStatus status);
+
+    /**
+     * Active holds past their expiry, oldest first
+     */
+    @Query("SELECT h.holdId FROM FundsHold h WHERE h.status = com.banking.account.model.HoldStatus.ACTIVE " +
+           "AND h.expiresAt < :now ORDER BY h.expiresAt")
+    List<String> findExpiredHoldIds(@Param("now") LocalDateTime now, Pageable pageable);
+}
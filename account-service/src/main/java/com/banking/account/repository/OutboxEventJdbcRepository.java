@@ -0,0 +1,43 @@
+package com.banking.account.repository;
+
+import com.banking.account.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC writer for the outbox; joins the caller's transaction
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO account_outbox (topic, message_key, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(String topic, String messageKey, String payload) {
+        jdbcTemplate.update(INSERT_SQL, topic, messageKey, payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public void batchInsert(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, BATCH_SIZE, (ps, event) -> {
+            ps.setString(1, event.getTopic());
+            ps.setString(2, event.getMessageKey());
+            ps.setString(3, event.getPayload());
+            ps.setTimestamp(4, now);
+        });
+    }
+}
@@ -0,0 +1,208 @@
+package com.banking.account.service;
+
+import com.banking.account.config.AccountCacheConfig;
+import com.banking.account.dto.AccountResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Account Cache
+ * Two-level cache for AccountResponse keyed by account number: a bounded in-process
+ * LRU in front of Redis. Writers evict both levels after commit, and once more after a
+ * short delay to drop copies re-cached by reads that loaded the pre-commit state; other
+ * instances evict on the account's own balance/status events (see AccountCacheInvalidationConsumer).
+ * The in-process TTL bounds staleness if an event is missed.
+ * IMPORTANT: Graceful degradation - Redis errors fall through to the loader
+ */
+@Component
+@Slf4j
+public class AccountCache {
+
+    private static final String KEY_PREFIX = "account:cache:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final AccountCacheConfig config;
+    private final Map<String, CachedAccount> local;
+    private final ScheduledExecutorService evictionScheduler;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Timer staleness;
+
+    public AccountCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                        AccountCacheConfig config, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.local = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAccount> eldest) {
+                return size() > config.getLocalMaxSize();
+            }
+        });
+
+        this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-cache-evict");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.localHits = requests(meterRegistry, "local", "hit");
+        this.localMisses = requests(meterRegistry, "local", "miss");
+        this.redisHits = requests(meterRegistry, "redis", "hit");
+        this.redisMisses = requests(meterRegistry, "redis", "miss");
+        this.staleness = Timer.builder("account.cache.staleness")
+                .description("Time between an account change and the invalidation of a cached copy")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("account.cache.hit.ratio", this, AccountCache::hitRatio)
+                .description("Share of lookups served from either cache level")
+                .register(meterRegistry);
+        Gauge.builder("account.cache.local.size", local, Map::size)
+                .register(meterRegistry);
+    }
+
+    public AccountResponse get(String accountNumber, Supplier<AccountResponse> loader) {
+        if (!config.isEnabled()) {
+            return loader.get();
+        }
+
+        CachedAccount cached = local.get(accountNumber);
+        if (cached != null && System.currentTimeMillis() - cached.cachedAt() < config.getLocalTtlMs()) {
+            localHits.increment();
+            return cached.account();
+        }
+        localMisses.increment();
+
+        AccountResponse account = readRedis(accountNumber);
+        if (account != null) {
+            redisHits.increment();
+            local.put(accountNumber, new CachedAccount(account, System.currentTimeMillis()));
+            return account;
+        }
+        redisMisses.increment();
+
+        account = loader.get();
+        local.put(accountNumber, new CachedAccount(account, System.currentTimeMillis()));
+        writeRedis(accountNumber, account);
+        return account;
+    }
+
+    /**
+     * Evict once the current transaction commits, and again after the configured delay:
+     * a reader that loaded before the commit can still cache its copy after the first eviction
+     */
+    public void evictAfterCommit(String accountNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictTwice(accountNumber);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictTwice(accountNumber);
+            }
+        });
+    }
+
+    /**
+     * Invalidate on an account change event and record how long a cached copy outlived the change
+     */
+    public void invalidate(String accountNumber, LocalDateTime changedAt) {
+        CachedAccount cached = local.remove(accountNumber);
+        deleteRedis(accountNumber);
+
+        if (cached != null && changedAt != null) {
+            long changedAtMillis = changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (cached.cachedAt() <= changedAtMillis) {
+                staleness.record(Math.max(0, System.currentTimeMillis() - changedAtMillis), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    public void evict(String accountNumber) {
+        local.remove(accountNumber);
+        deleteRedis(accountNumber);
+    }
+
+    private void evictTwice(String accountNumber) {
+        evict(accountNumber);
+        try {
+            evictionScheduler.schedule(() -> evict(accountNumber), config.getSecondEvictionDelayMs(),
+                    TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("Error scheduling second eviction of account {}: {}", accountNumber, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictionScheduler.shutdownNow();
+    }
+
+    double hitRatio() {
+        double hits = localHits.count() + redisHits.count();
+        double requests = localHits.count() + localMisses.count();
+        return requests == 0 ? 0.0 : hits / requests;
+    }
+
+    private AccountResponse readRedis(String accountNumber) {
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + accountNumber);
+            return json != null ? objectMapper.readValue(json, AccountResponse.class) : null;
+        } catch (Exception e) {
+            log.error("Redis unavailable - reading account from database: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(String accountNumber, AccountResponse account) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + accountNumber, objectMapper.writeValueAsString(account),
+                    Duration.ofSeconds(config.getRedisTtlSeconds()));
+        } catch (Exception e) {
+            log.error("Error caching account in Redis: {}", e.getMessage());
+        }
+    }
+
+    private void deleteRedis(String accountNumber) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + accountNumber);
+        } catch (Exception e) {
+            log.error("Error evicting account from Redis: {}", e.getMessage());
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("account.cache.requests")
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedAccount(AccountResponse account, long cachedAt) {
+    }
+}
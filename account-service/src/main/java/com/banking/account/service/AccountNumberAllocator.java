@@ -0,0 +1,136 @@
+package com.banking.account.service;
+
+import com.banking.account.config.AccountNumberConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Account Number Allocator
+ * Hands out IBANs from blocks reserved on a database sequence. Each sequence call
+ * reserves a whole block for this instance, so numbers are unique across instances
+ * without per-account existence checks; within a block they are handed out with a
+ * single atomic increment. Only refilling an exhausted block touches the database.
+ * The sequence is created at startup in a transaction of its own; nextval is never rolled
+ * back, so refilling inside an account's transaction cannot hand a block out twice.
+ */
+@Component
+@Slf4j
+public class AccountNumberAllocator {
+
+    private static final String SEQUENCE_NAME_PATTERN = "[a-z_][a-z0-9_]*";
+    private static final long SEQUENCE_LOCK_KEY = 0x6163635f6e736571L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IbanGenerator ibanGenerator;
+    private final AccountNumberConfig accountNumberConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Block block = Block.EMPTY;
+    private long blockSize;  // Sequence increment, read once at startup
+
+    public AccountNumberAllocator(JdbcTemplate jdbcTemplate, IbanGenerator ibanGenerator,
+                                  AccountNumberConfig accountNumberConfig,
+                                  PlatformTransactionManager transactionManager) {
+        if (!accountNumberConfig.getSequenceName().matches(SEQUENCE_NAME_PATTERN)) {
+            throw new IllegalArgumentException("Invalid sequence name: " + accountNumberConfig.getSequenceName());
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.ibanGenerator = ibanGenerator;
+        this.accountNumberConfig = accountNumberConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Create the sequence before any account is opened. Instances starting together
+     * serialize on an advisory lock instead of racing on CREATE SEQUENCE.
+     */
+    @PostConstruct
+    public void initialize() {
+        blockSize = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, SEQUENCE_LOCK_KEY);
+            return initializeSequence();
+        });
+    }
+
+    /**
+     * Allocate the next account number (IBAN)
+     */
+    public String nextAccountNumber() {
+        return ibanGenerator.formatIban(accountNumberConfig.getReservedDigit(), nextValue());
+    }
+
+    /**
+     * Allocate account numbers for bulk opening; only block refills hit the database
+     */
+    public List<String> nextAccountNumbers(int count) {
+        List<String> accountNumbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accountNumbers.add(nextAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private long nextValue() {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return value;
+            }
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (block != exhausted) {
+            return; // Another thread already swapped in a fresh block
+        }
+        if (blockSize == 0) {
+            throw new IllegalStateException("Account number sequence not initialized");
+        }
+        Long start = jdbcTemplate.queryForObject(
+                "SELECT nextval('" + accountNumberConfig.getSequenceName() + "')", Long.class);
+        block = new Block(start, start + blockSize);
+        log.debug("Reserved account number block [{}, {})", start, start + blockSize);
+    }
+
+    private long initializeSequence() {
+        String sequenceName = accountNumberConfig.getSequenceName();
+        int configuredBlockSize = Math.max(1, accountNumberConfig.getBlockSize());
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequenceName +
+                " START WITH 1 INCREMENT BY " + configuredBlockSize);
+
+        // Every instance must use the increment the sequence was created with
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Long.class, sequenceName);
+        if (increment == null || increment < 1) {
+            throw new IllegalStateException("Sequence " + sequenceName + " must have a positive increment");
+        }
+        if (increment != configuredBlockSize) {
+            log.warn("Sequence {} increments by {}, not the configured block size {}; using {}",
+                    sequenceName, increment, configuredBlockSize, increment);
+        }
+        return increment;
+    }
+
+    private static final class Block {
+
+        static final Block EMPTY = new Block(0, 0);
+
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
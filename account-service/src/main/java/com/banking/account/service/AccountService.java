@@ -1,10 +1,20 @@
 package com.banking.account.service;
 
+import com.banking.account.dto.AccountHistoryPage;
 import com.banking.account.dto.AccountResponse;
 import com.banking.account.dto.BalanceUpdateRequest;
+import com.banking.account.dto.BatchPostingRequest;
+import com.banking.account.dto.BatchPostingResponse;
+import com.banking.account.dto.CaptureHoldRequest;
 import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.HoldRequest;
+import com.banking.account.dto.HoldResponse;
+import com.banking.account.dto.InternalTransferRequest;
+import com.banking.account.dto.InternalTransferResponse;
 import com.banking.account.model.AccountHistory;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface AccountService {
@@ -21,6 +31,10 @@ public interface AccountService {
 
     AccountResponse debitAccount(String accountNumber, BalanceUpdateRequest request);
 
+    BatchPostingResponse postBatch(BatchPostingRequest request);
+
+    InternalTransferResponse transferInternal(InternalTransferRequest request);
+
     AccountResponse freezeAccount(String accountNumber);
 
     AccountResponse activateAccount(String accountNumber);
@@ -28,4 +42,20 @@ public interface AccountService {
     AccountResponse closeAccount(String accountNumber);
 
     List<AccountHistory> getAccountHistory(String accountNumber);
-}
\ No newline at end of file
+
+    AccountHistoryPage getAccountHistoryPage(String accountNumber, String cursor, int size);
+
+    void exportAccountHistory(String accountNumber, OutputStream outputStream) throws IOException;
+
+    HoldResponse placeHold(String accountNumber, HoldRequest request);
+
+    HoldResponse captureHold(String holdId, CaptureHoldRequest request);
+
+    HoldResponse releaseHold(String holdId);
+
+    HoldResponse getHold(String holdId);
+
+    List<HoldResponse> getActiveHolds(String accountNumber);
+
+    void expireHold(String holdId);
+}
@@ -1,51 +1,90 @@
 package com.banking.account.service;
 
+import com.banking.account.dto.AccountHistoryPage;
 import com.banking.account.dto.AccountResponse;
 import com.banking.account.dto.BalanceUpdateRequest;
+import com.banking.account.dto.BatchPostingRequest;
+import com.banking.account.dto.BatchPostingResponse;
+import com.banking.account.dto.CaptureHoldRequest;
 import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.HoldRequest;
+import com.banking.account.dto.HoldResponse;
+import com.banking.account.dto.InternalTransferRequest;
+import com.banking.account.dto.InternalTransferResponse;
+import com.banking.account.dto.PostingRequest;
+import com.banking.account.dto.PostingResult;
 import com.banking.account.event.AccountCreatedEvent;
 import com.banking.account.event.AccountStatusChangedEvent;
 import com.banking.account.event.BalanceChangedEvent;
-import com.banking.account.exception.AccountAlreadyExistsException;
+import com.banking.account.config.HoldConfig;
 import com.banking.account.exception.AccountNotFoundException;
+import com.banking.account.exception.HoldNotFoundException;
 import com.banking.account.exception.InsufficientBalanceException;
+import com.banking.account.exception.InvalidCursorException;
 import com.banking.account.exception.InvalidAccountStateException;
+import com.banking.account.exception.InvalidHoldStateException;
 import com.banking.account.model.Account;
 import com.banking.account.model.AccountHistory;
 import com.banking.account.model.AccountStatus;
+import com.banking.account.model.FundsHold;
+import com.banking.account.model.HoldStatus;
+import com.banking.account.model.PostingOperation;
+import com.banking.account.repository.AccountHistoryJdbcRepository;
 import com.banking.account.repository.AccountHistoryRepository;
 import com.banking.account.repository.AccountRepository;
+import com.banking.account.repository.FundsHoldRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AccountServiceImpl implements AccountService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+
     private final AccountRepository accountRepository;
     private final AccountHistoryRepository accountHistoryRepository;
+    private final AccountHistoryJdbcRepository accountHistoryJdbcRepository;
     private final EventPublisher eventPublisher;
-    private final IbanGenerator ibanGenerator;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final HotAccountLedger hotAccountLedger;
+    private final AccountCache accountCache;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final FundsHoldRepository fundsHoldRepository;
+    private final HoldConfig holdConfig;
 
     @Override
     @Transactional
     public AccountResponse createAccount(CreateAccountRequest request) {
         log.info("Creating account for customer: {}", request.getCustomerId());
 
-        // Generate unique IBAN
-        String iban = ibanGenerator.generateIban();
-
-        // Check if account already exists
-        if (accountRepository.existsByAccountNumber(iban)) {
-            throw new AccountAlreadyExistsException("Account with this number already exists");
-        }
+        // Allocate IBAN from this instance's reserved block (unique by construction)
+        String iban = accountNumberAllocator.nextAccountNumber();
 
         // Create account
         Account account = Account.builder()
@@ -89,11 +128,13 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public AccountResponse getAccountByAccountNumber(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
-        return mapToResponse(account);
+        // No surrounding transaction: cache hits should not take a database connection
+        return accountCache.get(accountNumber, () -> {
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+            return mapToResponse(account);
+        });
     }
 
     @Override
@@ -110,6 +151,10 @@ public class AccountServiceImpl implements AccountService {
     public AccountResponse creditAccount(String accountNumber, BalanceUpdateRequest request) {
         log.info("Crediting account: {} with amount: {}", accountNumber, request.getAmount());
 
+        if (hotAccountLedger.isHotAccount(accountNumber)) {
+            return creditHotAccount(accountNumber, request);
+        }
+
         Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
 
@@ -137,6 +182,7 @@ public class AccountServiceImpl implements AccountService {
                 .build();
 
         eventPublisher.publishBalanceChanged(event);
+        accountCache.evictAfterCommit(accountNumber);
 
         log.info("Account credited successfully: {}", accountNumber);
         return mapToResponse(savedAccount);
@@ -154,7 +200,13 @@ public class AccountServiceImpl implements AccountService {
             throw new InvalidAccountStateException("Account is not active");
         }
 
-        if (account.getBalance().compareTo(request.getAmount()) < 0) {
+        // Available balance includes credits still sitting in hot-account sub-balances
+        if (hotAccountLedger.isHotAccount(accountNumber)) {
+            hotAccountLedger.fold(account);
+        }
+
+        // Funds reserved by active holds cannot be debited
+        if (account.availableBalance().compareTo(request.getAmount()) < 0) {
             throw new InsufficientBalanceException("Insufficient balance in account: " + accountNumber);
         }
 
@@ -178,11 +230,169 @@ public class AccountServiceImpl implements AccountService {
                 .build();
 
         eventPublisher.publishBalanceChanged(event);
+        accountCache.evictAfterCommit(accountNumber);
 
         log.info("Account debited successfully: {}", accountNumber);
         return mapToResponse(savedAccount);
     }
 
+    @Override
+    @Transactional
+    public BatchPostingResponse postBatch(BatchPostingRequest request) {
+        List<PostingRequest> postings = request.getPostings();
+        log.info("Processing posting batch of {} items", postings.size());
+
+        // Group posting indexes by account; TreeMap keeps lock order deterministic across batches
+        Map<String, List<Integer>> postingsByAccount = new TreeMap<>();
+        for (int i = 0; i < postings.size(); i++) {
+            postingsByAccount.computeIfAbsent(postings.get(i).getAccountNumber(), k -> new ArrayList<>()).add(i);
+        }
+
+        // Lock every account in the batch once
+        Map<String, Account> accounts = accountRepository.findAllByAccountNumberInForUpdate(postingsByAccount.keySet())
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+        accounts.values().stream()
+                .filter(account -> hotAccountLedger.isHotAccount(account.getAccountNumber()))
+                .forEach(hotAccountLedger::fold);
+
+        PostingResult[] results = new PostingResult[postings.size()];
+        List<AccountHistory> history = new ArrayList<>(postings.size());
+        List<BalanceChangedEvent> events = new ArrayList<>(postings.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        // Postings for the same account are applied in request order
+        for (Map.Entry<String, List<Integer>> entry : postingsByAccount.entrySet()) {
+            Account account = accounts.get(entry.getKey());
+            for (int index : entry.getValue()) {
+                results[index] = applyPosting(index, postings.get(index), account, now, history, events);
+            }
+        }
+
+        // Locked accounts are managed; changes are flushed once on commit
+        accountHistoryJdbcRepository.batchInsert(history);
+        eventPublisher.publishBalanceChangedBatch(events);
+        events.stream().map(BalanceChangedEvent::getAccountNumber).distinct().forEach(accountCache::evictAfterCommit);
+
+        int successCount = history.size();
+        log.info("Posting batch processed: {} succeeded, {} failed", successCount, postings.size() - successCount);
+
+        return BatchPostingResponse.builder()
+                .totalCount(postings.size())
+                .successCount(successCount)
+                .failureCount(postings.size() - successCount)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /**
+     * Move funds between two accounts of this service in one local transaction.
+     * Both rows are locked in account-number order, so opposite transfers cannot deadlock.
+     */
+    @Override
+    @Transactional
+    public InternalTransferResponse transferInternal(InternalTransferRequest request) {
+        String fromAccountNumber = request.getFromAccountNumber();
+        String toAccountNumber = request.getToAccountNumber();
+        log.info("Internal transfer {}: {} from {} to {}", request.getReferenceId(), request.getAmount(),
+                fromAccountNumber, toAccountNumber);
+
+        if (fromAccountNumber.equals(toAccountNumber)) {
+            throw new InvalidAccountStateException("Cannot transfer to the same account");
+        }
+
+        Map<String, Account> accounts = accountRepository
+                .findAllByAccountNumberInForUpdate(List.of(fromAccountNumber, toAccountNumber))
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+        Account source = accounts.get(fromAccountNumber);
+        if (source == null) {
+            throw new AccountNotFoundException("Source account not found: " + fromAccountNumber);
+        }
+        Account destination = accounts.get(toAccountNumber);
+        if (destination == null) {
+            throw new AccountNotFoundException("Destination account not found: " + toAccountNumber);
+        }
+
+        // Checked under both locks, so a retried request can never post twice
+        InternalTransferResponse posted = findPostedTransfer(request, source, destination);
+        if (posted != null) {
+            log.info("Internal transfer {} already posted", request.getReferenceId());
+            return posted;
+        }
+
+        if (source.getStatus() != AccountStatus.ACTIVE) {
+            throw new InvalidAccountStateException("Source account is not active");
+        }
+        if (destination.getStatus() != AccountStatus.ACTIVE) {
+            throw new InvalidAccountStateException("Destination account is not active");
+        }
+        if (request.getCurrency() != null) {
+            if (!source.getCurrency().name().equals(request.getCurrency())) {
+                throw new InvalidAccountStateException("Currency mismatch - Source account: " +
+                        source.getCurrency() + ", Transfer: " + request.getCurrency());
+            }
+            if (!destination.getCurrency().name().equals(request.getCurrency())) {
+                throw new InvalidAccountStateException("Currency mismatch - Destination account: " +
+                        destination.getCurrency() + ", Transfer: " + request.getCurrency());
+            }
+        }
+
+        if (hotAccountLedger.isHotAccount(fromAccountNumber)) {
+            hotAccountLedger.fold(source);
+        }
+        if (source.availableBalance().compareTo(request.getAmount()) < 0) {
+            throw new InsufficientBalanceException("Insufficient balance in account: " + fromAccountNumber);
+        }
+
+        // The destination row is locked too, so even a hot account is credited directly
+        BigDecimal sourcePrevious = source.getBalance();
+        BigDecimal destinationPrevious = destination.getBalance();
+        source.debit(request.getAmount());
+        destination.credit(request.getAmount());
+        accountRepository.saveAll(List.of(source, destination));
+
+        AccountHistory debitEntry = buildHistory(source, "DEBIT", sourcePrevious, source.getBalance(),
+                request.getAmount(), request.getDescription(), request.getReferenceId());
+        AccountHistory creditEntry = buildHistory(destination, "CREDIT", destinationPrevious, destination.getBalance(),
+                request.getAmount(), request.getDescription(), request.getReferenceId());
+        List<AccountHistory> entries = accountHistoryRepository.saveAll(List.of(debitEntry, creditEntry));
+
+        eventPublisher.publishBalanceChangedBatch(List.of(
+                BalanceChangedEvent.builder()
+                        .accountNumber(fromAccountNumber)
+                        .customerId(source.getCustomerId())
+                        .operation("DEBIT")
+                        .amount(request.getAmount())
+                        .previousBalance(sourcePrevious)
+                        .newBalance(source.getBalance())
+                        .referenceId(request.getReferenceId())
+                        .build(),
+                BalanceChangedEvent.builder()
+                        .accountNumber(toAccountNumber)
+                        .customerId(destination.getCustomerId())
+                        .operation("CREDIT")
+                        .amount(request.getAmount())
+                        .previousBalance(destinationPrevious)
+                        .newBalance(destination.getBalance())
+                        .referenceId(request.getReferenceId())
+                        .build()));
+        accountCache.evictAfterCommit(fromAccountNumber);
+        accountCache.evictAfterCommit(toAccountNumber);
+
+        log.info("Internal transfer {} completed", request.getReferenceId());
+        return InternalTransferResponse.builder()
+                .referenceId(request.getReferenceId())
+                .fromAccountNumber(fromAccountNumber)
+                .toAccountNumber(toAccountNumber)
+                .amount(request.getAmount())
+                .debitEntryId(entries.get(0).getId())
+                .creditEntryId(entries.get(1).getId())
+                .fromBalance(source.getBalance())
+                .toBalance(destination.getBalance())
+                .build();
+    }
+
     @Override
     @Transactional
     public AccountResponse freezeAccount(String accountNumber) {
@@ -209,6 +419,7 @@ public class AccountServiceImpl implements AccountService {
                 .build();
 
         eventPublisher.publishAccountStatusChanged(event);
+        accountCache.evictAfterCommit(accountNumber);
 
         log.info("Account frozen successfully: {}", accountNumber);
         return mapToResponse(savedAccount);
@@ -240,6 +451,7 @@ public class AccountServiceImpl implements AccountService {
                 .build();
 
         eventPublisher.publishAccountStatusChanged(event);
+        accountCache.evictAfterCommit(accountNumber);
 
         log.info("Account activated successfully: {}", accountNumber);
         return mapToResponse(savedAccount);
@@ -253,7 +465,7 @@ public class AccountServiceImpl implements AccountService {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
 
-        if (account.getBalance().compareTo(BigDecimal.ZERO) != 0) {
+        if (currentBalance(account).compareTo(BigDecimal.ZERO) != 0) {
             throw new InvalidAccountStateException("Cannot close account with non-zero balance");
         }
 
@@ -275,6 +487,7 @@ public class AccountServiceImpl implements AccountService {
                 .build();
 
         eventPublisher.publishAccountStatusChanged(event);
+        accountCache.evictAfterCommit(accountNumber);
 
         log.info("Account closed successfully: {}", accountNumber);
         return mapToResponse(savedAccount);
@@ -289,9 +502,337 @@ public class AccountServiceImpl implements AccountService {
         return accountHistoryRepository.findByAccountIdOrderByTimestampDesc(account.getId());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public AccountHistoryPage getAccountHistoryPage(String accountNumber, String cursor, int size) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);  // One extra row tells us whether more pages exist
+
+        List<AccountHistory> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = accountHistoryRepository.findFirstPage(account.getId(), limit);
+        } else {
+            HistoryCursor position = decodeCursor(cursor);
+            rows = accountHistoryRepository.findPageBefore(account.getId(), position.timestamp(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AccountHistory> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        return AccountHistoryPage.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(items.get(items.size() - 1)) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAccountHistory(String accountNumber, OutputStream outputStream) throws IOException {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+
+        ObjectWriter writer = objectMapper.writer();
+        long exported = 0;
+        try (Stream<AccountHistory> history = accountHistoryRepository.streamByAccountId(account.getId())) {
+            Iterator<AccountHistory> entries = history.iterator();
+            while (entries.hasNext()) {
+                AccountHistory entry = entries.next();
+                outputStream.write(writer.writeValueAsBytes(entry));
+                outputStream.write('\n');
+                // Keep the persistence context from growing with the export
+                entityManager.detach(entry);
+                exported++;
+            }
+        }
+        outputStream.flush();
+
+        log.info("Exported {} history entries for account: {}", exported, accountNumber);
+    }
+
+    /**
+     * Credit a hot account without taking the exclusive account row lock.
+     * The active check is made by the stripe write itself, under a shared row lock.
+     * The resulting balance is not known until the credit is folded, so history
+     * and the published event carry the amount only.
+     */
+    private AccountResponse creditHotAccount(String accountNumber, BalanceUpdateRequest request) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+
+        if (!hotAccountLedger.appendCredit(account, request.getAmount())) {
+            throw new InvalidAccountStateException("Account is not active");
+        }
+
+        // Record history
+        recordHistory(account, "CREDIT", null, null,
+                request.getAmount(), request.getDescription(), request.getReferenceId());
+
+        // Publish event
+        BalanceChangedEvent event = BalanceChangedEvent.builder()
+                .accountNumber(accountNumber)
+                .customerId(account.getCustomerId())
+                .operation("CREDIT")
+                .amount(request.getAmount())
+                .referenceId(request.getReferenceId())
+                .build();
+
+        eventPublisher.publishBalanceChanged(event);
+        accountCache.evictAfterCommit(accountNumber);
+
+        log.info("Hot account credited successfully: {}", accountNumber);
+        return mapToResponse(account);
+    }
+
+    @Override
+    @Transactional
+    public HoldResponse placeHold(String accountNumber, HoldRequest request) {
+        log.info("Placing hold on account: {} for amount: {}", accountNumber, request.getAmount());
+
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+
+        // Checked under the account lock, so retries with the same reference never double-reserve
+        FundsHold existing = fundsHoldRepository.findByAccountNumberAndReferenceId(accountNumber, request.getReferenceId())
+                .orElse(null);
+        if (existing != null) {
+            log.info("Hold already exists for reference: {}", request.getReferenceId());
+            return mapToHoldResponse(existing, account);
+        }
+
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new InvalidAccountStateException("Account is not active");
+        }
+
+        if (hotAccountLedger.isHotAccount(accountNumber)) {
+            hotAccountLedger.fold(account);
+        }
+
+        if (account.availableBalance().compareTo(request.getAmount()) < 0) {
+            throw new InsufficientBalanceException("Insufficient balance in account: " + accountNumber);
+        }
+
+        long ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : holdConfig.getDefaultTtlSeconds();
+        FundsHold hold = FundsHold.builder()
+                .holdId(UUID.randomUUID().toString())
+                .accountId(account.getId())
+                .accountNumber(accountNumber)
+                .amount(request.getAmount())
+                .referenceId(request.getReferenceId())
+                .description(request.getDescription())
+                .status(HoldStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusSeconds(Math.min(ttlSeconds, holdConfig.getMaxTtlSeconds())))
+                .build();
+
+        account.hold(request.getAmount());
+        Account savedAccount = accountRepository.save(account);
+        FundsHold savedHold = fundsHoldRepository.save(hold);
+        accountCache.evictAfterCommit(accountNumber);
+
+        log.info("Hold {} placed on account: {}", savedHold.getHoldId(), accountNumber);
+        return mapToHoldResponse(savedHold, savedAccount);
+    }
+
+    @Override
+    @Transactional
+    public HoldResponse captureHold(String holdId, CaptureHoldRequest request) {
+        log.info("Capturing hold: {}", holdId);
+
+        FundsHold hold = findHold(holdId);
+        Account account = lockHoldAccount(hold);
+
+        if (hold.getStatus() == HoldStatus.CAPTURED) {
+            return mapToHoldResponse(hold, account);
+        }
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new InvalidHoldStateException("Hold is " + hold.getStatus() + ": " + holdId);
+        }
+        if (hold.isExpired(LocalDateTime.now())) {
+            throw new InvalidHoldStateException("Hold has expired: " + holdId);
+        }
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new InvalidAccountStateException("Account is not active");
+        }
+
+        BigDecimal captureAmount = request != null && request.getAmount() != null ? request.getAmount() : hold.getAmount();
+        if (captureAmount.compareTo(hold.getAmount()) > 0) {
+            throw new InvalidHoldStateException("Capture amount exceeds held amount for hold: " + holdId);
+        }
+
+        if (hotAccountLedger.isHotAccount(account.getAccountNumber())) {
+            hotAccountLedger.fold(account);
+        }
+
+        // The whole reservation is released; only the captured part leaves the account
+        BigDecimal previousBalance = account.getBalance();
+        account.releaseHold(hold.getAmount());
+        account.setBalance(previousBalance.subtract(captureAmount));
+        Account savedAccount = accountRepository.save(account);
+
+        hold.setStatus(HoldStatus.CAPTURED);
+        hold.setCapturedAmount(captureAmount);
+        FundsHold savedHold = fundsHoldRepository.save(hold);
+
+        String description = request != null && request.getDescription() != null
+                ? request.getDescription() : hold.getDescription();
+        recordHistory(savedAccount, "DEBIT", previousBalance, savedAccount.getBalance(),
+                captureAmount, description, hold.getReferenceId());
+
+        BalanceChangedEvent event = BalanceChangedEvent.builder()
+                .accountNumber(account.getAccountNumber())
+                .customerId(account.getCustomerId())
+                .operation("DEBIT")
+                .amount(captureAmount)
+                .previousBalance(previousBalance)
+                .newBalance(savedAccount.getBalance())
+                .referenceId(hold.getReferenceId())
+                .build();
+
+        eventPublisher.publishBalanceChanged(event);
+        accountCache.evictAfterCommit(account.getAccountNumber());
+
+        log.info("Hold {} captured for amount: {}", holdId, captureAmount);
+        return mapToHoldResponse(savedHold, savedAccount);
+    }
+
+    @Override
+    @Transactional
+    public HoldResponse releaseHold(String holdId) {
+        log.info("Releasing hold: {}", holdId);
+        return endHold(holdId, HoldStatus.RELEASED);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HoldResponse getHold(String holdId) {
+        FundsHold hold = findHold(holdId);
+        Account account = accountRepository.findByAccountNumber(hold.getAccountNumber())
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + hold.getAccountNumber()));
+        return mapToHoldResponse(hold, account);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HoldResponse> getActiveHolds(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNumber));
+        return fundsHoldRepository.findByAccountNumberAndStatusOrderByCreatedAtAsc(accountNumber, HoldStatus.ACTIVE)
+                .stream()
+                .map(hold -> mapToHoldResponse(hold, account))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void expireHold(String holdId) {
+        endHold(holdId, HoldStatus.EXPIRED);
+    }
+
+    private HoldResponse endHold(String holdId, HoldStatus endStatus) {
+        FundsHold hold = findHold(holdId);
+        Account account = lockHoldAccount(hold);
+
+        if (hold.getStatus() == HoldStatus.CAPTURED) {
+            throw new InvalidHoldStateException("Hold is already captured: " + holdId);
+        }
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            return mapToHoldResponse(hold, account);  // Already released or expired
+        }
+
+        account.releaseHold(hold.getAmount());
+        Account savedAccount = accountRepository.save(account);
+        hold.setStatus(endStatus);
+        FundsHold savedHold = fundsHoldRepository.save(hold);
+        accountCache.evictAfterCommit(account.getAccountNumber());
+
+        log.info("Hold {} {} on account: {}", holdId, endStatus, account.getAccountNumber());
+        return mapToHoldResponse(savedHold, savedAccount);
+    }
+
+    private FundsHold findHold(String holdId) {
+        return fundsHoldRepository.findByHoldId(holdId)
+                .orElseThrow(() -> new HoldNotFoundException("Hold not found: " + holdId));
+    }
+
+    /**
+     * Lock the hold's account; hold state only changes under this lock, so re-read it afterwards
+     */
+    private Account lockHoldAccount(FundsHold hold) {
+        Account account = accountRepository.findByAccountNumberForUpdate(hold.getAccountNumber())
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + hold.getAccountNumber()));
+        entityManager.refresh(hold);
+        return account;
+    }
+
+    private HoldResponse mapToHoldResponse(FundsHold hold, Account account) {
+        AccountResponse accountResponse = mapToResponse(account);
+        return HoldResponse.builder()
+                .holdId(hold.getHoldId())
+                .accountNumber(hold.getAccountNumber())
+                .amount(hold.getAmount())
+                .capturedAmount(hold.getCapturedAmount())
+                .referenceId(hold.getReferenceId())
+                .status(hold.getStatus())
+                .expiresAt(hold.getExpiresAt())
+                .balance(accountResponse.getBalance())
+                .availableBalance(accountResponse.getAvailableBalance())
+                .createdAt(hold.getCreatedAt())
+                .build();
+    }
+
+    private BigDecimal currentBalance(Account account) {
+        if (!hotAccountLedger.isHotAccount(account.getAccountNumber())) {
+            return account.getBalance();
+        }
+        return account.getBalance().add(hotAccountLedger.pendingCredits(account));
+    }
+
+    /**
+     * The postings of an earlier call with the same reference, or null if there were none
+     */
+    private InternalTransferResponse findPostedTransfer(InternalTransferRequest request,
+                                                        Account source, Account destination) {
+        AccountHistory debitEntry = null;
+        AccountHistory creditEntry = null;
+        for (AccountHistory entry : accountHistoryRepository.findByReferenceIdOrderByIdAsc(request.getReferenceId())) {
+            if ("DEBIT".equals(entry.getOperation()) && source.getId().equals(entry.getAccountId())) {
+                debitEntry = entry;
+            } else if ("CREDIT".equals(entry.getOperation()) && destination.getId().equals(entry.getAccountId())) {
+                creditEntry = entry;
+            }
+        }
+
+        if (debitEntry == null && creditEntry == null) {
+            return null;
+        }
+        if (debitEntry == null || creditEntry == null) {
+            throw new InvalidAccountStateException("Reference already used by another posting: " + request.getReferenceId());
+        }
+        return InternalTransferResponse.builder()
+                .referenceId(request.getReferenceId())
+                .fromAccountNumber(source.getAccountNumber())
+                .toAccountNumber(destination.getAccountNumber())
+                .amount(debitEntry.getAmount())
+                .debitEntryId(debitEntry.getId())
+                .creditEntryId(creditEntry.getId())
+                .fromBalance(source.getBalance())
+                .toBalance(destination.getBalance())
+                .replayed(true)
+                .build();
+    }
+
     private void recordHistory(Account account, String operation, BigDecimal previousBalance,
                                BigDecimal newBalance, BigDecimal amount, String description, String referenceId) {
-        AccountHistory history = AccountHistory.builder()
+        accountHistoryRepository.save(buildHistory(account, operation, previousBalance, newBalance,
+                amount, description, referenceId));
+    }
+
+    private AccountHistory buildHistory(Account account, String operation, BigDecimal previousBalance,
+                                        BigDecimal newBalance, BigDecimal amount, String description, String referenceId) {
+        return AccountHistory.builder()
                 .accountId(account.getId())
                 .accountNumber(account.getAccountNumber())
                 .operation(operation)
@@ -301,17 +842,105 @@ public class AccountServiceImpl implements AccountService {
                 .description(description)
                 .referenceId(referenceId)
                 .build();
+    }
+
+    private PostingResult applyPosting(int index, PostingRequest posting, Account account, LocalDateTime timestamp,
+                                       List<AccountHistory> history, List<BalanceChangedEvent> events) {
+        if (account == null) {
+            return postingFailure(index, posting, "Account not found: " + posting.getAccountNumber());
+        }
+
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            return postingFailure(index, posting, "Account is not active");
+        }
+
+        boolean debit = posting.getOperation() == PostingOperation.DEBIT;
+        if (debit && account.availableBalance().compareTo(posting.getAmount()) < 0) {
+            return postingFailure(index, posting, "Insufficient balance in account: " + posting.getAccountNumber());
+        }
+
+        BigDecimal previousBalance = account.getBalance();
+        if (debit) {
+            account.debit(posting.getAmount());
+        } else {
+            account.credit(posting.getAmount());
+        }
+
+        history.add(AccountHistory.builder()
+                .accountId(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .operation(posting.getOperation().name())
+                .previousBalance(previousBalance)
+                .newBalance(account.getBalance())
+                .amount(posting.getAmount())
+                .description(posting.getDescription())
+                .referenceId(posting.getReferenceId())
+                .timestamp(timestamp)
+                .build());
+
+        events.add(BalanceChangedEvent.builder()
+                .accountNumber(account.getAccountNumber())
+                .customerId(account.getCustomerId())
+                .operation(posting.getOperation().name())
+                .amount(posting.getAmount())
+                .previousBalance(previousBalance)
+                .newBalance(account.getBalance())
+                .referenceId(posting.getReferenceId())
+                .build());
+
+        return PostingResult.builder()
+                .index(index)
+                .accountNumber(posting.getAccountNumber())
+                .operation(posting.getOperation())
+                .amount(posting.getAmount())
+                .referenceId(posting.getReferenceId())
+                .success(true)
+                .newBalance(account.getBalance())
+                .build();
+    }
+
+    private PostingResult postingFailure(int index, PostingRequest posting, String error) {
+        return PostingResult.builder()
+                .index(index)
+                .accountNumber(posting.getAccountNumber())
+                .operation(posting.getOperation())
+                .amount(posting.getAmount())
+                .referenceId(posting.getReferenceId())
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    private String encodeCursor(AccountHistory last) {
+        String position = last.getTimestamp() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HistoryCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new HistoryCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid history cursor");
+        }
+    }
 
-        accountHistoryRepository.save(history);
+    private record HistoryCursor(LocalDateTime timestamp, Long id) {
     }
 
     private AccountResponse mapToResponse(Account account) {
+        BigDecimal balance = currentBalance(account);
+        BigDecimal heldAmount = account.getHeldAmount() != null ? account.getHeldAmount() : BigDecimal.ZERO;
         return AccountResponse.builder()
                 .id(account.getId())
                 .accountNumber(account.getAccountNumber())
                 .customerId(account.getCustomerId())
                 .customerName(account.getCustomerName())
-                .balance(account.getBalance())
+                .balance(balance)
+                .heldAmount(heldAmount)
+                .availableBalance(balance.subtract(heldAmount))
                 .currency(account.getCurrency())
                 .status(account.getStatus())
                 .accountType(account.getAccountType())
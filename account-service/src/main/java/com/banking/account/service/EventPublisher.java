@@ -2,27 +2,38 @@ package com.banking.account.service;
 
 import com.banking.account.config.KafkaConfig;
 import com.banking.account.event.AccountCreatedEvent;
+import com.banking.account.event.AccountEvent;
 import com.banking.account.event.AccountStatusChangedEvent;
 import com.banking.account.event.BalanceChangedEvent;
+import com.banking.account.model.OutboxEvent;
+import com.banking.account.repository.OutboxEventJdbcRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes account events to the transactional outbox in the caller's transaction.
+ * OutboxRelay sends them to Kafka after commit.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EventPublisher {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxEventJdbcRepository outboxEventJdbcRepository;
     private final ObjectMapper objectMapper;
 
     public void publishAccountCreated(AccountCreatedEvent event) {
+        stamp(event);
         try {
             String eventJson = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(KafkaConfig.ACCOUNT_CREATED_TOPIC, event.getAccountNumber(), eventJson);
+            outboxEventJdbcRepository.insert(KafkaConfig.ACCOUNT_CREATED_TOPIC, event.getAccountNumber(), eventJson);
             log.info("Published AccountCreatedEvent: {}", event.getAccountNumber());
         } catch (JsonProcessingException e) {
             log.error("Error publishing AccountCreatedEvent", e);
@@ -30,25 +41,55 @@ public class EventPublisher {
     }
 
     public void publishBalanceChanged(BalanceChangedEvent event) {
+        stamp(event);
         try {
             String eventJson = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(KafkaConfig.BALANCE_CHANGED_TOPIC, event.getAccountNumber(), eventJson);
+            outboxEventJdbcRepository.insert(KafkaConfig.BALANCE_CHANGED_TOPIC, event.getAccountNumber(), eventJson);
             log.info("Published BalanceChangedEvent: {} - {}", event.getAccountNumber(), event.getOperation());
         } catch (JsonProcessingException e) {
             log.error("Error publishing BalanceChangedEvent", e);
         }
     }
 
+    public void publishBalanceChangedBatch(List<BalanceChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (BalanceChangedEvent event : events) {
+            stamp(event);
+            try {
+                outboxEvents.add(OutboxEvent.builder()
+                        .topic(KafkaConfig.BALANCE_CHANGED_TOPIC)
+                        .messageKey(event.getAccountNumber())
+                        .payload(objectMapper.writeValueAsString(event))
+                        .build());
+            } catch (JsonProcessingException e) {
+                log.error("Error publishing BalanceChangedEvent: {}", event.getAccountNumber(), e);
+            }
+        }
+        outboxEventJdbcRepository.batchInsert(outboxEvents);
+        log.info("Published {} of {} BalanceChangedEvents", outboxEvents.size(), events.size());
+    }
+
     public void publishAccountStatusChanged(AccountStatusChangedEvent event) {
+        stamp(event);
         try {
             String eventJson = objectMapper.writeValueAsString(event);
             String topic = event.getNewStatus().name().equals("FROZEN")
                     ? KafkaConfig.ACCOUNT_FROZEN_TOPIC
                     : KafkaConfig.ACCOUNT_UPDATED_TOPIC;
-            kafkaTemplate.send(topic, event.getAccountNumber(), eventJson);
+            outboxEventJdbcRepository.insert(topic, event.getAccountNumber(), eventJson);
             log.info("Published AccountStatusChangedEvent: {} - {}", event.getAccountNumber(), event.getNewStatus());
         } catch (JsonProcessingException e) {
             log.error("Error publishing AccountStatusChangedEvent", e);
         }
     }
-}
\ No newline at end of file
+
+    private void stamp(AccountEvent event) {
+        if (event.getTimestamp() == null) {
+            event.setTimestamp(LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.banking.account.service;
+
+import com.banking.account.config.HoldConfig;
+import com.banking.account.repository.FundsHoldRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically returns the funds of expired holds to the available balance,
+ * one short transaction per hold.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HoldExpiryJob {
+
+    private final AccountService accountService;
+    private final FundsHoldRepository fundsHoldRepository;
+    private final HoldConfig holdConfig;
+
+    @Scheduled(fixedDelayString = "${holds.expiry-interval-ms:30000}")
+    public void expireHolds() {
+        List<String> holdIds = fundsHoldRepository.findExpiredHoldIds(
+                LocalDateTime.now(), PageRequest.of(0, holdConfig.getExpiryBatchSize()));
+        for (String holdId : holdIds) {
+            try {
+                accountService.expireHold(holdId);
+            } catch (Exception e) {
+                log.error("Error expiring hold: {}", holdId, e);
+            }
+        }
+
+        if (!holdIds.isEmpty()) {
+            log.info("Expired {} holds", holdIds.size());
+        }
+    }
+}
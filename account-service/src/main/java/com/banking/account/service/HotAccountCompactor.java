@@ -0,0 +1,38 @@
+package com.banking.account.service;
+
+import com.banking.account.repository.AccountSubBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically folds hot-account sub-balances into the account balance,
+ * one short transaction per account.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotAccountCompactor {
+
+    private final HotAccountLedger hotAccountLedger;
+    private final AccountSubBalanceRepository subBalanceRepository;
+
+    @Scheduled(fixedDelayString = "${hot-accounts.compaction-interval-ms:1000}")
+    public void compact() {
+        List<Long> accountIds = subBalanceRepository.findAccountIdsWithPendingCredits();
+        for (Long accountId : accountIds) {
+            try {
+                hotAccountLedger.compact(accountId);
+            } catch (Exception e) {
+                log.error("Error compacting sub-balances for account id: {}", accountId, e);
+            }
+        }
+
+        if (!accountIds.isEmpty()) {
+            log.debug("Compacted sub-balances for {} accounts", accountIds.size());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.banking.account.service;
+
+import com.banking.account.config.HotAccountConfig;
+import com.banking.account.model.Account;
+import com.banking.account.model.AccountSubBalance;
+import com.banking.account.repository.AccountRepository;
+import com.banking.account.repository.AccountSubBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hot Account Ledger
+ * Credits to hot accounts are spread over striped sub-balance rows so they do not
+ * serialize on the account row lock. Pending credits are folded into Account.balance
+ * by the compactor, or inline by any path that already holds the account row lock.
+ * Sub-balances only ever hold credits, so the folded balance is always a safe lower
+ * bound and debits fold before checking funds. Because a striped credit has no single
+ * resulting balance, its history entry and BalanceChangedEvent leave the previous and
+ * new balance empty.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotAccountLedger {
+
+    private final AccountRepository accountRepository;
+    private final AccountSubBalanceRepository subBalanceRepository;
+    private final HotAccountConfig hotAccountConfig;
+
+    public boolean isHotAccount(String accountNumber) {
+        return hotAccountConfig.getAccountNumbers().contains(accountNumber);
+    }
+
+    /**
+     * Record a credit under a shared lock on the account row, checking the account is active
+     *
+     * @return false if the account is not active, in which case nothing was recorded
+     */
+    public boolean appendCredit(Account account, BigDecimal amount) {
+        int stripe = ThreadLocalRandom.current().nextInt(Math.max(1, hotAccountConfig.getStripes()));
+        return subBalanceRepository.addToStripe(account.getId(), stripe, amount) > 0;
+    }
+
+    /**
+     * Credits recorded but not yet folded into the account balance
+     */
+    public BigDecimal pendingCredits(Account account) {
+        return subBalanceRepository.sumByAccountId(account.getId());
+    }
+
+    /**
+     * Fold pending credits into the balance. The caller must hold the account row lock.
+     *
+     * @return Amount folded into the balance
+     */
+    public BigDecimal fold(Account account) {
+        List<AccountSubBalance> stripes = subBalanceRepository.findPendingByAccountIdForUpdate(account.getId());
+        BigDecimal folded = BigDecimal.ZERO;
+        for (AccountSubBalance stripe : stripes) {
+            folded = folded.add(stripe.getAmount());
+            stripe.setAmount(BigDecimal.ZERO);
+        }
+
+        if (folded.signum() != 0) {
+            // Bypasses Account.credit: credits accepted while active still land after a freeze
+            account.setBalance(account.getBalance().add(folded));
+        }
+        return folded;
+    }
+
+    /**
+     * Lock one account and fold its pending credits
+     */
+    @Transactional
+    public BigDecimal compact(Long accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+                .map(this::fold)
+                .orElse(BigDecimal.ZERO);
+    }
+}
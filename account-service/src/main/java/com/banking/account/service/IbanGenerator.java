@@ -10,6 +10,15 @@ public class IbanGenerator {
 
     private static final String COUNTRY_CODE = "TR";
     private static final String BANK_CODE = "00001"; // Fake bank code
+    private static final int IBAN_LENGTH = 26;
+    private static final long ACCOUNT_NUMBER_LIMIT = 10_000_000_000_000_000L; // 16 digits
+
+    // Country code as digits (T=29, R=27) followed by the "00" check digit placeholder
+    private static final long COUNTRY_SUFFIX = 292700L;
+    private static final long COUNTRY_SUFFIX_SCALE = 1_000_000L;
+    private static final long ACCOUNT_NUMBER_SCALE_MOD97 = powerOfTenMod97(16);
+    private static final long BANK_CODE_MOD97 = Long.parseLong(BANK_CODE) % 97;
+
     private final Random random = new SecureRandom();
 
     /**
@@ -18,56 +27,52 @@ public class IbanGenerator {
      * Example: TR330006100519786457841326
      */
     public String generateIban() {
-        // Generate random 16-digit account number
-        String accountNumber = generateRandomDigits(16);
-
-        // Generate random 1-digit reserved field
-        String reserved = String.valueOf(random.nextInt(10));
-
-        // Combine: bank code + reserved + account number
-        String bban = BANK_CODE + reserved + accountNumber;
-
-        // Calculate check digits
-        String checkDigits = calculateCheckDigits(COUNTRY_CODE, bban);
-
-        // Complete IBAN
-        return COUNTRY_CODE + checkDigits + bban;
+        // Random 16-digit account number and 1-digit reserved field
+        long accountNumber = (random.nextLong() >>> 1) % ACCOUNT_NUMBER_LIMIT;
+        return formatIban(random.nextInt(10), accountNumber);
     }
 
-    private String generateRandomDigits(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(random.nextInt(10));
+    /**
+     * Build the IBAN for a given account number without allocating intermediate strings
+     * for the checksum: mod-97 is computed with long arithmetic over the digit groups.
+     *
+     * @param reserved      Reserved digit (0-9)
+     * @param accountNumber Account number (0 to 10^16 - 1), zero-padded to 16 digits
+     */
+    public String formatIban(int reserved, long accountNumber) {
+        if (reserved < 0 || reserved > 9) {
+            throw new IllegalArgumentException("Reserved digit must be 0-9: " + reserved);
+        }
+        if (accountNumber < 0 || accountNumber >= ACCOUNT_NUMBER_LIMIT) {
+            throw new IllegalArgumentException("Account number out of range: " + accountNumber);
         }
-        return sb.toString();
-    }
-
-    private String calculateCheckDigits(String countryCode, String bban) {
-        // Move country code to end and replace letters with numbers (A=10, B=11, etc.)
-        String rearranged = bban + letterToNumber(countryCode) + "00";
-
-        // Calculate mod 97
-        int checksum = 98 - mod97(rearranged);
 
-        // Return as 2-digit string
-        return String.format("%02d", checksum);
-    }
+        // Rearranged IBAN: bank code + reserved + account number + country digits + "00"
+        long remainder = (BANK_CODE_MOD97 * 10 + reserved) % 97;
+        remainder = (remainder * ACCOUNT_NUMBER_SCALE_MOD97 + accountNumber % 97) % 97;
+        remainder = (remainder * (COUNTRY_SUFFIX_SCALE % 97) + COUNTRY_SUFFIX % 97) % 97;
+        int checksum = (int) (98 - remainder);
 
-    private String letterToNumber(String letters) {
-        StringBuilder sb = new StringBuilder();
-        for (char c : letters.toCharArray()) {
-            sb.append((int) c - 55); // A=10, B=11, ..., Z=35
+        char[] iban = new char[IBAN_LENGTH];
+        iban[0] = COUNTRY_CODE.charAt(0);
+        iban[1] = COUNTRY_CODE.charAt(1);
+        iban[2] = (char) ('0' + checksum / 10);
+        iban[3] = (char) ('0' + checksum % 10);
+        BANK_CODE.getChars(0, BANK_CODE.length(), iban, 4);
+        iban[9] = (char) ('0' + reserved);
+        long digits = accountNumber;
+        for (int i = IBAN_LENGTH - 1; i >= 10; i--) {
+            iban[i] = (char) ('0' + digits % 10);
+            digits /= 10;
         }
-        return sb.toString();
+        return new String(iban);
     }
 
-    private int mod97(String number) {
-        String remainder = number;
-        while (remainder.length() > 2) {
-            int len = Math.min(9, remainder.length());
-            String part = remainder.substring(0, len);
-            remainder = (Integer.parseInt(part) % 97) + remainder.substring(len);
+    private static long powerOfTenMod97(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result = result * 10 % 97;
         }
-        return Integer.parseInt(remainder) % 97;
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.banking.account.service;
+
+import com.banking.account.config.OutboxConfig;
+import com.banking.account.model.OutboxEvent;
+import com.banking.account.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox Relay
+ * Drains account_outbox to Kafka in id order, one batch per transaction.
+ * A batch is deleted only after every message in it is acknowledged, so delivery
+ * is at-least-once. A single relay holds the advisory lock at a time and messages
+ * are keyed by account number, which keeps per-account ordering on each partition.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;  // "outbox"
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxConfig outboxConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       OutboxConfig outboxConfig,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.outboxConfig = outboxConfig;
+        this.transactionTemplate = transactionTemplate;
+        this.publishedCounter = Counter.builder("account.outbox.published")
+                .description("Outbox events relayed to Kafka")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.linger-ms:50}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed >= outboxConfig.getBatchSize());
+        } catch (Exception e) {
+            log.error("Error relaying outbox events, batch will be retried", e);
+        }
+    }
+
+    int relayBatch() {
+        if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            return 0;
+        }
+
+        List<OutboxEvent> batch = outboxEventRepository.findNextBatch(outboxConfig.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            sends[i] = kafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload());
+        }
+
+        try {
+            CompletableFuture.allOf(sends).get(outboxConfig.getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying outbox batch", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka did not acknowledge outbox batch", e);
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+        publishedCounter.increment(batch.size());
+        log.debug("Relayed {} outbox events", batch.size());
+        return batch.size();
+    }
+}
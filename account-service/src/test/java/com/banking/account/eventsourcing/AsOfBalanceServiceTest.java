@@ -0,0 +1,130 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import com.banking.account.model.Account;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("As-Of Balance Service Tests")
+class AsOfBalanceServiceTest {
+
+    private static final LocalDateTime MONTH_END = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+
+    @Mock
+    private EventSourcingService eventSourcingService;
+
+    private HikariDataSource dataSource;
+    private AsOfBalanceService asOfBalanceService;
+
+    @BeforeEach
+    void setUp() {
+        EventSourcingConfig config = new EventSourcingConfig();
+        config.setAsOfParallelism(4);
+        dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(10);
+        asOfBalanceService = new AsOfBalanceService(eventSourcingService, config, dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asOfBalanceService.shutdown();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should compute as-of balances for many accounts in request order")
+    void shouldComputeBulkBalances() {
+        // Given
+        when(eventSourcingService.replayEventsAsOf(anyString(), eq(MONTH_END))).thenAnswer(invocation -> {
+            Account account = new Account();
+            account.setAccountNumber(invocation.getArgument(0));
+            account.setBalance(new BigDecimal(invocation.<String>getArgument(0).substring(2)));
+            return account;
+        });
+
+        // When
+        Map<String, BigDecimal> balances = asOfBalanceService.getBalancesAsOf(
+                List.of("TR300", "TR100", "TR200", "TR100"), MONTH_END);
+
+        // Then
+        assertThat(balances.keySet()).containsExactly("TR300", "TR100", "TR200");
+        assertThat(balances.get("TR100")).isEqualByComparingTo("100");
+        verify(eventSourcingService, times(3)).replayEventsAsOf(anyString(), eq(MONTH_END));
+    }
+
+    @Test
+    @DisplayName("Should leave out accounts that did not exist at the requested time")
+    void shouldSkipAccountsWithoutEvents() {
+        // Given
+        Account existing = new Account();
+        existing.setBalance(new BigDecimal("42.00"));
+        when(eventSourcingService.replayEventsAsOf("TR1", MONTH_END)).thenReturn(existing);
+        when(eventSourcingService.replayEventsAsOf("TR2", MONTH_END))
+                .thenThrow(new IllegalArgumentException("No events found"));
+
+        // When
+        Map<String, BigDecimal> balances = asOfBalanceService.getBalancesAsOf(List.of("TR1", "TR2"), MONTH_END);
+
+        // Then
+        assertThat(balances).containsOnlyKeys("TR1");
+    }
+
+    @Test
+    @DisplayName("Should propagate unexpected failures")
+    void shouldPropagateUnexpectedFailures() {
+        // Given
+        when(eventSourcingService.replayEventsAsOf("TR1", MONTH_END))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // When & Then
+        assertThatThrownBy(() -> asOfBalanceService.getBalancesAsOf(List.of("TR1"), MONTH_END))
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should run no more replays at once than half the connection pool")
+    void shouldBoundParallelismByPoolSize() {
+        // Given
+        asOfBalanceService.shutdown();
+        dataSource.setMaximumPoolSize(4);
+        EventSourcingConfig config = new EventSourcingConfig();
+        config.setAsOfParallelism(8);
+        asOfBalanceService = new AsOfBalanceService(eventSourcingService, config, dataSource);
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(eventSourcingService.replayEventsAsOf(anyString(), eq(MONTH_END))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            Account account = new Account();
+            account.setBalance(BigDecimal.ONE);
+            return account;
+        });
+
+        // When
+        Map<String, BigDecimal> balances = asOfBalanceService.getBalancesAsOf(
+                List.of("TR1", "TR2", "TR3", "TR4", "TR5", "TR6"), MONTH_END);
+
+        // Then
+        assertThat(balances).hasSize(6);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+    }
+}
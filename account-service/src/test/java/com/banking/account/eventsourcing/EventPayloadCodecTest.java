@@ -0,0 +1,91 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.eventsourcing.payload.AccountCreatedPayload;
+import com.banking.account.eventsourcing.payload.BalanceCreditedPayload;
+import com.banking.account.eventsourcing.payload.EventPayload;
+import com.banking.account.model.Account;
+import com.banking.account.model.AccountType;
+import com.banking.account.model.Currency;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Event Payload Codec Tests")
+class EventPayloadCodecTest {
+
+    private ObjectMapper objectMapper;
+    private EventPayloadCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        codec = new EventPayloadCodec(objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should decode legacy Map-based payload with string amounts")
+    void shouldDecodeLegacyPayloadWithStringAmounts() throws Exception {
+        // Given
+        Map<String, Object> legacy = new HashMap<>();
+        legacy.put("amount", "125.50");
+        legacy.put("description", "legacy field not in typed payload");
+        String eventData = objectMapper.writeValueAsString(legacy);
+
+        // When
+        EventPayload payload = codec.decode(EventType.BALANCE_CREDITED, eventData);
+
+        // Then
+        assertThat(payload).isInstanceOf(BalanceCreditedPayload.class);
+        assertThat(((BalanceCreditedPayload) payload).getAmount()).isEqualByComparingTo("125.50");
+    }
+
+    @Test
+    @DisplayName("Should decode legacy Map-based payload with numeric amounts")
+    void shouldDecodeLegacyPayloadWithNumericAmounts() throws Exception {
+        // When
+        EventPayload payload = codec.decode(EventType.BALANCE_DEBITED, "{\"amount\":99.99}");
+
+        // Then
+        Account account = new Account();
+        account.setBalance(new BigDecimal("100.00"));
+        payload.applyTo(account);
+        assertThat(account.getBalance()).isEqualByComparingTo("0.01");
+    }
+
+    @Test
+    @DisplayName("Should round-trip typed payload through encode and decode")
+    void shouldRoundTripTypedPayload() throws Exception {
+        // Given
+        AccountCreatedPayload created = AccountCreatedPayload.builder()
+                .accountNumber("TR330006100519786457841326")
+                .customerName("John Doe")
+                .accountType(AccountType.SAVINGS)
+                .currency(Currency.EUR)
+                .balance(new BigDecimal("1000.00"))
+                .build();
+
+        // When
+        String encoded = codec.encode(created);
+        EventPayload decoded = codec.decode(EventType.ACCOUNT_CREATED, encoded);
+
+        // Then
+        assertThat(encoded).doesNotContain("customerId");
+        assertThat(decoded).isEqualTo(created);
+    }
+
+    @Test
+    @DisplayName("Should reject event types without a registered payload")
+    void shouldRejectUnregisteredEventType() {
+        // Then
+        assertThat(codec.supports(EventType.ACCOUNT_CLOSED)).isFalse();
+        assertThatThrownBy(() -> codec.decode(EventType.ACCOUNT_CLOSED, "{}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
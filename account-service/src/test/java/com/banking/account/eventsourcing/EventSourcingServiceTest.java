@@ -0,0 +1,377 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import com.banking.account.eventsourcing.payload.BalanceCreditedPayload;
+import com.banking.account.eventsourcing.payload.BalanceDebitedPayload;
+import com.banking.account.exception.EventVersionConflictException;
+import com.banking.account.model.Account;
+import com.banking.account.model.AccountStatus;
+import com.banking.account.model.AccountType;
+import com.banking.account.model.Currency;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Event Sourcing Service Tests")
+class EventSourcingServiceTest {
+
+    private static final String ACCOUNT_NUMBER = "TR330006100519786457841326";
+
+    @Mock
+    private AccountEventRepository eventRepository;
+
+    @Mock
+    private AccountEventAppender eventAppender;
+
+    @Mock
+    private AccountSnapshotRepository snapshotRepository;
+
+    @Mock
+    private ArchivedEventReader archivedEventReader;
+
+    private EventSourcingConfig eventSourcingConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private EventSourcingService eventSourcingService;
+
+    @BeforeEach
+    void setUp() {
+        eventSourcingConfig = new EventSourcingConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper();
+        eventSourcingService = new EventSourcingService(eventRepository, eventAppender, snapshotRepository,
+                eventSourcingConfig, objectMapper, new EventPayloadCodec(objectMapper), meterRegistry, archivedEventReader);
+    }
+
+    // ==================== REPLAY TESTS ====================
+
+    @Test
+    @DisplayName("Should replay full event stream when no snapshot exists")
+    void shouldReplayFullStreamWhenNoSnapshotExists() {
+        // Given
+        when(snapshotRepository.findTopByAccountNumberOrderByAggregateVersionDesc(ACCOUNT_NUMBER))
+                .thenReturn(Optional.empty());
+        when(eventRepository.findByAccountNumberOrderByAggregateVersionAsc(ACCOUNT_NUMBER))
+                .thenReturn(Arrays.asList(
+                        createdEvent(1L),
+                        event(2L, EventType.BALANCE_CREDITED, "{\"amount\":\"250.00\"}"),
+                        event(3L, EventType.BALANCE_DEBITED, "{\"amount\":\"100.00\"}")));
+
+        // When
+        Account account = eventSourcingService.replayEvents(ACCOUNT_NUMBER);
+
+        // Then
+        assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("1150.00"));
+        assertThat(account.getStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(meterRegistry.get("account.eventsourcing.replay").tag("mode", "full").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay only events after the latest snapshot")
+    void shouldReplayOnlyEventsAfterLatestSnapshot() {
+        // Given
+        AccountSnapshot snapshot = AccountSnapshot.builder()
+                .accountNumber(ACCOUNT_NUMBER)
+                .aggregateVersion(100L)
+                .customerName("John Doe")
+                .balance(new BigDecimal("5000.00"))
+                .currency(Currency.TRY)
+                .status(AccountStatus.ACTIVE)
+                .accountType(AccountType.CHECKING)
+                .build();
+        when(snapshotRepository.findTopByAccountNumberOrderByAggregateVersionDesc(ACCOUNT_NUMBER))
+                .thenReturn(Optional.of(snapshot));
+        when(eventRepository.findByAccountNumberAndAggregateVersionGreaterThanOrderByAggregateVersionAsc(
+                ACCOUNT_NUMBER, 100L))
+                .thenReturn(Collections.singletonList(
+                        event(101L, EventType.BALANCE_CREDITED, "{\"amount\":\"500.00\"}")));
+
+        // When
+        Account account = eventSourcingService.replayEvents(ACCOUNT_NUMBER);
+
+        // Then
+        assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("5500.00"));
+        assertThat(account.getCustomerName()).isEqualTo("John Doe");
+        verify(eventRepository, never()).findByAccountNumberOrderByAggregateVersionAsc(anyString());
+        assertThat(meterRegistry.get("account.eventsourcing.replay").tag("mode", "snapshot").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should prepend archived events when the live stream starts later")
+    void shouldPrependArchivedEvents() {
+        // Given
+        eventSourcingConfig.setSnapshotsEnabled(false);
+        when(eventRepository.findByAccountNumberOrderByAggregateVersionAsc(ACCOUNT_NUMBER))
+                .thenReturn(Collections.singletonList(event(3L, EventType.BALANCE_DEBITED, "{\"amount\":\"100.00\"}")));
+        when(archivedEventReader.read(ACCOUNT_NUMBER, 0L, 3L, null, null))
+                .thenReturn(Arrays.asList(
+                        createdEvent(1L),
+                        event(2L, EventType.BALANCE_CREDITED, "{\"amount\":\"250.00\"}")));
+
+        // When
+        Account account = eventSourcingService.replayEvents(ACCOUNT_NUMBER);
+
+        // Then
+        assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("1150.00"));
+    }
+
+    @Test
+    @DisplayName("Should not read the archive when the live stream continues after the snapshot")
+    void shouldSkipArchiveWhenLiveStreamIsContiguous() {
+        // Given
+        when(eventRepository.findByAccountNumberAndAggregateVersionGreaterThanOrderByAggregateVersionAsc(
+                ACCOUNT_NUMBER, 10L))
+                .thenReturn(Collections.singletonList(event(11L, EventType.BALANCE_CREDITED, "{\"amount\":\"5.00\"}")));
+        Account initial = new Account();
+        initial.setBalance(new BigDecimal("10.00"));
+
+        // When
+        Account account = eventSourcingService.replayEventsFrom(ACCOUNT_NUMBER, 10L, initial);
+
+        // Then
+        assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("15.00"));
+        verifyNoInteractions(archivedEventReader);
+    }
+
+    @Test
+    @DisplayName("Should ignore snapshots when disabled")
+    void shouldIgnoreSnapshotsWhenDisabled() {
+        // Given
+        eventSourcingConfig.setSnapshotsEnabled(false);
+        when(eventRepository.findByAccountNumberOrderByAggregateVersionAsc(ACCOUNT_NUMBER))
+                .thenReturn(Collections.singletonList(createdEvent(1L)));
+
+        // When
+        Account account = eventSourcingService.replayEvents(ACCOUNT_NUMBER);
+
+        // Then
+        assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("1000.00"));
+        verifyNoInteractions(snapshotRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw when account has no events")
+    void shouldThrowWhenAccountHasNoEvents() {
+        // Given
+        when(snapshotRepository.findTopByAccountNumberOrderByAggregateVersionDesc(ACCOUNT_NUMBER))
+                .thenReturn(Optional.empty());
+        when(eventRepository.findByAccountNumberOrderByAggregateVersionAsc(ACCOUNT_NUMBER))
+                .thenReturn(Collections.emptyList());
+
+        // When / Then
+        assertThatThrownBy(() -> eventSourcingService.replayEvents(ACCOUNT_NUMBER))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(ACCOUNT_NUMBER);
+    }
+
+    // ==================== SNAPSHOT TESTS ====================
+
+    @Test
+    @DisplayName("Should create snapshot at the version of the last folded event")
+    void shouldCreateSnapshotAtLastFoldedVersion() {
+        // Given
+        when(snapshotRepository.findTopByAccountNumberOrderByAggregateVersionDesc(ACCOUNT_NUMBER))
+                .thenReturn(Optional.empty());
+        when(eventRepository.findByAccountNumberAndAggregateVersionGreaterThanOrderByAggregateVersionAsc(
+                ACCOUNT_NUMBER, 0L))
+                .thenReturn(Arrays.asList(
+                        createdEvent(1L),
+                        event(2L, EventType.BALANCE_CREDITED, "{\"amount\":\"10.00\"}")));
+        when(snapshotRepository.save(any(AccountSnapshot.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        AccountSnapshot snapshot = eventSourcingService.createSnapshot(ACCOUNT_NUMBER);
+
+        // Then
+        assertThat(snapshot.getAggregateVersion()).isEqualTo(2L);
+        assertThat(snapshot.getBalance()).isEqualByComparingTo(new BigDecimal("1010.00"));
+        assertThat(snapshot.getCurrency()).isEqualTo(Currency.TRY);
+    }
+
+    @Test
+    @DisplayName("Should take snapshot automatically when event version hits the configured frequency")
+    void shouldTakeSnapshotWhenFrequencyReached() {
+        // Given
+        eventSourcingConfig.setSnapshotFrequency(2);
+        when(eventAppender.insert(eq(ACCOUNT_NUMBER), isNull(), anyList()))
+                .thenReturn(Collections.singletonList(event(2L, EventType.BALANCE_CREDITED, "{}")));
+        when(snapshotRepository.findTopByAccountNumberOrderByAggregateVersionDesc(ACCOUNT_NUMBER))
+                .thenReturn(Optional.empty());
+        when(eventRepository.findByAccountNumberAndAggregateVersionGreaterThanOrderByAggregateVersionAsc(
+                ACCOUNT_NUMBER, 0L))
+                .thenReturn(Arrays.asList(
+                        createdEvent(1L),
+                        event(2L, EventType.BALANCE_CREDITED, "{\"amount\":\"10.00\"}")));
+        when(snapshotRepository.save(any(AccountSnapshot.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        eventSourcingService.saveEvent(ACCOUNT_NUMBER, EventType.BALANCE_CREDITED,
+                Map.of("amount", "10.00"), "user", "corr-1");
+
+        // Then
+        verify(snapshotRepository).save(any(AccountSnapshot.class));
+    }
+
+    // ==================== APPEND TESTS ====================
+
+    @Test
+    @DisplayName("Should append without reading the latest version first")
+    void shouldAppendWithoutReadingLatestVersion() {
+        // Given
+        when(eventAppender.insert(eq(ACCOUNT_NUMBER), eq(4L), anyList()))
+                .thenReturn(Collections.singletonList(event(5L, EventType.BALANCE_CREDITED, "{}")));
+
+        // When
+        AccountEvent saved = eventSourcingService.append(ACCOUNT_NUMBER, 4L,
+                BalanceCreditedPayload.builder().amount(new BigDecimal("10.00")).build(), "user", "corr-1");
+
+        // Then
+        assertThat(saved.getAggregateVersion()).isEqualTo(5L);
+        verify(eventRepository, never()).findLatestVersion(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fail immediately on conflict when an expected version is given")
+    void shouldFailImmediatelyOnConflictWithExpectedVersion() {
+        // Given
+        when(eventAppender.insert(eq(ACCOUNT_NUMBER), eq(4L), anyList()))
+                .thenReturn(Collections.emptyList());
+
+        // When / Then
+        assertThatThrownBy(() -> eventSourcingService.append(ACCOUNT_NUMBER, 4L,
+                BalanceCreditedPayload.builder().amount(BigDecimal.ONE).build(), "user", "corr-1"))
+                .isInstanceOf(EventVersionConflictException.class);
+        verify(eventAppender, times(1)).insert(anyString(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should not retry an append at the latest version that inserted nothing")
+    void shouldNotRetryAppendAtLatestVersion() {
+        // Given
+        when(eventAppender.insert(eq(ACCOUNT_NUMBER), isNull(), anyList()))
+                .thenReturn(Collections.emptyList());
+
+        // When / Then
+        assertThatThrownBy(() -> eventSourcingService.saveEvent(ACCOUNT_NUMBER,
+                BalanceDebitedPayload.builder().amount(BigDecimal.ONE).build(), "user", "corr-1"))
+                .isInstanceOf(EventVersionConflictException.class)
+                .hasMessageContaining("expected version: latest");
+        verify(eventAppender, times(1)).insert(eq(ACCOUNT_NUMBER), isNull(), anyList());
+        assertThat(meterRegistry.get("account.eventsourcing.append.conflicts").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should append a multi-event command in a single insert")
+    void shouldAppendAllInSingleInsert() {
+        // Given
+        when(eventAppender.insert(eq(ACCOUNT_NUMBER), eq(1L), anyList()))
+                .thenReturn(Arrays.asList(
+                        event(2L, EventType.BALANCE_CREDITED, "{}"),
+                        event(3L, EventType.BALANCE_DEBITED, "{}")));
+
+        // When
+        List<AccountEvent> saved = eventSourcingService.appendAll(ACCOUNT_NUMBER, 1L, Arrays.asList(
+                BalanceCreditedPayload.builder().amount(BigDecimal.TEN).build(),
+                BalanceDebitedPayload.builder().amount(BigDecimal.ONE).build()), "user", "corr-1");
+
+        // Then
+        assertThat(saved).hasSize(2);
+        verify(eventAppender, times(1)).insert(anyString(), any(), anyList());
+    }
+
+    // ==================== AS-OF TESTS ====================
+
+    @Test
+    @DisplayName("Should replay as-of state from the nearest checkpoint up to the requested time")
+    void shouldReplayAsOfFromNearestCheckpoint() {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+        AccountSnapshot checkpoint = AccountSnapshot.builder()
+                .accountNumber(ACCOUNT_NUMBER)
+                .aggregateVersion(40L)
+                .eventTimestamp(asOf.minusHours(6))
+                .balance(new BigDecimal("800.00"))
+                .status(AccountStatus.ACTIVE)
+                .build();
+        when(snapshotRepository.findTopByAccountNumberAndEventTimestampLessThanEqualOrderByAggregateVersionDesc(
+                ACCOUNT_NUMBER, asOf)).thenReturn(Optional.of(checkpoint));
+        when(eventRepository.findByAccountNumberAndAggregateVersionGreaterThanAndTimestampLessThanEqualOrderByAggregateVersionAsc(
+                ACCOUNT_NUMBER, 40L, asOf))
+                .thenReturn(Collections.singletonList(
+                        event(41L, EventType.BALANCE_DEBITED, "{\"amount\":\"300.00\"}")));
+
+        // When
+        Account account = eventSourcingService.replayEventsAsOf(ACCOUNT_NUMBER, asOf);
+
+        // Then
+        assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("500.00"));
+        verify(eventRepository, never()).findByAccountNumberOrderByAggregateVersionAsc(anyString());
+        assertThat(meterRegistry.get("account.eventsourcing.replay").tag("mode", "as-of").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay as-of state from the first event when no checkpoint precedes the time")
+    void shouldReplayAsOfWithoutCheckpoint() {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+        when(eventRepository.findByAccountNumberAndAggregateVersionGreaterThanAndTimestampLessThanEqualOrderByAggregateVersionAsc(
+                ACCOUNT_NUMBER, 0L, asOf))
+                .thenReturn(Arrays.asList(createdEvent(1L),
+                        event(2L, EventType.BALANCE_CREDITED, "{\"amount\":\"25.00\"}")));
+
+        // When
+        Account account = eventSourcingService.replayEventsAsOf(ACCOUNT_NUMBER, asOf);
+
+        // Then
+        assertThat(account.getBalance()).isEqualByComparingTo(new BigDecimal("1025.00"));
+        assertThat(account.getCustomerName()).isEqualTo("John Doe");
+    }
+
+    @Test
+    @DisplayName("Should reject as-of queries before the account existed")
+    void shouldRejectAsOfBeforeAccountExisted() {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+        // When & Then
+        assertThatThrownBy(() -> eventSourcingService.replayEventsAsOf(ACCOUNT_NUMBER, asOf))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AccountEvent createdEvent(Long version) {
+        return event(version, EventType.ACCOUNT_CREATED,
+                "{\"customerName\":\"John Doe\",\"accountNumber\":\"" + ACCOUNT_NUMBER + "\"," +
+                        "\"accountType\":\"CHECKING\",\"currency\":\"TRY\",\"balance\":\"1000.00\"}");
+    }
+
+    private AccountEvent event(Long version, EventType type, String data) {
+        return AccountEvent.builder()
+                .id(version)
+                .accountNumber(ACCOUNT_NUMBER)
+                .eventType(type)
+                .aggregateVersion(version)
+                .eventData(data)
+                .build();
+    }
+}
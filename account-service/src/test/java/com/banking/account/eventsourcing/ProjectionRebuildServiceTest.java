@@ -0,0 +1,351 @@
+package com.banking.account.eventsourcing;
+
+import com.banking.account.config.EventSourcingConfig;
+import com.banking.account.eventsourcing.payload.AccountCreatedPayload;
+import com.banking.account.eventsourcing.payload.BalanceCreditedPayload;
+import com.banking.account.eventsourcing.payload.BalanceDebitedPayload;
+import com.banking.account.eventsourcing.payload.EventPayload;
+import com.banking.account.exception.InvalidAccountStateException;
+import com.banking.account.model.Account;
+import com.banking.account.model.AccountHistory;
+import com.banking.account.model.AccountStatus;
+import com.banking.account.model.AccountType;
+import com.banking.account.model.Currency;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Projection Rebuild Service Tests")
+class ProjectionRebuildServiceTest {
+
+    private static final String RUN_ID = "rebuild-1";
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Mock
+    private EventSourcingService eventSourcingService;
+
+    @Mock
+    private AccountSnapshotRepository snapshotRepository;
+
+    @Mock
+    private ArchivedEventReader archivedEventReader;
+
+    @Mock
+    private ProjectionRebuildCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ProjectionStagingRepository stagingRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EventPayloadCodec codec = new EventPayloadCodec(objectMapper);
+    private final List<List<Account>> upsertedBatches = new ArrayList<>();
+    private ProjectionRebuildService rebuildService;
+
+    @BeforeEach
+    void setUp() {
+        EventSourcingConfig config = new EventSourcingConfig();
+        config.setRebuildParallelism(2);
+        config.setRebuildBatchSize(2);
+        rebuildService = new ProjectionRebuildService(eventSourcingService, snapshotRepository,
+                archivedEventReader, checkpointRepository,
+                stagingRepository, jdbcTemplate, config,
+                transactionManager, new SimpleMeterRegistry());
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(checkpointRepository.save(any(ProjectionRebuildCheckpoint.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(eventSourcingService.applyEvent(any(Account.class), any(AccountEvent.class)))
+                .thenAnswer(invocation -> {
+                    AccountEvent event = invocation.getArgument(1);
+                    EventPayload payload = codec.decode(event.getEventType(), event.getEventData());
+                    payload.applyTo(invocation.getArgument(0));
+                    return payload;
+                });
+        // Snapshot each batch; the service reuses its buffer after flushing
+        lenient().doAnswer(invocation -> upsertedBatches.add(new ArrayList<>(invocation.<List<Account>>getArgument(1))))
+                .when(stagingRepository).upsertAccounts(eq(RUN_ID), anyList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        rebuildService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should fold events per account and stage them in checkpointed batches")
+    void shouldFoldAndUpsertInBatches() throws Exception {
+        // Given
+        streamEvents(
+                created("TR01", "100.00"), credited("TR01", 2, "50.00"),
+                created("TR02", "10.00"), debited("TR02", 2, "4.00"),
+                created("TR03", "0.00"));
+
+        // When
+        rebuildService.rebuildPartition(newCheckpoint(0), false);
+
+        // Then
+        assertThat(upsertedBatches).hasSize(2);
+        assertThat(upsertedBatches.get(0)).extracting(Account::getAccountNumber).containsExactly("TR01", "TR02");
+        assertThat(upsertedBatches.get(0).get(0).getBalance()).isEqualByComparingTo("150.00");
+        assertThat(upsertedBatches.get(0).get(1).getBalance()).isEqualByComparingTo("6.00");
+        assertThat(upsertedBatches.get(0).get(0).getStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(upsertedBatches.get(1)).extracting(Account::getAccountNumber).containsExactly("TR03");
+
+        ArgumentCaptor<ProjectionRebuildCheckpoint> checkpoint = ArgumentCaptor.forClass(ProjectionRebuildCheckpoint.class);
+        verify(checkpointRepository, times(2)).save(checkpoint.capture());
+        assertThat(checkpoint.getValue().isCompleted()).isTrue();
+        assertThat(checkpoint.getValue().getLastAccountNumber()).isEqualTo("TR03");
+        assertThat(checkpoint.getValue().getAccountsRebuilt()).isEqualTo(3L);
+        assertThat(checkpoint.getValue().getEventsApplied()).isEqualTo(5L);
+        verify(stagingRepository, never()).replaceHistory(anyString(), anyCollection(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should regenerate history entries from events when requested")
+    @SuppressWarnings("unchecked")
+    void shouldRegenerateHistory() throws Exception {
+        // Given
+        streamEvents(created("TR01", "100.00"), debited("TR01", 2, "30.00"));
+
+        // When
+        rebuildService.rebuildPartition(newCheckpoint(1), true);
+
+        // Then
+        ArgumentCaptor<List<AccountHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(stagingRepository).replaceHistory(eq(RUN_ID), eq(Set.of("TR01")), history.capture());
+        assertThat(history.getValue()).extracting(AccountHistory::getOperation).containsExactly("CREATE", "DEBIT");
+        AccountHistory debit = history.getValue().get(1);
+        assertThat(debit.getPreviousBalance()).isEqualByComparingTo("100.00");
+        assertThat(debit.getNewBalance()).isEqualByComparingTo("70.00");
+        assertThat(debit.getAmount()).isEqualByComparingTo("30.00");
+        assertThat(debit.getReferenceId()).isEqualTo("REF-TR01-2");
+    }
+
+    @Test
+    @DisplayName("Should write no history for accounts skipped without a creation event")
+    @SuppressWarnings("unchecked")
+    void shouldNotWriteHistoryForSkippedAccounts() throws Exception {
+        // Given - TR01's creation event is missing and nothing covers it
+        streamEvents(
+                created("TR00", "5.00"),
+                credited("TR01", 1, "25.00"), debited("TR01", 2, "5.00"),
+                created("TR02", "10.00"));
+
+        // When
+        rebuildService.rebuildPartition(newCheckpoint(0), true);
+
+        // Then
+        ArgumentCaptor<List<AccountHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(stagingRepository, times(2)).replaceHistory(eq(RUN_ID), anyCollection(), history.capture());
+        assertThat(history.getAllValues().stream().flatMap(List::stream).map(AccountHistory::getAccountNumber))
+                .containsExactly("TR00", "TR02");
+        assertThat(upsertedBatches.stream().flatMap(List::stream).map(Account::getAccountNumber))
+                .containsExactly("TR00", "TR02");
+    }
+
+    @Test
+    @DisplayName("Should start accounts with archived events from a covering snapshot and keep their history")
+    @SuppressWarnings("unchecked")
+    void shouldStartFromSnapshotWhenEarlyEventsAreArchived() throws Exception {
+        // Given
+        AccountSnapshot snapshot = AccountSnapshot.builder()
+                .accountNumber("TR01").aggregateVersion(5L).balance(new BigDecimal("200.00"))
+                .currency(Currency.TRY).status(AccountStatus.ACTIVE).accountType(AccountType.CHECKING)
+                .eventTimestamp(T0.plusMinutes(5)).build();
+        when(snapshotRepository.findTopByAccountNumberAndAggregateVersionGreaterThanEqualOrderByAggregateVersionAsc("TR01", 4L))
+                .thenReturn(Optional.of(snapshot));
+        streamEvents(
+                credited("TR01", 5, "25.00"), debited("TR01", 6, "50.00"),
+                created("TR02", "10.00"));
+
+        // When
+        rebuildService.rebuildPartition(newCheckpoint(0), true);
+
+        // Then
+        assertThat(upsertedBatches.get(0)).extracting(Account::getAccountNumber).containsExactly("TR01", "TR02");
+        assertThat(upsertedBatches.get(0).get(0).getBalance()).isEqualByComparingTo("150.00");
+        ArgumentCaptor<List<AccountHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(stagingRepository).replaceHistory(eq(RUN_ID), eq(Set.of("TR02")), history.capture());
+        assertThat(history.getValue()).extracting(AccountHistory::getAccountNumber).containsOnly("TR02");
+        verifyNoInteractions(archivedEventReader);
+    }
+
+    @Test
+    @DisplayName("Should resume after the checkpointed account within its range and skip completed partitions")
+    void shouldResumeFromCheckpoint() {
+        // Given
+        ProjectionRebuildCheckpoint inProgress = ProjectionRebuildCheckpoint.builder()
+                .id(1L).runId(RUN_ID).partitionNo(0).partitionCount(4)
+                .lastAccountNumber("TR02").upperAccountNumber("TR50")
+                .accountsRebuilt(2L).eventsApplied(4L).build();
+        ProjectionRebuildCheckpoint completed = ProjectionRebuildCheckpoint.builder()
+                .id(2L).runId(RUN_ID).partitionNo(1).partitionCount(4)
+                .lastAccountNumber("TR50").upperAccountNumber("TR99")
+                .accountsRebuilt(0L).eventsApplied(0L).completed(true).build();
+        List<String> resumedAfter = new ArrayList<>();
+        List<String> resumedUpTo = new ArrayList<>();
+        doAnswer(invocation -> {
+            PreparedStatementCreator creator = invocation.getArgument(0);
+            Connection connection = mock(Connection.class);
+            PreparedStatement statement = mock(PreparedStatement.class);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            creator.createPreparedStatement(connection);
+            ArgumentCaptor<String> after = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<String> upTo = ArgumentCaptor.forClass(String.class);
+            verify(statement).setString(eq(1), after.capture());
+            verify(statement).setString(eq(2), upTo.capture());
+            resumedAfter.add(after.getValue());
+            resumedUpTo.add(upTo.getValue());
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // When
+        rebuildService.rebuildPartition(inProgress, false);
+        rebuildService.rebuildPartition(completed, false);
+
+        // Then
+        assertThat(resumedAfter).containsExactly("TR02");
+        assertThat(resumedUpTo).containsExactly("TR50");
+        assertThat(inProgress.isCompleted()).isTrue();
+        assertThat(inProgress.getAccountsRebuilt()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should plan account ranges from the read model with an open last range")
+    @SuppressWarnings("unchecked")
+    void shouldPlanAccountRanges() {
+        // Given
+        when(checkpointRepository.findByRunIdOrderByPartitionNo(RUN_ID)).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(contains("ntile"), eq(String.class), eq(16)))
+                .thenReturn(List.of("TR10", "TR20", "TR30"));
+        when(checkpointRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        rebuildService.startRebuild(RUN_ID, false).join();
+
+        // Then
+        ArgumentCaptor<List<ProjectionRebuildCheckpoint>> planned = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(planned.capture());
+        assertThat(planned.getValue()).extracting(ProjectionRebuildCheckpoint::getLastAccountNumber)
+                .containsExactly(null, "TR10", "TR20");
+        assertThat(planned.getValue()).extracting(ProjectionRebuildCheckpoint::getUpperAccountNumber)
+                .containsExactly("TR10", "TR20", null);
+        assertThat(planned.getValue()).extracting(ProjectionRebuildCheckpoint::getPartitionCount)
+                .containsOnly(3);
+        assertThat(planned.getValue()).allMatch(ProjectionRebuildCheckpoint::isCompleted);
+        verify(stagingRepository).discardOtherRuns(RUN_ID);
+    }
+
+    @Test
+    @DisplayName("Should promote a completed run's staged projections")
+    void shouldPromoteCompletedRun() {
+        // Given
+        ProjectionRebuildCheckpoint done = newCheckpoint(0);
+        done.setCompleted(true);
+        when(checkpointRepository.findByRunIdOrderByPartitionNo(RUN_ID)).thenReturn(List.of(done));
+        when(stagingRepository.promote(RUN_ID)).thenReturn(new ProjectionPromotion(RUN_ID, 10L, 8L));
+
+        // When
+        ProjectionPromotion promotion = rebuildService.promote(RUN_ID);
+
+        // Then
+        assertThat(promotion.promoted()).isEqualTo(8L);
+        assertThat(promotion.staged()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("Should refuse to promote a run with unfinished partitions")
+    void shouldNotPromote_WhenRunIncomplete() {
+        // Given
+        ProjectionRebuildCheckpoint done = newCheckpoint(0);
+        done.setCompleted(true);
+        when(checkpointRepository.findByRunIdOrderByPartitionNo(RUN_ID)).thenReturn(List.of(done, newCheckpoint(1)));
+
+        // When / Then
+        assertThatThrownBy(() -> rebuildService.promote(RUN_ID))
+                .isInstanceOf(InvalidAccountStateException.class);
+        verify(stagingRepository, never()).promote(anyString());
+    }
+
+    private ProjectionRebuildCheckpoint newCheckpoint(int partitionNo) {
+        return ProjectionRebuildCheckpoint.builder()
+                .runId(RUN_ID)
+                .partitionNo(partitionNo)
+                .partitionCount(4)
+                .accountsRebuilt(0L)
+                .eventsApplied(0L)
+                .build();
+    }
+
+    private void streamEvents(AccountEvent... events) {
+        doAnswer(invocation -> {
+            ProjectionRebuildService.PartitionWriter writer = invocation.getArgument(1);
+            for (AccountEvent event : events) {
+                writer.accept(event);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private AccountEvent created(String accountNumber, String balance) throws Exception {
+        AccountCreatedPayload payload = AccountCreatedPayload.builder()
+                .customerName("Customer " + accountNumber)
+                .accountType(AccountType.CHECKING)
+                .currency(Currency.TRY)
+                .balance(new BigDecimal(balance))
+                .build();
+        return event(accountNumber, 1, EventType.ACCOUNT_CREATED, codec.encode(payload));
+    }
+
+    private AccountEvent credited(String accountNumber, long version, String amount) throws Exception {
+        return event(accountNumber, version, EventType.BALANCE_CREDITED, codec.encode(
+                new BalanceCreditedPayload(new BigDecimal(amount), "REF-" + accountNumber + "-" + version)));
+    }
+
+    private AccountEvent debited(String accountNumber, long version, String amount) throws Exception {
+        return event(accountNumber, version, EventType.BALANCE_DEBITED, codec.encode(
+                new BalanceDebitedPayload(new BigDecimal(amount), "REF-" + accountNumber + "-" + version)));
+    }
+
+    private AccountEvent event(String accountNumber, long version, EventType type, String data) {
+        return AccountEvent.builder()
+                .accountNumber(accountNumber)
+                .aggregateVersion(version)
+                .eventType(type)
+                .eventData(data)
+                .timestamp(T0.plusMinutes(version))
+                .build();
+    }
+}
@@ -19,6 +19,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -481,4 +482,35 @@ class AccountHistoryRepositoryTest {
         assertThat(foundHistory.getDescription()).isEqualTo(longDescription);
         assertThat(foundHistory.getDescription().length()).isGreaterThan(100);
     }
+
+    // KEYSET PAGINATION TESTS
+
+    @Test
+    @DisplayName("Should page history by (timestamp, id) keyset, newest first")
+    void shouldPageHistoryByKeyset() {
+        LocalDateTime sameInstant = LocalDateTime.now().withNano(0);
+        history2.setTimestamp(sameInstant);
+        history3.setTimestamp(sameInstant);
+        accountHistoryRepository.saveAll(List.of(history1, history2, history3, history4));
+
+        List<AccountHistory> firstPage = accountHistoryRepository.findFirstPage(1L, PageRequest.ofSize(2));
+        AccountHistory last = firstPage.get(1);
+        List<AccountHistory> secondPage = accountHistoryRepository.findPageBefore(
+                1L, last.getTimestamp(), last.getId(), PageRequest.ofSize(2));
+
+        // Ties on timestamp are broken by id, so no row is skipped or repeated across pages
+        assertThat(firstPage).extracting(AccountHistory::getReferenceId).containsExactly("REF-003", "REF-002");
+        assertThat(secondPage).extracting(AccountHistory::getReferenceId).containsExactly("REF-001");
+    }
+
+    @Test
+    @DisplayName("Should stream full history in keyset order")
+    void shouldStreamHistory() {
+        accountHistoryRepository.saveAll(List.of(history1, history2, history3, history4));
+
+        try (Stream<AccountHistory> history = accountHistoryRepository.streamByAccountId(1L)) {
+            assertThat(history.map(AccountHistory::getReferenceId))
+                    .containsExactly("REF-003", "REF-002", "REF-001");
+        }
+    }
 }
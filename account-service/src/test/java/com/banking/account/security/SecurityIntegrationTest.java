@@ -49,6 +49,7 @@ class SecurityIntegrationTest {
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+        registry.add("account-cache.enabled", () -> "false");
     }
 
     @Autowired
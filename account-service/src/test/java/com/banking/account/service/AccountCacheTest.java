@@ -0,0 +1,186 @@
+package com.banking.account.service;
+
+import com.banking.account.config.AccountCacheConfig;
+import com.banking.account.dto.AccountResponse;
+import com.banking.account.model.AccountStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Account Cache Tests")
+class AccountCacheTest {
+
+    private static final String ACCOUNT_NUMBER = "TR330006100519786457841326";
+    private static final String REDIS_KEY = "account:cache:" + ACCOUNT_NUMBER;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private ObjectMapper objectMapper;
+    private AccountCacheConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private AccountCache accountCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        config = new AccountCacheConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        accountCache = new AccountCache(redisTemplate, objectMapper, config, meterRegistry);
+        loads = new AtomicInteger();
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountCache.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should load once and serve repeated lookups from the local cache")
+    void shouldServeRepeatedLookupsLocally() {
+        // When
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+        AccountResponse second = accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second.getStatus()).isEqualTo(AccountStatus.ACTIVE);
+        verify(valueOperations).get(REDIS_KEY);
+        verify(valueOperations).set(eq(REDIS_KEY), anyString(), eq(Duration.ofSeconds(60)));
+        assertThat(meterRegistry.get("account.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should fill the local cache from Redis without loading")
+    void shouldServeFromRedis() throws Exception {
+        // Given
+        when(valueOperations.get(REDIS_KEY)).thenReturn(objectMapper.writeValueAsString(response()));
+
+        // When
+        AccountResponse account = accountCache.get(ACCOUNT_NUMBER, this::load);
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // Then
+        assertThat(account.getAccountNumber()).isEqualTo(ACCOUNT_NUMBER);
+        assertThat(loads.get()).isZero();
+        verify(valueOperations, times(1)).get(REDIS_KEY);
+        assertThat(meterRegistry.counter("account.cache.requests", "level", "redis", "result", "hit").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reload after an invalidation event and record staleness")
+    void shouldReloadAfterInvalidation() {
+        // Given
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // When
+        accountCache.invalidate(ACCOUNT_NUMBER, LocalDateTime.now().plusSeconds(1));
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+        verify(redisTemplate).delete(REDIS_KEY);
+        assertThat(meterRegistry.timer("account.cache.staleness").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict immediately when no transaction is active")
+    void shouldEvictWithoutTransaction() {
+        // Given
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // When
+        accountCache.evictAfterCommit(ACCOUNT_NUMBER);
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict again after the delay to drop a copy re-cached by an earlier read")
+    void shouldEvictAgainAfterDelay() throws Exception {
+        // Given
+        config.setSecondEvictionDelayMs(50);
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // When - a read that started before the commit caches its copy after the first eviction
+        accountCache.evictAfterCommit(ACCOUNT_NUMBER);
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+        Thread.sleep(200);
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(3);
+        verify(redisTemplate, times(2)).delete(REDIS_KEY);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the loader when Redis is unavailable")
+    void shouldFallBackWhenRedisUnavailable() {
+        // Given
+        when(valueOperations.get(REDIS_KEY)).thenThrow(new RuntimeException("Connection refused"));
+
+        // When
+        AccountResponse account = accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // Then
+        assertThat(account).isNotNull();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should bypass both levels when disabled")
+    void shouldBypassWhenDisabled() {
+        // Given
+        config.setEnabled(false);
+
+        // When
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+        accountCache.get(ACCOUNT_NUMBER, this::load);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private AccountResponse load() {
+        loads.incrementAndGet();
+        return response();
+    }
+
+    private AccountResponse response() {
+        return AccountResponse.builder()
+                .id(1L)
+                .accountNumber(ACCOUNT_NUMBER)
+                .balance(new BigDecimal("1000.00"))
+                .status(AccountStatus.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
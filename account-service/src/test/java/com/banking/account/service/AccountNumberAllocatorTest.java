@@ -0,0 +1,142 @@
+package com.banking.account.service;
+
+import com.banking.account.config.AccountNumberConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Account Number Allocator Tests")
+class AccountNumberAllocatorTest {
+
+    private static final long BLOCK_SIZE = 100;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final IbanGenerator ibanGenerator = new IbanGenerator();
+    private final AtomicLong sequence = new AtomicLong(1);
+    private AccountNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        AccountNumberConfig config = new AccountNumberConfig();
+        config.setBlockSize((int) BLOCK_SIZE);
+        allocator = new AccountNumberAllocator(jdbcTemplate, ibanGenerator, config, transactionManager);
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        lenient().when(jdbcTemplate.queryForObject(contains("pg_sequences"), eq(Long.class), eq("account_number_seq")))
+                .thenReturn(BLOCK_SIZE);
+        lenient().when(jdbcTemplate.queryForObject(eq("SELECT nextval('account_number_seq')"), eq(Long.class)))
+                .thenAnswer(invocation -> sequence.getAndAdd(BLOCK_SIZE));
+    }
+
+    @Test
+    @DisplayName("Should hand out consecutive numbers and hit the sequence once per block")
+    void shouldAllocateFromBlocks() {
+        // Given
+        allocator.initialize();
+
+        // When
+        List<String> accountNumbers = allocator.nextAccountNumbers(250);
+
+        // Then
+        assertThat(accountNumbers).hasSize(250).doesNotHaveDuplicates();
+        assertThat(accountNumbers.get(0)).isEqualTo(ibanGenerator.formatIban(0, 1L));
+        assertThat(accountNumbers.get(249)).isEqualTo(ibanGenerator.formatIban(0, 250L));
+        verify(jdbcTemplate, times(3)).queryForObject(eq("SELECT nextval('account_number_seq')"), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same number to concurrent callers")
+    void shouldAllocateUniquelyUnderConcurrency() throws Exception {
+        // Given
+        allocator.initialize();
+        int threads = 8;
+        int perThread = 500;
+        Set<String> allocated = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    allocated.add(allocator.nextAccountNumber());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(allocated).hasSize(threads * perThread);
+        verify(jdbcTemplate, times(threads * perThread / (int) BLOCK_SIZE))
+                .queryForObject(eq("SELECT nextval('account_number_seq')"), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Should use the sequence increment when it differs from the configured block size")
+    void shouldUseSequenceIncrement() {
+        // Given
+        when(jdbcTemplate.queryForObject(contains("pg_sequences"), eq(Long.class), eq("account_number_seq")))
+                .thenReturn(10L);
+        when(jdbcTemplate.queryForObject(eq("SELECT nextval('account_number_seq')"), eq(Long.class)))
+                .thenReturn(1L, 11L);
+        allocator.initialize();
+
+        // When
+        Set<String> accountNumbers = new HashSet<>(allocator.nextAccountNumbers(11));
+
+        // Then
+        assertThat(accountNumbers).hasSize(11).contains(ibanGenerator.formatIban(0, 11L));
+        verify(jdbcTemplate, times(2)).queryForObject(eq("SELECT nextval('account_number_seq')"), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Should create the sequence at startup in its own transaction, not on first allocation")
+    void shouldCreateSequenceAtStartup() {
+        // When
+        allocator.initialize();
+        allocator.nextAccountNumber();
+
+        // Then
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+        verify(jdbcTemplate).queryForObject(eq("SELECT pg_advisory_xact_lock(?)"), eq(Object.class), anyLong());
+        verify(jdbcTemplate, times(1)).execute(startsWith("CREATE SEQUENCE IF NOT EXISTS account_number_seq"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to allocate before the sequence is initialized")
+    void shouldFail_WhenNotInitialized() {
+        assertThatThrownBy(() -> allocator.nextAccountNumber())
+                .isInstanceOf(IllegalStateException.class);
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
@@ -1,34 +1,57 @@
 package com.banking.account.service;
 
+import com.banking.account.config.HoldConfig;
+import com.banking.account.dto.AccountHistoryPage;
 import com.banking.account.dto.AccountResponse;
 import com.banking.account.dto.BalanceUpdateRequest;
+import com.banking.account.dto.BatchPostingRequest;
+import com.banking.account.dto.BatchPostingResponse;
+import com.banking.account.dto.CaptureHoldRequest;
 import com.banking.account.dto.CreateAccountRequest;
+import com.banking.account.dto.HoldRequest;
+import com.banking.account.dto.HoldResponse;
+import com.banking.account.dto.InternalTransferRequest;
+import com.banking.account.dto.InternalTransferResponse;
+import com.banking.account.dto.PostingRequest;
+import com.banking.account.dto.PostingResult;
 import com.banking.account.event.AccountCreatedEvent;
 import com.banking.account.event.AccountStatusChangedEvent;
 import com.banking.account.event.BalanceChangedEvent;
-import com.banking.account.exception.AccountAlreadyExistsException;
 import com.banking.account.exception.AccountNotFoundException;
 import com.banking.account.exception.InsufficientBalanceException;
+import com.banking.account.exception.InvalidCursorException;
 import com.banking.account.exception.InvalidAccountStateException;
+import com.banking.account.exception.InvalidHoldStateException;
 import com.banking.account.model.Account;
 import com.banking.account.model.AccountHistory;
 import com.banking.account.model.AccountStatus;
 import com.banking.account.model.AccountType;
 import com.banking.account.model.Currency;
+import com.banking.account.model.FundsHold;
+import com.banking.account.model.HoldStatus;
+import com.banking.account.model.PostingOperation;
+import com.banking.account.repository.AccountHistoryJdbcRepository;
 import com.banking.account.repository.AccountHistoryRepository;
 import com.banking.account.repository.AccountRepository;
+import com.banking.account.repository.FundsHoldRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,11 +67,32 @@ class AccountServiceImplTest {
     @Mock
     private AccountHistoryRepository accountHistoryRepository;
 
+    @Mock
+    private AccountHistoryJdbcRepository accountHistoryJdbcRepository;
+
     @Mock
     private EventPublisher eventPublisher;
 
     @Mock
-    private IbanGenerator ibanGenerator;
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private HotAccountLedger hotAccountLedger;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private FundsHoldRepository fundsHoldRepository;
+
+    @Spy
+    private HoldConfig holdConfig = new HoldConfig();
 
     @InjectMocks
     private AccountServiceImpl accountService;
@@ -58,6 +102,10 @@ class AccountServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // Cache always misses and delegates to the loader
+        lenient().when(accountCache.get(anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<AccountResponse>>getArgument(1).get());
+
         createAccountRequest = CreateAccountRequest.builder()
                 .customerId("CUS-123456")
                 .customerName("John Doe")
@@ -85,8 +133,7 @@ class AccountServiceImplTest {
     void shouldCreateAccountSuccessfully() {
         // Given
         String generatedIban = "TR330006100519786457841326";
-        when(ibanGenerator.generateIban()).thenReturn(generatedIban);
-        when(accountRepository.existsByAccountNumber(generatedIban)).thenReturn(false);
+        when(accountNumberAllocator.nextAccountNumber()).thenReturn(generatedIban);
         when(accountRepository.save(any(Account.class))).thenReturn(sampleAccount);
         when(accountHistoryRepository.save(any(AccountHistory.class))).thenReturn(new AccountHistory());
 
@@ -99,8 +146,8 @@ class AccountServiceImplTest {
         assertThat(response.getCustomerId()).isEqualTo("CUS-123456");
         assertThat(response.getBalance()).isEqualByComparingTo(new BigDecimal("1000.00"));
 
-        verify(ibanGenerator).generateIban();
-        verify(accountRepository).existsByAccountNumber(generatedIban);
+        verify(accountNumberAllocator).nextAccountNumber();
+        verify(accountRepository, never()).existsByAccountNumber(anyString());
         verify(accountRepository).save(any(Account.class));
         verify(accountHistoryRepository).save(any(AccountHistory.class));
         verify(eventPublisher).publishAccountCreated(any(AccountCreatedEvent.class));
@@ -118,8 +165,7 @@ class AccountServiceImplTest {
                 .build();
 
         String generatedIban = "TR330006100519786457841326";
-        when(ibanGenerator.generateIban()).thenReturn(generatedIban);
-        when(accountRepository.existsByAccountNumber(generatedIban)).thenReturn(false);
+        when(accountNumberAllocator.nextAccountNumber()).thenReturn(generatedIban);
 
         Account accountWithZeroBalance = Account.builder()
                 .id(1L)
@@ -145,23 +191,6 @@ class AccountServiceImplTest {
         ));
     }
 
-    @Test
-    @DisplayName("Should throw exception when account already exists")
-    void shouldThrowExceptionWhenAccountAlreadyExists() {
-        // Given
-        String generatedIban = "TR330006100519786457841326";
-        when(ibanGenerator.generateIban()).thenReturn(generatedIban);
-        when(accountRepository.existsByAccountNumber(generatedIban)).thenReturn(true);
-
-        // When & Then
-        assertThatThrownBy(() -> accountService.createAccount(createAccountRequest))
-                .isInstanceOf(AccountAlreadyExistsException.class)
-                .hasMessageContaining("Account with this number already exists");
-
-        verify(accountRepository, never()).save(any(Account.class));
-        verify(eventPublisher, never()).publishAccountCreated(any());
-    }
-
     // ==================== GET ACCOUNT TESTS ====================
 
     @Test
@@ -557,6 +586,447 @@ class AccountServiceImplTest {
         verify(accountHistoryRepository, never()).findByAccountIdOrderByTimestampDesc(anyLong());
     }
 
+    @Test
+    @DisplayName("Should return a keyset page with a cursor for the next page")
+    void shouldReturnHistoryPageWithCursor() {
+        // Given
+        String accountNumber = sampleAccount.getAccountNumber();
+        LocalDateTime now = LocalDateTime.now();
+        List<AccountHistory> rows = List.of(
+                AccountHistory.builder().id(30L).timestamp(now).operation("DEBIT").build(),
+                AccountHistory.builder().id(20L).timestamp(now.minusMinutes(1)).operation("CREDIT").build(),
+                AccountHistory.builder().id(10L).timestamp(now.minusMinutes(2)).operation("CREATE").build());
+        when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(sampleAccount));
+        when(accountHistoryRepository.findFirstPage(eq(1L), any(Pageable.class))).thenReturn(rows);
+        when(accountHistoryRepository.findPageBefore(eq(1L), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(rows.get(2)));
+
+        // When
+        AccountHistoryPage firstPage = accountService.getAccountHistoryPage(accountNumber, null, 2);
+        AccountHistoryPage secondPage = accountService.getAccountHistoryPage(accountNumber, firstPage.getNextCursor(), 2);
+
+        // Then
+        assertThat(firstPage.getItems()).extracting(AccountHistory::getId).containsExactly(30L, 20L);
+        assertThat(firstPage.isHasMore()).isTrue();
+        assertThat(secondPage.isHasMore()).isFalse();
+        assertThat(secondPage.getNextCursor()).isNull();
+        verify(accountHistoryRepository).findFirstPage(1L, Pageable.ofSize(3));
+        verify(accountHistoryRepository).findPageBefore(1L, now.minusMinutes(1), 20L, Pageable.ofSize(3));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed history cursor")
+    void shouldRejectMalformedHistoryCursor() {
+        // Given
+        when(accountRepository.findByAccountNumber(sampleAccount.getAccountNumber())).thenReturn(Optional.of(sampleAccount));
+
+        // When & Then
+        assertThatThrownBy(() -> accountService.getAccountHistoryPage(sampleAccount.getAccountNumber(), "not-a-cursor", 50))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    // ==================== HOT ACCOUNT TESTS ====================
+
+    @Test
+    @DisplayName("Should credit hot account without locking the account row")
+    void shouldCreditHotAccountWithoutRowLock() {
+        // Given
+        String accountNumber = sampleAccount.getAccountNumber();
+        BalanceUpdateRequest request = BalanceUpdateRequest.builder()
+                .amount(new BigDecimal("250.00"))
+                .referenceId("REF-HOT")
+                .build();
+        when(hotAccountLedger.isHotAccount(accountNumber)).thenReturn(true);
+        when(hotAccountLedger.appendCredit(sampleAccount, new BigDecimal("250.00"))).thenReturn(true);
+        when(hotAccountLedger.pendingCredits(sampleAccount)).thenReturn(new BigDecimal("250.00"));
+        when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(sampleAccount));
+
+        // When
+        AccountResponse response = accountService.creditAccount(accountNumber, request);
+
+        // Then
+        assertThat(response.getBalance()).isEqualByComparingTo("1250.00");
+        assertThat(sampleAccount.getBalance()).isEqualByComparingTo("1000.00");
+        verify(hotAccountLedger).appendCredit(sampleAccount, new BigDecimal("250.00"));
+        verify(accountRepository, never()).findByAccountNumberForUpdate(anyString());
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(eventPublisher).publishBalanceChanged(any(BalanceChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a hot account credit when the ledger finds the account inactive")
+    void shouldRejectHotAccountCredit_WhenNotActive() {
+        // Given
+        String accountNumber = sampleAccount.getAccountNumber();
+        BalanceUpdateRequest request = BalanceUpdateRequest.builder()
+                .amount(new BigDecimal("250.00"))
+                .referenceId("REF-HOT")
+                .build();
+        when(hotAccountLedger.isHotAccount(accountNumber)).thenReturn(true);
+        when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(sampleAccount));
+        when(hotAccountLedger.appendCredit(sampleAccount, new BigDecimal("250.00"))).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> accountService.creditAccount(accountNumber, request))
+                .isInstanceOf(InvalidAccountStateException.class);
+        verify(eventPublisher, never()).publishBalanceChanged(any(BalanceChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should fold pending hot account credits before checking debit funds")
+    void shouldFoldPendingCreditsBeforeDebit() {
+        // Given
+        String accountNumber = sampleAccount.getAccountNumber();
+        BalanceUpdateRequest request = BalanceUpdateRequest.builder()
+                .amount(new BigDecimal("1200.00"))
+                .build();
+        when(hotAccountLedger.isHotAccount(accountNumber)).thenReturn(true);
+        when(accountRepository.findByAccountNumberForUpdate(accountNumber)).thenReturn(Optional.of(sampleAccount));
+        when(hotAccountLedger.fold(sampleAccount)).thenAnswer(invocation -> {
+            sampleAccount.setBalance(sampleAccount.getBalance().add(new BigDecimal("300.00")));
+            return new BigDecimal("300.00");
+        });
+        when(hotAccountLedger.pendingCredits(sampleAccount)).thenReturn(BigDecimal.ZERO);
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        accountService.debitAccount(accountNumber, request);
+
+        // Then
+        assertThat(sampleAccount.getBalance()).isEqualByComparingTo("100.00");
+        verify(hotAccountLedger).fold(sampleAccount);
+    }
+
+    // ==================== BATCH POSTING TESTS ====================
+
+    @Test
+    @DisplayName("Should lock each account once and apply postings in request order")
+    void shouldProcessPostingBatch() {
+        // Given
+        Account other = Account.builder()
+                .id(2L)
+                .accountNumber("TR120006200519786457841327")
+                .customerId("CUS-654321")
+                .balance(new BigDecimal("50.00"))
+                .currency(Currency.TRY)
+                .accountType(AccountType.CHECKING)
+                .status(AccountStatus.ACTIVE)
+                .build();
+        BatchPostingRequest request = BatchPostingRequest.builder()
+                .postings(List.of(
+                        posting(other.getAccountNumber(), PostingOperation.CREDIT, "25.00"),
+                        posting(sampleAccount.getAccountNumber(), PostingOperation.DEBIT, "400.00"),
+                        posting(other.getAccountNumber(), PostingOperation.DEBIT, "70.00"),
+                        posting(sampleAccount.getAccountNumber(), PostingOperation.CREDIT, "100.00")))
+                .build();
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(other, sampleAccount));
+
+        // When
+        BatchPostingResponse response = accountService.postBatch(request);
+
+        // Then
+        assertThat(response.getTotalCount()).isEqualTo(4);
+        assertThat(response.getSuccessCount()).isEqualTo(4);
+        assertThat(response.getResults()).extracting(PostingResult::getNewBalance)
+                .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .containsExactly(new BigDecimal("75.00"), new BigDecimal("600.00"),
+                        new BigDecimal("5.00"), new BigDecimal("700.00"));
+        verify(accountRepository, times(1)).findAllByAccountNumberInForUpdate(anyCollection());
+        verify(accountRepository, never()).findByAccountNumberForUpdate(anyString());
+        verify(accountHistoryJdbcRepository).batchInsert(argThat(history -> history.size() == 4));
+        verify(eventPublisher).publishBalanceChangedBatch(argThat(events -> events.size() == 4));
+        verify(eventPublisher, never()).publishBalanceChanged(any(BalanceChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should report per-item failures without failing the batch")
+    void shouldReportPerItemFailures() {
+        // Given
+        BatchPostingRequest request = BatchPostingRequest.builder()
+                .postings(List.of(
+                        posting(sampleAccount.getAccountNumber(), PostingOperation.DEBIT, "5000.00"),
+                        posting("TR999999999999999999999999", PostingOperation.CREDIT, "10.00"),
+                        posting(sampleAccount.getAccountNumber(), PostingOperation.CREDIT, "10.00")))
+                .build();
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(sampleAccount));
+
+        // When
+        BatchPostingResponse response = accountService.postBatch(request);
+
+        // Then
+        assertThat(response.getSuccessCount()).isEqualTo(1);
+        assertThat(response.getFailureCount()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(PostingResult::isSuccess)
+                .containsExactly(false, false, true);
+        assertThat(response.getResults().get(0).getError()).startsWith("Insufficient balance");
+        assertThat(response.getResults().get(1).getError()).startsWith("Account not found");
+        assertThat(sampleAccount.getBalance()).isEqualByComparingTo("1010.00");
+        verify(accountHistoryJdbcRepository).batchInsert(argThat(history -> history.size() == 1));
+    }
+
+    private PostingRequest posting(String accountNumber, PostingOperation operation, String amount) {
+        return PostingRequest.builder()
+                .accountNumber(accountNumber)
+                .operation(operation)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    // ==================== INTERNAL TRANSFER TESTS ====================
+
+    @Test
+    @DisplayName("Should move funds between both locked accounts in one transaction")
+    void shouldTransferInternally() {
+        // Given
+        Account destination = internalDestination();
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(destination, sampleAccount));
+        when(accountHistoryRepository.findByReferenceIdOrderByIdAsc("TRF-1")).thenReturn(List.of());
+        when(accountHistoryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AccountHistory> entries = invocation.getArgument(0);
+            entries.get(0).setId(11L);
+            entries.get(1).setId(12L);
+            return entries;
+        });
+
+        // When
+        InternalTransferResponse response = accountService.transferInternal(internalTransfer("300.00"));
+
+        // Then
+        assertThat(response.isReplayed()).isFalse();
+        assertThat(response.getDebitEntryId()).isEqualTo(11L);
+        assertThat(response.getCreditEntryId()).isEqualTo(12L);
+        assertThat(response.getFromBalance()).isEqualByComparingTo("700.00");
+        assertThat(response.getToBalance()).isEqualByComparingTo("350.00");
+        verify(accountRepository, times(1)).findAllByAccountNumberInForUpdate(anyCollection());
+        verify(accountRepository, never()).findByAccountNumberForUpdate(anyString());
+        verify(eventPublisher).publishBalanceChangedBatch(argThat(events -> events.size() == 2));
+        verify(accountCache).evictAfterCommit(sampleAccount.getAccountNumber());
+        verify(accountCache).evictAfterCommit(destination.getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("Should return the original postings when the reference was already transferred")
+    void shouldReplayInternalTransferWithSameReference() {
+        // Given
+        Account destination = internalDestination();
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(destination, sampleAccount));
+        when(accountHistoryRepository.findByReferenceIdOrderByIdAsc("TRF-1")).thenReturn(List.of(
+                AccountHistory.builder().id(11L).accountId(1L).operation("DEBIT")
+                        .amount(new BigDecimal("300.00")).referenceId("TRF-1").build(),
+                AccountHistory.builder().id(12L).accountId(2L).operation("CREDIT")
+                        .amount(new BigDecimal("300.00")).referenceId("TRF-1").build()));
+
+        // When
+        InternalTransferResponse response = accountService.transferInternal(internalTransfer("300.00"));
+
+        // Then
+        assertThat(response.isReplayed()).isTrue();
+        assertThat(response.getDebitEntryId()).isEqualTo(11L);
+        assertThat(response.getCreditEntryId()).isEqualTo(12L);
+        assertThat(sampleAccount.getBalance()).isEqualByComparingTo("1000.00");
+        verify(accountRepository, never()).saveAll(anyList());
+        verify(eventPublisher, never()).publishBalanceChangedBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject internal transfer exceeding available balance")
+    void shouldRejectInternalTransferExceedingBalance() {
+        // Given
+        when(accountRepository.findAllByAccountNumberInForUpdate(anyCollection()))
+                .thenReturn(List.of(internalDestination(), sampleAccount));
+        when(accountHistoryRepository.findByReferenceIdOrderByIdAsc("TRF-1")).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> accountService.transferInternal(internalTransfer("5000.00")))
+                .isInstanceOf(InsufficientBalanceException.class);
+        verify(accountRepository, never()).saveAll(anyList());
+    }
+
+    private Account internalDestination() {
+        return Account.builder()
+                .id(2L)
+                .accountNumber("TR120006200519786457841327")
+                .customerId("CUS-654321")
+                .balance(new BigDecimal("50.00"))
+                .currency(Currency.TRY)
+                .accountType(AccountType.CHECKING)
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+
+    private InternalTransferRequest internalTransfer(String amount) {
+        return InternalTransferRequest.builder()
+                .fromAccountNumber(sampleAccount.getAccountNumber())
+                .toAccountNumber("TR120006200519786457841327")
+                .amount(new BigDecimal(amount))
+                .currency("TRY")
+                .referenceId("TRF-1")
+                .build();
+    }
+
+    // ==================== FUNDS HOLD TESTS ====================
+
+    @Test
+    @DisplayName("Should place hold and reduce available balance")
+    void shouldPlaceHold() {
+        // Given
+        String accountNumber = "TR330006100519786457841326";
+        HoldRequest request = HoldRequest.builder()
+                .amount(new BigDecimal("400.00"))
+                .referenceId("TXN-1")
+                .build();
+        when(accountRepository.findByAccountNumberForUpdate(accountNumber)).thenReturn(Optional.of(sampleAccount));
+        when(fundsHoldRepository.findByAccountNumberAndReferenceId(accountNumber, "TXN-1")).thenReturn(Optional.empty());
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fundsHoldRepository.save(any(FundsHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        HoldResponse response = accountService.placeHold(accountNumber, request);
+
+        // Then
+        assertThat(response.getHoldId()).isNotBlank();
+        assertThat(response.getStatus()).isEqualTo(HoldStatus.ACTIVE);
+        assertThat(response.getBalance()).isEqualByComparingTo("1000.00");
+        assertThat(response.getAvailableBalance()).isEqualByComparingTo("600.00");
+        assertThat(response.getExpiresAt()).isAfter(LocalDateTime.now().plusSeconds(holdConfig.getDefaultTtlSeconds() - 60));
+        assertThat(sampleAccount.getHeldAmount()).isEqualByComparingTo("400.00");
+        verify(eventPublisher, never()).publishBalanceChanged(any());
+        verify(accountCache).evictAfterCommit(accountNumber);
+    }
+
+    @Test
+    @DisplayName("Should return existing hold for a repeated reference")
+    void shouldReturnExistingHoldForSameReference() {
+        // Given
+        String accountNumber = "TR330006100519786457841326";
+        FundsHold existing = activeHold("HOLD-1", new BigDecimal("400.00"));
+        sampleAccount.setHeldAmount(new BigDecimal("400.00"));
+        when(accountRepository.findByAccountNumberForUpdate(accountNumber)).thenReturn(Optional.of(sampleAccount));
+        when(fundsHoldRepository.findByAccountNumberAndReferenceId(accountNumber, "TXN-1")).thenReturn(Optional.of(existing));
+
+        // When
+        HoldResponse response = accountService.placeHold(accountNumber, HoldRequest.builder()
+                .amount(new BigDecimal("400.00")).referenceId("TXN-1").build());
+
+        // Then
+        assertThat(response.getHoldId()).isEqualTo("HOLD-1");
+        assertThat(sampleAccount.getHeldAmount()).isEqualByComparingTo("400.00");
+        verify(fundsHoldRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject hold exceeding available balance")
+    void shouldRejectHoldExceedingAvailableBalance() {
+        // Given
+        String accountNumber = "TR330006100519786457841326";
+        sampleAccount.setHeldAmount(new BigDecimal("900.00"));
+        when(accountRepository.findByAccountNumberForUpdate(accountNumber)).thenReturn(Optional.of(sampleAccount));
+        when(fundsHoldRepository.findByAccountNumberAndReferenceId(accountNumber, "TXN-2")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> accountService.placeHold(accountNumber, HoldRequest.builder()
+                .amount(new BigDecimal("200.00")).referenceId("TXN-2").build()))
+                .isInstanceOf(InsufficientBalanceException.class);
+        verify(fundsHoldRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should not debit funds reserved by holds")
+    void shouldNotDebitHeldFunds() {
+        // Given
+        String accountNumber = "TR330006100519786457841326";
+        sampleAccount.setHeldAmount(new BigDecimal("800.00"));
+        when(accountRepository.findByAccountNumberForUpdate(accountNumber)).thenReturn(Optional.of(sampleAccount));
+
+        // When & Then
+        assertThatThrownBy(() -> accountService.debitAccount(accountNumber,
+                BalanceUpdateRequest.builder().amount(new BigDecimal("300.00")).build()))
+                .isInstanceOf(InsufficientBalanceException.class);
+    }
+
+    @Test
+    @DisplayName("Should capture part of a hold, debit it and release the remainder")
+    void shouldCapturePartialHold() {
+        // Given
+        String accountNumber = "TR330006100519786457841326";
+        FundsHold hold = activeHold("HOLD-1", new BigDecimal("400.00"));
+        sampleAccount.setHeldAmount(new BigDecimal("400.00"));
+        when(fundsHoldRepository.findByHoldId("HOLD-1")).thenReturn(Optional.of(hold));
+        when(accountRepository.findByAccountNumberForUpdate(accountNumber)).thenReturn(Optional.of(sampleAccount));
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fundsHoldRepository.save(any(FundsHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        HoldResponse response = accountService.captureHold("HOLD-1",
+                CaptureHoldRequest.builder().amount(new BigDecimal("250.00")).build());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(HoldStatus.CAPTURED);
+        assertThat(response.getCapturedAmount()).isEqualByComparingTo("250.00");
+        assertThat(sampleAccount.getBalance()).isEqualByComparingTo("750.00");
+        assertThat(sampleAccount.getHeldAmount()).isEqualByComparingTo("0.00");
+        verify(entityManager).refresh(hold);
+        verify(accountHistoryRepository).save(argThat(history ->
+                "DEBIT".equals(history.getOperation()) && "TXN-1".equals(history.getReferenceId())));
+        verify(eventPublisher).publishBalanceChanged(argThat(event ->
+                event.getAmount().compareTo(new BigDecimal("250.00")) == 0));
+    }
+
+    @Test
+    @DisplayName("Should reject capture of an expired hold")
+    void shouldRejectCaptureOfExpiredHold() {
+        // Given
+        FundsHold hold = activeHold("HOLD-1", new BigDecimal("400.00"));
+        hold.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(fundsHoldRepository.findByHoldId("HOLD-1")).thenReturn(Optional.of(hold));
+        when(accountRepository.findByAccountNumberForUpdate(hold.getAccountNumber())).thenReturn(Optional.of(sampleAccount));
+
+        // When & Then
+        assertThatThrownBy(() -> accountService.captureHold("HOLD-1", null))
+                .isInstanceOf(InvalidHoldStateException.class)
+                .hasMessageContaining("expired");
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should release hold once and treat repeated releases as no-ops")
+    void shouldReleaseHoldIdempotently() {
+        // Given
+        FundsHold hold = activeHold("HOLD-1", new BigDecimal("400.00"));
+        sampleAccount.setHeldAmount(new BigDecimal("400.00"));
+        when(fundsHoldRepository.findByHoldId("HOLD-1")).thenReturn(Optional.of(hold));
+        when(accountRepository.findByAccountNumberForUpdate(hold.getAccountNumber())).thenReturn(Optional.of(sampleAccount));
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(fundsHoldRepository.save(any(FundsHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        HoldResponse first = accountService.releaseHold("HOLD-1");
+        HoldResponse second = accountService.releaseHold("HOLD-1");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(HoldStatus.RELEASED);
+        assertThat(second.getStatus()).isEqualTo(HoldStatus.RELEASED);
+        assertThat(sampleAccount.getHeldAmount()).isEqualByComparingTo("0.00");
+        assertThat(sampleAccount.getBalance()).isEqualByComparingTo("1000.00");
+        verify(fundsHoldRepository, times(1)).save(any(FundsHold.class));
+    }
+
+    private FundsHold activeHold(String holdId, BigDecimal amount) {
+        return FundsHold.builder()
+                .holdId(holdId)
+                .accountId(1L)
+                .accountNumber("TR330006100519786457841326")
+                .amount(amount)
+                .referenceId("TXN-1")
+                .status(HoldStatus.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build();
+    }
+
     // ==================== VALIDATION TESTS ====================
 
     @Test
@@ -571,8 +1041,7 @@ class AccountServiceImplTest {
                 .initialBalance(new BigDecimal("100.00"))
                 .build();
 
-        when(ibanGenerator.generateIban()).thenReturn("TR330006100519786457841326");
-        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
+        when(accountNumberAllocator.nextAccountNumber()).thenReturn("TR330006100519786457841326");
 
         Account usdAccount = Account.builder()
                 .id(1L)
@@ -607,8 +1076,7 @@ class AccountServiceImplTest {
                 .initialBalance(new BigDecimal("5000.00"))
                 .build();
 
-        when(ibanGenerator.generateIban()).thenReturn("TR330006100519786457841326");
-        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
+        when(accountNumberAllocator.nextAccountNumber()).thenReturn("TR330006100519786457841326");
 
         Account savingsAccount = Account.builder()
                 .id(1L)
@@ -7,6 +7,7 @@ import com.banking.account.event.BalanceChangedEvent;
 import com.banking.account.model.AccountStatus;
 import com.banking.account.model.AccountType;
 import com.banking.account.model.Currency;
+import com.banking.account.repository.OutboxEventJdbcRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,9 +17,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -28,7 +29,7 @@ import static org.mockito.Mockito.*;
 class EventPublisherTest {
 
     @Mock
-    private KafkaTemplate<String, String> kafkaTemplate;
+    private OutboxEventJdbcRepository outboxEventJdbcRepository;
 
     @Mock
     private ObjectMapper objectMapper;
@@ -62,7 +63,7 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate).send(
+        verify(outboxEventJdbcRepository).insert(
                 eq(KafkaConfig.ACCOUNT_CREATED_TOPIC),
                 eq("TR330006100519786457841326"),
                 eq(eventJson)
@@ -90,7 +91,7 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        verify(outboxEventJdbcRepository, never()).insert(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -115,7 +116,7 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate).send(
+        verify(outboxEventJdbcRepository).insert(
                 eq(KafkaConfig.BALANCE_CHANGED_TOPIC),
                 eq("TR330006100519786457841326"),
                 eq(eventJson)
@@ -144,7 +145,7 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate).send(
+        verify(outboxEventJdbcRepository).insert(
                 eq(KafkaConfig.BALANCE_CHANGED_TOPIC),
                 eq("TR330006100519786457841326"),
                 eq(eventJson)
@@ -172,7 +173,7 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        verify(outboxEventJdbcRepository, never()).insert(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -195,7 +196,7 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate).send(
+        verify(outboxEventJdbcRepository).insert(
                 eq(KafkaConfig.ACCOUNT_FROZEN_TOPIC),
                 eq("TR330006100519786457841326"),
                 eq(eventJson)
@@ -222,7 +223,7 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate).send(
+        verify(outboxEventJdbcRepository).insert(
                 eq(KafkaConfig.ACCOUNT_UPDATED_TOPIC),
                 eq("TR330006100519786457841326"),
                 eq(eventJson)
@@ -249,7 +250,7 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate).send(
+        verify(outboxEventJdbcRepository).insert(
                 eq(KafkaConfig.ACCOUNT_UPDATED_TOPIC),
                 eq("TR330006100519786457841326"),
                 eq(eventJson)
@@ -276,7 +277,7 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        verify(outboxEventJdbcRepository, never()).insert(anyString(), anyString(), anyString());
     }
 
     @Test
@@ -300,7 +301,7 @@ class EventPublisherTest {
         eventPublisher.publishAccountCreated(createdEvent);
 
         // Then
-        verify(kafkaTemplate).send(
+        verify(outboxEventJdbcRepository).insert(
                 anyString(),
                 eq(accountNumber), // Key should be account number
                 anyString()
@@ -336,9 +337,9 @@ class EventPublisherTest {
         eventPublisher.publishBalanceChanged(balanceEvent);
 
         // Then
-        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), anyString());
-        verify(kafkaTemplate).send(eq(KafkaConfig.ACCOUNT_CREATED_TOPIC), anyString(), anyString());
-        verify(kafkaTemplate).send(eq(KafkaConfig.BALANCE_CHANGED_TOPIC), anyString(), anyString());
+        verify(outboxEventJdbcRepository, times(2)).insert(anyString(), anyString(), anyString());
+        verify(outboxEventJdbcRepository).insert(eq(KafkaConfig.ACCOUNT_CREATED_TOPIC), anyString(), anyString());
+        verify(outboxEventJdbcRepository).insert(eq(KafkaConfig.BALANCE_CHANGED_TOPIC), anyString(), anyString());
     }
 
     @Test
@@ -362,6 +363,32 @@ class EventPublisherTest {
 
         // Then
         verify(objectMapper).writeValueAsString(event);
-        verify(kafkaTemplate).send(anyString(), anyString(), eq(expectedJson));
+        verify(outboxEventJdbcRepository).insert(anyString(), anyString(), eq(expectedJson));
+    }
+
+    @Test
+    @DisplayName("Should write a batch of BalanceChangedEvents to the outbox in one batch insert")
+    void shouldWriteBalanceChangedBatchToOutbox() throws JsonProcessingException {
+        // Given
+        BalanceChangedEvent first = BalanceChangedEvent.builder()
+                .accountNumber("TR330006100519786457841326")
+                .operation("CREDIT")
+                .amount(new BigDecimal("100.00"))
+                .build();
+        BalanceChangedEvent second = BalanceChangedEvent.builder()
+                .accountNumber("TR330006100519786457841327")
+                .operation("DEBIT")
+                .amount(new BigDecimal("50.00"))
+                .build();
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+
+        // When
+        eventPublisher.publishBalanceChangedBatch(List.of(first, second));
+
+        // Then
+        verify(outboxEventJdbcRepository).batchInsert(argThat(events -> events.size() == 2
+                && events.get(0).getMessageKey().equals("TR330006100519786457841326")
+                && events.get(1).getTopic().equals(KafkaConfig.BALANCE_CHANGED_TOPIC)));
+        verify(outboxEventJdbcRepository, never()).insert(anyString(), anyString(), anyString());
     }
 }
@@ -0,0 +1,181 @@
+package com.banking.account.service;
+
+import com.banking.account.config.HotAccountConfig;
+import com.banking.account.model.Account;
+import com.banking.account.model.AccountStatus;
+import com.banking.account.model.AccountType;
+import com.banking.account.model.Currency;
+import com.banking.account.repository.AccountRepository;
+import com.banking.account.repository.AccountSubBalanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Contention benchmark: concurrent credits to a single account through the
+ * row-lock path versus the hot-account sub-balance path. The rates are logged,
+ * not asserted: wall-clock throughput depends on the machine and JVM warm-up.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({HotAccountLedger.class, HotAccountConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Hot Account Contention Benchmark")
+@Slf4j
+class HotAccountContentionBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int CREDITS_PER_THREAD = 200;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS + 2);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountSubBalanceRepository subBalanceRepository;
+
+    @Autowired
+    private HotAccountLedger hotAccountLedger;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        subBalanceRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should apply every concurrent credit on both paths and log their throughput")
+    void shouldCompareCreditThroughput() throws Exception {
+        // Given
+        Account lockedAccount = accountRepository.save(newAccount("TR330006100519786457841326"));
+        Account hotAccount = accountRepository.save(newAccount("TR330006100519786457841327"));
+
+        // When
+        double lockedRate = creditsPerSecond(() -> transactionTemplate.executeWithoutResult(status -> {
+            Account account = accountRepository.findByAccountNumberForUpdate(lockedAccount.getAccountNumber())
+                    .orElseThrow();
+            account.credit(AMOUNT);
+        }));
+
+        double hotRate = creditsPerSecond(() -> transactionTemplate.executeWithoutResult(status -> {
+            Account account = accountRepository.findByAccountNumber(hotAccount.getAccountNumber()).orElseThrow();
+            hotAccountLedger.appendCredit(account, AMOUNT);
+        }));
+
+        BigDecimal pending = subBalanceRepository.sumByAccountId(hotAccount.getId());
+        hotAccountLedger.compact(hotAccount.getId());
+
+        // Then
+        log.info("Single-account credits/sec: row lock={}, hot account={} (x{})",
+                Math.round(lockedRate), Math.round(hotRate), String.format("%.1f", hotRate / lockedRate));
+
+        BigDecimal expected = AMOUNT.multiply(BigDecimal.valueOf((long) THREADS * CREDITS_PER_THREAD));
+        assertThat(pending).isEqualByComparingTo(expected);
+        assertThat(accountRepository.findById(lockedAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo(expected);
+        assertThat(accountRepository.findById(hotAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo(expected);
+        assertThat(subBalanceRepository.sumByAccountId(hotAccount.getId())).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should refuse hot account credits once the account is frozen")
+    void shouldRefuseCreditsToFrozenAccount() {
+        // Given
+        Account account = newAccount("TR330006100519786457841328");
+        account.setStatus(AccountStatus.FROZEN);
+        Account frozen = accountRepository.save(account);
+
+        // When
+        boolean appended = hotAccountLedger.appendCredit(frozen, AMOUNT);
+
+        // Then
+        assertThat(appended).isFalse();
+        assertThat(subBalanceRepository.sumByAccountId(frozen.getId())).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private double creditsPerSecond(Runnable credit) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CREDITS_PER_THREAD; i++) {
+                        credit.run();
+                    }
+                    return null;
+                }));
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+            return THREADS * CREDITS_PER_THREAD / seconds;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Account newAccount(String accountNumber) {
+        return Account.builder()
+                .accountNumber(accountNumber)
+                .customerId("CUS-123456")
+                .customerName("Merchant Ltd")
+                .balance(BigDecimal.ZERO)
+                .currency(Currency.TRY)
+                .status(AccountStatus.ACTIVE)
+                .accountType(AccountType.BUSINESS)
+                .build();
+    }
+}
@@ -179,6 +179,45 @@ class IbanGeneratorTest {
         }
     }
 
+    @Test
+    @DisplayName("Should format IBAN for a given account number with valid checksum")
+    void shouldFormatIbanForAccountNumber() {
+        // When
+        String iban = ibanGenerator.formatIban(0, 42L);
+
+        // Then
+        assertThat(iban).matches("TR\\d{2}000010" + "0000000000000042");
+        assertThat(isValidIbanChecksum(iban)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should produce valid checksums across the account number range")
+    void shouldProduceValidChecksumsAcrossRange() {
+        // When & Then
+        long[] accountNumbers = {0L, 1L, 96L, 97L, 123_456_789L, 9_999_999_999_999_999L};
+        for (int reserved = 0; reserved < 10; reserved++) {
+            for (long accountNumber : accountNumbers) {
+                String iban = ibanGenerator.formatIban(reserved, accountNumber);
+                assertThat(iban).hasSize(26);
+                assertThat(isValidIbanChecksum(iban))
+                    .as("IBAN %s should have valid checksum", iban)
+                    .isTrue();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject account numbers outside 16 digits")
+    void shouldRejectOutOfRangeAccountNumbers() {
+        // When & Then
+        assertThatThrownBy(() -> ibanGenerator.formatIban(0, 10_000_000_000_000_000L))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ibanGenerator.formatIban(0, -1L))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ibanGenerator.formatIban(10, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     // Helper method to validate IBAN checksum using MOD-97 algorithm
     private boolean isValidIbanChecksum(String iban) {
         // Move first 4 characters to end
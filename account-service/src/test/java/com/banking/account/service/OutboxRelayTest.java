@@ -0,0 +1,138 @@
+package com.banking.account.service;
+
+import com.banking.account.config.KafkaConfig;
+import com.banking.account.config.OutboxConfig;
+import com.banking.account.model.OutboxEvent;
+import com.banking.account.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Relay Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxConfig outboxConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxConfig = new OutboxConfig();
+        outboxConfig.setBatchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaTemplate, outboxConfig,
+                new TransactionTemplate(transactionManager), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should send a batch in id order and delete it after acknowledgement")
+    void shouldRelayBatchInOrder() {
+        // Given
+        List<OutboxEvent> batch = List.of(outboxEvent(1L, "TR01"), outboxEvent(2L, "TR01"));
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findNextBatch(2)).thenReturn(batch);
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(acknowledged());
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then
+        assertThat(relayed).isEqualTo(2);
+        InOrder inOrder = inOrder(kafkaTemplate, outboxEventRepository);
+        inOrder.verify(kafkaTemplate).send(KafkaConfig.BALANCE_CHANGED_TOPIC, "TR01", "{\"id\":1}");
+        inOrder.verify(kafkaTemplate).send(KafkaConfig.BALANCE_CHANGED_TOPIC, "TR01", "{\"id\":2}");
+        inOrder.verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertThat(meterRegistry.counter("account.outbox.published").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should keep the batch when Kafka does not acknowledge it")
+    void shouldKeepBatchWhenSendFails() {
+        // Given
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findNextBatch(2)).thenReturn(List.of(outboxEvent(1L, "TR01")));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker unavailable")));
+
+        // When & Then
+        assertThatThrownBy(() -> outboxRelay.relayBatch()).isInstanceOf(IllegalStateException.class);
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should skip relaying when another instance holds the relay lock")
+    void shouldSkipWhenRelayLockIsHeld() {
+        // Given
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(false);
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxEventRepository, never()).findNextBatch(anyInt());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("Should keep draining while batches come back full")
+    void shouldDrainUntilBatchIsNotFull() {
+        // Given
+        List<Long> deleted = new ArrayList<>();
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(true);
+        when(outboxEventRepository.findNextBatch(2))
+                .thenReturn(List.of(outboxEvent(1L, "TR01"), outboxEvent(2L, "TR02")))
+                .thenReturn(List.of(outboxEvent(3L, "TR01")));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(acknowledged());
+        doAnswer(invocation -> {
+            invocation.<Iterable<Long>>getArgument(0).forEach(deleted::add);
+            return null;
+        }).when(outboxEventRepository).deleteAllByIdInBatch(any());
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxEventRepository, times(2)).findNextBatch(2);
+        assertThat(deleted).containsExactly(1L, 2L, 3L);
+    }
+
+    private OutboxEvent outboxEvent(Long id, String accountNumber) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic(KafkaConfig.BALANCE_CHANGED_TOPIC)
+                .messageKey(accountNumber)
+                .payload("{\"id\":" + id + "}")
+                .build();
+    }
+
+    private CompletableFuture<SendResult<String, String>> acknowledged() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
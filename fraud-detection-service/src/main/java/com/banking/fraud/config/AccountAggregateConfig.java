@@ -0,0 +1,27 @@
+package com.banking.fraud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "fraud.aggregates")
+@Data
+public class AccountAggregateConfig {
+
+    /**
+     * Days before today covered by the rolling count/sum/mean. The window has day resolution:
+     * it holds today and the rollingDays days before it, i.e. rollingDays + 1 calendar days.
+     */
+    private int rollingDays = 30;
+
+    /**
+     * How often buffered daily increments are written to account_daily_aggregates
+     */
+    private long flushIntervalMs = 1000;
+
+    /**
+     * When daily rows older than the rolling window are deleted
+     */
+    private String purgeCron = "0 20 2 * * *";
+}
@@ -0,0 +1,22 @@
+package com.banking.fraud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "fraud.batch")
+@Data
+public class FraudBatchConfig {
+
+    /**
+     * Accounts of a batch evaluated concurrently; each holds a database connection while its
+     * lookups run, so keep this below the connection pool size
+     */
+    private int parallelism = 4;
+
+    /**
+     * Rows per JDBC batch when saving fraud checks
+     */
+    private int writeBatchSize = 1000;
+}
@@ -0,0 +1,21 @@
+package com.banking.fraud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "fraud.rules")
+@Data
+public class FraudRuleEngineConfig {
+
+    /**
+     * Redis channel on which rule changes are announced to every instance
+     */
+    private String reloadChannel = "fraud:rules:changed";
+
+    /**
+     * Interval of the periodic recompile that catches up on missed change signals
+     */
+    private long reloadIntervalMs = 300000;
+}
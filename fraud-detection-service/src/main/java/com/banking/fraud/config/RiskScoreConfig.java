@@ -0,0 +1,21 @@
+package com.banking.fraud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "fraud.risk-scores")
+@Data
+public class RiskScoreConfig {
+
+    /**
+     * How often buffered risk score changes are written to risk_scores
+     */
+    private long flushIntervalMs = 1000;
+
+    /**
+     * Points an account's score loses per hour since its last check
+     */
+    private double decayPointsPerHour = 5;
+}
@@ -0,0 +1,41 @@
+package com.banking.fraud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "fraud.velocity")
+@Data
+public class VelocityCounterConfig {
+
+    /**
+     * Serve VELOCITY and PATTERN counts from in-memory windows instead of COUNT queries
+     */
+    private boolean enabled = true;
+
+    /**
+     * Width of one counter bucket; counts are exact to this resolution
+     */
+    private int bucketSeconds = 10;
+
+    /**
+     * Longest window kept in memory; rules with longer windows still query the database
+     */
+    private int horizonMinutes = 60;
+
+    /**
+     * Lock stripes (rounded up to a power of two)
+     */
+    private int shards = 64;
+
+    /**
+     * Also count in Redis so instances see each other's checks
+     */
+    private boolean redisEnabled = false;
+
+    /**
+     * How often windows of idle accounts are dropped
+     */
+    private long evictionIntervalMs = 60000;
+}
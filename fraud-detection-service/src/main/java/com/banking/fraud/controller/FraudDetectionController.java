@@ -28,6 +28,14 @@ public class FraudDetectionController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchFraudCheckResponse> performBatchFraudCheck(
+            @Valid @RequestBody BatchFraudCheckRequest request) {
+        log.info("POST /fraud-checks/batch - Performing fraud checks for {} items", request.getItems().size());
+        BatchFraudCheckResponse response = fraudDetectionService.performBatchFraudCheck(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
     @GetMapping("/{checkId}")
     public ResponseEntity<FraudCheckResponse> getFraudCheck(
             @PathVariable("checkId") String checkId) {
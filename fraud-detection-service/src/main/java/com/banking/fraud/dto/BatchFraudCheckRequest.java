@@ -0,0 +1,22 @@
+package com.banking.fraud.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchFraudCheckRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 10000, message = "A batch cannot exceed 10000 items")
+    private List<@Valid FraudCheckRequest> items;
+}
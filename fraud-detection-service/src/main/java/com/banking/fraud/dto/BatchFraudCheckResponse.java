@@ -0,0 +1,34 @@
+package com.banking.fraud.dto;
+
+import com.banking.fraud.model.FraudCheckStatus;
+import com.banking.fraud.model.RiskLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Results of a batch in columns: element i of every list belongs to item i of the request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchFraudCheckResponse {
+
+    private int totalItems;
+    private int passedItems;
+    private int flaggedItems;
+    private int blockedItems;
+    private LocalDateTime checkedAt;
+
+    private List<String> checkIds;
+    private List<String> transferReferences;
+    private int[] riskScores;
+    private List<RiskLevel> riskLevels;
+    private List<FraudCheckStatus> statuses;
+    private List<List<String>> reasons;
+}
@@ -0,0 +1,22 @@
+package com.banking.fraud.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Per-account totals of earlier fraud checks: today's running sum and a rolling window
+ */
+public record AccountAggregates(BigDecimal dailyTotal, long rollingCount, BigDecimal rollingSum) {
+
+    public static final AccountAggregates EMPTY = new AccountAggregates(BigDecimal.ZERO, 0L, BigDecimal.ZERO);
+
+    /**
+     * Mean amount over the rolling window, or null when the account has no checks in it
+     */
+    public BigDecimal rollingMean() {
+        if (rollingCount == 0) {
+            return null;
+        }
+        return rollingSum.divide(BigDecimal.valueOf(rollingCount), 2, RoundingMode.HALF_UP);
+    }
+}
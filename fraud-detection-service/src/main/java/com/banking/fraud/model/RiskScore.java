@@ -64,14 +64,17 @@ public class RiskScore implements Serializable {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
         // Update risk level based on current score
-        if (currentScore >= 76) {
-            riskLevel = RiskLevel.CRITICAL;
-        } else if (currentScore >= 51) {
-            riskLevel = RiskLevel.HIGH;
-        } else if (currentScore >= 26) {
-            riskLevel = RiskLevel.MEDIUM;
-        } else {
-            riskLevel = RiskLevel.LOW;
+        riskLevel = levelFor(currentScore);
+    }
+
+    public static RiskLevel levelFor(int score) {
+        if (score >= 76) {
+            return RiskLevel.CRITICAL;
+        } else if (score >= 51) {
+            return RiskLevel.HIGH;
+        } else if (score >= 26) {
+            return RiskLevel.MEDIUM;
         }
+        return RiskLevel.LOW;
     }
 }
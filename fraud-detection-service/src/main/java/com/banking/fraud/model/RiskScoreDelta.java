@@ -0,0 +1,70 @@
+package com.banking.fraud.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Changes to one account's risk score from checks not yet written to risk_scores.
+ * scoreIncrease is the plain sum of the checks' increases; runningScore is the score those
+ * checks alone reach by lastCheckAt, decaying between them. Applied to a stored score s
+ * from time t, the result is max(runningScore, s + scoreIncrease - decay from t to
+ * lastCheckAt), which is what checking one after the other would give (up to the cap).
+ */
+public record RiskScoreDelta(String accountNumber, long checks, long flagged, long blocked, int scoreIncrease,
+                             int runningScore, LocalDateTime lastCheckAt, LocalDateTime lastIncidentAt) {
+
+    /**
+     * The change made by one check: blocked checks add their score, flagged checks half of it
+     */
+    public static RiskScoreDelta of(FraudCheck check) {
+        LocalDateTime checkedAt = check.getCheckedAt() != null ? check.getCheckedAt() : LocalDateTime.now();
+        switch (check.getStatus()) {
+            case BLOCKED:
+                return new RiskScoreDelta(check.getAccountNumber(), 1, 0, 1, check.getRiskScore(),
+                        Math.min(100, check.getRiskScore()), checkedAt, checkedAt);
+            case FLAGGED:
+                return new RiskScoreDelta(check.getAccountNumber(), 1, 1, 0, check.getRiskScore() / 2,
+                        Math.min(100, check.getRiskScore() / 2), checkedAt, checkedAt);
+            default:
+                return new RiskScoreDelta(check.getAccountNumber(), 1, 0, 0, 0, 0, checkedAt, null);
+        }
+    }
+
+    /**
+     * Both deltas' changes, the one ending earlier applied first
+     */
+    public RiskScoreDelta merge(RiskScoreDelta other, double decayPointsPerHour) {
+        RiskScoreDelta earlier = other.lastCheckAt.isBefore(lastCheckAt) ? other : this;
+        RiskScoreDelta later = earlier == this ? other : this;
+        return new RiskScoreDelta(accountNumber, checks + other.checks, flagged + other.flagged,
+                blocked + other.blocked, scoreIncrease + other.scoreIncrease,
+                later.applyTo(earlier.runningScore, earlier.lastCheckAt, decayPointsPerHour),
+                later.lastCheckAt, latest(lastIncidentAt, other.lastIncidentAt));
+    }
+
+    /**
+     * A score stored as of storedAt (null for none) with these changes applied, as of lastCheckAt
+     */
+    public int applyTo(int storedScore, LocalDateTime storedAt, double decayPointsPerHour) {
+        long sequential = storedScore + (long) scoreIncrease
+                - decayPoints(storedAt, lastCheckAt, decayPointsPerHour);
+        return (int) Math.min(100, Math.max(runningScore, sequential));
+    }
+
+    /**
+     * Whole points lost at decayPointsPerHour between two instants
+     */
+    public static long decayPoints(LocalDateTime from, LocalDateTime to, double decayPointsPerHour) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            return 0;
+        }
+        double hours = Duration.between(from, to).toMillis() / 3_600_000.0;
+        return (long) Math.floor(hours * decayPointsPerHour);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,79 @@
+package com.banking.fraud.repository;
+
+import com.banking.fraud.model.AccountAggregates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JDBC access to account_daily_aggregates
+ * One row per account and day, incremented by AccountAggregateService's periodic flush, so
+ * rules read at most one window of small rows instead of loading FraudCheck entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountAggregateRepository {
+
+    private static final String INCREMENT_SQL =
+            "INSERT INTO account_daily_aggregates (account_number, day, check_count, amount_sum) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (account_number, day) DO UPDATE SET " +
+            "check_count = account_daily_aggregates.check_count + EXCLUDED.check_count, " +
+            "amount_sum = account_daily_aggregates.amount_sum + EXCLUDED.amount_sum";
+
+    private static final String TOTALS_SQL =
+            "SELECT COALESCE(SUM(CASE WHEN day = ? THEN amount_sum END), 0) AS daily_total, " +
+            "COALESCE(SUM(check_count), 0) AS rolling_count, " +
+            "COALESCE(SUM(amount_sum), 0) AS rolling_sum " +
+            "FROM account_daily_aggregates WHERE account_number = ? AND day >= ?";
+
+    private static final String DELETE_BEFORE_SQL =
+            "DELETE FROM account_daily_aggregates WHERE day < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Apply the increments of many checks, one row per account and day, in one JDBC batch and
+     * one transaction
+     */
+    @Transactional
+    public void incrementAll(List<DailyIncrement> increments) {
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, increments, increments.size(), (ps, increment) -> {
+            ps.setString(1, increment.accountNumber());
+            ps.setDate(2, Date.valueOf(increment.day()));
+            ps.setLong(3, increment.count());
+            ps.setBigDecimal(4, increment.amount());
+        });
+    }
+
+    /**
+     * Today's total and the totals of the days from rollingFrom (inclusive), in one query
+     */
+    public AccountAggregates findTotals(String accountNumber, LocalDate today, LocalDate rollingFrom) {
+        return jdbcTemplate.queryForObject(TOTALS_SQL, (rs, rowNum) -> new AccountAggregates(
+                        rs.getBigDecimal("daily_total"),
+                        rs.getLong("rolling_count"),
+                        rs.getBigDecimal("rolling_sum")),
+                Date.valueOf(today), accountNumber, Date.valueOf(rollingFrom));
+    }
+
+    public int deleteBefore(LocalDate day) {
+        return jdbcTemplate.update(DELETE_BEFORE_SQL, Date.valueOf(day));
+    }
+
+    public record DailyIncrement(String accountNumber, LocalDate day, long count, BigDecimal amount) {
+
+        /**
+         * This increment and another of the same account and day, as one
+         */
+        public DailyIncrement add(DailyIncrement other) {
+            return new DailyIncrement(accountNumber, day, count + other.count, amount.add(other.amount));
+        }
+    }
+}
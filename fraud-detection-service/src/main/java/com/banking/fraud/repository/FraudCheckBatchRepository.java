@@ -0,0 +1,70 @@
+package com.banking.fraud.repository;
+
+import com.banking.fraud.model.FraudCheck;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch inserts of fraud_checks and their reasons
+ * Ids are drawn from the fraud_checks sequence up front so reason rows can reference their
+ * checks without a round trip per insert.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FraudCheckBatchRepository {
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('fraud_checks', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_CHECK_SQL =
+            "INSERT INTO fraud_checks (id, check_id, transfer_reference, account_number, amount, " +
+            "risk_score, risk_level, status, checked_at, metadata) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_REASON_SQL =
+            "INSERT INTO fraud_check_reasons (fraud_check_id, reason) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the checks and their reasons, assigning the generated ids to the entities
+     */
+    public void insertAll(List<FraudCheck> checks, int batchSize) {
+        if (checks.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, checks.size());
+        List<Object[]> reasons = new ArrayList<>();
+        for (int i = 0; i < checks.size(); i++) {
+            FraudCheck check = checks.get(i);
+            check.setId(ids.get(i));
+            for (String reason : check.getReasons()) {
+                reasons.add(new Object[]{check.getId(), reason});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_CHECK_SQL, checks, batchSize, (ps, check) -> {
+            ps.setLong(1, check.getId());
+            ps.setString(2, check.getCheckId());
+            ps.setString(3, check.getTransferReference());
+            ps.setString(4, check.getAccountNumber());
+            ps.setBigDecimal(5, check.getAmount());
+            ps.setInt(6, check.getRiskScore());
+            ps.setString(7, check.getRiskLevel().name());
+            ps.setString(8, check.getStatus().name());
+            ps.setTimestamp(9, Timestamp.valueOf(check.getCheckedAt()));
+            ps.setString(10, check.getMetadata());
+        });
+        if (!reasons.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_REASON_SQL, reasons, batchSize, (ps, row) -> {
+                ps.setLong(1, (Long) row[0]);
+                ps.setString(2, (String) row[1]);
+            });
+        }
+    }
+}
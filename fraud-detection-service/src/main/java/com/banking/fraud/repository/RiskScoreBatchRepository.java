@@ -0,0 +1,72 @@
+package com.banking.fraud.repository;
+
+import com.banking.fraud.model.RiskScoreDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC batch upserts of buffered risk score changes
+ * The stored score is the score as of last_check_at. It is carried to the newest buffered
+ * check as RiskScoreDelta.applyTo does: the larger of the delta's running score and the stored
+ * score plus the increase less the decay in between. Reads decay it to the present.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RiskScoreBatchRepository {
+
+    private static final String APPLY_SQL =
+            "INSERT INTO risk_scores (account_number, current_score, risk_level, total_checks, " +
+            "flagged_count, blocked_count, last_check_at, last_incident_at, updated_at) " +
+            "VALUES (?, LEAST(100, ?), 'LOW', ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (account_number) DO UPDATE SET " +
+            "current_score = LEAST(100, GREATEST(EXCLUDED.current_score, risk_scores.current_score + ? " +
+            "- FLOOR(GREATEST(0, EXTRACT(EPOCH FROM (EXCLUDED.last_check_at - " +
+            "COALESCE(risk_scores.last_check_at, EXCLUDED.last_check_at)))) * ? / 3600)::INTEGER)), " +
+            "total_checks = risk_scores.total_checks + EXCLUDED.total_checks, " +
+            "flagged_count = risk_scores.flagged_count + EXCLUDED.flagged_count, " +
+            "blocked_count = risk_scores.blocked_count + EXCLUDED.blocked_count, " +
+            "last_check_at = GREATEST(risk_scores.last_check_at, EXCLUDED.last_check_at), " +
+            "last_incident_at = GREATEST(risk_scores.last_incident_at, EXCLUDED.last_incident_at), " +
+            "updated_at = CURRENT_TIMESTAMP";
+
+    private static final String UPDATE_LEVELS_SQL =
+            "UPDATE risk_scores SET risk_level = CASE " +
+            "WHEN current_score >= 76 THEN 'CRITICAL' " +
+            "WHEN current_score >= 51 THEN 'HIGH' " +
+            "WHEN current_score >= 26 THEN 'MEDIUM' " +
+            "ELSE 'LOW' END " +
+            "WHERE account_number = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Apply the deltas and refresh the risk level of the touched rows, in one transaction
+     */
+    @Transactional
+    public void applyAll(List<RiskScoreDelta> deltas, double decayPointsPerHour) {
+        jdbcTemplate.batchUpdate(APPLY_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setString(1, delta.accountNumber());
+            ps.setInt(2, delta.runningScore());
+            ps.setLong(3, delta.checks());
+            ps.setLong(4, delta.flagged());
+            ps.setLong(5, delta.blocked());
+            ps.setTimestamp(6, Timestamp.valueOf(delta.lastCheckAt()));
+            ps.setTimestamp(7, delta.lastIncidentAt() != null ? Timestamp.valueOf(delta.lastIncidentAt()) : null);
+            ps.setInt(8, delta.scoreIncrease());
+            ps.setDouble(9, decayPointsPerHour);
+        });
+
+        String[] accountNumbers = deltas.stream().map(RiskScoreDelta::accountNumber).toArray(String[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPDATE_LEVELS_SQL);
+            statement.setArray(1, connection.createArrayOf("varchar", accountNumbers));
+            return statement;
+        });
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,8 @@ public interface RiskScoreRepository extends JpaRepository<RiskScore, Long> {
 
     Optional<RiskScore> findByAccountNumber(String accountNumber);
 
+    List<RiskScore> findByAccountNumberIn(Collection<String> accountNumbers);
+
     List<RiskScore> findByRiskLevel(RiskLevel riskLevel);
 
     @Query("SELECT rs FROM RiskScore rs WHERE rs.currentScore >= :minScore ORDER BY rs.currentScore DESC")
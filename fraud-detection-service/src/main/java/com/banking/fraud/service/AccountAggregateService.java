@@ -0,0 +1,160 @@
+package com.banking.fraud.service;
+
+import com.banking.fraud.config.AccountAggregateConfig;
+import com.banking.fraud.model.AccountAggregates;
+import com.banking.fraud.model.FraudCheck;
+import com.banking.fraud.repository.AccountAggregateRepository;
+import com.banking.fraud.repository.AccountAggregateRepository.DailyIncrement;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Account Aggregate Service
+ * Maintains per-account daily totals of fraud checks incrementally, so DAILY_LIMIT and PATTERN
+ * rules get today's sum and the rolling count/sum/mean from one small query.
+ * Checks are not written to their day's row in the check transaction: once the check commits
+ * they are folded into one pending increment per account and day, and the increments are
+ * flushed as one batch of upserts at a fixed interval, so busy accounts do not contend on the
+ * row. Totals merge this instance's pending increments. Pending increments are lost if the
+ * instance dies before a flush.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountAggregateService {
+
+    private final AccountAggregateRepository aggregateRepository;
+    private final AccountAggregateConfig config;
+
+    // Account -> day -> increment; a day map is only changed inside compute on its account
+    private final Map<String, Map<LocalDate, DailyIncrement>> pending = new ConcurrentHashMap<>();
+
+    // Held exclusively while a flush moves increments from memory to the table, so totals never
+    // count an increment in both places or in neither
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    /**
+     * Buffer the checks' increments once the surrounding transaction commits
+     */
+    public void recordAfterCommit(List<FraudCheck> checks) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(checks);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(checks);
+            }
+        });
+    }
+
+    private void record(List<FraudCheck> checks) {
+        for (FraudCheck check : checks) {
+            LocalDate day = check.getCheckedAt() != null ? check.getCheckedAt().toLocalDate() : LocalDate.now();
+            buffer(new DailyIncrement(check.getAccountNumber(), day, 1L, check.getAmount()));
+        }
+    }
+
+    private void buffer(DailyIncrement increment) {
+        pending.compute(increment.accountNumber(), (account, days) -> {
+            Map<LocalDate, DailyIncrement> merged = days != null ? days : new ConcurrentSkipListMap<>();
+            merged.merge(increment.day(), increment, DailyIncrement::add);
+            return merged;
+        });
+    }
+
+    /**
+     * Totals of the account's earlier checks: today, and today with the rollingDays days before
+     * it. The rolling window has day resolution, so it spans rollingDays + 1 calendar days and
+     * covers at least the last rollingDays × 24 hours.
+     */
+    public AccountAggregates totals(String accountNumber) {
+        LocalDate today = LocalDate.now();
+        LocalDate rollingFrom = today.minusDays(config.getRollingDays());
+
+        flushLock.readLock().lock();
+        try {
+            AccountAggregates stored = aggregateRepository.findTotals(accountNumber, today, rollingFrom);
+            Map<LocalDate, DailyIncrement> days = pending.get(accountNumber);
+            if (days == null) {
+                return stored;
+            }
+
+            BigDecimal dailyTotal = stored.dailyTotal();
+            long rollingCount = stored.rollingCount();
+            BigDecimal rollingSum = stored.rollingSum();
+            for (DailyIncrement increment : days.values()) {
+                if (increment.day().isBefore(rollingFrom)) {
+                    continue;
+                }
+                rollingCount += increment.count();
+                rollingSum = rollingSum.add(increment.amount());
+                if (increment.day().equals(today)) {
+                    dailyTotal = dailyTotal.add(increment.amount());
+                }
+            }
+            return new AccountAggregates(dailyTotal, rollingCount, rollingSum);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.aggregates.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        flushLock.writeLock().lock();
+        try {
+            List<DailyIncrement> increments = new ArrayList<>();
+            for (String accountNumber : pending.keySet()) {
+                Map<LocalDate, DailyIncrement> days = pending.remove(accountNumber);
+                if (days != null) {
+                    increments.addAll(days.values());
+                }
+            }
+            // Same row order in every instance, so concurrent flushes cannot deadlock
+            increments.sort(Comparator.comparing(DailyIncrement::accountNumber)
+                    .thenComparing(DailyIncrement::day));
+
+            try {
+                aggregateRepository.incrementAll(increments);
+                log.debug("Flushed {} daily aggregate increments", increments.size());
+            } catch (Exception e) {
+                // Nothing was written; keep the increments for the next flush
+                log.error("Daily aggregate flush failed for {} increments: {}", increments.size(), e.getMessage(), e);
+                increments.forEach(this::buffer);
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(cron = "${fraud.aggregates.purge-cron:0 20 2 * * *}")
+    public void purgeExpired() {
+        int deleted = aggregateRepository.deleteBefore(LocalDate.now().minusDays(config.getRollingDays() + 1L));
+        log.info("Purged {} expired daily aggregates", deleted);
+    }
+}
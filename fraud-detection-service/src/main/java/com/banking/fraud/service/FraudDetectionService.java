@@ -9,6 +9,8 @@ public interface FraudDetectionService {
 
     FraudCheckResponse performFraudCheck(FraudCheckRequest request);
 
+    BatchFraudCheckResponse performBatchFraudCheck(BatchFraudCheckRequest request);
+
     FraudCheckResponse getFraudCheckById(String checkId);
 
     List<FraudCheckResponse> getFraudChecksByTransfer(String transferReference);
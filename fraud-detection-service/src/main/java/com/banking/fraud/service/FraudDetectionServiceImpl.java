@@ -1,23 +1,25 @@
 package com.banking.fraud.service;
 
+import com.banking.fraud.config.FraudBatchConfig;
 import com.banking.fraud.dto.*;
 import com.banking.fraud.exception.FraudCheckNotFoundException;
 import com.banking.fraud.exception.FraudRuleNotFoundException;
 import com.banking.fraud.model.*;
+import com.banking.fraud.repository.FraudCheckBatchRepository;
 import com.banking.fraud.repository.FraudCheckRepository;
 import com.banking.fraud.repository.FraudRuleRepository;
 import com.banking.fraud.repository.RiskScoreRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -30,6 +32,12 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
     private final FraudCheckRepository fraudCheckRepository;
     private final FraudRuleRepository fraudRuleRepository;
     private final RiskScoreRepository riskScoreRepository;
+    private final VelocityCounterStore velocityCounters;
+    private final AccountAggregateService aggregateService;
+    private final FraudRuleEngine ruleEngine;
+    private final FraudCheckBatchRepository fraudCheckBatchRepository;
+    private final FraudBatchConfig batchConfig;
+    private final RiskScoreWriteBehind riskScores;
 
     @Override
     @Transactional
@@ -37,23 +45,8 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
         log.info("Performing fraud check for transfer: {}, account: {}",
                 request.getTransferReference(), request.getAccountNumber());
 
-        // Initialize fraud check result
-        int totalRiskScore = 0;
-        List<String> triggeredReasons = new ArrayList<>();
-
-        // Get all enabled fraud rules
-        List<FraudRule> enabledRules = fraudRuleRepository.findByEnabled(true);
-
-        // Execute each rule
-        for (FraudRule rule : enabledRules) {
-            RuleResult result = executeRule(rule, request);
-            if (result.isTriggered()) {
-                totalRiskScore += rule.getRiskPoints();
-                triggeredReasons.add(result.getReason());
-                log.warn("Rule triggered: {} for account: {}",
-                        rule.getRuleName(), request.getAccountNumber());
-            }
-        }
+        FraudRuleEngine.Evaluation evaluation = ruleEngine.evaluate(request);
+        int totalRiskScore = evaluation.riskScore();
 
         // Determine risk level and status
         RiskLevel riskLevel = determineRiskLevel(totalRiskScore);
@@ -68,15 +61,17 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
                 .riskScore(totalRiskScore)
                 .riskLevel(riskLevel)
                 .status(status)
-                .reasons(triggeredReasons)
+                .reasons(evaluation.reasons())
                 .metadata(request.getMetadata())
                 .checkedAt(LocalDateTime.now())
                 .build();
 
         fraudCheck = fraudCheckRepository.save(fraudCheck);
+        velocityCounters.recordAfterCommit(fraudCheck.getAccountNumber(), fraudCheck.getCheckedAt());
+        aggregateService.recordAfterCommit(List.of(fraudCheck));
 
-        // Update risk score for account
-        updateRiskScore(request.getAccountNumber(), status, totalRiskScore);
+        // Update risk score for account once the check commits
+        riskScores.recordAfterCommit(List.of(fraudCheck));
 
         log.info("Fraud check completed: checkId={}, riskScore={}, status={}",
                 fraudCheck.getCheckId(), totalRiskScore, status);
@@ -84,118 +79,48 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
         return mapToResponse(fraudCheck);
     }
 
-    private RuleResult executeRule(FraudRule rule, FraudCheckRequest request) {
-        switch (rule.getRuleType()) {
-            case VELOCITY:
-                return checkVelocityRule(rule, request);
-            case AMOUNT:
-                return checkAmountRule(rule, request);
-            case DAILY_LIMIT:
-                return checkDailyLimitRule(rule, request);
-            case TIME:
-                return checkTimeBasedRule(rule, request);
-            case PATTERN:
-                return checkPatternRule(rule, request);
-            default:
-                return RuleResult.notTriggered();
-        }
-    }
-
-    private RuleResult checkVelocityRule(FraudRule rule, FraudCheckRequest request) {
-        LocalDateTime since = LocalDateTime.now().minusMinutes(rule.getTimeWindowMinutes());
-        Long recentChecks = fraudCheckRepository.countRecentChecksByAccount(
-                request.getAccountNumber(), since);
-
-        if (recentChecks >= rule.getMaxCount()) {
-            return RuleResult.triggered(String.format(
-                    "Velocity check: %d transfers in %d minutes (max: %d)",
-                    recentChecks, rule.getTimeWindowMinutes(), rule.getMaxCount()));
-        }
-        return RuleResult.notTriggered();
-    }
-
-    private RuleResult checkAmountRule(FraudRule rule, FraudCheckRequest request) {
-        if (request.getAmount().compareTo(rule.getThreshold()) > 0) {
-            return RuleResult.triggered(String.format(
-                    "High amount: %s exceeds threshold %s",
-                    request.getAmount(), rule.getThreshold()));
-        }
-        return RuleResult.notTriggered();
-    }
-
-    private RuleResult checkDailyLimitRule(FraudRule rule, FraudCheckRequest request) {
-        LocalDateTime startOfDay = LocalDateTime.now().with(LocalTime.MIN);
-        List<FraudCheck> todayChecks = fraudCheckRepository
-                .findRecentChecksByAccount(request.getAccountNumber(), startOfDay);
-
-        BigDecimal totalToday = todayChecks.stream()
-                .map(FraudCheck::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalWithCurrent = totalToday.add(request.getAmount());
-
-        if (totalWithCurrent.compareTo(rule.getThreshold()) > 0) {
-            return RuleResult.triggered(String.format(
-                    "Daily limit exceeded: %s (limit: %s)",
-                    totalWithCurrent, rule.getThreshold()));
-        }
-        return RuleResult.notTriggered();
-    }
-
-    private RuleResult checkTimeBasedRule(FraudRule rule, FraudCheckRequest request) {
-        int currentHour = LocalDateTime.now().getHour();
-
-        if (currentHour >= rule.getStartHour() && currentHour < rule.getEndHour()) {
-            // Check if amount is significant during restricted hours
-            BigDecimal threshold = rule.getThreshold() != null ?
-                    rule.getThreshold() : new BigDecimal("10000");
-
-            if (request.getAmount().compareTo(threshold) > 0) {
-                return RuleResult.triggered(String.format(
-                        "High amount transfer during restricted hours (%02d:00-%02d:00): %s",
-                        rule.getStartHour(), rule.getEndHour(), request.getAmount()));
-            }
-        }
-        return RuleResult.notTriggered();
-    }
-
-    private RuleResult checkPatternRule(FraudRule rule, FraudCheckRequest request) {
-        // Check for rapid succession transfers
-        LocalDateTime twoMinutesAgo = LocalDateTime.now().minusMinutes(2);
-        Long veryRecentChecks = fraudCheckRepository.countRecentChecksByAccount(
-                request.getAccountNumber(), twoMinutesAgo);
-
-        if (veryRecentChecks > 0) {
-            return RuleResult.triggered(String.format(
-                    "Rapid succession: %d transfers within 2 minutes",
-                    veryRecentChecks));
+    @Override
+    @Transactional
+    public BatchFraudCheckResponse performBatchFraudCheck(BatchFraudCheckRequest request) {
+        List<FraudCheckRequest> items = request.getItems();
+        log.info("Performing batch fraud check for {} items", items.size());
+
+        FraudRuleEngine.Evaluation[] evaluations = ruleEngine.evaluateAll(items);
+        LocalDateTime checkedAt = LocalDateTime.now();
+
+        List<FraudCheck> fraudChecks = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            FraudCheckRequest item = items.get(i);
+            int riskScore = evaluations[i].riskScore();
+            RiskLevel riskLevel = determineRiskLevel(riskScore);
+            fraudChecks.add(FraudCheck.builder()
+                    .checkId(generateCheckId())
+                    .transferReference(item.getTransferReference())
+                    .accountNumber(item.getAccountNumber())
+                    .amount(item.getAmount())
+                    .riskScore(riskScore)
+                    .riskLevel(riskLevel)
+                    .status(determineStatus(riskLevel))
+                    .reasons(evaluations[i].reasons())
+                    .metadata(item.getMetadata())
+                    .checkedAt(checkedAt)
+                    .build());
         }
 
-        // Check for unusual amount (3x average)
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        List<FraudCheck> recentHistory = fraudCheckRepository
-                .findRecentChecksByAccount(request.getAccountNumber(), thirtyDaysAgo);
-
-        if (!recentHistory.isEmpty()) {
-            BigDecimal averageAmount = recentHistory.stream()
-                    .map(FraudCheck::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(recentHistory.size()), BigDecimal.ROUND_HALF_UP);
+        fraudCheckBatchRepository.insertAll(fraudChecks, batchConfig.getWriteBatchSize());
+        aggregateService.recordAfterCommit(fraudChecks);
 
-            BigDecimal threshold = averageAmount.multiply(BigDecimal.valueOf(3));
-
-            if (request.getAmount().compareTo(threshold) > 0) {
-                return RuleResult.triggered(String.format(
-                        "Unusual pattern: Amount %s is 3x average %s",
-                        request.getAmount(), averageAmount));
-            }
-        }
+        fraudChecks.forEach(check -> velocityCounters.recordAfterCommit(check.getAccountNumber(), checkedAt));
+        riskScores.recordAfterCommit(fraudChecks);
 
-        return RuleResult.notTriggered();
+        BatchFraudCheckResponse response = mapToBatchResponse(fraudChecks, checkedAt);
+        log.info("Batch fraud check completed: {} items, {} flagged, {} blocked",
+                response.getTotalItems(), response.getFlaggedItems(), response.getBlockedItems());
+        return response;
     }
 
     private RiskLevel determineRiskLevel(int score) {
-        if (score >= 76) return RiskLevel.CRITICAL;
+        if (score >= FraudRuleEngine.BLOCKED_SCORE) return RiskLevel.CRITICAL;
         if (score >= 51) return RiskLevel.HIGH;
         if (score >= 26) return RiskLevel.MEDIUM;
         return RiskLevel.LOW;
@@ -213,37 +138,6 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
         }
     }
 
-    private void updateRiskScore(String accountNumber, FraudCheckStatus status, int riskScore) {
-        RiskScore score = riskScoreRepository.findByAccountNumber(accountNumber)
-                .orElseGet(() -> RiskScore.builder()
-                        .accountNumber(accountNumber)
-                        .currentScore(0)
-                        .riskLevel(RiskLevel.LOW)
-                        .totalChecks(0L)
-                        .flaggedCount(0L)
-                        .blockedCount(0L)
-                        .build());
-
-        score.setTotalChecks(score.getTotalChecks() + 1);
-        score.setLastCheckAt(LocalDateTime.now());
-
-        // Update current score (decay over time, increase on incidents)
-        if (status == FraudCheckStatus.BLOCKED) {
-            score.setCurrentScore(Math.min(100, score.getCurrentScore() + riskScore));
-            score.setBlockedCount(score.getBlockedCount() + 1);
-            score.setLastIncidentAt(LocalDateTime.now());
-        } else if (status == FraudCheckStatus.FLAGGED) {
-            score.setCurrentScore(Math.min(100, score.getCurrentScore() + (riskScore / 2)));
-            score.setFlaggedCount(score.getFlaggedCount() + 1);
-            score.setLastIncidentAt(LocalDateTime.now());
-        } else {
-            // Decay score for passed checks (reduce by 5, minimum 0)
-            score.setCurrentScore(Math.max(0, score.getCurrentScore() - 5));
-        }
-
-        riskScoreRepository.save(score);
-    }
-
     @Override
     @Cacheable(value = "fraudChecks", key = "#checkId")
     public FraudCheckResponse getFraudCheckById(String checkId) {
@@ -295,23 +189,21 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
     }
 
     @Override
-    @Cacheable(value = "riskScores", key = "#accountNumber")
     public RiskScoreResponse getRiskScore(String accountNumber) {
-        RiskScore score = riskScoreRepository.findByAccountNumber(accountNumber)
-                .orElseGet(() -> RiskScore.builder()
-                        .accountNumber(accountNumber)
-                        .currentScore(0)
-                        .riskLevel(RiskLevel.LOW)
-                        .totalChecks(0L)
-                        .flaggedCount(0L)
-                        .blockedCount(0L)
-                        .build());
+        // Not cached: pending changes and decay make any cached copy stale
+        RiskScore score = riskScores.read(accountNumber,
+                account -> riskScoreRepository.findByAccountNumber(account).orElse(null));
         return mapToRiskScoreResponse(score);
     }
 
     @Override
     public List<RiskScoreResponse> getHighRiskAccounts() {
-        return riskScoreRepository.findHighRiskAccounts().stream()
+        List<RiskScore> scores = riskScores.readAll(riskScoreRepository::findHighRiskAccounts,
+                riskScoreRepository::findByAccountNumberIn);
+        return scores.stream()
+                .filter(score -> score.getRiskLevel() == RiskLevel.HIGH
+                        || score.getRiskLevel() == RiskLevel.CRITICAL)
+                .sorted(Comparator.comparing(RiskScore::getCurrentScore).reversed())
                 .map(this::mapToRiskScoreResponse)
                 .collect(Collectors.toList());
     }
@@ -333,6 +225,7 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "fraudRules", allEntries = true)
     public FraudRuleResponse updateRule(String ruleId, UpdateRuleRequest request) {
         FraudRule rule = fraudRuleRepository.findByRuleId(ruleId)
                 .orElseThrow(() -> new FraudRuleNotFoundException("Fraud rule not found: " + ruleId));
@@ -346,6 +239,7 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
         if (request.getEndHour() != null) rule.setEndHour(request.getEndHour());
 
         rule = fraudRuleRepository.save(rule);
+        ruleEngine.reloadAfterCommit();
 
         log.info("Fraud rule updated: ruleId={}", ruleId);
 
@@ -354,12 +248,14 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
 
     @Override
     @Transactional
+    @CacheEvict(value = "fraudRules", allEntries = true)
     public FraudRuleResponse toggleRule(String ruleId) {
         FraudRule rule = fraudRuleRepository.findByRuleId(ruleId)
                 .orElseThrow(() -> new FraudRuleNotFoundException("Fraud rule not found: " + ruleId));
 
         rule.setEnabled(!rule.getEnabled());
         rule = fraudRuleRepository.save(rule);
+        ruleEngine.reloadAfterCommit();
 
         log.info("Fraud rule toggled: ruleId={}, enabled={}", ruleId, rule.getEnabled());
 
@@ -387,6 +283,44 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
                 .build();
     }
 
+    private BatchFraudCheckResponse mapToBatchResponse(List<FraudCheck> fraudChecks, LocalDateTime checkedAt) {
+        int size = fraudChecks.size();
+        List<String> checkIds = new ArrayList<>(size);
+        List<String> transferReferences = new ArrayList<>(size);
+        int[] riskScores = new int[size];
+        List<RiskLevel> riskLevels = new ArrayList<>(size);
+        List<FraudCheckStatus> statuses = new ArrayList<>(size);
+        List<List<String>> reasons = new ArrayList<>(size);
+        int flagged = 0;
+        int blocked = 0;
+
+        for (int i = 0; i < size; i++) {
+            FraudCheck check = fraudChecks.get(i);
+            checkIds.add(check.getCheckId());
+            transferReferences.add(check.getTransferReference());
+            riskScores[i] = check.getRiskScore();
+            riskLevels.add(check.getRiskLevel());
+            statuses.add(check.getStatus());
+            reasons.add(check.getReasons());
+            if (check.getStatus() == FraudCheckStatus.FLAGGED) flagged++;
+            if (check.getStatus() == FraudCheckStatus.BLOCKED) blocked++;
+        }
+
+        return BatchFraudCheckResponse.builder()
+                .totalItems(size)
+                .passedItems(size - flagged - blocked)
+                .flaggedItems(flagged)
+                .blockedItems(blocked)
+                .checkedAt(checkedAt)
+                .checkIds(checkIds)
+                .transferReferences(transferReferences)
+                .riskScores(riskScores)
+                .riskLevels(riskLevels)
+                .statuses(statuses)
+                .reasons(reasons)
+                .build();
+    }
+
     private RiskScoreResponse mapToRiskScoreResponse(RiskScore score) {
         return RiskScoreResponse.builder()
                 .accountNumber(score.getAccountNumber())
@@ -415,31 +349,4 @@ public class FraudDetectionServiceImpl implements FraudDetectionService {
                 .endHour(rule.getEndHour())
                 .build();
     }
-
-    // Helper class for rule execution results
-    private static class RuleResult {
-        private final boolean triggered;
-        private final String reason;
-
-        private RuleResult(boolean triggered, String reason) {
-            this.triggered = triggered;
-            this.reason = reason;
-        }
-
-        static RuleResult triggered(String reason) {
-            return new RuleResult(true, reason);
-        }
-
-        static RuleResult notTriggered() {
-            return new RuleResult(false, null);
-        }
-
-        boolean isTriggered() {
-            return triggered;
-        }
-
-        String getReason() {
-            return reason;
-        }
-    }
 }
@@ -0,0 +1,481 @@
+package com.banking.fraud.service;
+
+import com.banking.fraud.config.FraudBatchConfig;
+import com.banking.fraud.config.FraudRuleEngineConfig;
+import com.banking.fraud.dto.FraudCheckRequest;
+import com.banking.fraud.model.AccountAggregates;
+import com.banking.fraud.model.FraudRule;
+import com.banking.fraud.repository.FraudCheckRepository;
+import com.banking.fraud.repository.FraudRuleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fraud Rule Engine
+ * Compiles the enabled fraud rules into an immutable array of evaluators, so a check neither
+ * queries fraud_rules nor dispatches on the rule type. Rule parameters are captured at compile
+ * time and reasons are only formatted for rules that trigger.
+ * Rule changes recompile the array after commit and are announced on a Redis channel so every
+ * instance swaps in the new rules; a periodic recompile catches up on missed announcements.
+ */
+@Component
+@Slf4j
+public class FraudRuleEngine {
+
+    /**
+     * Score from which a check is CRITICAL and blocked; further rules cannot change the outcome
+     */
+    public static final int BLOCKED_SCORE = 76;
+
+    private static final BigDecimal DEFAULT_TIME_THRESHOLD = new BigDecimal("10000");
+    private static final BigDecimal UNUSUAL_AMOUNT_FACTOR = BigDecimal.valueOf(3);
+    private static final int RAPID_SUCCESSION_MINUTES = 2;
+
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private final FraudRuleRepository fraudRuleRepository;
+    private final FraudCheckRepository fraudCheckRepository;
+    private final VelocityCounterStore velocityCounters;
+    private final AccountAggregateService aggregateService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final FraudRuleEngineConfig config;
+    private final ThreadPoolExecutor batchExecutor;
+
+    private volatile CompiledRule[] rules = new CompiledRule[0];
+
+    public FraudRuleEngine(FraudRuleRepository fraudRuleRepository, FraudCheckRepository fraudCheckRepository,
+                           VelocityCounterStore velocityCounters, AccountAggregateService aggregateService,
+                           @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                           RedisMessageListenerContainer listenerContainer, FraudRuleEngineConfig config,
+                           FraudBatchConfig batchConfig) {
+        this.fraudRuleRepository = fraudRuleRepository;
+        this.fraudCheckRepository = fraudCheckRepository;
+        this.velocityCounters = velocityCounters;
+        this.aggregateService = aggregateService;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.config = config;
+
+        int threads = Math.max(1, batchConfig.getParallelism());
+        AtomicInteger threadCount = new AtomicInteger();
+        // Shared by all batches; when saturated, groups run on the calling thread
+        this.batchExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fraud-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.batchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PostConstruct
+    void init() {
+        reload();
+        listenerContainer.addMessageListener(this::onRulesChanged, new ChannelTopic(config.getReloadChannel()));
+    }
+
+    /**
+     * Run the compiled rules against a request, stopping once the score reaches BLOCKED_SCORE
+     */
+    public Evaluation evaluate(FraudCheckRequest request) {
+        return evaluate(rules, new RuleContext(request, new AccountLookups(request.getAccountNumber()), 0,
+                BigDecimal.ZERO));
+    }
+
+    /**
+     * Evaluate a batch against one snapshot of the rules. Items are grouped by account so each
+     * account's windows and aggregates are looked up once; within a group the earlier items count
+     * as prior checks, as they would have when scored one by one. Groups run in parallel.
+     * The result at index i belongs to request i.
+     */
+    public Evaluation[] evaluateAll(List<FraudCheckRequest> requests) {
+        CompiledRule[] compiled = rules;
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            groups.computeIfAbsent(requests.get(i).getAccountNumber(), account -> new ArrayList<>()).add(i);
+        }
+
+        Evaluation[] results = new Evaluation[requests.size()];
+        try {
+            CompletableFuture.allOf(groups.entrySet().stream()
+                    .map(group -> CompletableFuture.runAsync(
+                            () -> evaluateGroup(compiled, group.getKey(), group.getValue(), requests, results),
+                            batchExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private void evaluateGroup(CompiledRule[] compiled, String accountNumber, List<Integer> indexes,
+                               List<FraudCheckRequest> requests, Evaluation[] results) {
+        AccountLookups lookups = new AccountLookups(accountNumber);
+        int priorChecks = 0;
+        BigDecimal priorAmount = BigDecimal.ZERO;
+        for (int index : indexes) {
+            FraudCheckRequest request = requests.get(index);
+            results[index] = evaluate(compiled, new RuleContext(request, lookups, priorChecks, priorAmount));
+            priorChecks++;
+            priorAmount = priorAmount.add(request.getAmount());
+        }
+    }
+
+    private Evaluation evaluate(CompiledRule[] compiled, RuleContext context) {
+        int score = 0;
+        List<Supplier<String>> triggered = new ArrayList<>();
+        for (CompiledRule rule : compiled) {
+            Supplier<String> reason = rule.evaluator().evaluate(context);
+            if (reason == null) {
+                continue;
+            }
+            score += rule.riskPoints();
+            triggered.add(reason);
+            log.warn("Rule triggered: {} for account: {}", rule.ruleName(), context.request.getAccountNumber());
+
+            if (score >= BLOCKED_SCORE) {
+                log.debug("Score {} reached the blocking threshold - skipping remaining rules", score);
+                break;
+            }
+        }
+        return new Evaluation(score, triggered);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    /**
+     * Recompile once the rule change commits and announce it to the other instances
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reloadAndAnnounce();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadAndAnnounce();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.rules.reload-interval-ms:300000}",
+            initialDelayString = "${fraud.rules.reload-interval-ms:300000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Periodic fraud rule reload failed - keeping current rules: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compile the enabled rules and swap them in. Synchronized so an older snapshot can never
+     * replace a newer one.
+     */
+    synchronized void reload() {
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (FraudRule rule : fraudRuleRepository.findByEnabled(true)) {
+            CompiledRule compiledRule = compile(rule);
+            if (compiledRule != null) {
+                compiled.add(compiledRule);
+            }
+        }
+        // Rules without lookups first, then by weight, so the threshold is reached cheaply
+        compiled.sort(Comparator.comparingInt(CompiledRule::cost)
+                .thenComparing(Comparator.comparingInt(CompiledRule::riskPoints).reversed()));
+
+        rules = compiled.toArray(new CompiledRule[0]);
+        log.info("Compiled {} enabled fraud rules", rules.length);
+    }
+
+    private void reloadAndAnnounce() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Fraud rule reload failed - keeping current rules: {}", e.getMessage(), e);
+        }
+        try {
+            redisTemplate.convertAndSend(config.getReloadChannel(), INSTANCE_ID);
+        } catch (Exception e) {
+            log.warn("Redis unavailable - other instances pick up the rule change on their next reload: {}",
+                    e.getMessage());
+        }
+    }
+
+    private void onRulesChanged(Message message, byte[] pattern) {
+        if (INSTANCE_ID.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+            return;  // Already reloaded after commit
+        }
+        log.info("Fraud rules changed on another instance - recompiling");
+        refresh();
+    }
+
+    private CompiledRule compile(FraudRule rule) {
+        if (rule.getRuleType() == null || rule.getRiskPoints() == null) {
+            log.warn("Skipping fraud rule {} without type or risk points", rule.getRuleId());
+            return null;
+        }
+
+        RuleEvaluator evaluator;
+        int cost;
+        switch (rule.getRuleType()) {
+            case VELOCITY:
+                evaluator = rule.getTimeWindowMinutes() != null && rule.getMaxCount() != null
+                        ? velocityRule(rule.getTimeWindowMinutes(), rule.getMaxCount()) : null;
+                cost = 1;
+                break;
+            case AMOUNT:
+                evaluator = rule.getThreshold() != null ? amountRule(rule.getThreshold()) : null;
+                cost = 0;
+                break;
+            case DAILY_LIMIT:
+                evaluator = rule.getThreshold() != null ? dailyLimitRule(rule.getThreshold()) : null;
+                cost = 1;
+                break;
+            case TIME:
+                evaluator = rule.getStartHour() != null && rule.getEndHour() != null
+                        ? timeBasedRule(rule.getStartHour(), rule.getEndHour(),
+                                rule.getThreshold() != null ? rule.getThreshold() : DEFAULT_TIME_THRESHOLD)
+                        : null;
+                cost = 0;
+                break;
+            case PATTERN:
+                evaluator = patternRule();
+                cost = 1;
+                break;
+            default:
+                evaluator = null;
+                cost = 0;
+        }
+
+        if (evaluator == null) {
+            log.warn("Skipping fraud rule {}: incomplete {} parameters", rule.getRuleId(), rule.getRuleType());
+            return null;
+        }
+        return new CompiledRule(rule.getRuleName(), rule.getRiskPoints(), cost, evaluator);
+    }
+
+    private static RuleEvaluator velocityRule(int windowMinutes, int maxCount) {
+        return context -> {
+            long recentChecks = context.recentChecks(windowMinutes);
+            if (recentChecks < maxCount) {
+                return null;
+            }
+            return () -> "Velocity check: " + recentChecks + " transfers in " + windowMinutes +
+                    " minutes (max: " + maxCount + ")";
+        };
+    }
+
+    private static RuleEvaluator amountRule(BigDecimal threshold) {
+        return context -> {
+            BigDecimal amount = context.request.getAmount();
+            if (amount.compareTo(threshold) <= 0) {
+                return null;
+            }
+            return () -> "High amount: " + amount + " exceeds threshold " + threshold;
+        };
+    }
+
+    private static RuleEvaluator dailyLimitRule(BigDecimal limit) {
+        return context -> {
+            BigDecimal totalWithCurrent = context.aggregates().dailyTotal().add(context.request.getAmount());
+            if (totalWithCurrent.compareTo(limit) <= 0) {
+                return null;
+            }
+            return () -> "Daily limit exceeded: " + totalWithCurrent + " (limit: " + limit + ")";
+        };
+    }
+
+    private static RuleEvaluator timeBasedRule(int startHour, int endHour, BigDecimal threshold) {
+        return context -> {
+            int currentHour = context.hour();
+            BigDecimal amount = context.request.getAmount();
+            // Only significant amounts during restricted hours
+            if (currentHour < startHour || currentHour >= endHour || amount.compareTo(threshold) <= 0) {
+                return null;
+            }
+            return () -> String.format("High amount transfer during restricted hours (%02d:00-%02d:00): %s",
+                    startHour, endHour, amount);
+        };
+    }
+
+    private static RuleEvaluator patternRule() {
+        return context -> {
+            // Rapid succession transfers
+            long veryRecentChecks = context.recentChecks(RAPID_SUCCESSION_MINUTES);
+            if (veryRecentChecks > 0) {
+                return () -> "Rapid succession: " + veryRecentChecks + " transfers within " +
+                        RAPID_SUCCESSION_MINUTES + " minutes";
+            }
+
+            // Unusual amount (3x the 30-day average)
+            BigDecimal averageAmount = context.aggregates().rollingMean();
+            BigDecimal amount = context.request.getAmount();
+            if (averageAmount == null || amount.compareTo(averageAmount.multiply(UNUSUAL_AMOUNT_FACTOR)) <= 0) {
+                return null;
+            }
+            return () -> "Unusual pattern: Amount " + amount + " is 3x average " + averageAmount;
+        };
+    }
+
+    /**
+     * Checks of the account within the window, from the in-memory counters when they cover it
+     */
+    private long countRecentChecks(String accountNumber, int windowMinutes) {
+        if (velocityCounters.covers(windowMinutes)) {
+            return velocityCounters.count(accountNumber, windowMinutes);
+        }
+        return fraudCheckRepository.countRecentChecksByAccount(
+                accountNumber, LocalDateTime.now().minusMinutes(windowMinutes));
+    }
+
+    /**
+     * Score and triggered rules of one check; reasons are formatted on first access
+     */
+    public static final class Evaluation {
+        private final int riskScore;
+        private final List<Supplier<String>> triggered;
+        private List<String> reasons;
+
+        private Evaluation(int riskScore, List<Supplier<String>> triggered) {
+            this.riskScore = riskScore;
+            this.triggered = triggered;
+        }
+
+        public int riskScore() {
+            return riskScore;
+        }
+
+        public List<String> reasons() {
+            if (reasons == null) {
+                List<String> formatted = new ArrayList<>(triggered.size());
+                for (Supplier<String> reason : triggered) {
+                    formatted.add(reason.get());
+                }
+                reasons = formatted;
+            }
+            return reasons;
+        }
+    }
+
+    /**
+     * Returns the reason when the rule triggers, null otherwise
+     */
+    @FunctionalInterface
+    private interface RuleEvaluator {
+        Supplier<String> evaluate(RuleContext context);
+    }
+
+    private record CompiledRule(String ruleName, int riskPoints, int cost, RuleEvaluator evaluator) {
+    }
+
+    /**
+     * Inputs of one check. Earlier items of the same account in a batch are added to the
+     * account's lookups as prior checks.
+     */
+    private static final class RuleContext {
+        private final FraudCheckRequest request;
+        private final AccountLookups lookups;
+        private final int priorChecks;
+        private final BigDecimal priorAmount;
+
+        private RuleContext(FraudCheckRequest request, AccountLookups lookups, int priorChecks,
+                            BigDecimal priorAmount) {
+            this.request = request;
+            this.lookups = lookups;
+            this.priorChecks = priorChecks;
+            this.priorAmount = priorAmount;
+        }
+
+        int hour() {
+            return lookups.hour();
+        }
+
+        AccountAggregates aggregates() {
+            AccountAggregates aggregates = lookups.aggregates();
+            if (priorChecks == 0) {
+                return aggregates;
+            }
+            return new AccountAggregates(aggregates.dailyTotal().add(priorAmount),
+                    aggregates.rollingCount() + priorChecks, aggregates.rollingSum().add(priorAmount));
+        }
+
+        long recentChecks(int windowMinutes) {
+            return lookups.recentChecks(windowMinutes) + priorChecks;
+        }
+    }
+
+    /**
+     * Lookups of one account, made at most once, on first use by a rule
+     */
+    private final class AccountLookups {
+        private final String accountNumber;
+        private int hour = -1;
+        private AccountAggregates aggregates;
+        private Map<Integer, Long> recentChecks;
+
+        private AccountLookups(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+
+        int hour() {
+            if (hour < 0) {
+                hour = LocalDateTime.now().getHour();
+            }
+            return hour;
+        }
+
+        AccountAggregates aggregates() {
+            if (aggregates == null) {
+                aggregates = aggregateService.totals(accountNumber);
+            }
+            return aggregates;
+        }
+
+        long recentChecks(int windowMinutes) {
+            if (recentChecks == null) {
+                recentChecks = new HashMap<>(4);
+            }
+            return recentChecks.computeIfAbsent(windowMinutes,
+                    window -> countRecentChecks(accountNumber, window));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.banking.fraud.service;
+
+import com.banking.fraud.config.RiskScoreConfig;
+import com.banking.fraud.model.FraudCheck;
+import com.banking.fraud.model.RiskScore;
+import com.banking.fraud.model.RiskScoreDelta;
+import com.banking.fraud.repository.RiskScoreBatchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Risk Score Write-Behind
+ * Fraud checks no longer read-modify-write the account's risk_scores row in their transaction.
+ * Their changes are accumulated per account in memory once the check commits and flushed as
+ * one batch of upserts at a fixed interval, so busy accounts do not contend on the row.
+ * Scores decay with time since the last check; the decay is applied when a score is read or
+ * flushed rather than written on every check. Reads merge this instance's pending changes, so
+ * they include every check it has scored. Pending changes are lost if the instance dies before
+ * a flush.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RiskScoreWriteBehind {
+
+    private static final int PENDING_LOAD_CHUNK = 1000;
+
+    private final RiskScoreBatchRepository riskScoreBatchRepository;
+    private final RiskScoreConfig config;
+
+    private final Map<String, RiskScoreDelta> pending = new ConcurrentHashMap<>();
+
+    // Held exclusively while a flush moves changes from memory to the table, so a read never
+    // sees a change in both places or in neither
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    /**
+     * Buffer the checks' changes once the surrounding transaction commits
+     */
+    public void recordAfterCommit(List<FraudCheck> checks) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(checks);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(checks);
+            }
+        });
+    }
+
+    private void record(List<FraudCheck> checks) {
+        for (FraudCheck check : checks) {
+            pending.merge(check.getAccountNumber(), RiskScoreDelta.of(check),
+                    (buffered, added) -> buffered.merge(added, config.getDecayPointsPerHour()));
+        }
+    }
+
+    /**
+     * Read a stored score through this buffer. The loader is called under the read lock with
+     * the account number and returns the stored row or null.
+     */
+    public RiskScore read(String accountNumber, Function<String, RiskScore> loader) {
+        flushLock.readLock().lock();
+        try {
+            return current(accountNumber, loader.apply(accountNumber), pending.get(accountNumber));
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Read stored scores through this buffer; see read. Accounts with pending changes are
+     * included even when the loader does not return them, as their change may be what moves
+     * them into the result: their rows (if any) come from rowLoader, in chunks.
+     */
+    public List<RiskScore> readAll(Supplier<List<RiskScore>> loader,
+                                   Function<Collection<String>, List<RiskScore>> rowLoader) {
+        flushLock.readLock().lock();
+        try {
+            List<RiskScore> scores = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (RiskScore stored : loader.get()) {
+                seen.add(stored.getAccountNumber());
+                scores.add(current(stored.getAccountNumber(), stored, pending.get(stored.getAccountNumber())));
+            }
+
+            List<String> unseen = new ArrayList<>();
+            for (String accountNumber : pending.keySet()) {
+                if (!seen.contains(accountNumber)) {
+                    unseen.add(accountNumber);
+                }
+            }
+            for (int from = 0; from < unseen.size(); from += PENDING_LOAD_CHUNK) {
+                List<String> chunk = unseen.subList(from, Math.min(unseen.size(), from + PENDING_LOAD_CHUNK));
+                Map<String, RiskScore> rows = new HashMap<>();
+                for (RiskScore row : rowLoader.apply(chunk)) {
+                    rows.put(row.getAccountNumber(), row);
+                }
+                for (String accountNumber : chunk) {
+                    RiskScoreDelta delta = pending.get(accountNumber);
+                    if (delta != null) {
+                        scores.add(current(accountNumber, rows.get(accountNumber), delta));
+                    }
+                }
+            }
+            return scores;
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.risk-scores.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        flushLock.writeLock().lock();
+        try {
+            List<RiskScoreDelta> deltas = new ArrayList<>(pending.size());
+            for (String accountNumber : pending.keySet()) {
+                RiskScoreDelta delta = pending.remove(accountNumber);
+                if (delta != null) {
+                    deltas.add(delta);
+                }
+            }
+            // Same row order in every instance, so concurrent flushes cannot deadlock
+            deltas.sort(Comparator.comparing(RiskScoreDelta::accountNumber));
+
+            try {
+                riskScoreBatchRepository.applyAll(deltas, config.getDecayPointsPerHour());
+                log.debug("Flushed risk score changes of {} accounts", deltas.size());
+            } catch (Exception e) {
+                // Nothing was written; keep the changes for the next flush
+                log.error("Risk score flush failed for {} accounts: {}", deltas.size(), e.getMessage(), e);
+                for (RiskScoreDelta delta : deltas) {
+                    pending.merge(delta.accountNumber(), delta, (newer, failed) -> failed.merge(newer, config.getDecayPointsPerHour()));
+                }
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * The stored score with the pending changes applied and decayed to now, as a new object
+     */
+    private RiskScore current(String accountNumber, RiskScore stored, RiskScoreDelta delta) {
+        int score = stored != null ? stored.getCurrentScore() : 0;
+        long totalChecks = stored != null ? stored.getTotalChecks() : 0L;
+        long flaggedCount = stored != null ? stored.getFlaggedCount() : 0L;
+        long blockedCount = stored != null ? stored.getBlockedCount() : 0L;
+        LocalDateTime lastCheckAt = stored != null ? stored.getLastCheckAt() : null;
+        LocalDateTime lastIncidentAt = stored != null ? stored.getLastIncidentAt() : null;
+
+        if (delta != null) {
+            // As the flush does: the stored score carried through the pending checks
+            score = stored != null
+                    ? delta.applyTo(score, lastCheckAt, config.getDecayPointsPerHour())
+                    : delta.runningScore();
+            totalChecks += delta.checks();
+            flaggedCount += delta.flagged();
+            blockedCount += delta.blocked();
+            lastCheckAt = lastCheckAt == null || delta.lastCheckAt().isAfter(lastCheckAt)
+                    ? delta.lastCheckAt() : lastCheckAt;
+            if (delta.lastIncidentAt() != null
+                    && (lastIncidentAt == null || delta.lastIncidentAt().isAfter(lastIncidentAt))) {
+                lastIncidentAt = delta.lastIncidentAt();
+            }
+        }
+        score = decay(score, lastCheckAt, LocalDateTime.now());
+
+        return RiskScore.builder()
+                .id(stored != null ? stored.getId() : null)
+                .accountNumber(accountNumber)
+                .currentScore(score)
+                .riskLevel(RiskScore.levelFor(score))
+                .totalChecks(totalChecks)
+                .flaggedCount(flaggedCount)
+                .blockedCount(blockedCount)
+                .lastCheckAt(lastCheckAt)
+                .lastIncidentAt(lastIncidentAt)
+                .updatedAt(stored != null ? stored.getUpdatedAt() : null)
+                .build();
+    }
+
+    /**
+     * Score after losing decayPointsPerHour for the time between two checks (whole points)
+     */
+    private int decay(int score, LocalDateTime from, LocalDateTime to) {
+        return (int) Math.max(0, score - RiskScoreDelta.decayPoints(from, to, config.getDecayPointsPerHour()));
+    }
+}
@@ -0,0 +1,315 @@
+package com.banking.fraud.service;
+
+import com.banking.fraud.config.VelocityCounterConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Velocity Counter Store
+ * Per-account fraud check counts over sliding windows, so VELOCITY and PATTERN rules do not
+ * run COUNT queries against fraud_checks. Each account has a ring of time buckets held in
+ * primitive arrays; accounts are spread over lock-striped shards. Each slot holds a running
+ * total taken when its bucket opened, so a count is one subtraction whatever the window length.
+ * The windows are warmed from fraud_checks on startup. Until then, and for rule windows longer
+ * than the horizon, callers fall back to the database. With Redis enabled, checks are also kept
+ * in one sorted set per account so every instance sees checks scored elsewhere.
+ */
+@Component
+@Slf4j
+public class VelocityCounterStore {
+
+    private static final String REDIS_KEY_PREFIX = "fraud:velocity:";
+
+    private final VelocityCounterConfig config;
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final long bucketMillis;
+    private final int slots;
+    private final Shard[] shards;
+    private final int shardMask;
+
+    // Checks from construction on are recorded live, so the warm-up stops at this instant
+    private final long warmUpUntil;
+    private final String memberPrefix = UUID.randomUUID() + ":";
+    private final AtomicLong memberSequence = new AtomicLong();
+
+    private volatile boolean warmed;
+
+    public VelocityCounterStore(VelocityCounterConfig config, JdbcTemplate jdbcTemplate,
+                                @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate) {
+        this.config = config;
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+
+        this.bucketMillis = Math.max(1, config.getBucketSeconds()) * 1000L;
+        // One extra slot for the bucket currently filling
+        this.slots = (int) (config.getHorizonMinutes() * 60_000L / bucketMillis) + 1;
+
+        int shardCount = Integer.highestOneBit(Math.max(1, config.getShards() - 1)) << 1;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = shardCount - 1;
+        this.warmUpUntil = System.currentTimeMillis();
+    }
+
+    /**
+     * Whether counts over this window can be served from memory
+     */
+    public boolean covers(int windowMinutes) {
+        return config.isEnabled() && warmed && windowMinutes <= config.getHorizonMinutes();
+    }
+
+    /**
+     * Checks of the account within the last windowMinutes (to bucket resolution, erring towards
+     * including the oldest partial bucket). Only valid when covers(windowMinutes).
+     */
+    public long count(String accountNumber, int windowMinutes) {
+        long nowBucket = System.currentTimeMillis() / bucketMillis;
+        long windowBuckets = (windowMinutes * 60_000L + bucketMillis - 1) / bucketMillis;
+        long oldestBucket = nowBucket - Math.min(slots - 1, windowBuckets);
+
+        long local = countLocal(accountNumber, oldestBucket);
+        if (!config.isRedisEnabled()) {
+            return local;
+        }
+        // Local windows also hold the warm-up from the database, Redis the checks of every instance
+        return Math.max(local, countRedis(accountNumber, oldestBucket, nowBucket));
+    }
+
+    /**
+     * Count a check once the surrounding transaction commits
+     */
+    public void recordAfterCommit(String accountNumber, LocalDateTime checkedAt) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long epochMillis = toEpochMillis(checkedAt);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(accountNumber, epochMillis);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(accountNumber, epochMillis);
+            }
+        });
+    }
+
+    void record(String accountNumber, long epochMillis) {
+        long bucket = epochMillis / bucketMillis;
+        addLocal(accountNumber, bucket);
+        if (config.isRedisEnabled()) {
+            addRedis(accountNumber, bucket);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        long until = warmUpUntil;
+        long since = until - config.getHorizonMinutes() * 60_000L;
+        long[] loaded = {0};
+
+        try {
+            jdbcTemplate.query("SELECT account_number, checked_at FROM fraud_checks " +
+                            "WHERE checked_at >= ? AND checked_at < ? ORDER BY checked_at",
+                    (RowCallbackHandler) rs -> {
+                        addLocal(rs.getString(1), rs.getTimestamp(2).getTime() / bucketMillis);
+                        loaded[0]++;
+                    },
+                    new Timestamp(since), new Timestamp(until));
+            warmed = true;
+            log.info("Velocity windows warmed with {} fraud checks from the last {} minutes",
+                    loaded[0], config.getHorizonMinutes());
+        } catch (Exception e) {
+            // Rules keep querying the database
+            log.error("Velocity window warm-up failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drop windows of accounts without checks within the horizon
+     */
+    @Scheduled(fixedDelayString = "${fraud.velocity.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long expiredBefore = System.currentTimeMillis() / bucketMillis - slots;
+        int evicted = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                Iterator<Window> windows = shard.windows.values().iterator();
+                while (windows.hasNext()) {
+                    if (windows.next().lastBucket < expiredBefore) {
+                        windows.remove();
+                        evicted++;
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle velocity windows", evicted);
+        }
+    }
+
+    private void addLocal(String accountNumber, long bucket) {
+        if (bucket <= System.currentTimeMillis() / bucketMillis - slots) {
+            return;  // Already outside the horizon
+        }
+
+        Shard shard = shardFor(accountNumber);
+        shard.lock.lock();
+        try {
+            shard.windows.computeIfAbsent(accountNumber, key -> new Window(slots)).add(bucket);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private long countLocal(String accountNumber, long oldestBucket) {
+        Shard shard = shardFor(accountNumber);
+        shard.lock.lock();
+        try {
+            Window window = shard.windows.get(accountNumber);
+            if (window == null || window.lastBucket < oldestBucket) {
+                return 0;
+            }
+            return window.countSince(oldestBucket);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private void addRedis(String accountNumber, long bucket) {
+        byte[] key = redisKey(accountNumber).getBytes(StandardCharsets.UTF_8);
+        byte[] member = (memberPrefix + memberSequence.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+        long ttlSeconds = config.getHorizonMinutes() * 60L + bucketMillis / 1000 + 1;
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+                connection.zSetCommands().zAdd(key, bucket, member);
+                connection.zSetCommands().zRemRangeByScore(key, Double.NEGATIVE_INFINITY, bucket - slots);
+                connection.keyCommands().expire(key, ttlSeconds);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Redis unavailable - velocity count kept locally only: {}", e.getMessage());
+        }
+    }
+
+    private long countRedis(String accountNumber, long oldestBucket, long nowBucket) {
+        try {
+            Long total = redisTemplate.opsForZSet().count(redisKey(accountNumber), oldestBucket, nowBucket);
+            return total != null ? total : 0;
+        } catch (Exception e) {
+            log.warn("Redis unavailable - using local velocity count: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private static String redisKey(String accountNumber) {
+        return REDIS_KEY_PREFIX + accountNumber;
+    }
+    private Shard shardFor(String accountNumber) {
+        int hash = accountNumber.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time != null
+                ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> windows = new HashMap<>();
+    }
+
+    /**
+     * Ring of buckets as running totals: before[bucket % slots] is the number of checks counted in
+     * earlier buckets when the bucket opened, so the checks since a bucket are total - before.
+     * Every bucket from firstBucket to lastBucket is opened, gaps included.
+     */
+    private static final class Window {
+        private final long[] before;
+        private long total;
+        private long firstBucket;
+        private long lastBucket = Long.MIN_VALUE;
+
+        private Window(int slots) {
+            this.before = new long[slots];
+        }
+
+        private void add(long bucket) {
+            int slots = before.length;
+            if (lastBucket == Long.MIN_VALUE) {
+                before[slot(bucket)] = 0;
+                firstBucket = bucket;
+                lastBucket = bucket;
+            } else if (bucket > lastBucket) {
+                // Opening a bucket expires the one that held its slot
+                for (long b = Math.max(lastBucket + 1, bucket - slots + 1); b <= bucket; b++) {
+                    before[slot(b)] = total;
+                }
+                lastBucket = bucket;
+            } else if (bucket <= lastBucket - slots) {
+                return;  // Slot already reused by a newer bucket
+            } else {
+                // Late check (commit lag or warm-up): newer buckets now have one more before them
+                if (bucket < firstBucket) {
+                    for (long b = bucket; b < firstBucket; b++) {
+                        before[slot(b)] = 0;
+                    }
+                    firstBucket = bucket;
+                }
+                for (long b = bucket + 1; b <= lastBucket; b++) {
+                    before[slot(b)]++;
+                }
+            }
+            total++;
+        }
+
+        private long countSince(long oldestBucket) {
+            // Buckets before the ring's oldest slot have expired
+            long from = Math.max(oldestBucket, lastBucket - before.length + 1);
+            if (from <= firstBucket) {
+                return total;
+            }
+            return total - before[slot(from)];
+        }
+
+        private int slot(long bucket) {
+            return (int) Math.floorMod(bucket, (long) before.length);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.banking.fraud.repository;
+
+import com.banking.fraud.model.AccountAggregates;
+import com.banking.fraud.repository.AccountAggregateRepository.DailyIncrement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Testcontainers
+@Import(AccountAggregateRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("AccountAggregateRepository Database Tests")
+class AccountAggregateRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("fraud_test_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 15);
+
+    @Autowired
+    private AccountAggregateRepository aggregateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should total today only as daily and from rollingFrom inclusive as rolling")
+    void shouldBoundDailyAndRollingTotals() {
+        // Given - a 30 day window starting at TODAY - 30
+        aggregateRepository.incrementAll(List.of(
+                increment("ACC001", TODAY.minusDays(31), 1L, "1000"),
+                increment("ACC001", TODAY.minusDays(30), 2L, "300"),
+                increment("ACC001", TODAY.minusDays(1), 1L, "50"),
+                increment("ACC001", TODAY, 3L, "120"),
+                increment("ACC002", TODAY, 1L, "9999")));
+
+        // When
+        AccountAggregates totals = aggregateRepository.findTotals("ACC001", TODAY, TODAY.minusDays(30));
+
+        // Then - 31 calendar days are counted; the day before the window is not
+        assertThat(totals.dailyTotal()).isEqualByComparingTo("120");
+        assertThat(totals.rollingCount()).isEqualTo(6L);
+        assertThat(totals.rollingSum()).isEqualByComparingTo("470");
+    }
+
+    @Test
+    @DisplayName("Should return zero totals for an account without rows")
+    void shouldReturnZeroTotals_WhenNoRows() {
+        // When
+        AccountAggregates totals = aggregateRepository.findTotals("ACC404", TODAY, TODAY.minusDays(30));
+
+        // Then
+        assertThat(totals.dailyTotal()).isEqualByComparingTo("0");
+        assertThat(totals.rollingCount()).isZero();
+        assertThat(totals.rollingMean()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should add increments to existing rows")
+    void shouldAddToExistingRows() {
+        // Given
+        aggregateRepository.incrementAll(List.of(increment("ACC001", TODAY, 2L, "100.50")));
+
+        // When
+        aggregateRepository.incrementAll(List.of(increment("ACC001", TODAY, 1L, "49.50")));
+
+        // Then
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT check_count, amount_sum FROM account_daily_aggregates WHERE account_number = ? AND day = ?",
+                "ACC001", Date.valueOf(TODAY));
+        assertThat(((Number) row.get("check_count")).longValue()).isEqualTo(3L);
+        assertThat((BigDecimal) row.get("amount_sum")).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    @DisplayName("Should delete only rows before the given day")
+    void shouldDeleteRowsBeforeDay() {
+        // Given
+        aggregateRepository.incrementAll(List.of(
+                increment("ACC001", TODAY.minusDays(32), 1L, "10"),
+                increment("ACC001", TODAY.minusDays(31), 1L, "10"),
+                increment("ACC001", TODAY, 1L, "10")));
+
+        // When
+        int deleted = aggregateRepository.deleteBefore(TODAY.minusDays(31));
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT day FROM account_daily_aggregates ORDER BY day", LocalDate.class))
+                .containsExactly(TODAY.minusDays(31), TODAY);
+    }
+
+    @Test
+    @DisplayName("Should backfill the checks of today and the 31 days before it per account and day")
+    void shouldBackfillRecentChecks() throws Exception {
+        // Given - dates relative to the database's CURRENT_DATE, which the changeset uses
+        LocalDate today = jdbcTemplate.queryForObject("SELECT CURRENT_DATE", LocalDate.class);
+        insertCheck("FRD-1", "ACC001", "100", today.atTime(9, 0));
+        insertCheck("FRD-2", "ACC001", "50.25", today.atTime(17, 30));
+        insertCheck("FRD-3", "ACC001", "70", today.minusDays(31).atStartOfDay());
+        insertCheck("FRD-4", "ACC001", "999", today.minusDays(32).atTime(LocalTime.MAX.withNano(0)));
+        insertCheck("FRD-5", "ACC002", "10", today.minusDays(5).atTime(12, 0));
+
+        // When
+        jdbcTemplate.update("DELETE FROM account_daily_aggregates");
+        jdbcTemplate.execute(changeSetSql("005-create-account-daily-aggregates-table.xml",
+                "005-backfill-account-daily-aggregates"));
+
+        // Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT account_number, day, check_count, amount_sum FROM account_daily_aggregates " +
+                "ORDER BY account_number, day");
+        assertThat(rows).hasSize(3);
+        assertRow(rows.get(0), "ACC001", today.minusDays(31), 1L, "70");
+        assertRow(rows.get(1), "ACC001", today, 2L, "150.25");
+        assertRow(rows.get(2), "ACC002", today.minusDays(5), 1L, "10");
+    }
+
+    private void insertCheck(String checkId, String accountNumber, String amount, LocalDateTime checkedAt) {
+        jdbcTemplate.update("INSERT INTO fraud_checks (check_id, transfer_reference, account_number, amount, " +
+                        "risk_score, risk_level, status, checked_at) VALUES (?, ?, ?, ?, 0, 'LOW', 'PASSED', ?)",
+                checkId, "TXF-" + checkId, accountNumber, new BigDecimal(amount), Timestamp.valueOf(checkedAt));
+    }
+
+    private static String changeSetSql(String changelog, String changeSetId) throws Exception {
+        try (InputStream in = new ClassPathResource("db/changelog/" + changelog).getInputStream()) {
+            NodeList changeSets = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in)
+                    .getElementsByTagName("changeSet");
+            for (int i = 0; i < changeSets.getLength(); i++) {
+                Element changeSet = (Element) changeSets.item(i);
+                if (changeSetId.equals(changeSet.getAttribute("id"))) {
+                    return changeSet.getElementsByTagName("sql").item(0).getTextContent();
+                }
+            }
+        }
+        throw new IllegalArgumentException("No changeset " + changeSetId + " in " + changelog);
+    }
+
+    private static void assertRow(Map<String, Object> row, String accountNumber, LocalDate day, long count,
+                                  String amount) {
+        assertThat(row.get("account_number")).isEqualTo(accountNumber);
+        assertThat(((Date) row.get("day")).toLocalDate()).isEqualTo(day);
+        assertThat(((Number) row.get("check_count")).longValue()).isEqualTo(count);
+        assertThat((BigDecimal) row.get("amount_sum")).isEqualByComparingTo(amount);
+    }
+
+    private static DailyIncrement increment(String accountNumber, LocalDate day, long count, String amount) {
+        return new DailyIncrement(accountNumber, day, count, new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,160 @@
+package com.banking.fraud.repository;
+
+import com.banking.fraud.model.FraudCheck;
+import com.banking.fraud.model.FraudCheckStatus;
+import com.banking.fraud.model.RiskLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Testcontainers
+@Import(FraudCheckBatchRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("FraudCheckBatchRepository Database Tests")
+class FraudCheckBatchRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("fraud_test_db")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final LocalDateTime CHECKED_AT = LocalDateTime.of(2024, 3, 15, 10, 30, 45, 123_456_000);
+
+    @Autowired
+    private FraudCheckBatchRepository fraudCheckBatchRepository;
+
+    @Autowired
+    private FraudCheckRepository fraudCheckRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should bind every column of the inserted checks")
+    void shouldBindCheckColumns() {
+        // Given
+        FraudCheck check = check("FRD-BIND", "ACC001", "1234.56", 40, RiskLevel.MEDIUM, FraudCheckStatus.FLAGGED,
+                List.of("High amount"), "{\"channel\":\"mobile\",\"ip\":\"10.0.0.1\"}");
+
+        // When
+        fraudCheckBatchRepository.insertAll(List.of(check), 10);
+
+        // Then
+        assertThat(check.getId()).isNotNull();
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT id, check_id, transfer_reference, account_number, amount, risk_score, risk_level, " +
+                "status, checked_at, metadata FROM fraud_checks WHERE check_id = ?", "FRD-BIND");
+        assertThat(((Number) row.get("id")).longValue()).isEqualTo(check.getId());
+        assertThat(row.get("transfer_reference")).isEqualTo("TXF-FRD-BIND");
+        assertThat(row.get("account_number")).isEqualTo("ACC001");
+        assertThat((BigDecimal) row.get("amount")).isEqualByComparingTo("1234.56");
+        assertThat(row.get("risk_score")).isEqualTo(40);
+        assertThat(row.get("risk_level")).isEqualTo("MEDIUM");
+        assertThat(row.get("status")).isEqualTo("FLAGGED");
+        assertThat(((Timestamp) row.get("checked_at")).toLocalDateTime()).isEqualTo(CHECKED_AT);
+        assertThat(row.get("metadata")).isEqualTo("{\"channel\":\"mobile\",\"ip\":\"10.0.0.1\"}");
+    }
+
+    @Test
+    @DisplayName("Should store reasons and metadata so the entity reads them back")
+    void shouldRoundTripReasonsAndMetadata() {
+        // Given
+        FraudCheck withReasons = check("FRD-R1", "ACC001", "20000", 90, RiskLevel.CRITICAL,
+                FraudCheckStatus.BLOCKED, List.of("High amount", "Daily limit exceeded", "Unusual hour"),
+                "{\"device\":\"new\"}");
+        FraudCheck withoutReasons = check("FRD-R2", "ACC002", "10", 0, RiskLevel.LOW,
+                FraudCheckStatus.PASSED, List.of(), null);
+
+        // When
+        fraudCheckBatchRepository.insertAll(List.of(withReasons, withoutReasons), 10);
+
+        // Then
+        FraudCheck blocked = fraudCheckRepository.findByCheckId("FRD-R1").orElseThrow();
+        assertThat(blocked.getReasons())
+                .containsExactlyInAnyOrder("High amount", "Daily limit exceeded", "Unusual hour");
+        assertThat(blocked.getMetadata()).isEqualTo("{\"device\":\"new\"}");
+
+        FraudCheck passed = fraudCheckRepository.findByCheckId("FRD-R2").orElseThrow();
+        assertThat(passed.getReasons()).isEmpty();
+        assertThat(passed.getMetadata()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should insert every check and reason when the batch spans several chunks")
+    void shouldInsertAcrossChunks() {
+        // Given - 5 checks and 7 reasons in chunks of 2
+        List<FraudCheck> checks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            List<String> reasons = i % 2 == 0 ? List.of("Reason A" + i, "Reason B" + i) : List.of("Reason A" + i);
+            checks.add(check("FRD-C" + i, "ACC00" + i, "100", 30, RiskLevel.MEDIUM, FraudCheckStatus.FLAGGED,
+                    reasons, null));
+        }
+
+        // When
+        fraudCheckBatchRepository.insertAll(checks, 2);
+
+        // Then
+        assertThat(checks).extracting(FraudCheck::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM fraud_checks WHERE check_id LIKE 'FRD-C%'", Integer.class)).isEqualTo(5);
+        for (FraudCheck check : checks) {
+            List<String> stored = jdbcTemplate.queryForList(
+                    "SELECT reason FROM fraud_check_reasons WHERE fraud_check_id = ?", String.class, check.getId());
+            assertThat(stored).containsExactlyInAnyOrderElementsOf(check.getReasons());
+        }
+    }
+
+    @Test
+    @DisplayName("Should do nothing for an empty batch")
+    void shouldIgnoreEmptyBatch() {
+        // When
+        fraudCheckBatchRepository.insertAll(List.of(), 10);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM fraud_checks", Integer.class)).isZero();
+    }
+
+    private static FraudCheck check(String checkId, String accountNumber, String amount, int riskScore,
+                                    RiskLevel riskLevel, FraudCheckStatus status, List<String> reasons,
+                                    String metadata) {
+        return FraudCheck.builder()
+                .checkId(checkId)
+                .transferReference("TXF-" + checkId)
+                .accountNumber(accountNumber)
+                .amount(new BigDecimal(amount))
+                .riskScore(riskScore)
+                .riskLevel(riskLevel)
+                .status(status)
+                .reasons(new ArrayList<>(reasons))
+                .metadata(metadata)
+                .checkedAt(CHECKED_AT)
+                .build();
+    }
+}
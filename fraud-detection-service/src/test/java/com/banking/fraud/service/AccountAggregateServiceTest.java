@@ -0,0 +1,133 @@
+package com.banking.fraud.service;
+
+import com.banking.fraud.config.AccountAggregateConfig;
+import com.banking.fraud.model.AccountAggregates;
+import com.banking.fraud.model.FraudCheck;
+import com.banking.fraud.repository.AccountAggregateRepository;
+import com.banking.fraud.repository.AccountAggregateRepository.DailyIncrement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountAggregateService Unit Tests")
+class AccountAggregateServiceTest {
+
+    @Mock
+    private AccountAggregateRepository aggregateRepository;
+
+    private AccountAggregateService aggregateService;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        aggregateService = new AccountAggregateService(aggregateRepository, new AccountAggregateConfig());
+        today = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("Should fold checks to one increment per account and day and flush them in key order")
+    @SuppressWarnings("unchecked")
+    void shouldFoldAndFlushInKeyOrder() {
+        // Given
+        aggregateService.recordAfterCommit(List.of(
+                check("ACC002", "100", today),
+                check("ACC001", "50", today),
+                check("ACC001", "20", today.minusDays(1)),
+                check("ACC001", "30", today)));
+
+        // When
+        aggregateService.flush();
+        aggregateService.flush();
+
+        // Then
+        ArgumentCaptor<List<DailyIncrement>> incrementsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(aggregateRepository, times(1)).incrementAll(incrementsCaptor.capture());
+        assertThat(incrementsCaptor.getValue()).containsExactly(
+                new DailyIncrement("ACC001", today.minusDays(1), 1L, new BigDecimal("20")),
+                new DailyIncrement("ACC001", today, 2L, new BigDecimal("80")),
+                new DailyIncrement("ACC002", today, 1L, new BigDecimal("100")));
+    }
+
+    @Test
+    @DisplayName("Should keep the increments of a failed flush for the next one")
+    @SuppressWarnings("unchecked")
+    void shouldRetryFailedFlush() {
+        // Given
+        doThrow(new RuntimeException("connection refused"))
+                .doNothing()
+                .when(aggregateRepository).incrementAll(anyList());
+        aggregateService.recordAfterCommit(List.of(check("ACC001", "50", today)));
+        aggregateService.flush();
+
+        // When
+        aggregateService.recordAfterCommit(List.of(check("ACC001", "25", today)));
+        aggregateService.flush();
+
+        // Then
+        ArgumentCaptor<List<DailyIncrement>> incrementsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(aggregateRepository, times(2)).incrementAll(incrementsCaptor.capture());
+        assertThat(incrementsCaptor.getAllValues().get(1))
+                .containsExactly(new DailyIncrement("ACC001", today, 2L, new BigDecimal("75")));
+    }
+
+    @Test
+    @DisplayName("Should add pending increments inside the window to the stored totals")
+    void shouldMergePendingIncrementsIntoTotals() {
+        // Given - the window is today and the 30 days before it
+        when(aggregateRepository.findTotals("ACC001", today, today.minusDays(30)))
+                .thenReturn(new AccountAggregates(new BigDecimal("100"), 3L, new BigDecimal("300")));
+        aggregateService.recordAfterCommit(List.of(
+                check("ACC001", "50", today),
+                check("ACC001", "10", today.minusDays(30)),
+                check("ACC001", "5", today.minusDays(31)),
+                check("ACC002", "1000", today)));
+
+        // When
+        AccountAggregates totals = aggregateService.totals("ACC001");
+
+        // Then
+        assertThat(totals.dailyTotal()).isEqualByComparingTo("150");
+        assertThat(totals.rollingCount()).isEqualTo(5L);
+        assertThat(totals.rollingSum()).isEqualByComparingTo("360");
+    }
+
+    @Test
+    @DisplayName("Should not count flushed increments twice")
+    void shouldReadStoredTotalsAfterFlush() {
+        // Given
+        AccountAggregates stored = new AccountAggregates(new BigDecimal("50"), 1L, new BigDecimal("50"));
+        when(aggregateRepository.findTotals(eq("ACC001"), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(stored);
+        aggregateService.recordAfterCommit(List.of(check("ACC001", "50", today)));
+        aggregateService.flush();
+
+        // When
+        AccountAggregates totals = aggregateService.totals("ACC001");
+
+        // Then
+        assertThat(totals).isEqualTo(stored);
+    }
+
+    private static FraudCheck check(String accountNumber, String amount, LocalDate day) {
+        return FraudCheck.builder()
+                .accountNumber(accountNumber)
+                .amount(new BigDecimal(amount))
+                .checkedAt(LocalDateTime.of(day, LocalTime.NOON))
+                .build();
+    }
+}
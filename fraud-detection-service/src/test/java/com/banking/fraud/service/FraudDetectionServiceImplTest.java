@@ -0,0 +1,130 @@
+package com.banking.fraud.service;
+
+import com.banking.fraud.config.FraudBatchConfig;
+import com.banking.fraud.dto.BatchFraudCheckRequest;
+import com.banking.fraud.dto.BatchFraudCheckResponse;
+import com.banking.fraud.dto.FraudCheckRequest;
+import com.banking.fraud.model.FraudCheck;
+import com.banking.fraud.model.FraudCheckStatus;
+import com.banking.fraud.model.RiskLevel;
+import com.banking.fraud.repository.FraudCheckBatchRepository;
+import com.banking.fraud.repository.FraudCheckRepository;
+import com.banking.fraud.repository.FraudRuleRepository;
+import com.banking.fraud.repository.RiskScoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FraudDetectionServiceImpl Unit Tests")
+class FraudDetectionServiceImplTest {
+
+    @Mock
+    private FraudCheckRepository fraudCheckRepository;
+
+    @Mock
+    private FraudRuleRepository fraudRuleRepository;
+
+    @Mock
+    private RiskScoreRepository riskScoreRepository;
+
+    @Mock
+    private VelocityCounterStore velocityCounters;
+
+    @Mock
+    private AccountAggregateService aggregateService;
+
+    @Mock
+    private FraudRuleEngine ruleEngine;
+
+    @Mock
+    private FraudCheckBatchRepository fraudCheckBatchRepository;
+
+    @Mock
+    private RiskScoreWriteBehind riskScores;
+
+    private FraudBatchConfig batchConfig;
+    private FraudDetectionServiceImpl fraudDetectionService;
+
+    @BeforeEach
+    void setUp() {
+        batchConfig = new FraudBatchConfig();
+        batchConfig.setWriteBatchSize(2);
+        fraudDetectionService = new FraudDetectionServiceImpl(fraudCheckRepository, fraudRuleRepository,
+                riskScoreRepository, velocityCounters, aggregateService, ruleEngine, fraudCheckBatchRepository,
+                batchConfig, riskScores);
+    }
+
+    @Test
+    @DisplayName("Should return batch results as columns in request order")
+    @SuppressWarnings("unchecked")
+    void shouldReturnColumnarBatchResults() {
+        // Given
+        List<FraudCheckRequest> items = List.of(
+                request("TXF-1", "ACC001", "100"),
+                request("TXF-2", "ACC002", "20000"),
+                request("TXF-3", "ACC001", "90000"));
+        FraudRuleEngine.Evaluation[] evaluations = {
+                evaluation(0, List.of()),
+                evaluation(40, List.of("High amount")),
+                evaluation(90, List.of("High amount", "Daily limit exceeded"))};
+        when(ruleEngine.evaluateAll(items)).thenReturn(evaluations);
+
+        // When
+        BatchFraudCheckResponse response = fraudDetectionService.performBatchFraudCheck(
+                BatchFraudCheckRequest.builder().items(items).build());
+
+        // Then
+        assertThat(response.getTotalItems()).isEqualTo(3);
+        assertThat(response.getPassedItems()).isEqualTo(1);
+        assertThat(response.getFlaggedItems()).isEqualTo(1);
+        assertThat(response.getBlockedItems()).isEqualTo(1);
+        assertThat(response.getTransferReferences()).containsExactly("TXF-1", "TXF-2", "TXF-3");
+        assertThat(response.getRiskScores()).containsExactly(0, 40, 90);
+        assertThat(response.getRiskLevels()).containsExactly(RiskLevel.LOW, RiskLevel.MEDIUM, RiskLevel.CRITICAL);
+        assertThat(response.getStatuses()).containsExactly(
+                FraudCheckStatus.PASSED, FraudCheckStatus.FLAGGED, FraudCheckStatus.BLOCKED);
+        assertThat(response.getReasons()).containsExactly(
+                List.of(), List.of("High amount"), List.of("High amount", "Daily limit exceeded"));
+        assertThat(response.getCheckIds()).hasSize(3).doesNotHaveDuplicates()
+                .allMatch(checkId -> checkId.startsWith("FRD-"));
+
+        ArgumentCaptor<List<FraudCheck>> checksCaptor = ArgumentCaptor.forClass(List.class);
+        verify(fraudCheckBatchRepository).insertAll(checksCaptor.capture(), eq(2));
+        List<FraudCheck> checks = checksCaptor.getValue();
+        assertThat(checks).extracting(FraudCheck::getCheckId).isEqualTo(response.getCheckIds());
+        assertThat(checks).extracting(FraudCheck::getCheckedAt).containsOnly(response.getCheckedAt());
+
+        verify(aggregateService).recordAfterCommit(checks);
+        verify(riskScores).recordAfterCommit(checks);
+        verify(velocityCounters, times(2)).recordAfterCommit("ACC001", response.getCheckedAt());
+        verify(velocityCounters).recordAfterCommit("ACC002", response.getCheckedAt());
+        verifyNoInteractions(fraudCheckRepository);
+    }
+
+    private static FraudRuleEngine.Evaluation evaluation(int riskScore, List<String> reasons) {
+        FraudRuleEngine.Evaluation evaluation = mock(FraudRuleEngine.Evaluation.class);
+        when(evaluation.riskScore()).thenReturn(riskScore);
+        when(evaluation.reasons()).thenReturn(reasons);
+        return evaluation;
+    }
+
+    private static FraudCheckRequest request(String transferReference, String accountNumber, String amount) {
+        return FraudCheckRequest.builder()
+                .transferReference(transferReference)
+                .accountNumber(accountNumber)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
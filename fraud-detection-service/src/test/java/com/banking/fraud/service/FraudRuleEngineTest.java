@@ -0,0 +1,238 @@
+package com.banking.fraud.service;
+
+import com.banking.fraud.config.FraudBatchConfig;
+import com.banking.fraud.config.FraudRuleEngineConfig;
+import com.banking.fraud.dto.FraudCheckRequest;
+import com.banking.fraud.model.FraudRule;
+import com.banking.fraud.model.RuleType;
+import com.banking.fraud.repository.FraudCheckRepository;
+import com.banking.fraud.repository.FraudRuleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FraudRuleEngine Unit Tests")
+class FraudRuleEngineTest {
+
+    @Mock
+    private FraudRuleRepository fraudRuleRepository;
+
+    @Mock
+    private FraudCheckRepository fraudCheckRepository;
+
+    @Mock
+    private VelocityCounterStore velocityCounters;
+
+    @Mock
+    private AccountAggregateService aggregateService;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private FraudRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new FraudRuleEngine(fraudRuleRepository, fraudCheckRepository, velocityCounters,
+                aggregateService, redisTemplate, listenerContainer, new FraudRuleEngineConfig(),
+                new FraudBatchConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should score the compiled rules that trigger")
+    void shouldEvaluateCompiledRules() {
+        // Given
+        when(fraudRuleRepository.findByEnabled(true)).thenReturn(List.of(
+                amountRule("RULE-1", "10000", 40),
+                amountRule("RULE-2", "50000", 30)));
+        engine.reload();
+
+        // When
+        FraudRuleEngine.Evaluation evaluation = engine.evaluate(request("ACC001", "20000"));
+
+        // Then
+        assertThat(evaluation.riskScore()).isEqualTo(40);
+        assertThat(evaluation.reasons()).containsExactly("High amount: 20000 exceeds threshold 10000");
+    }
+
+    @Test
+    @DisplayName("Should stop evaluating once the score reaches the blocking threshold")
+    void shouldStopAtBlockedScore() {
+        // Given - the heavier rule is evaluated first
+        when(fraudRuleRepository.findByEnabled(true)).thenReturn(List.of(
+                amountRule("RULE-1", "100", 10),
+                amountRule("RULE-2", "100", 80)));
+        engine.reload();
+
+        // When
+        FraudRuleEngine.Evaluation evaluation = engine.evaluate(request("ACC001", "500"));
+
+        // Then
+        assertThat(evaluation.riskScore()).isEqualTo(80);
+        assertThat(evaluation.reasons()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should skip rules with incomplete parameters and compile the rest")
+    void shouldSkipIncompleteRules() {
+        // Given
+        FraudRule incompleteVelocity = FraudRule.builder()
+                .ruleId("RULE-V")
+                .ruleName("Velocity")
+                .ruleType(RuleType.VELOCITY)
+                .timeWindowMinutes(10)
+                .riskPoints(50)
+                .build();
+        when(fraudRuleRepository.findByEnabled(true)).thenReturn(List.of(
+                incompleteVelocity, amountRule("RULE-1", "10000", 40)));
+
+        // When
+        engine.reload();
+
+        // Then
+        FraudRuleEngine.Evaluation evaluation = engine.evaluate(request("ACC001", "20000"));
+        assertThat(evaluation.riskScore()).isEqualTo(40);
+        verifyNoInteractions(velocityCounters, fraudCheckRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep the current rules when a reload fails")
+    void shouldKeepRules_WhenReloadFails() {
+        // Given
+        when(fraudRuleRepository.findByEnabled(true))
+                .thenReturn(List.of(amountRule("RULE-1", "10000", 40)))
+                .thenThrow(new RuntimeException("connection refused"));
+        engine.reload();
+
+        // When
+        engine.refresh();
+
+        // Then
+        assertThat(engine.evaluate(request("ACC001", "20000")).riskScore()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should recompile and announce a rule change even when Redis is down")
+    void shouldReloadAfterCommit_WhenRedisUnavailable() {
+        // Given
+        when(fraudRuleRepository.findByEnabled(true)).thenReturn(List.of(amountRule("RULE-1", "10000", 40)));
+        doThrow(new RuntimeException("Redis down")).when(redisTemplate).convertAndSend(anyString(), anyString());
+
+        // When
+        engine.reloadAfterCommit();
+
+        // Then
+        assertThat(engine.evaluate(request("ACC001", "20000")).riskScore()).isEqualTo(40);
+        verify(redisTemplate).convertAndSend(eq("fraud:rules:changed"), anyString());
+    }
+
+    @Test
+    @DisplayName("Should ignore its own rule change announcement and reload on another instance's")
+    void shouldReloadOnlyOnOtherInstancesAnnouncements() {
+        // Given
+        when(fraudRuleRepository.findByEnabled(true)).thenReturn(List.of(amountRule("RULE-1", "10000", 40)));
+        engine.init();
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+
+        engine.reloadAfterCommit();
+        ArgumentCaptor<String> ownInstanceId = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("fraud:rules:changed"), ownInstanceId.capture());
+
+        // When - this instance's announcement comes back
+        listener.getValue().onMessage(message(ownInstanceId.getValue()), null);
+
+        // Then
+        verify(fraudRuleRepository, times(2)).findByEnabled(true);
+
+        // When - another instance announces a change
+        listener.getValue().onMessage(message("other-instance"), null);
+
+        // Then
+        verify(fraudRuleRepository, times(3)).findByEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Should count earlier batch items of the same account as prior checks")
+    void shouldCountPriorBatchItems() {
+        // Given
+        FraudRule velocity = FraudRule.builder()
+                .ruleId("RULE-V")
+                .ruleName("Velocity")
+                .ruleType(RuleType.VELOCITY)
+                .timeWindowMinutes(60)
+                .maxCount(2)
+                .riskPoints(30)
+                .build();
+        when(fraudRuleRepository.findByEnabled(true)).thenReturn(List.of(velocity));
+        when(velocityCounters.covers(60)).thenReturn(true);
+        when(velocityCounters.count("ACC001", 60)).thenReturn(1L);
+        when(velocityCounters.count("ACC002", 60)).thenReturn(0L);
+        engine.reload();
+
+        // When
+        FraudRuleEngine.Evaluation[] evaluations = engine.evaluateAll(List.of(
+                request("ACC001", "100"),
+                request("ACC002", "100"),
+                request("ACC001", "100")));
+
+        // Then
+        assertThat(evaluations).hasSize(3);
+        assertThat(evaluations[0].riskScore()).isZero();
+        assertThat(evaluations[1].riskScore()).isZero();
+        assertThat(evaluations[2].riskScore()).isEqualTo(30);
+        assertThat(evaluations[2].reasons()).containsExactly("Velocity check: 2 transfers in 60 minutes (max: 2)");
+        verify(velocityCounters, times(1)).count("ACC001", 60);
+    }
+
+    private static FraudRule amountRule(String ruleId, String threshold, int riskPoints) {
+        return FraudRule.builder()
+                .ruleId(ruleId)
+                .ruleName("High amount " + threshold)
+                .ruleType(RuleType.AMOUNT)
+                .threshold(new BigDecimal(threshold))
+                .riskPoints(riskPoints)
+                .build();
+    }
+
+    private static Message message(String body) {
+        return new DefaultMessage("fraud:rules:changed".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static FraudCheckRequest request(String accountNumber, String amount) {
+        return FraudCheckRequest.builder()
+                .transferReference("TXF-" + accountNumber)
+                .accountNumber(accountNumber)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.banking.fraud.service;
+
+import com.banking.fraud.config.RiskScoreConfig;
+import com.banking.fraud.model.FraudCheck;
+import com.banking.fraud.model.FraudCheckStatus;
+import com.banking.fraud.model.RiskLevel;
+import com.banking.fraud.model.RiskScore;
+import com.banking.fraud.model.RiskScoreDelta;
+import com.banking.fraud.repository.RiskScoreBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RiskScoreWriteBehind Unit Tests")
+class RiskScoreWriteBehindTest {
+
+    @Mock
+    private RiskScoreBatchRepository riskScoreBatchRepository;
+
+    private RiskScoreWriteBehind writeBehind;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        RiskScoreConfig config = new RiskScoreConfig();
+        config.setDecayPointsPerHour(5);
+        writeBehind = new RiskScoreWriteBehind(riskScoreBatchRepository, config);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    @DisplayName("Should merge buffered checks per account and flush them in account order")
+    @SuppressWarnings("unchecked")
+    void shouldMergeAndFlushInAccountOrder() {
+        // Given
+        writeBehind.recordAfterCommit(List.of(
+                check("ACC002", FraudCheckStatus.FLAGGED, 60, now),
+                check("ACC001", FraudCheckStatus.BLOCKED, 80, now),
+                check("ACC001", FraudCheckStatus.PASSED, 0, now)));
+
+        // When
+        writeBehind.flush();
+        writeBehind.flush();
+
+        // Then
+        ArgumentCaptor<List<RiskScoreDelta>> deltasCaptor = ArgumentCaptor.forClass(List.class);
+        verify(riskScoreBatchRepository, times(1)).applyAll(deltasCaptor.capture(), eq(5.0));
+        List<RiskScoreDelta> deltas = deltasCaptor.getValue();
+        assertThat(deltas).extracting(RiskScoreDelta::accountNumber).containsExactly("ACC001", "ACC002");
+        assertThat(deltas.get(0).checks()).isEqualTo(2);
+        assertThat(deltas.get(0).blocked()).isEqualTo(1);
+        assertThat(deltas.get(0).scoreIncrease()).isEqualTo(80);
+        assertThat(deltas.get(1).flagged()).isEqualTo(1);
+        assertThat(deltas.get(1).scoreIncrease()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should keep the changes of a failed flush for the next one")
+    @SuppressWarnings("unchecked")
+    void shouldRetryFailedFlush() {
+        // Given
+        doThrow(new RuntimeException("connection refused"))
+                .doNothing()
+                .when(riskScoreBatchRepository).applyAll(anyList(), anyDouble());
+        writeBehind.recordAfterCommit(List.of(check("ACC001", FraudCheckStatus.BLOCKED, 80, now)));
+        writeBehind.flush();
+
+        // When
+        writeBehind.recordAfterCommit(List.of(check("ACC001", FraudCheckStatus.FLAGGED, 40, now)));
+        writeBehind.flush();
+
+        // Then
+        ArgumentCaptor<List<RiskScoreDelta>> deltasCaptor = ArgumentCaptor.forClass(List.class);
+        verify(riskScoreBatchRepository, times(2)).applyAll(deltasCaptor.capture(), anyDouble());
+        RiskScoreDelta retried = deltasCaptor.getAllValues().get(1).get(0);
+        assertThat(retried.checks()).isEqualTo(2);
+        assertThat(retried.blocked()).isEqualTo(1);
+        assertThat(retried.flagged()).isEqualTo(1);
+        assertThat(retried.scoreIncrease()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should read the stored score decayed and with the buffered checks applied")
+    void shouldReadStoredScoreWithPendingChanges() {
+        // Given
+        RiskScore stored = RiskScore.builder()
+                .accountNumber("ACC001")
+                .currentScore(40)
+                .riskLevel(RiskLevel.MEDIUM)
+                .totalChecks(5L)
+                .lastCheckAt(now.minusHours(2))
+                .build();
+        writeBehind.recordAfterCommit(List.of(check("ACC001", FraudCheckStatus.FLAGGED, 40, now)));
+
+        // When
+        RiskScore score = writeBehind.read("ACC001", account -> stored);
+
+        // Then - 40 less 10 points of decay, plus half the flagged score
+        assertThat(score.getCurrentScore()).isEqualTo(50);
+        assertThat(score.getRiskLevel()).isEqualTo(RiskLevel.MEDIUM);
+        assertThat(score.getTotalChecks()).isEqualTo(6L);
+        assertThat(score.getFlaggedCount()).isEqualTo(1L);
+        assertThat(score.getLastCheckAt()).isEqualTo(now);
+        assertThat(stored.getCurrentScore()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should decay the score between buffered checks of the same account")
+    void shouldDecayBetweenBufferedChecks() {
+        // Given - 30 points four hours ago have decayed to 10 by the second check
+        writeBehind.recordAfterCommit(List.of(
+                check("ACC001", FraudCheckStatus.FLAGGED, 60, now.minusHours(4)),
+                check("ACC001", FraudCheckStatus.BLOCKED, 50, now)));
+
+        // When
+        RiskScore score = writeBehind.read("ACC001", account -> null);
+
+        // Then
+        assertThat(score.getCurrentScore()).isEqualTo(60);
+        assertThat(score.getRiskLevel()).isEqualTo(RiskLevel.HIGH);
+    }
+
+    @Test
+    @DisplayName("Should include accounts with only buffered changes when reading all")
+    void shouldIncludePendingAccountsInReadAll() {
+        // Given
+        RiskScore high = RiskScore.builder()
+                .accountNumber("ACC001")
+                .currentScore(60)
+                .riskLevel(RiskLevel.HIGH)
+                .lastCheckAt(now)
+                .build();
+        RiskScore medium = RiskScore.builder()
+                .accountNumber("ACC003")
+                .currentScore(45)
+                .riskLevel(RiskLevel.MEDIUM)
+                .lastCheckAt(now)
+                .build();
+        writeBehind.recordAfterCommit(List.of(
+                check("ACC002", FraudCheckStatus.BLOCKED, 80, now),
+                check("ACC003", FraudCheckStatus.FLAGGED, 40, now)));
+
+        // When
+        List<RiskScore> scores = writeBehind.readAll(() -> List.of(high), accounts -> {
+            assertThat(accounts).containsExactlyInAnyOrder("ACC002", "ACC003");
+            return List.of(medium);
+        });
+
+        // Then
+        assertThat(scores).extracting(RiskScore::getAccountNumber)
+                .containsExactlyInAnyOrder("ACC001", "ACC002", "ACC003");
+        assertThat(scores).filteredOn(score -> score.getAccountNumber().equals("ACC002"))
+                .singleElement()
+                .satisfies(score -> assertThat(score.getRiskLevel()).isEqualTo(RiskLevel.CRITICAL));
+        assertThat(scores).filteredOn(score -> score.getAccountNumber().equals("ACC003"))
+                .singleElement()
+                .satisfies(score -> assertThat(score.getCurrentScore()).isEqualTo(65));
+    }
+
+    private static FraudCheck check(String accountNumber, FraudCheckStatus status, int riskScore,
+                                    LocalDateTime checkedAt) {
+        return FraudCheck.builder()
+                .accountNumber(accountNumber)
+                .status(status)
+                .riskScore(riskScore)
+                .checkedAt(checkedAt)
+                .build();
+    }
+}
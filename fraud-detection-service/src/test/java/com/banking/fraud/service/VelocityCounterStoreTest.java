@@ -0,0 +1,168 @@
+package com.banking.fraud.service;
+
+import com.banking.fraud.config.VelocityCounterConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VelocityCounterStore Unit Tests")
+class VelocityCounterStoreTest {
+
+    private static final String ACCOUNT = "ACC001";
+    private static final long BUCKET_MILLIS = 10_000L;
+    private static final long HORIZON_MILLIS = 60 * 60_000L;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private VelocityCounterConfig config;
+    private VelocityCounterStore store;
+
+    @BeforeEach
+    void setUp() {
+        config = new VelocityCounterConfig();
+        config.setBucketSeconds(10);
+        config.setHorizonMinutes(60);
+        config.setShards(4);
+        config.setRedisEnabled(false);
+
+        store = new VelocityCounterStore(config, jdbcTemplate, redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should count only the checks within the window")
+    void shouldCountChecksWithinWindow() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.record(ACCOUNT, now);
+        store.record(ACCOUNT, now);
+        store.record(ACCOUNT, now - 30_000);
+        store.record(ACCOUNT, now - 5 * 60_000);
+        store.record(ACCOUNT, now - 50 * 60_000);
+        store.record("ACC002", now);
+
+        // When / Then
+        assertThat(store.count(ACCOUNT, 1)).isEqualTo(3);
+        assertThat(store.count(ACCOUNT, 10)).isEqualTo(4);
+        assertThat(store.count(ACCOUNT, 60)).isEqualTo(5);
+        assertThat(store.count("ACC002", 60)).isEqualTo(1);
+        assertThat(store.count("ACC003", 60)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count late checks arriving after newer buckets opened")
+    void shouldCountLateChecks() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.record(ACCOUNT, now);
+        store.record(ACCOUNT, now - 20 * 60_000);
+        store.record(ACCOUNT, now - 30_000);
+
+        // When / Then
+        assertThat(store.count(ACCOUNT, 1)).isEqualTo(2);
+        assertThat(store.count(ACCOUNT, 30)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should ignore checks older than the horizon")
+    void shouldIgnoreChecksOutsideHorizon() {
+        // Given
+        long now = System.currentTimeMillis();
+        store.record(ACCOUNT, now - HORIZON_MILLIS - 5 * BUCKET_MILLIS);
+        store.record(ACCOUNT, now);
+
+        // When / Then
+        assertThat(store.count(ACCOUNT, 60)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expire a bucket when a newer bucket reuses its slot")
+    void shouldReuseExpiredSlot() {
+        // Given - the oldest bucket of the horizon, then one a full ring later taking its slot
+        long now = System.currentTimeMillis();
+        store.record(ACCOUNT, now - HORIZON_MILLIS);
+        store.record(ACCOUNT, now - HORIZON_MILLIS);
+        store.record(ACCOUNT, now + BUCKET_MILLIS);
+
+        // When / Then
+        assertThat(store.count(ACCOUNT, 60)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cover windows up to the horizon only once warmed")
+    void shouldCoverWindowsOnceWarmed() throws Exception {
+        // Given
+        long now = System.currentTimeMillis();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString(1)).thenReturn(ACCOUNT);
+        when(row.getTimestamp(2)).thenReturn(new Timestamp(now - 30_000));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+        assertThat(store.covers(30)).isFalse();
+
+        // When
+        store.warmUp();
+
+        // Then
+        assertThat(store.covers(30)).isTrue();
+        assertThat(store.covers(60)).isTrue();
+        assertThat(store.covers(61)).isFalse();
+        assertThat(store.count(ACCOUNT, 1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop the warm-up where live recording started")
+    void shouldWarmUpUntilConstruction() throws Exception {
+        // Given
+        long constructedBy = System.currentTimeMillis();
+        Thread.sleep(20);
+        store.record(ACCOUNT, System.currentTimeMillis());
+        AtomicReference<Timestamp> until = new AtomicReference<>();
+        doAnswer(invocation -> {
+            until.set(invocation.getArgument(3));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+        // When
+        store.warmUp();
+
+        // Then
+        assertThat(until.get().getTime()).isLessThanOrEqualTo(constructedBy);
+        assertThat(store.count(ACCOUNT, 1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep falling back to the database when the warm-up fails")
+    void shouldNotCover_WhenWarmUpFails() {
+        // Given
+        doThrow(new RuntimeException("connection refused"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+        // When
+        store.warmUp();
+
+        // Then
+        assertThat(store.covers(30)).isFalse();
+    }
+}
@@ -2,6 +2,8 @@ package com.banking.transfer.client;
 
 import com.banking.transfer.dto.AccountBalanceResponse;
 import com.banking.transfer.dto.ApiResponse;
+import com.banking.transfer.dto.InternalTransferRequest;
+import com.banking.transfer.dto.InternalTransferResponse;
 import com.banking.transfer.dto.TransactionRequest;
 import com.banking.transfer.dto.TransactionResponse;
 import org.springframework.cloud.openfeign.FeignClient;
@@ -29,4 +31,9 @@ public interface AccountServiceClient {
             @PathVariable("accountNumber") String accountNumber,
             @RequestBody TransactionRequest request
     );
-}
\ No newline at end of file
+
+    @PostMapping("/api/v1/accounts/transfers/internal")
+    ApiResponse<InternalTransferResponse> transferInternal(
+            @RequestBody InternalTransferRequest request
+    );
+}
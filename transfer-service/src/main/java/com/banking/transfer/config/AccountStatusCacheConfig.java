@@ -0,0 +1,26 @@
+package com.banking.transfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "transfer.account-cache")
+@Data
+public class AccountStatusCacheConfig {
+
+    /**
+     * Serve account status and currency during validation from the event-fed cache
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum cached accounts (least recently used are dropped)
+     */
+    private int maxSize = 50000;
+
+    /**
+     * Upper bound on how long an entry is served if an account event is missed
+     */
+    private long ttlMs = 300000;
+}
@@ -0,0 +1,36 @@
+package com.banking.transfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "transfer.idempotency")
+@Data
+public class IdempotencyConfig {
+
+    /**
+     * Skip the database lookup for idempotency keys the local Bloom filter has never seen
+     */
+    private boolean filterEnabled = true;
+
+    /**
+     * Keys older than this are not loaded into the filter (matches the Redis key TTL)
+     */
+    private int windowHours = 24;
+
+    /**
+     * Keys the first filter segment is sized for; further segments double in size
+     */
+    private int expectedInsertions = 1_000_000;
+
+    /**
+     * Target false-positive rate of the whole filter
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * When the filter is rebuilt from the database to drop keys outside the window
+     */
+    private String rebuildCron = "0 30 3 * * *";
+}
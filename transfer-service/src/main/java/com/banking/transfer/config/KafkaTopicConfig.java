@@ -39,4 +39,20 @@ public class KafkaTopicConfig {
                 .replicas(1)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public NewTopic transferBatchItemsTopic() {
+        return TopicBuilder.name("transfer.batch.items")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic transferBatchCompletedTopic() {
+        return TopicBuilder.name("transfer.batch.completed")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+}
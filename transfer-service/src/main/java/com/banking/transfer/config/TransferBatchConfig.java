@@ -0,0 +1,56 @@
+package com.banking.transfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "transfer.batch")
+@Data
+public class TransferBatchConfig {
+
+    /**
+     * Largest number of items accepted in one batch request
+     */
+    private int maxItems = 50_000;
+
+    /**
+     * Batches processed concurrently per instance
+     */
+    private int workerThreads = 2;
+
+    /**
+     * Batches waiting for a worker; beyond this they are left to the recovery sweep
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Source-account groups validated and debited concurrently (across all batches)
+     */
+    private int groupParallelism = 4;
+
+    /**
+     * Credit calls in flight at once (across all batches)
+     */
+    private int creditConcurrency = 32;
+
+    /**
+     * Rows per JDBC batch when writing items
+     */
+    private int writeBatchSize = 1000;
+
+    /**
+     * Item outcomes per Kafka event
+     */
+    private int eventChunkSize = 500;
+
+    /**
+     * How long a claim on a batch holds; renewed on a heartbeat once a third of it has passed
+     */
+    private long leaseSeconds = 600;
+
+    /**
+     * How often unfinished batches are looked for
+     */
+    private long recoveryIntervalMs = 60000;
+}
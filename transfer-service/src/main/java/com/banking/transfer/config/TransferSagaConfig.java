@@ -0,0 +1,94 @@
+package com.banking.transfer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "transfer.saga")
+@Data
+public class TransferSagaConfig {
+
+    /**
+     * Accept transfers with 202 and run the saga on the worker pool instead of the request thread
+     */
+    private boolean asyncEnabled = true;
+
+    /**
+     * Sagas driven concurrently per instance
+     */
+    private int workerThreads = 16;
+
+    /**
+     * Sagas waiting for a worker; beyond this they are left to the recovery sweep
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Default time limit for a single saga step (0 disables)
+     */
+    private long stepTimeoutMs = 15000;
+
+    /**
+     * Per-step overrides keyed by step name, e.g. VALIDATION_STEP
+     */
+    private Map<String, Long> stepTimeoutsMs = new HashMap<>();
+
+    /**
+     * Threads running steps under their time limit; also bounds steps left running after a timeout.
+     * When all are busy a step is not started and its saga waits for the recovery sweep.
+     */
+    private int stepThreads = 32;
+
+    /**
+     * How long a claimed saga belongs to one instance; must exceed the sum of the step timeouts
+     */
+    private long leaseSeconds = 120;
+
+    /**
+     * How often sagas with an expired (or never taken) lease are picked up again
+     */
+    private long recoveryIntervalMs = 30000;
+
+    /**
+     * Sagas resubmitted per recovery sweep
+     */
+    private int recoveryBatchSize = 200;
+
+    /**
+     * Look up source and destination accounts in parallel during validation
+     */
+    private boolean concurrentValidation = true;
+
+    /**
+     * Shared deadline for both account lookups of one validation
+     */
+    private long validationDeadlineMs = 3000;
+
+    /**
+     * Threads for concurrent account lookups
+     */
+    private int validationThreads = 32;
+
+    /**
+     * Lookups waiting for a thread; beyond this they run on the calling thread
+     */
+    private int validationQueueCapacity = 256;
+
+    /**
+     * Run INTERNAL transfers as one atomic account-service call instead of validate/debit/credit
+     */
+    private boolean internalFastPath = true;
+
+    /**
+     * Internal transfer calls with an unknown outcome before the saga is failed for reconciliation
+     */
+    private int internalMaxAttempts = 5;
+
+    public long timeoutFor(String stepName) {
+        return stepTimeoutsMs.getOrDefault(stepName, stepTimeoutMs);
+    }
+}
@@ -0,0 +1,62 @@
+package com.banking.transfer.controller;
+
+import com.banking.transfer.dto.ApiResponse;
+import com.banking.transfer.dto.BatchTransferItemResponse;
+import com.banking.transfer.dto.BatchTransferRequest;
+import com.banking.transfer.dto.BatchTransferResponse;
+import com.banking.transfer.model.BatchItemStatus;
+import com.banking.transfer.service.BatchTransferService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/transfers/batches")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchTransferController {
+
+    private final BatchTransferService batchTransferService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<BatchTransferResponse>> createBatch(
+            @Valid @RequestBody BatchTransferRequest request) {
+        log.info("POST /api/v1/transfers/batches - Submitting batch of {} items", request.getItems().size());
+
+        BatchTransferResponse response = batchTransferService.createBatch(request);
+
+        // Batches are always processed asynchronously; poll GET /batches/{batchReference}
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(response, "Batch accepted for processing"));
+    }
+
+    @GetMapping("/{batchReference}")
+    public ResponseEntity<ApiResponse<BatchTransferResponse>> getBatch(
+            @PathVariable("batchReference") String batchReference) {
+        log.info("GET /api/v1/transfers/batches/{} - Fetching batch progress", batchReference);
+
+        BatchTransferResponse response = batchTransferService.getBatch(batchReference);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Batch retrieved successfully"));
+    }
+
+    @GetMapping("/{batchReference}/items")
+    public ResponseEntity<ApiResponse<List<BatchTransferItemResponse>>> getBatchItems(
+            @PathVariable("batchReference") String batchReference,
+            @RequestParam(value = "status", required = false) BatchItemStatus status,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "100") int size) {
+        log.info("GET /api/v1/transfers/batches/{}/items - Fetching items", batchReference);
+
+        List<BatchTransferItemResponse> items = batchTransferService.getBatchItems(batchReference, status, page, size);
+
+        return ResponseEntity.ok(ApiResponse.success(items,
+                "Batch items retrieved - Count: " + items.size()));
+    }
+}
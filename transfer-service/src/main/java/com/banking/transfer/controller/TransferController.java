@@ -28,6 +28,13 @@ public class TransferController {
 
         TransferResponse response = transferService.initiateTransfer(request);
 
+        // Transfers still in flight are processed asynchronously; poll GET /{transferReference}
+        if (response.getStatus() != null && !response.getStatus().isTerminal()) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success(response, "Transfer accepted for processing"));
+        }
+
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ApiResponse.success(response, "Transfer initiated successfully"));
@@ -0,0 +1,25 @@
+package com.banking.transfer.dto;
+
+import com.banking.transfer.model.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferItemResponse {
+    private int lineNumber;
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private String currency;
+    private BatchItemStatus status;
+    private String failureReason;
+    private String debitTransactionId;
+    private String creditTransactionId;
+}
@@ -0,0 +1,27 @@
+package com.banking.transfer.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferRequest {
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    @NotEmpty(message = "At least one item is required")
+    private List<@Valid BatchTransferItemRequest> items;
+
+    // Idempotency key for duplicate prevention
+    private String idempotencyKey;
+}
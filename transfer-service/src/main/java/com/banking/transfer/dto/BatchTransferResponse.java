@@ -0,0 +1,30 @@
+package com.banking.transfer.dto;
+
+import com.banking.transfer.model.BatchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransferResponse {
+    private Long id;
+    private String batchReference;
+    private String description;
+    private BatchStatus status;
+    private int totalItems;
+    private int pendingItems;
+    private int completedItems;
+    private int failedItems;
+    private int reconciliationItems;
+    private BigDecimal totalAmount;
+    private BigDecimal completedAmount;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,21 @@
+package com.banking.transfer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InternalTransferRequest {
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private String currency;
+    private String description;
+    private String referenceId; // Transfer reference; account-service posts it at most once
+}
@@ -0,0 +1,24 @@
+package com.banking.transfer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InternalTransferResponse {
+    private String referenceId;
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private Long debitEntryId;
+    private Long creditEntryId;
+    private BigDecimal fromBalance;
+    private BigDecimal toBalance;
+    private boolean replayed;
+}
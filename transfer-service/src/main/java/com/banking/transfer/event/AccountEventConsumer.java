@@ -0,0 +1,81 @@
+package com.banking.transfer.event;
+
+import com.banking.transfer.service.AccountStatusCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kafka consumer for account-service's created and status events.
+ * Every instance joins with its own group id so each local status cache sees every change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountEventConsumer {
+
+    static final String ACCOUNT_CREATED_TOPIC = "account.created";
+    static final String ACCOUNT_UPDATED_TOPIC = "account.updated";
+    static final String ACCOUNT_FROZEN_TOPIC = "account.frozen";
+
+    private final AccountStatusCache accountStatusCache;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = ACCOUNT_CREATED_TOPIC,
+            groupId = "transfer-account-cache-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest",
+            autoStartup = "${transfer.account-cache.enabled:true}")
+    public void handleAccountCreated(String message) {
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            String accountNumber = event.get("accountNumber").asText();
+
+            // New accounts are opened active
+            accountStatusCache.apply(accountNumber, "ACTIVE", text(event, "currency"), changedAt(event));
+            log.debug("Cached new account: {}", accountNumber);
+        } catch (Exception e) {
+            log.error("Error processing account.created event", e);
+        }
+    }
+
+    @KafkaListener(
+            topics = {ACCOUNT_UPDATED_TOPIC, ACCOUNT_FROZEN_TOPIC},
+            groupId = "transfer-account-cache-#{T(java.util.UUID).randomUUID().toString()}",
+            properties = "auto.offset.reset=latest",
+            autoStartup = "${transfer.account-cache.enabled:true}")
+    public void handleAccountStatusChanged(String message) {
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            String accountNumber = event.get("accountNumber").asText();
+            String status = text(event, "newStatus");
+
+            if (status == null) {
+                // Not a status change we understand; fall back to a fresh lookup
+                accountStatusCache.evict(accountNumber);
+                return;
+            }
+            accountStatusCache.apply(accountNumber, status, null, changedAt(event));
+            log.debug("Account {} is now {}", accountNumber, status);
+        } catch (Exception e) {
+            log.error("Error processing account status event", e);
+        }
+    }
+
+    private static String text(JsonNode event, String field) {
+        return event.hasNonNull(field) ? event.get(field).asText() : null;
+    }
+
+    private static LocalDateTime changedAt(JsonNode event) {
+        try {
+            return event.hasNonNull("timestamp") ? LocalDateTime.parse(event.get("timestamp").asText()) : null;
+        } catch (Exception e) {
+            return null;  // Ordering check is skipped without a timestamp
+        }
+    }
+}
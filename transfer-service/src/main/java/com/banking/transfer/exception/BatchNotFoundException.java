@@ -0,0 +1,7 @@
+package com.banking.transfer.exception;
+
+public class BatchNotFoundException extends TransferException {
+    public BatchNotFoundException(String batchReference) {
+        super("Transfer batch not found: " + batchReference);
+    }
+}
@@ -24,6 +24,14 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(BatchNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBatchNotFound(BatchNotFoundException ex) {
+        log.error("Transfer batch not found: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleAccountNotFound(AccountNotFoundException ex) {
         log.error("Account not found: {}", ex.getMessage());
@@ -0,0 +1,10 @@
+package com.banking.transfer.exception;
+
+/**
+ * A saga step was not started because no step thread was free, so it had no effect
+ */
+public class SagaStepRejectedException extends TransferException {
+    public SagaStepRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.banking.transfer.exception;
+
+/**
+ * A saga step was abandoned before it reported a result, so its effect is unknown
+ */
+public class SagaStepTimeoutException extends TransferException {
+    public SagaStepTimeoutException(String message) {
+        super(message);
+    }
+}
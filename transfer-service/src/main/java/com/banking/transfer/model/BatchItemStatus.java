@@ -0,0 +1,14 @@
+package com.banking.transfer.model;
+
+public enum BatchItemStatus {
+    PENDING,     // Waiting for its source group
+    DEBITING,    // Group debit in flight
+    DEBITED,     // Group debited, credit outstanding
+    COMPLETED,   // Credited to destination
+    FAILED,      // Not transferred (refunded if it had been debited)
+    NEEDS_RECONCILIATION;  // Debit, credit or refund outcome unknown; a person settles it
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == NEEDS_RECONCILIATION;
+    }
+}
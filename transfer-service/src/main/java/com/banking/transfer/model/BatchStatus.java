@@ -0,0 +1,14 @@
+package com.banking.transfer.model;
+
+public enum BatchStatus {
+    PENDING,              // Accepted, not yet picked up
+    PROCESSING,           // Groups being debited and credited
+    COMPLETED,            // Every item credited
+    PARTIALLY_COMPLETED,  // Some items failed
+    FAILED,               // No item credited
+    NEEDS_RECONCILIATION; // Some items have an unknown outcome and await manual review
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == PARTIALLY_COMPLETED || this == FAILED || this == NEEDS_RECONCILIATION;
+    }
+}
@@ -0,0 +1,49 @@
+package com.banking.transfer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One append-only record of a saga step; the journal of a transfer is its audit trail
+ * and tells recovery how far an interrupted saga got.
+ */
+@Entity
+@Table(name = "saga_journal", indexes = {
+        @Index(name = "idx_saga_journal_transfer", columnList = "transferId, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SagaJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long transferId;
+
+    @Column(nullable = false, length = 50)
+    private String step;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private SagaStepOutcome outcome;
+
+    // Saga status once this entry was recorded
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransferStatus status;
+
+    @Column(length = 500)
+    private String detail;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+}
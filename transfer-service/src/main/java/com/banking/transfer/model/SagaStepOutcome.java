@@ -0,0 +1,11 @@
+package com.banking.transfer.model;
+
+public enum SagaStepOutcome {
+    STARTED,              // Step about to run
+    SUCCEEDED,            // Step completed
+    FAILED,               // Step reported failure
+    TIMED_OUT,            // Step outcome unknown
+    NOT_STARTED,          // Step not run, no step thread was free
+    COMPENSATED,          // Step reversed
+    COMPENSATION_FAILED   // Step reversal failed
+}
@@ -17,10 +17,11 @@ import java.time.LocalDateTime;
         @Index(name = "idx_from_account", columnList = "fromAccountNumber"),
         @Index(name = "idx_to_account", columnList = "toAccountNumber"),
         @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_created_at", columnList = "createdAt")
+        @Index(name = "idx_created_at", columnList = "createdAt"),
+        @Index(name = "idx_saga_lease", columnList = "status, leaseExpiresAt")
 })
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transfer {
@@ -74,6 +75,13 @@ public class Transfer {
     @Column
     private LocalDateTime completedAt;
 
+    // Instance currently driving the saga and until when its claim holds
+    @Column(length = 100)
+    private String sagaOwner;
+
+    @Column
+    private LocalDateTime leaseExpiresAt;
+
     @Version
     private Long version; // For optimistic locking
 
@@ -0,0 +1,72 @@
+package com.banking.transfer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "transfer_batches", indexes = {
+        @Index(name = "idx_batch_reference", columnList = "batchReference"),
+        @Index(name = "idx_batch_lease", columnList = "status, leaseExpiresAt")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String batchReference;
+
+    @Column(name = "idempotency_key", unique = true, length = 100)
+    private String idempotencyKey;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BatchStatus status;
+
+    @Column(nullable = false)
+    private Integer totalItems;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    // Final counts, filled in when the batch finishes
+    private Integer completedItems;
+
+    private Integer failedItems;
+
+    private Integer reconciliationItems;
+
+    private LocalDateTime completedAt;
+
+    // Instance currently processing the batch and until when its claim holds
+    @Column(length = 100)
+    private String owner;
+
+    private LocalDateTime leaseExpiresAt;
+
+    @Version
+    private Long version;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,70 @@
+package com.banking.transfer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of a batch. Items are inserted and updated with JDBC batches, so the
+ * timestamps are set by the writer rather than by Hibernate.
+ */
+@Entity
+@Table(name = "transfer_batch_items", indexes = {
+        @Index(name = "idx_batch_item_status", columnList = "batchId, status"),
+        @Index(name = "idx_batch_item_line", columnList = "batchId, lineNumber", unique = true)
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferBatchItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long batchId;
+
+    @Column(nullable = false)
+    private Integer lineNumber;
+
+    @Column(nullable = false, length = 50)
+    private String fromAccountNumber;
+
+    @Column(nullable = false, length = 50)
+    private String toAccountNumber;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BatchItemStatus status;
+
+    @Column(length = 1000)
+    private String failureReason;
+
+    // Shared by every item of the same source group
+    @Column(length = 50)
+    private String debitTransactionId;
+
+    @Column(length = 50)
+    private String creditTransactionId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -9,5 +9,9 @@ public enum TransferStatus {
     COMPLETED,           // Transfer successful
     FAILED,              // Transfer failed
     COMPENSATING,        // Rollback in progress
-    COMPENSATED          // Rollback completed
+    COMPENSATED;         // Rollback completed
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == COMPENSATED;
+    }
 }
\ No newline at end of file
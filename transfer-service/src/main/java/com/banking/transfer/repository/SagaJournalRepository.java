@@ -0,0 +1,16 @@
+package com.banking.transfer.repository;
+
+import com.banking.transfer.model.SagaJournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SagaJournalRepository extends JpaRepository<SagaJournalEntry, Long> {
+
+    List<SagaJournalEntry> findByTransferIdOrderByIdAsc(Long transferId);
+
+    Optional<SagaJournalEntry> findTopByTransferIdOrderByIdDesc(Long transferId);
+}
@@ -0,0 +1,37 @@
+package com.banking.transfer.repository;
+
+import com.banking.transfer.model.BatchItemStatus;
+import com.banking.transfer.model.TransferBatchItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TransferBatchItemRepository extends JpaRepository<TransferBatchItem, Long> {
+
+    List<TransferBatchItem> findByBatchIdAndStatusInOrderByLineNumberAsc(Long batchId,
+                                                                        Collection<BatchItemStatus> statuses);
+
+    List<TransferBatchItem> findByBatchIdOrderByLineNumberAsc(Long batchId, Pageable pageable);
+
+    List<TransferBatchItem> findByBatchIdAndStatusOrderByLineNumberAsc(Long batchId, BatchItemStatus status,
+                                                                      Pageable pageable);
+
+    @Query("SELECT i.status AS status, COUNT(i) AS count, SUM(i.amount) AS amount " +
+            "FROM TransferBatchItem i WHERE i.batchId = :batchId GROUP BY i.status")
+    List<StatusTotal> summarizeByStatus(@Param("batchId") Long batchId);
+
+    interface StatusTotal {
+        BatchItemStatus getStatus();
+
+        Long getCount();
+
+        BigDecimal getAmount();
+    }
+}
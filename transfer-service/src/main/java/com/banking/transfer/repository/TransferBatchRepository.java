@@ -0,0 +1,60 @@
+package com.banking.transfer.repository;
+
+import com.banking.transfer.model.BatchStatus;
+import com.banking.transfer.model.TransferBatch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransferBatchRepository extends JpaRepository<TransferBatch, Long> {
+
+    Optional<TransferBatch> findByBatchReference(String batchReference);
+
+    Optional<TransferBatch> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Take a batch unless another instance holds an unexpired lease on it
+     *
+     * @return 1 if claimed, 0 otherwise
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TransferBatch b SET b.owner = :owner, b.leaseExpiresAt = :leaseUntil, " +
+            "b.status = com.banking.transfer.model.BatchStatus.PROCESSING, b.version = b.version + 1 " +
+            "WHERE b.id = :id AND b.status IN :statuses AND (b.leaseExpiresAt IS NULL OR b.leaseExpiresAt < :now)")
+    int claimBatch(@Param("id") Long id,
+                   @Param("statuses") List<BatchStatus> statuses,
+                   @Param("owner") String owner,
+                   @Param("leaseUntil") LocalDateTime leaseUntil,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Extend the lease while groups are still being processed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TransferBatch b SET b.leaseExpiresAt = :leaseUntil WHERE b.id = :id AND b.owner = :owner")
+    int renewLease(@Param("id") Long id,
+                   @Param("owner") String owner,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Unfinished batches nobody is processing: expired leases, or never claimed since before the threshold
+     */
+    @Query("SELECT b.id FROM TransferBatch b WHERE b.status IN :statuses AND " +
+            "(b.leaseExpiresAt < :now OR (b.leaseExpiresAt IS NULL AND b.createdAt < :unclaimedBefore)) " +
+            "ORDER BY b.createdAt")
+    List<Long> findOrphanedBatchIds(@Param("statuses") List<BatchStatus> statuses,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("unclaimedBefore") LocalDateTime unclaimedBefore,
+                                    Pageable pageable);
+}
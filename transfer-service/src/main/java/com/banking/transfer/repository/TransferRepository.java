@@ -2,10 +2,13 @@ package com.banking.transfer.repository;
 
 import com.banking.transfer.model.Transfer;
 import com.banking.transfer.model.TransferStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,4 +37,30 @@ public interface TransferRepository extends JpaRepository<Transfer, Long> {
     );
 
     boolean existsByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Take the saga of a transfer unless another instance holds an unexpired lease on it
+     *
+     * @return 1 if claimed, 0 otherwise
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Transfer t SET t.sagaOwner = :owner, t.leaseExpiresAt = :leaseUntil, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.status IN :statuses AND (t.leaseExpiresAt IS NULL OR t.leaseExpiresAt < :now)")
+    int claimSaga(@Param("id") Long id,
+                  @Param("statuses") List<TransferStatus> statuses,
+                  @Param("owner") String owner,
+                  @Param("leaseUntil") LocalDateTime leaseUntil,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * In-flight sagas nobody is driving: expired leases, or never claimed since before the threshold
+     */
+    @Query("SELECT t.id FROM Transfer t WHERE t.status IN :statuses AND " +
+            "(t.leaseExpiresAt < :now OR (t.leaseExpiresAt IS NULL AND t.createdAt < :unclaimedBefore)) " +
+            "ORDER BY t.createdAt")
+    List<Long> findOrphanedSagaIds(@Param("statuses") List<TransferStatus> statuses,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("unclaimedBefore") LocalDateTime unclaimedBefore,
+                                   Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.banking.transfer.saga;
+
+import com.banking.transfer.client.AccountServiceClient;
+import com.banking.transfer.dto.ApiResponse;
+import com.banking.transfer.dto.InternalTransferRequest;
+import com.banking.transfer.dto.InternalTransferResponse;
+import com.banking.transfer.model.Transfer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Internal Transfer Step
+ * Validates, debits and credits both accounts in one local transaction of account-service.
+ * The transfer reference makes the call idempotent there, so when the outcome is unknown
+ * (timeout, connection or server error) the exception is propagated and the call retried later.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InternalTransferStep implements SagaStep {
+
+    private final AccountServiceClient accountServiceClient;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean execute(Transfer transfer) {
+        log.info("Executing INTERNAL_TRANSFER step for transfer: {}", transfer.getTransferReference());
+
+        InternalTransferRequest request = InternalTransferRequest.builder()
+                .fromAccountNumber(transfer.getFromAccountNumber())
+                .toAccountNumber(transfer.getToAccountNumber())
+                .amount(transfer.getAmount())
+                .currency(transfer.getCurrency())
+                .description("Transfer " + transfer.getFromAccountNumber() + " to " + transfer.getToAccountNumber() +
+                        " - Ref: " + transfer.getTransferReference())
+                .referenceId(transfer.getTransferReference())
+                .build();
+
+        ApiResponse<InternalTransferResponse> response;
+        try {
+            response = accountServiceClient.transferInternal(request);
+        } catch (FeignException e) {
+            if (e.status() < 400 || e.status() >= 500) {
+                throw e;
+            }
+            // Rejected by account-service: nothing was posted
+            String reason = errorMessage(e);
+            log.error("INTERNAL_TRANSFER step rejected for transfer {}: {}", transfer.getTransferReference(), reason);
+            transfer.setFailureReason("Internal transfer rejected: " + reason);
+            return false;
+        }
+
+        if (!response.isSuccess() || response.getData() == null) {
+            log.error("INTERNAL_TRANSFER step failed: {}", response.getMessage());
+            transfer.setFailureReason("Internal transfer failed: " + response.getMessage());
+            return false;
+        }
+
+        InternalTransferResponse result = response.getData();
+        transfer.setDebitTransactionId(String.valueOf(result.getDebitEntryId()));
+        transfer.setCreditTransactionId(String.valueOf(result.getCreditEntryId()));
+        log.info("INTERNAL_TRANSFER step successful{} - Debit: {}, Credit: {}",
+                result.isReplayed() ? " (already posted)" : "", result.getDebitEntryId(), result.getCreditEntryId());
+        return true;
+    }
+
+    @Override
+    public boolean compensate(Transfer transfer) {
+        // A single local transaction either posted both legs or neither
+        return true;
+    }
+
+    @Override
+    public String getStepName() {
+        return "INTERNAL_TRANSFER_STEP";
+    }
+
+    private String errorMessage(FeignException e) {
+        try {
+            JsonNode message = objectMapper.readTree(e.contentUTF8()).get("message");
+            if (message != null && !message.isNull()) {
+                return message.asText();
+            }
+        } catch (Exception ignored) {
+            // Not an ApiResponse body
+        }
+        return e.getMessage();
+    }
+}
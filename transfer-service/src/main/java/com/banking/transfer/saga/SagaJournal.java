@@ -0,0 +1,85 @@
+package com.banking.transfer.saga;
+
+import com.banking.transfer.model.SagaJournalEntry;
+import com.banking.transfer.repository.SagaJournalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Saga Journal
+ * Append-only step log of each saga. Entries are buffered by the orchestrator and
+ * written as one JDBC batch, together with the transfer row update when there is one.
+ * A checkpoint without a row update still moves the row's status to the latest step,
+ * so reads of the transfer show the saga's progress.
+ */
+@Component
+@Slf4j
+public class SagaJournal {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO saga_journal (transfer_id, step, outcome, status, detail, recorded_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_STATUS_SQL = "UPDATE transfers SET status = ? WHERE id = ?";
+    private static final int DETAIL_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SagaJournalRepository journalRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SagaJournal(JdbcTemplate jdbcTemplate, SagaJournalRepository journalRepository,
+                       PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.journalRepository = journalRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Insert the entries, running rowUpdate (if any) in the same transaction; without one,
+     * the transfer's status is set to that of the last entry.
+     * Joins the caller's transaction when there is one.
+     */
+    public void append(List<SagaJournalEntry> entries, Runnable rowUpdate) {
+        if (entries.isEmpty() && rowUpdate == null) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!entries.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getTransferId());
+                    ps.setString(2, entry.getStep());
+                    ps.setString(3, entry.getOutcome().name());
+                    ps.setString(4, entry.getStatus().name());
+                    ps.setString(5, truncate(entry.getDetail()));
+                    ps.setTimestamp(6, Timestamp.valueOf(entry.getRecordedAt()));
+                });
+            }
+            if (rowUpdate != null) {
+                rowUpdate.run();
+            } else {
+                SagaJournalEntry last = entries.get(entries.size() - 1);
+                jdbcTemplate.update(UPDATE_STATUS_SQL, last.getStatus().name(), last.getTransferId());
+            }
+        });
+        log.debug("Appended {} saga journal entries", entries.size());
+    }
+
+    public Optional<SagaJournalEntry> lastEntry(Long transferId) {
+        return journalRepository.findTopByTransferIdOrderByIdDesc(transferId);
+    }
+
+    public List<SagaJournalEntry> history(Long transferId) {
+        return journalRepository.findByTransferIdOrderByIdAsc(transferId);
+    }
+
+    private static String truncate(String detail) {
+        return detail == null || detail.length() <= DETAIL_LENGTH ? detail : detail.substring(0, DETAIL_LENGTH);
+    }
+}
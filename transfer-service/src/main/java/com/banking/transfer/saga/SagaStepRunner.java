@@ -0,0 +1,105 @@
+package com.banking.transfer.saga;
+
+import com.banking.transfer.config.TransferSagaConfig;
+import com.banking.transfer.exception.SagaStepRejectedException;
+import com.banking.transfer.exception.SagaStepTimeoutException;
+import com.banking.transfer.exception.TransferException;
+import com.banking.transfer.model.Transfer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs saga steps under their configured time limit.
+ * A step that overruns is interrupted, abandoned and reported as {@link SagaStepTimeoutException};
+ * its downstream call may still complete, so callers must treat the outcome as unknown.
+ * Steps run on a copy of the transfer whose results are merged back only when the step
+ * returns in time, so an abandoned step cannot change the transfer afterwards.
+ * When every step thread is busy the step is not started and {@link SagaStepRejectedException}
+ * is thrown; the saga stops and lease recovery runs the step later.
+ */
+@Component
+@Slf4j
+public class SagaStepRunner {
+
+    private final TransferSagaConfig sagaConfig;
+    private final ThreadPoolExecutor executor;
+
+    public SagaStepRunner(TransferSagaConfig sagaConfig) {
+        this.sagaConfig = sagaConfig;
+        int threads = Math.max(1, sagaConfig.getStepThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        // No queue: time spent waiting would count against the step. When every thread is
+        // busy the step is rejected rather than run on the saga thread without a time limit.
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "saga-step-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public boolean run(SagaStep step, Transfer transfer) {
+        long timeoutMs = sagaConfig.timeoutFor(step.getStepName());
+        if (timeoutMs <= 0) {
+            return step.execute(transfer);
+        }
+
+        Transfer copy = transfer.toBuilder().build();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> step.execute(copy));
+        } catch (RejectedExecutionException e) {
+            log.warn("No thread free for {} of transfer {}, step not started",
+                    step.getStepName(), transfer.getTransferReference());
+            throw new SagaStepRejectedException(step.getStepName() + " was not started: all "
+                    + executor.getMaximumPoolSize() + " step threads are busy");
+        }
+        try {
+            boolean succeeded = result.get(timeoutMs, TimeUnit.MILLISECONDS);
+            merge(copy, transfer);
+            return succeeded;
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            log.error("{} timed out after {} ms for transfer {}",
+                    step.getStepName(), timeoutMs, transfer.getTransferReference());
+            throw new SagaStepTimeoutException(step.getStepName() + " did not finish within " + timeoutMs + " ms");
+        } catch (ExecutionException e) {
+            merge(copy, transfer);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TransferException(step.getStepName() + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new SagaStepTimeoutException(step.getStepName() + " was interrupted");
+        }
+    }
+
+    /**
+     * Steps report their outcome through these fields only
+     */
+    private static void merge(Transfer from, Transfer to) {
+        to.setFailureReason(from.getFailureReason());
+        to.setDebitTransactionId(from.getDebitTransactionId());
+        to.setCreditTransactionId(from.getCreditTransactionId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,8 +1,14 @@
 package com.banking.transfer.saga;
 
+import com.banking.transfer.config.TransferSagaConfig;
 import com.banking.transfer.exception.SagaCompensationException;
+import com.banking.transfer.exception.SagaStepRejectedException;
+import com.banking.transfer.exception.SagaStepTimeoutException;
+import com.banking.transfer.model.SagaJournalEntry;
+import com.banking.transfer.model.SagaStepOutcome;
 import com.banking.transfer.model.Transfer;
 import com.banking.transfer.model.TransferStatus;
+import com.banking.transfer.model.TransferType;
 import com.banking.transfer.repository.TransferRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +20,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Transfer Saga Orchestrator
+ * Steps are recorded in the saga journal rather than by rewriting the transfer row on every
+ * transition. Journal entries are buffered and written in one batch; the batch is flushed on
+ * its own before debits, credits and reversals (so recovery can tell they may have run, and
+ * with a status-only update of the row so reads show progress), and otherwise together with
+ * the single transfer row update when the saga ends.
+ * Internal transfers take a fast path: one idempotent account-service call that moves the
+ * funds in a single local transaction, so there is nothing to compensate.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -23,48 +39,111 @@ public class TransferSagaOrchestrator {
     private final DebitStep debitStep;
     private final CreditStep creditStep;
     private final TransferRepository transferRepository;
+    private final SagaStepRunner stepRunner;
+    private final SagaJournal journal;
+    private final InternalTransferStep internalTransferStep;
+    private final TransferSagaConfig sagaConfig;
+
+    private static final String SAGA = "SAGA";
+    private static final String COMPENSATION = "COMPENSATION";
 
     @Transactional
     public Transfer executeTransfer(Transfer transfer) {
         log.info("Starting SAGA orchestration for transfer: {}", transfer.getTransferReference());
 
-        List<SagaStep> executedSteps = new ArrayList<>();
         transfer.setInitiatedAt(LocalDateTime.now());
+        return advance(transfer, new ArrayList<>());
+    }
+
+    /**
+     * Continue a persisted saga from where its journal (or, for older sagas, its status) left off.
+     * Runs without a surrounding transaction, so every journal flush is committed as it happens.
+     * Debits, credits and reversals are not idempotent downstream: a saga that was interrupted
+     * while one of them was in flight is failed for manual reconciliation instead of retried.
+     */
+    public Transfer resumeTransfer(Transfer transfer) {
+        TransferStatus status = effectiveStatus(transfer);
+        switch (status) {
+            case PENDING:
+                log.info("Starting SAGA orchestration for transfer: {}", transfer.getTransferReference());
+                if (transfer.getInitiatedAt() == null) {
+                    transfer.setInitiatedAt(LocalDateTime.now());
+                }
+                return advance(transfer, new ArrayList<>());
+            case VALIDATING:
+            case DEBIT_COMPLETED:
+                log.info("Resuming SAGA for transfer {} from {}", transfer.getTransferReference(), status);
+                transfer.setStatus(status);
+                return advance(transfer, new ArrayList<>());
+            case DEBIT_PENDING:
+            case CREDIT_PENDING:
+            case COMPENSATING:
+                return requireReconciliation(transfer, new ArrayList<>(), "Saga interrupted in status " + status);
+            default:
+                return transfer;
+        }
+    }
+
+    private Transfer advance(Transfer transfer, List<SagaJournalEntry> entries) {
+        if (transfer.getStatus() != TransferStatus.DEBIT_COMPLETED && isFastPathEligible(transfer)) {
+            return advanceInternal(transfer, entries);
+        }
+
+        List<SagaStep> executedSteps = new ArrayList<>();
+        SagaStep currentStep = null;
 
         try {
-            // Step 1: Validation
-            transfer.setStatus(TransferStatus.VALIDATING);
-            transferRepository.save(transfer);
+            if (transfer.getStatus() == TransferStatus.DEBIT_COMPLETED) {
+                executedSteps.add(validationStep);
+                executedSteps.add(debitStep);
+            } else {
+                // Step 1: Validation
+                currentStep = validationStep;
+                transfer.setStatus(TransferStatus.VALIDATING);
+                record(entries, transfer, validationStep.getStepName(), SagaStepOutcome.STARTED, null);
 
-            if (!validationStep.execute(transfer)) {
-                log.error("Validation failed: {}", transfer.getFailureReason());
-                transfer.setStatus(TransferStatus.FAILED);
-                transferRepository.save(transfer);
-                return transfer;
-            }
-            executedSteps.add(validationStep);
+                if (!stepRunner.run(validationStep, transfer)) {
+                    log.error("Validation failed: {}", transfer.getFailureReason());
+                    transfer.setStatus(TransferStatus.FAILED);
+                    record(entries, transfer, validationStep.getStepName(), SagaStepOutcome.FAILED,
+                            transfer.getFailureReason());
+                    finish(transfer, entries);
+                    return transfer;
+                }
+                record(entries, transfer, validationStep.getStepName(), SagaStepOutcome.SUCCEEDED, null);
+                executedSteps.add(validationStep);
 
-            // Step 2: Debit from source account
-            transfer.setStatus(TransferStatus.DEBIT_PENDING);
-            transferRepository.save(transfer);
+                // Step 2: Debit from source account
+                currentStep = debitStep;
+                transfer.setStatus(TransferStatus.DEBIT_PENDING);
+                record(entries, transfer, debitStep.getStepName(), SagaStepOutcome.STARTED, null);
+                checkpoint(entries);
 
-            if (!debitStep.execute(transfer)) {
-                log.error("Debit step failed: {}", transfer.getFailureReason());
-                compensate(executedSteps, transfer);
-                return transfer;
-            }
-            executedSteps.add(debitStep);
+                if (!stepRunner.run(debitStep, transfer)) {
+                    log.error("Debit step failed: {}", transfer.getFailureReason());
+                    record(entries, transfer, debitStep.getStepName(), SagaStepOutcome.FAILED,
+                            transfer.getFailureReason());
+                    compensate(executedSteps, transfer, entries);
+                    return transfer;
+                }
+                executedSteps.add(debitStep);
 
-            transfer.setStatus(TransferStatus.DEBIT_COMPLETED);
-            transferRepository.save(transfer);
+                transfer.setStatus(TransferStatus.DEBIT_COMPLETED);
+                record(entries, transfer, debitStep.getStepName(), SagaStepOutcome.SUCCEEDED,
+                        transfer.getDebitTransactionId());
+            }
 
             // Step 3: Credit to destination account
+            currentStep = creditStep;
             transfer.setStatus(TransferStatus.CREDIT_PENDING);
-            transferRepository.save(transfer);
+            record(entries, transfer, creditStep.getStepName(), SagaStepOutcome.STARTED, null);
+            checkpoint(entries);
 
-            if (!creditStep.execute(transfer)) {
+            if (!stepRunner.run(creditStep, transfer)) {
                 log.error("Credit step failed: {}", transfer.getFailureReason());
-                compensate(executedSteps, transfer);
+                record(entries, transfer, creditStep.getStepName(), SagaStepOutcome.FAILED,
+                        transfer.getFailureReason());
+                compensate(executedSteps, transfer, entries);
                 return transfer;
             }
             executedSteps.add(creditStep);
@@ -72,25 +151,116 @@ public class TransferSagaOrchestrator {
             // Success!
             transfer.setStatus(TransferStatus.COMPLETED);
             transfer.setCompletedAt(LocalDateTime.now());
-            transferRepository.save(transfer);
+            record(entries, transfer, creditStep.getStepName(), SagaStepOutcome.SUCCEEDED,
+                    transfer.getCreditTransactionId());
+            finish(transfer, entries);
 
             log.info("SAGA orchestration completed successfully for transfer: {}",
                     transfer.getTransferReference());
             return transfer;
 
+        } catch (SagaStepRejectedException e) {
+            return deferStep(transfer, entries, currentStep, e.getMessage());
+
+        } catch (SagaStepTimeoutException e) {
+            if (currentStep != null) {
+                record(entries, transfer, currentStep.getStepName(), SagaStepOutcome.TIMED_OUT, e.getMessage());
+            }
+            if (transfer.getStatus() == TransferStatus.VALIDATING) {
+                // Validation has no side effects, so a timeout is a plain failure
+                transfer.setFailureReason("Validation error: " + e.getMessage());
+                transfer.setStatus(TransferStatus.FAILED);
+                finish(transfer, entries);
+                return transfer;
+            }
+            return requireReconciliation(transfer, entries, e.getMessage());
+
         } catch (Exception e) {
             log.error("Unexpected error during SAGA execution: {}", e.getMessage(), e);
             transfer.setFailureReason("Unexpected error: " + e.getMessage());
-            compensate(executedSteps, transfer);
+            compensate(executedSteps, transfer, entries);
             return transfer;
         }
     }
 
-    private void compensate(List<SagaStep> executedSteps, Transfer transfer) {
+    /**
+     * Run an internal transfer as one account-service call. The transfer stays PENDING until the
+     * outcome is known; when it is not (timeout, server error) the lease runs out and recovery
+     * repeats the call, which account-service answers from the original postings. After
+     * internalMaxAttempts unknown outcomes, counted from the journal, it is failed for
+     * reconciliation instead.
+     */
+    private Transfer advanceInternal(Transfer transfer, List<SagaJournalEntry> entries) {
+        String stepName = internalTransferStep.getStepName();
+        transfer.setStatus(TransferStatus.PENDING);
+        record(entries, transfer, stepName, SagaStepOutcome.STARTED, null);
+
+        boolean succeeded;
+        try {
+            succeeded = stepRunner.run(internalTransferStep, transfer);
+        } catch (SagaStepRejectedException e) {
+            log.warn("Internal transfer {} not started, leaving it for retry: {}",
+                    transfer.getTransferReference(), e.getMessage());
+            record(entries, transfer, stepName, SagaStepOutcome.NOT_STARTED, e.getMessage());
+            checkpoint(entries);
+            return transfer;
+        } catch (Exception e) {
+            log.warn("Outcome of internal transfer {} unknown, leaving it for retry: {}",
+                    transfer.getTransferReference(), e.getMessage());
+            record(entries, transfer, stepName,
+                    e instanceof SagaStepTimeoutException ? SagaStepOutcome.TIMED_OUT : SagaStepOutcome.FAILED,
+                    e.getMessage());
+            long attempts = unknownOutcomes(transfer, stepName) + 1;
+            if (attempts >= sagaConfig.getInternalMaxAttempts()) {
+                return requireReconciliation(transfer, entries,
+                        "Internal transfer outcome still unknown after " + attempts + " attempts");
+            }
+            checkpoint(entries);
+            return transfer;
+        }
+
+        if (!succeeded) {
+            log.error("Internal transfer failed: {}", transfer.getFailureReason());
+            transfer.setStatus(TransferStatus.FAILED);
+            record(entries, transfer, stepName, SagaStepOutcome.FAILED, transfer.getFailureReason());
+            finish(transfer, entries);
+            return transfer;
+        }
+
+        transfer.setStatus(TransferStatus.COMPLETED);
+        transfer.setCompletedAt(LocalDateTime.now());
+        record(entries, transfer, stepName, SagaStepOutcome.SUCCEEDED, transfer.getDebitTransactionId());
+        finish(transfer, entries);
+
+        log.info("Internal transfer {} completed in a single account-service transaction",
+                transfer.getTransferReference());
+        return transfer;
+    }
+
+    /**
+     * Earlier calls of the step whose outcome was left unknown
+     */
+    private long unknownOutcomes(Transfer transfer, String stepName) {
+        if (transfer.getId() == null) {
+            return 0;
+        }
+        return journal.history(transfer.getId()).stream()
+                .filter(entry -> stepName.equals(entry.getStep()))
+                .filter(entry -> entry.getOutcome() == SagaStepOutcome.TIMED_OUT
+                        || entry.getOutcome() == SagaStepOutcome.FAILED)
+                .count();
+    }
+
+    private boolean isFastPathEligible(Transfer transfer) {
+        return sagaConfig.isInternalFastPath() && transfer.getTransferType() == TransferType.INTERNAL;
+    }
+
+    private void compensate(List<SagaStep> executedSteps, Transfer transfer, List<SagaJournalEntry> entries) {
         log.warn("Starting compensation for transfer: {}", transfer.getTransferReference());
 
         transfer.setStatus(TransferStatus.COMPENSATING);
-        transferRepository.save(transfer);
+        record(entries, transfer, COMPENSATION, SagaStepOutcome.STARTED, transfer.getFailureReason());
+        checkpoint(entries);
 
         // Reverse the steps in reverse order
         Collections.reverse(executedSteps);
@@ -98,16 +268,20 @@ public class TransferSagaOrchestrator {
         boolean compensationSuccessful = true;
 
         for (SagaStep step : executedSteps) {
+            boolean reversed;
             try {
                 log.info("Compensating step: {}", step.getStepName());
-                if (!step.compensate(transfer)) {
+                reversed = step.compensate(transfer);
+                if (!reversed) {
                     log.error("Compensation failed for step: {}", step.getStepName());
-                    compensationSuccessful = false;
                 }
             } catch (Exception e) {
                 log.error("Compensation error for step {}: {}", step.getStepName(), e.getMessage(), e);
-                compensationSuccessful = false;
+                reversed = false;
             }
+            compensationSuccessful &= reversed;
+            record(entries, transfer, step.getStepName(),
+                    reversed ? SagaStepOutcome.COMPENSATED : SagaStepOutcome.COMPENSATION_FAILED, null);
         }
 
         if (compensationSuccessful) {
@@ -122,6 +296,86 @@ public class TransferSagaOrchestrator {
             transfer.setFailureReason(transfer.getFailureReason() + " | " + errorMsg);
         }
 
-        transferRepository.save(transfer);
+        record(entries, transfer, COMPENSATION,
+                compensationSuccessful ? SagaStepOutcome.SUCCEEDED : SagaStepOutcome.FAILED, null);
+        finish(transfer, entries);
+    }
+
+    /**
+     * Stop a saga whose step could not start. The step had no effect, so the saga is put back
+     * to where recovery repeats it once the lease runs out.
+     */
+    private Transfer deferStep(Transfer transfer, List<SagaJournalEntry> entries, SagaStep step, String reason) {
+        log.warn("{} of transfer {} not started, leaving it for recovery: {}",
+                step.getStepName(), transfer.getTransferReference(), reason);
+        transfer.setStatus(step == creditStep ? TransferStatus.DEBIT_COMPLETED : TransferStatus.VALIDATING);
+        record(entries, transfer, step.getStepName(), SagaStepOutcome.NOT_STARTED, reason);
+        checkpoint(entries);
+        return transfer;
+    }
+
+    private Transfer requireReconciliation(Transfer transfer, List<SagaJournalEntry> entries, String reason) {
+        String errorMsg = reason + " - outcome unknown, manual intervention required for transfer: " +
+                transfer.getTransferReference();
+        log.error(errorMsg);
+
+        transfer.setFailureReason(transfer.getFailureReason() == null
+                ? errorMsg : transfer.getFailureReason() + " | " + errorMsg);
+        transfer.setStatus(TransferStatus.FAILED);
+        record(entries, transfer, SAGA, SagaStepOutcome.FAILED, errorMsg);
+        finish(transfer, entries);
+        return transfer;
+    }
+
+    /**
+     * The row only changes when a saga ends, so a non-terminal row may be behind its journal
+     */
+    private TransferStatus effectiveStatus(Transfer transfer) {
+        if (transfer.getStatus().isTerminal() || transfer.getId() == null) {
+            return transfer.getStatus();
+        }
+        return journal.lastEntry(transfer.getId())
+                .map(SagaJournalEntry::getStatus)
+                .orElse(transfer.getStatus());
+    }
+
+    private void record(List<SagaJournalEntry> entries, Transfer transfer, String step,
+                        SagaStepOutcome outcome, String detail) {
+        entries.add(SagaJournalEntry.builder()
+                .transferId(transfer.getId())
+                .step(step)
+                .outcome(outcome)
+                .status(transfer.getStatus())
+                .detail(detail)
+                .recordedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Make the buffered entries durable before a non-idempotent call
+     */
+    private void checkpoint(List<SagaJournalEntry> entries) {
+        journal.append(drain(entries), null);
+    }
+
+    /**
+     * Write the buffered entries and the final transfer row in one transaction
+     */
+    private void finish(Transfer transfer, List<SagaJournalEntry> entries) {
+        journal.append(drain(entries), () -> persist(transfer));
+    }
+
+    private static List<SagaJournalEntry> drain(List<SagaJournalEntry> entries) {
+        List<SagaJournalEntry> batch = new ArrayList<>(entries);
+        entries.clear();
+        return batch;
+    }
+
+    private void persist(Transfer transfer) {
+        Transfer saved = transferRepository.save(transfer);
+        // Outside a transaction save() merges into a copy; keep the optimistic lock version in step
+        if (saved != null && saved != transfer) {
+            transfer.setVersion(saved.getVersion());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,190 @@
+package com.banking.transfer.saga;
+
+import com.banking.transfer.config.TransferSagaConfig;
+import com.banking.transfer.model.Transfer;
+import com.banking.transfer.model.TransferStatus;
+import com.banking.transfer.repository.TransferRepository;
+import com.banking.transfer.service.KafkaEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transfer Saga Worker
+ * Drives accepted transfers through the saga on a bounded worker pool. Each saga is
+ * claimed with a lease in the transfers table before it runs, so a transfer is driven
+ * by one instance at a time. Sagas whose lease expired (crashed instance) or that were
+ * never picked up (full queue, crash before submit) are resubmitted on startup and by a
+ * periodic sweep.
+ */
+@Component
+@Slf4j
+public class TransferSagaWorker {
+
+    static final List<TransferStatus> IN_FLIGHT = List.of(
+            TransferStatus.PENDING,
+            TransferStatus.VALIDATING,
+            TransferStatus.DEBIT_PENDING,
+            TransferStatus.DEBIT_COMPLETED,
+            TransferStatus.CREDIT_PENDING,
+            TransferStatus.COMPENSATING);
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 30;
+
+    private final TransferRepository transferRepository;
+    private final TransferSagaOrchestrator sagaOrchestrator;
+    private final KafkaEventPublisher eventPublisher;
+    private final TransferSagaConfig sagaConfig;
+    private final ThreadPoolExecutor executor;
+    private final String ownerId;
+    private final Counter rejectedCounter;
+    private final Counter recoveredCounter;
+
+    public TransferSagaWorker(TransferRepository transferRepository,
+                              TransferSagaOrchestrator sagaOrchestrator,
+                              KafkaEventPublisher eventPublisher,
+                              TransferSagaConfig sagaConfig,
+                              MeterRegistry meterRegistry) {
+        this.transferRepository = transferRepository;
+        this.sagaOrchestrator = sagaOrchestrator;
+        this.eventPublisher = eventPublisher;
+        this.sagaConfig = sagaConfig;
+        this.ownerId = "transfer-saga-" + UUID.randomUUID();
+
+        int threads = Math.max(1, sagaConfig.getWorkerThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, sagaConfig.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "transfer-saga-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.rejectedCounter = Counter.builder("transfer.saga.rejected")
+                .description("Sagas not queued because the worker queue was full")
+                .register(meterRegistry);
+        this.recoveredCounter = Counter.builder("transfer.saga.recovered")
+                .description("Orphaned sagas resubmitted by recovery")
+                .register(meterRegistry);
+        meterRegistry.gauge("transfer.saga.queue.size", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("transfer.saga.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    /**
+     * Queue a transfer's saga once the surrounding transaction (if any) has committed
+     */
+    public void submitAfterCommit(Long transferId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(transferId);
+                }
+            });
+        } else {
+            submit(transferId);
+        }
+    }
+
+    /**
+     * Queue a transfer's saga; if the queue is full it is left for the recovery sweep
+     */
+    public void submit(Long transferId) {
+        try {
+            executor.execute(() -> drive(transferId));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Saga queue full, transfer {} will be picked up by recovery", transferId);
+        }
+    }
+
+    /**
+     * Claim and run one saga to its next resting state
+     */
+    void drive(Long transferId) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = transferRepository.claimSaga(transferId, IN_FLIGHT, ownerId,
+                    now.plusSeconds(sagaConfig.getLeaseSeconds()), now);
+            if (claimed == 0) {
+                log.debug("Saga of transfer {} is finished or owned elsewhere", transferId);
+                return;
+            }
+
+            Transfer transfer = transferRepository.findById(transferId).orElse(null);
+            if (transfer == null) {
+                return;
+            }
+
+            transfer = sagaOrchestrator.resumeTransfer(transfer);
+            publishOutcome(transfer);
+
+            log.info("Transfer {} finished with status: {}", transfer.getTransferReference(), transfer.getStatus());
+        } catch (Exception e) {
+            // The lease runs out and recovery picks the saga up again
+            log.error("Saga of transfer {} stopped unexpectedly: {}", transferId, e.getMessage(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        log.info("Recovering in-flight sagas (worker {})", ownerId);
+        recoverOrphanedSagas();
+    }
+
+    @Scheduled(fixedDelayString = "${transfer.saga.recovery-interval-ms:30000}",
+            initialDelayString = "${transfer.saga.recovery-interval-ms:30000}")
+    public void recoverOrphanedSagas() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> orphaned = transferRepository.findOrphanedSagaIds(IN_FLIGHT, now,
+                now.minusSeconds(sagaConfig.getLeaseSeconds()),
+                PageRequest.of(0, Math.max(1, sagaConfig.getRecoveryBatchSize())));
+
+        if (!orphaned.isEmpty()) {
+            log.info("Resubmitting {} orphaned sagas", orphaned.size());
+            recoveredCounter.increment(orphaned.size());
+            orphaned.forEach(this::submit);
+        }
+    }
+
+    String getOwnerId() {
+        return ownerId;
+    }
+
+    private void publishOutcome(Transfer transfer) {
+        if (transfer.getStatus() == TransferStatus.COMPLETED) {
+            eventPublisher.publishTransferCompleted(transfer);
+        } else if (transfer.getStatus() == TransferStatus.FAILED) {
+            eventPublisher.publishTransferFailed(transfer);
+        } else if (transfer.getStatus() == TransferStatus.COMPENSATED) {
+            eventPublisher.publishTransferCompensated(transfer);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Let running steps finish; queued and unfinished sagas are recovered once their lease expires
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
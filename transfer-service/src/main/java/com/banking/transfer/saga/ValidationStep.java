@@ -1,29 +1,72 @@
 package com.banking.transfer.saga;
 
 import com.banking.transfer.client.AccountServiceClient;
+import com.banking.transfer.config.TransferSagaConfig;
 import com.banking.transfer.dto.AccountBalanceResponse;
 import com.banking.transfer.dto.ApiResponse;
 import com.banking.transfer.exception.AccountNotFoundException;
 import com.banking.transfer.exception.InsufficientBalanceException;
 import com.banking.transfer.exception.InvalidTransferException;
 import com.banking.transfer.model.Transfer;
-import lombok.RequiredArgsConstructor;
+import com.banking.transfer.service.AccountStatusCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ValidationStep implements SagaStep {
 
+    private static final String VALIDATION_TIMER = "transfer.validation.latency";
+
     private final AccountServiceClient accountServiceClient;
+    private final TransferSagaConfig sagaConfig;
+    private final MeterRegistry meterRegistry;
+    private final AccountStatusCache accountStatusCache;
+    private final ThreadPoolExecutor lookupExecutor;
+
+    public ValidationStep(AccountServiceClient accountServiceClient,
+                          TransferSagaConfig sagaConfig,
+                          MeterRegistry meterRegistry,
+                          AccountStatusCache accountStatusCache) {
+        this.accountServiceClient = accountServiceClient;
+        this.sagaConfig = sagaConfig;
+        this.meterRegistry = meterRegistry;
+        this.accountStatusCache = accountStatusCache;
+
+        int threads = Math.max(1, sagaConfig.getValidationThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        // When saturated, lookups run on the calling thread rather than queueing without bound
+        this.lookupExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, sagaConfig.getValidationQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "account-lookup-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.lookupExecutor.allowCoreThreadTimeOut(true);
+    }
 
     @Override
     public boolean execute(Transfer transfer) {
         log.info("Executing VALIDATION step for transfer: {}", transfer.getTransferReference());
 
+        boolean concurrent = sagaConfig.isConcurrentValidation();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean valid = false;
+
         try {
             // 1. Validate same account transfer
             if (transfer.getFromAccountNumber().equals(transfer.getToAccountNumber())) {
@@ -31,72 +74,173 @@ public class ValidationStep implements SagaStep {
                 return false;
             }
 
-            // 2. Validate FROM account exists and is active
-            ApiResponse<AccountBalanceResponse> fromAccountResponse =
-                    accountServiceClient.getAccountByNumber(transfer.getFromAccountNumber());
-
-            if (!fromAccountResponse.isSuccess() || fromAccountResponse.getData() == null) {
-                transfer.setFailureReason("Source account not found: " + transfer.getFromAccountNumber());
-                return false;
+            valid = concurrent ? validateConcurrently(transfer) : validateSequentially(transfer);
+            if (valid) {
+                log.info("VALIDATION step successful for transfer: {}", transfer.getTransferReference());
             }
+            return valid;
 
-            AccountBalanceResponse fromAccount = fromAccountResponse.getData();
+        } catch (Exception e) {
+            log.error("VALIDATION step error: {}", e.getMessage(), e);
+            transfer.setFailureReason("Validation error: " + e.getMessage());
+            return false;
+        } finally {
+            sample.stop(Timer.builder(VALIDATION_TIMER)
+                    .description("Transfer validation latency")
+                    .tag("mode", concurrent ? "concurrent" : "sequential")
+                    .tag("outcome", valid ? "valid" : "invalid")
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * One account lookup after the other; stops before the second when the source is unusable
+     */
+    private boolean validateSequentially(Transfer transfer) {
+        ApiResponse<AccountBalanceResponse> fromAccountResponse = lookup(transfer.getFromAccountNumber());
+        if (!checkSourceAccount(transfer, fromAccountResponse)) {
+            return false;
+        }
+
+        ApiResponse<AccountBalanceResponse> toAccountResponse = lookup(transfer.getToAccountNumber());
+        return checkDestinationAccount(transfer, toAccountResponse)
+                && checkTransfer(transfer, fromAccountResponse.getData(), toAccountResponse.getData());
+    }
 
-            if (!"ACTIVE".equals(fromAccount.getStatus())) {
-                transfer.setFailureReason("Source account is not active");
+    /**
+     * Both account lookups in flight at once under one shared deadline, so validation
+     * costs a single round trip
+     */
+    private boolean validateConcurrently(Transfer transfer) throws InterruptedException {
+        long deadlineMs = sagaConfig.getValidationDeadlineMs();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        CompletableFuture<ApiResponse<AccountBalanceResponse>> fromLookup = lookupAsync(transfer.getFromAccountNumber());
+        CompletableFuture<ApiResponse<AccountBalanceResponse>> toLookup = lookupAsync(transfer.getToAccountNumber());
+
+        try {
+            ApiResponse<AccountBalanceResponse> fromAccountResponse =
+                    fromLookup.get(remaining(deadline), TimeUnit.NANOSECONDS);
+            if (!checkSourceAccount(transfer, fromAccountResponse)) {
                 return false;
             }
 
-            // 3. Validate TO account exists and is active
             ApiResponse<AccountBalanceResponse> toAccountResponse =
-                    accountServiceClient.getAccountByNumber(transfer.getToAccountNumber());
+                    toLookup.get(remaining(deadline), TimeUnit.NANOSECONDS);
+            return checkDestinationAccount(transfer, toAccountResponse)
+                    && checkTransfer(transfer, fromAccountResponse.getData(), toAccountResponse.getData());
 
-            if (!toAccountResponse.isSuccess() || toAccountResponse.getData() == null) {
-                transfer.setFailureReason("Destination account not found: " + transfer.getToAccountNumber());
-                return false;
+        } catch (TimeoutException e) {
+            transfer.setFailureReason("Validation error: account lookup exceeded " + deadlineMs + " ms");
+            return false;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            fromLookup.cancel(true);
+            toLookup.cancel(true);
+        }
+    }
 
-            AccountBalanceResponse toAccount = toAccountResponse.getData();
+    private ApiResponse<AccountBalanceResponse> lookup(String accountNumber) {
+        ApiResponse<AccountBalanceResponse> cached = cachedLookup(accountNumber);
+        return cached != null ? cached : fetch(accountNumber);
+    }
 
-            if (!"ACTIVE".equals(toAccount.getStatus())) {
-                transfer.setFailureReason("Destination account is not active");
-                return false;
-            }
+    private CompletableFuture<ApiResponse<AccountBalanceResponse>> lookupAsync(String accountNumber) {
+        ApiResponse<AccountBalanceResponse> cached = cachedLookup(accountNumber);
+        return cached != null
+                ? CompletableFuture.completedFuture(cached)
+                : CompletableFuture.supplyAsync(() -> fetch(accountNumber), lookupExecutor);
+    }
 
-            // 4. Validate currency match
-            if (!fromAccount.getCurrency().equals(transfer.getCurrency())) {
-                transfer.setFailureReason("Currency mismatch - Source account: " +
-                        fromAccount.getCurrency() + ", Transfer: " + transfer.getCurrency());
-                return false;
-            }
+    /**
+     * Status and currency from the event-fed cache; the balance is left out (null)
+     */
+    private ApiResponse<AccountBalanceResponse> cachedLookup(String accountNumber) {
+        AccountStatusCache.CachedStatus cached = accountStatusCache.get(accountNumber);
+        if (cached == null) {
+            return null;
+        }
+        return ApiResponse.success(AccountBalanceResponse.builder()
+                .accountNumber(accountNumber)
+                .status(cached.status())
+                .currency(cached.currency())
+                .build(), "Cached");
+    }
 
-            if (!toAccount.getCurrency().equals(transfer.getCurrency())) {
-                transfer.setFailureReason("Currency mismatch - Destination account: " +
-                        toAccount.getCurrency() + ", Transfer: " + transfer.getCurrency());
-                return false;
-            }
+    private ApiResponse<AccountBalanceResponse> fetch(String accountNumber) {
+        long startedAt = System.nanoTime();
+        ApiResponse<AccountBalanceResponse> response = accountServiceClient.getAccountByNumber(accountNumber);
+        if (response.isSuccess() && response.getData() != null) {
+            accountStatusCache.load(accountNumber, response.getData().getStatus(),
+                    response.getData().getCurrency(), startedAt);
+        }
+        return response;
+    }
 
-            // 5. Validate sufficient balance
-            if (fromAccount.getBalance().compareTo(transfer.getAmount()) < 0) {
-                transfer.setFailureReason("Insufficient balance - Available: " +
-                        fromAccount.getBalance() + ", Required: " + transfer.getAmount());
-                return false;
-            }
+    // 2. Validate FROM account exists and is active
+    private boolean checkSourceAccount(Transfer transfer, ApiResponse<AccountBalanceResponse> fromAccountResponse) {
+        if (!fromAccountResponse.isSuccess() || fromAccountResponse.getData() == null) {
+            transfer.setFailureReason("Source account not found: " + transfer.getFromAccountNumber());
+            return false;
+        }
 
-            // 6. Validate amount is positive
-            if (transfer.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-                transfer.setFailureReason("Transfer amount must be greater than zero");
-                return false;
-            }
+        if (!"ACTIVE".equals(fromAccountResponse.getData().getStatus())) {
+            transfer.setFailureReason("Source account is not active");
+            return false;
+        }
+        return true;
+    }
 
-            log.info("VALIDATION step successful for transfer: {}", transfer.getTransferReference());
-            return true;
+    // 3. Validate TO account exists and is active
+    private boolean checkDestinationAccount(Transfer transfer, ApiResponse<AccountBalanceResponse> toAccountResponse) {
+        if (!toAccountResponse.isSuccess() || toAccountResponse.getData() == null) {
+            transfer.setFailureReason("Destination account not found: " + transfer.getToAccountNumber());
+            return false;
+        }
 
-        } catch (Exception e) {
-            log.error("VALIDATION step error: {}", e.getMessage(), e);
-            transfer.setFailureReason("Validation error: " + e.getMessage());
+        if (!"ACTIVE".equals(toAccountResponse.getData().getStatus())) {
+            transfer.setFailureReason("Destination account is not active");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean checkTransfer(Transfer transfer, AccountBalanceResponse fromAccount, AccountBalanceResponse toAccount) {
+        // 4. Validate currency match
+        if (!fromAccount.getCurrency().equals(transfer.getCurrency())) {
+            transfer.setFailureReason("Currency mismatch - Source account: " +
+                    fromAccount.getCurrency() + ", Transfer: " + transfer.getCurrency());
+            return false;
+        }
+
+        if (!toAccount.getCurrency().equals(transfer.getCurrency())) {
+            transfer.setFailureReason("Currency mismatch - Destination account: " +
+                    toAccount.getCurrency() + ", Transfer: " + transfer.getCurrency());
+            return false;
+        }
+
+        // 5. Validate sufficient balance (unknown for cached accounts; the debit checks it)
+        if (fromAccount.getBalance() != null && fromAccount.getBalance().compareTo(transfer.getAmount()) < 0) {
+            transfer.setFailureReason("Insufficient balance - Available: " +
+                    fromAccount.getBalance() + ", Required: " + transfer.getAmount());
             return false;
         }
+
+        // 6. Validate amount is positive
+        if (transfer.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            transfer.setFailureReason("Transfer amount must be greater than zero");
+            return false;
+        }
+        return true;
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0L, deadline - System.nanoTime());
     }
 
     @Override
@@ -110,4 +254,9 @@ public class ValidationStep implements SagaStep {
     public String getStepName() {
         return "VALIDATION_STEP";
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,128 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.config.AccountStatusCacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account Status Cache
+ * Status and currency of accounts keyed by account number, so validation does not need an
+ * account-service round trip for data that rarely changes. Entries are filled by lookups and
+ * kept current by account-service's created and status events (see AccountEventConsumer).
+ * Balances are never cached; the debit checks them authoritatively.
+ */
+@Component
+@Slf4j
+public class AccountStatusCache {
+
+    private final AccountStatusCacheConfig config;
+    private final Map<String, CachedStatus> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public AccountStatusCache(AccountStatusCacheConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatus> eldest) {
+                return size() > config.getMaxSize();
+            }
+        });
+
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("transfer.account.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached status and currency, or null when the account has to be looked up
+     */
+    public CachedStatus get(String accountNumber) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+
+        CachedStatus cached = entries.get(accountNumber);
+        if (cached == null || cached.currency() == null
+                || System.nanoTime() - cached.refreshedAt() > TimeUnit.MILLISECONDS.toNanos(config.getTtlMs())) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached;
+    }
+
+    /**
+     * Store the result of a lookup that started at lookupStartedAt (System.nanoTime()).
+     * An event applied while the lookup was in flight is newer than its result and wins.
+     */
+    public void load(String accountNumber, String status, String currency, long lookupStartedAt) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        entries.compute(accountNumber, (key, existing) -> {
+            if (existing != null && existing.eventAppliedAt() != 0L
+                    && existing.eventAppliedAt() - lookupStartedAt > 0) {
+                return new CachedStatus(existing.status(), currency, existing.refreshedAt(),
+                        existing.eventAppliedAt(), existing.changedAt());
+            }
+            return new CachedStatus(status, currency, now, 0L, existing != null ? existing.changedAt() : null);
+        });
+    }
+
+    /**
+     * Apply an account event. Currency is null for status changes; events older than the
+     * last one applied to the account (by their account-service timestamp) are ignored.
+     */
+    public void apply(String accountNumber, String status, String currency, LocalDateTime changedAt) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        entries.compute(accountNumber, (key, existing) -> {
+            if (existing == null) {
+                return new CachedStatus(status, currency, now, now, changedAt);
+            }
+            if (changedAt != null && existing.changedAt() != null && changedAt.isBefore(existing.changedAt())) {
+                log.debug("Ignoring out-of-order event for account {}", accountNumber);
+                return existing;
+            }
+            return new CachedStatus(status != null ? status : existing.status(),
+                    currency != null ? currency : existing.currency(),
+                    now, now, changedAt != null ? changedAt : existing.changedAt());
+        });
+    }
+
+    public void evict(String accountNumber) {
+        entries.remove(accountNumber);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("transfer.account.cache.requests")
+                .description("Account status lookups during validation")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Status and currency of one account; refreshedAt and eventAppliedAt are System.nanoTime()
+     * values, eventAppliedAt is 0 until an event was applied
+     */
+    public record CachedStatus(String status, String currency, long refreshedAt, long eventAppliedAt,
+                               LocalDateTime changedAt) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.config.TransferBatchConfig;
+import com.banking.transfer.model.TransferBatchItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Writes batch items with JDBC batches; item ids are identity columns, which rules out
+ * Hibernate insert batching.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchItemWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transfer_batch_items (batch_id, line_number, from_account_number, to_account_number, " +
+            "amount, currency, description, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE transfer_batch_items SET status = ?, failure_reason = ?, debit_transaction_id = ?, " +
+            "credit_transaction_id = ?, updated_at = ? WHERE id = ?";
+    private static final int FAILURE_REASON_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransferBatchConfig batchConfig;
+
+    public void insert(Collection<TransferBatchItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, items, batchSize(), (ps, item) -> {
+            ps.setLong(1, item.getBatchId());
+            ps.setInt(2, item.getLineNumber());
+            ps.setString(3, item.getFromAccountNumber());
+            ps.setString(4, item.getToAccountNumber());
+            ps.setBigDecimal(5, item.getAmount());
+            ps.setString(6, item.getCurrency());
+            ps.setString(7, item.getDescription());
+            ps.setString(8, item.getStatus().name());
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+    }
+
+    /**
+     * Persist status, failure reason and transaction ids of items loaded earlier
+     */
+    public void update(Collection<TransferBatchItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, items, batchSize(), (ps, item) -> {
+            ps.setString(1, item.getStatus().name());
+            if (item.getFailureReason() == null) {
+                ps.setNull(2, Types.VARCHAR);
+            } else {
+                ps.setString(2, item.getFailureReason().length() <= FAILURE_REASON_LENGTH
+                        ? item.getFailureReason() : item.getFailureReason().substring(0, FAILURE_REASON_LENGTH));
+            }
+            ps.setString(3, item.getDebitTransactionId());
+            ps.setString(4, item.getCreditTransactionId());
+            ps.setTimestamp(5, now);
+            ps.setLong(6, item.getId());
+        });
+    }
+
+    private int batchSize() {
+        return Math.max(1, batchConfig.getWriteBatchSize());
+    }
+}
@@ -0,0 +1,627 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.client.AccountServiceClient;
+import com.banking.transfer.config.TransferBatchConfig;
+import com.banking.transfer.dto.AccountBalanceResponse;
+import com.banking.transfer.dto.ApiResponse;
+import com.banking.transfer.dto.TransactionRequest;
+import com.banking.transfer.dto.TransactionResponse;
+import com.banking.transfer.model.BatchItemStatus;
+import com.banking.transfer.model.BatchStatus;
+import com.banking.transfer.model.TransferBatch;
+import com.banking.transfer.model.TransferBatchItem;
+import com.banking.transfer.repository.TransferBatchItemRepository;
+import com.banking.transfer.repository.TransferBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batch Transfer Processor
+ * Items of a batch are grouped by source account. Each group is validated with one source
+ * lookup (plus one per distinct destination) and debited once for its total; the credits
+ * then run in parallel on a bounded pool and rejected credits are refunded in one reversal.
+ * Groups run concurrently, so one group's credits overlap the next group's debit.
+ * Debits and credits are not idempotent downstream, so only definite rejections (a 4xx or an
+ * unsuccessful response) fail items. A timeout, connection or server error leaves the outcome
+ * unknown: the items are marked NEEDS_RECONCILIATION for a person to settle, never refunded.
+ * Batches are claimed with a lease like sagas. The lease is renewed on a heartbeat while
+ * groups and credits make progress; a run that cannot renew it stops before its next debit or
+ * credit. Items a crashed or stopped run left between debit and credit are marked for
+ * reconciliation the same way.
+ */
+@Component
+@Slf4j
+public class BatchTransferProcessor {
+
+    static final List<BatchStatus> UNFINISHED = List.of(BatchStatus.PENDING, BatchStatus.PROCESSING);
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 30;
+
+    private final TransferBatchRepository batchRepository;
+    private final TransferBatchItemRepository itemRepository;
+    private final BatchItemWriter itemWriter;
+    private final AccountServiceClient accountServiceClient;
+    private final KafkaEventPublisher eventPublisher;
+    private final TransferBatchConfig batchConfig;
+    private final ThreadPoolExecutor batchExecutor;
+    private final ThreadPoolExecutor groupExecutor;
+    private final ThreadPoolExecutor creditExecutor;
+    private final String ownerId;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter reconciliationCounter;
+
+    public BatchTransferProcessor(TransferBatchRepository batchRepository,
+                                  TransferBatchItemRepository itemRepository,
+                                  BatchItemWriter itemWriter,
+                                  AccountServiceClient accountServiceClient,
+                                  KafkaEventPublisher eventPublisher,
+                                  TransferBatchConfig batchConfig,
+                                  MeterRegistry meterRegistry) {
+        this.batchRepository = batchRepository;
+        this.itemRepository = itemRepository;
+        this.itemWriter = itemWriter;
+        this.accountServiceClient = accountServiceClient;
+        this.eventPublisher = eventPublisher;
+        this.batchConfig = batchConfig;
+        this.ownerId = "transfer-batch-" + UUID.randomUUID();
+
+        int workers = Math.max(1, batchConfig.getWorkerThreads());
+        this.batchExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, batchConfig.getQueueCapacity())),
+                daemonThreads("transfer-batch-"));
+
+        // Only claimed batches add groups, so this queue is bounded by the batches in flight
+        int groups = Math.max(1, batchConfig.getGroupParallelism());
+        this.groupExecutor = new ThreadPoolExecutor(groups, groups, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("transfer-batch-group-"));
+
+        // When saturated, credits run on the group thread rather than queueing without bound
+        int credits = Math.max(1, batchConfig.getCreditConcurrency());
+        this.creditExecutor = new ThreadPoolExecutor(credits, credits, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(credits), daemonThreads("transfer-batch-credit-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.creditExecutor.allowCoreThreadTimeOut(true);
+
+        this.completedCounter = Counter.builder("transfer.batch.items")
+                .tag("outcome", "completed")
+                .description("Batch items credited")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("transfer.batch.items")
+                .tag("outcome", "failed")
+                .description("Batch items not transferred")
+                .register(meterRegistry);
+        this.reconciliationCounter = Counter.builder("transfer.batch.items")
+                .tag("outcome", "reconciliation")
+                .description("Batch items with an unknown outcome")
+                .register(meterRegistry);
+        meterRegistry.gauge("transfer.batch.queue.size", batchExecutor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("transfer.batch.groups.queued", groupExecutor, pool -> pool.getQueue().size());
+    }
+
+    /**
+     * Queue a batch once the surrounding transaction (if any) has committed
+     */
+    public void submitAfterCommit(Long batchId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(batchId);
+                }
+            });
+        } else {
+            submit(batchId);
+        }
+    }
+
+    /**
+     * Queue a batch; if the queue is full it is left for the recovery sweep
+     */
+    public void submit(Long batchId) {
+        try {
+            batchExecutor.execute(() -> drive(batchId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Batch queue full, batch {} will be picked up by recovery", batchId);
+        }
+    }
+
+    /**
+     * Claim a batch and process its outstanding items
+     */
+    void drive(Long batchId) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = batchRepository.claimBatch(batchId, UNFINISHED, ownerId,
+                    now.plusSeconds(batchConfig.getLeaseSeconds()), now);
+            if (claimed == 0) {
+                log.debug("Batch {} is finished or owned elsewhere", batchId);
+                return;
+            }
+
+            TransferBatch batch = batchRepository.findById(batchId).orElse(null);
+            if (batch == null) {
+                return;
+            }
+
+            RunLease lease = newLease(batchId);
+            reconcileInterruptedItems(batch);
+
+            Map<String, List<TransferBatchItem>> groups = new LinkedHashMap<>();
+            for (TransferBatchItem item : itemRepository.findByBatchIdAndStatusInOrderByLineNumberAsc(
+                    batchId, EnumSet.of(BatchItemStatus.PENDING))) {
+                groups.computeIfAbsent(item.getFromAccountNumber(), from -> new ArrayList<>()).add(item);
+            }
+            log.info("Processing batch {}: {} pending items in {} source groups",
+                    batch.getBatchReference(), groups.values().stream().mapToInt(List::size).sum(), groups.size());
+
+            List<CompletableFuture<Void>> running = new ArrayList<>();
+            groups.forEach((from, items) -> running.add(CompletableFuture.runAsync(
+                    () -> processGroup(batch, from, items, lease), groupExecutor)));
+            CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+
+            if (lease.isLost()) {
+                log.error("Batch {} run stopped after losing its lease; recovery settles the rest",
+                        batch.getBatchReference());
+                return;
+            }
+            finish(batch);
+        } catch (Exception e) {
+            // The lease runs out and recovery picks the batch up again
+            log.error("Batch {} stopped unexpectedly: {}", batchId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Validate, debit and credit the items of one source account
+     */
+    void processGroup(TransferBatch batch, String fromAccountNumber, List<TransferBatchItem> items,
+                      RunLease lease) {
+        // Validation has no side effects: without the lease nothing is written and the items
+        // stay PENDING for the instance that holds the batch now
+        if (!lease.heartbeat()) {
+            return;
+        }
+        List<TransferBatchItem> accepted = validate(fromAccountNumber, items);
+        if (!lease.heartbeat()) {
+            return;
+        }
+
+        try {
+            if (accepted.isEmpty()) {
+                itemWriter.update(items);
+                return;
+            }
+
+            // Recorded before the debit: a crash from here on leaves items for reconciliation
+            accepted.forEach(item -> item.setStatus(BatchItemStatus.DEBITING));
+            itemWriter.update(items);
+
+            BigDecimal total = sum(accepted);
+            String debitTransactionId = debit(batch, fromAccountNumber, total, accepted);
+            if (debitTransactionId == null) {
+                itemWriter.update(accepted);
+                return;
+            }
+            accepted.forEach(item -> {
+                item.setStatus(BatchItemStatus.DEBITED);
+                item.setDebitTransactionId(debitTransactionId);
+            });
+            itemWriter.update(accepted);
+
+            CompletableFuture.allOf(accepted.stream()
+                    .map(item -> CompletableFuture.runAsync(() -> {
+                        // Without the lease the item stays DEBITED for reconciliation
+                        if (lease.heartbeat()) {
+                            credit(batch, item);
+                        }
+                    }, creditExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+
+            // Only rejected credits are refunded; unknown ones may have paid the destination
+            List<TransferBatchItem> rejected = accepted.stream()
+                    .filter(item -> item.getStatus() == BatchItemStatus.FAILED)
+                    .toList();
+            if (!rejected.isEmpty()) {
+                refund(batch, fromAccountNumber, rejected);
+            }
+            itemWriter.update(accepted);
+        } finally {
+            long completed = items.stream().filter(item -> item.getStatus() == BatchItemStatus.COMPLETED).count();
+            long failed = items.stream().filter(item -> item.getStatus() == BatchItemStatus.FAILED).count();
+            long unknown = items.stream()
+                    .filter(item -> item.getStatus() == BatchItemStatus.NEEDS_RECONCILIATION).count();
+            completedCounter.increment(completed);
+            failedCounter.increment(failed);
+            reconciliationCounter.increment(unknown);
+            publishOutcomes(batch, fromAccountNumber, items);
+        }
+    }
+
+    /**
+     * One lookup for the source and one per distinct destination; failing items are marked
+     * FAILED and the rest returned. A group whose total exceeds the balance fails as a whole.
+     */
+    private List<TransferBatchItem> validate(String fromAccountNumber, List<TransferBatchItem> items) {
+        Lookup source = lookup(fromAccountNumber);
+        String sourceProblem = source.account == null
+                ? "Source account not found: " + fromAccountNumber
+                : !"ACTIVE".equals(source.account.getStatus()) ? "Source account is not active" : null;
+        if (sourceProblem != null) {
+            items.forEach(item -> fail(item, source.error != null ? source.error : sourceProblem));
+            return List.of();
+        }
+
+        Map<String, CompletableFuture<Lookup>> pending = new HashMap<>();
+        for (TransferBatchItem item : items) {
+            if (!item.getToAccountNumber().equals(fromAccountNumber)) {
+                pending.computeIfAbsent(item.getToAccountNumber(),
+                        to -> CompletableFuture.supplyAsync(() -> lookup(to), creditExecutor));
+            }
+        }
+
+        List<TransferBatchItem> accepted = new ArrayList<>();
+        for (TransferBatchItem item : items) {
+            String problem = checkItem(item, source.account, pending.get(item.getToAccountNumber()));
+            if (problem == null) {
+                accepted.add(item);
+            } else {
+                fail(item, problem);
+            }
+        }
+
+        BigDecimal total = sum(accepted);
+        if (!accepted.isEmpty() && source.account.getBalance().compareTo(total) < 0) {
+            String problem = "Insufficient balance - Available: " + source.account.getBalance() +
+                    ", Required: " + total + " for " + accepted.size() + " items";
+            accepted.forEach(item -> fail(item, problem));
+            return List.of();
+        }
+        return accepted;
+    }
+
+    private String checkItem(TransferBatchItem item, AccountBalanceResponse source,
+                             CompletableFuture<Lookup> destinationLookup) {
+        if (destinationLookup == null) {
+            return "Cannot transfer to the same account";
+        }
+        Lookup destination = destinationLookup.join();
+        if (destination.account == null) {
+            return destination.error != null ? destination.error
+                    : "Destination account not found: " + item.getToAccountNumber();
+        }
+        if (!"ACTIVE".equals(destination.account.getStatus())) {
+            return "Destination account is not active";
+        }
+        if (!source.getCurrency().equals(item.getCurrency())) {
+            return "Currency mismatch - Source account: " + source.getCurrency() + ", Transfer: " + item.getCurrency();
+        }
+        if (!destination.account.getCurrency().equals(item.getCurrency())) {
+            return "Currency mismatch - Destination account: " + destination.account.getCurrency() +
+                    ", Transfer: " + item.getCurrency();
+        }
+        if (item.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Transfer amount must be greater than zero";
+        }
+        return null;
+    }
+
+    private Lookup lookup(String accountNumber) {
+        try {
+            ApiResponse<AccountBalanceResponse> response = accountServiceClient.getAccountByNumber(accountNumber);
+            return new Lookup(response.isSuccess() ? response.getData() : null, null);
+        } catch (Exception e) {
+            log.error("Account lookup failed for {}: {}", accountNumber, e.getMessage());
+            return new Lookup(null, "Validation error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the debit transaction id, or null after failing the items (or marking them for
+     * reconciliation when the outcome is unknown)
+     */
+    private String debit(TransferBatch batch, String fromAccountNumber, BigDecimal total,
+                         List<TransferBatchItem> accepted) {
+        try {
+            TransactionRequest debitRequest = TransactionRequest.builder()
+                    .amount(total)
+                    .description("Batch transfer " + batch.getBatchReference() + " - " + accepted.size() + " items")
+                    .referenceId(batch.getBatchReference() + "-" + fromAccountNumber)
+                    .build();
+
+            ApiResponse<TransactionResponse> response =
+                    accountServiceClient.debitAccount(fromAccountNumber, debitRequest);
+            if (response.isSuccess() && response.getData() != null) {
+                log.info("Batch {} debited {} from {} - Transaction ID: {}", batch.getBatchReference(),
+                        total, fromAccountNumber, response.getData().getTransactionId());
+                return response.getData().getTransactionId();
+            }
+            accepted.forEach(item -> fail(item, "Debit failed: " + response.getMessage()));
+        } catch (Exception e) {
+            log.error("Batch {} debit error for {}: {}", batch.getBatchReference(), fromAccountNumber, e.getMessage(), e);
+            if (isRejection(e)) {
+                accepted.forEach(item -> fail(item, "Debit rejected: " + e.getMessage()));
+            } else {
+                accepted.forEach(item -> requireReconciliation(item, batch,
+                        "Debit of " + total + " from " + fromAccountNumber + " may have posted: " + e.getMessage()));
+            }
+        }
+        return null;
+    }
+
+    private void credit(TransferBatch batch, TransferBatchItem item) {
+        try {
+            TransactionRequest creditRequest = TransactionRequest.builder()
+                    .amount(item.getAmount())
+                    .description(item.getDescription() != null ? item.getDescription()
+                            : "Transfer from " + item.getFromAccountNumber() + " - Ref: " + batch.getBatchReference())
+                    .referenceId(batch.getBatchReference() + "-" + item.getLineNumber())
+                    .build();
+
+            ApiResponse<TransactionResponse> response =
+                    accountServiceClient.creditAccount(item.getToAccountNumber(), creditRequest);
+            if (response.isSuccess() && response.getData() != null) {
+                item.setCreditTransactionId(response.getData().getTransactionId());
+                item.setStatus(BatchItemStatus.COMPLETED);
+            } else {
+                fail(item, "Credit failed: " + response.getMessage());
+            }
+        } catch (Exception e) {
+            log.error("Batch {} credit error for line {}: {}", batch.getBatchReference(),
+                    item.getLineNumber(), e.getMessage(), e);
+            if (isRejection(e)) {
+                fail(item, "Credit rejected: " + e.getMessage());
+            } else {
+                requireReconciliation(item, batch, "Credit to " + item.getToAccountNumber() +
+                        " may have posted: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Return the amounts of items whose credit was rejected in one reversal. Items the reversal
+     * cannot be confirmed for are left for reconciliation.
+     */
+    private void refund(TransferBatch batch, String fromAccountNumber, List<TransferBatchItem> uncredited) {
+        BigDecimal total = sum(uncredited);
+        boolean refunded = false;
+        try {
+            TransactionRequest creditRequest = TransactionRequest.builder()
+                    .amount(total)
+                    .description("Reversal - Failed batch transfer " + batch.getBatchReference() +
+                            " - " + uncredited.size() + " items")
+                    .referenceId(batch.getBatchReference() + "-" + fromAccountNumber + "-REVERSAL")
+                    .build();
+            refunded = accountServiceClient.creditAccount(fromAccountNumber, creditRequest).isSuccess();
+        } catch (Exception e) {
+            log.error("Batch {} refund error for {}: {}", batch.getBatchReference(), fromAccountNumber, e.getMessage(), e);
+        }
+
+        if (refunded) {
+            uncredited.forEach(item ->
+                    item.setFailureReason(item.getFailureReason() + " | Refunded to source account"));
+            return;
+        }
+        log.error("Refund of {} to {} failed for batch {}", total, fromAccountNumber, batch.getBatchReference());
+        uncredited.forEach(item -> requireReconciliation(item, batch,
+                item.getFailureReason() + " | Refund of " + total + " to " + fromAccountNumber + " not confirmed"));
+    }
+
+    /**
+     * Items a previous run left between debit and credit: their outcome is unknown
+     */
+    private void reconcileInterruptedItems(TransferBatch batch) {
+        List<TransferBatchItem> interrupted = itemRepository.findByBatchIdAndStatusInOrderByLineNumberAsc(
+                batch.getId(), EnumSet.of(BatchItemStatus.DEBITING, BatchItemStatus.DEBITED));
+        if (interrupted.isEmpty()) {
+            return;
+        }
+
+        log.error("Batch {} has {} items interrupted after the debit - manual intervention required",
+                batch.getBatchReference(), interrupted.size());
+        interrupted.forEach(item -> requireReconciliation(item, batch,
+                "Batch interrupted in status " + item.getStatus()));
+        itemWriter.update(interrupted);
+    }
+
+    private void finish(TransferBatch batch) {
+        int completed = 0;
+        int failed = 0;
+        int unknown = 0;
+        int open = 0;
+        for (TransferBatchItemRepository.StatusTotal total : itemRepository.summarizeByStatus(batch.getId())) {
+            int count = total.getCount().intValue();
+            if (total.getStatus() == BatchItemStatus.COMPLETED) {
+                completed += count;
+            } else if (total.getStatus() == BatchItemStatus.FAILED) {
+                failed += count;
+            } else if (total.getStatus() == BatchItemStatus.NEEDS_RECONCILIATION) {
+                unknown += count;
+            } else {
+                open += count;
+            }
+        }
+
+        if (open > 0) {
+            // Release the claim so recovery settles the leftovers
+            log.warn("Batch {} stopped with {} unfinished items", batch.getBatchReference(), open);
+            batchRepository.renewLease(batch.getId(), ownerId, LocalDateTime.now());
+            return;
+        }
+
+        batch.setCompletedItems(completed);
+        batch.setFailedItems(failed);
+        batch.setReconciliationItems(unknown);
+        batch.setStatus(unknown > 0 ? BatchStatus.NEEDS_RECONCILIATION
+                : failed == 0 ? BatchStatus.COMPLETED
+                : completed == 0 ? BatchStatus.FAILED : BatchStatus.PARTIALLY_COMPLETED);
+        batch.setCompletedAt(LocalDateTime.now());
+        batch.setLeaseExpiresAt(null);
+        batch = batchRepository.save(batch);
+
+        log.info("Batch {} finished with status {}: {} completed, {} failed, {} to reconcile",
+                batch.getBatchReference(), batch.getStatus(), completed, failed, unknown);
+        eventPublisher.publishBatchCompleted(batch);
+    }
+
+    private void publishOutcomes(TransferBatch batch, String fromAccountNumber, List<TransferBatchItem> items) {
+        int chunk = Math.max(1, batchConfig.getEventChunkSize());
+        for (int start = 0; start < items.size(); start += chunk) {
+            eventPublisher.publishBatchItemOutcomes(batch, fromAccountNumber,
+                    items.subList(start, Math.min(items.size(), start + chunk)));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        recoverOrphanedBatches();
+    }
+
+    @Scheduled(fixedDelayString = "${transfer.batch.recovery-interval-ms:60000}",
+            initialDelayString = "${transfer.batch.recovery-interval-ms:60000}")
+    public void recoverOrphanedBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> orphaned = batchRepository.findOrphanedBatchIds(UNFINISHED, now,
+                now.minusSeconds(batchConfig.getLeaseSeconds()),
+                PageRequest.of(0, Math.max(1, batchConfig.getQueueCapacity())));
+
+        if (!orphaned.isEmpty()) {
+            log.info("Resubmitting {} unfinished batches", orphaned.size());
+            orphaned.forEach(this::submit);
+        }
+    }
+
+    String getOwnerId() {
+        return ownerId;
+    }
+
+    RunLease newLease(Long batchId) {
+        return new RunLease(batchId);
+    }
+
+    /**
+     * The claim one run holds on a batch. Heartbeats renew it once a third of the lease has
+     * passed; if a renewal fails the lease counts as lost for the rest of the run.
+     */
+    final class RunLease {
+        private final Long batchId;
+        private final long renewEveryNanos;
+        private volatile long renewedAt;
+        private volatile boolean lost;
+
+        private RunLease(Long batchId) {
+            this.batchId = batchId;
+            this.renewEveryNanos = TimeUnit.SECONDS.toNanos(batchConfig.getLeaseSeconds()) / 3;
+            this.renewedAt = System.nanoTime();
+        }
+
+        /**
+         * @return whether the run still holds the batch
+         */
+        boolean heartbeat() {
+            if (lost) {
+                return false;
+            }
+            if (System.nanoTime() - renewedAt < renewEveryNanos) {
+                return true;
+            }
+            synchronized (this) {
+                if (lost || System.nanoTime() - renewedAt < renewEveryNanos) {
+                    return !lost;
+                }
+                int renewed = 0;
+                try {
+                    renewed = batchRepository.renewLease(batchId, ownerId,
+                            LocalDateTime.now().plusSeconds(batchConfig.getLeaseSeconds()));
+                } catch (Exception e) {
+                    log.error("Lease renewal failed for batch {}: {}", batchId, e.getMessage());
+                }
+                if (renewed == 0) {
+                    log.error("Lost the lease on batch {} - stopping this run", batchId);
+                    lost = true;
+                    return false;
+                }
+                renewedAt = System.nanoTime();
+                return true;
+            }
+        }
+
+        boolean isLost() {
+            return lost;
+        }
+    }
+
+    private static void fail(TransferBatchItem item, String reason) {
+        item.setStatus(BatchItemStatus.FAILED);
+        item.setFailureReason(reason);
+    }
+
+    private static void requireReconciliation(TransferBatchItem item, TransferBatch batch, String reason) {
+        item.setStatus(BatchItemStatus.NEEDS_RECONCILIATION);
+        item.setFailureReason(reason + " - outcome unknown, manual intervention required for batch: " +
+                batch.getBatchReference());
+    }
+
+    /**
+     * Whether account-service definitely refused the call, so nothing was posted
+     */
+    private static boolean isRejection(Exception e) {
+        return e instanceof FeignException feignException
+                && feignException.status() >= 400 && feignException.status() < 500;
+    }
+
+    private static BigDecimal sum(List<TransferBatchItem> items) {
+        return items.stream().map(TransferBatchItem::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Unfinished batches are recovered once their lease expires
+        batchExecutor.shutdown();
+        if (!batchExecutor.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+            batchExecutor.shutdownNow();
+        }
+        groupExecutor.shutdownNow();
+        creditExecutor.shutdownNow();
+    }
+
+    private record Lookup(AccountBalanceResponse account, String error) {
+    }
+}
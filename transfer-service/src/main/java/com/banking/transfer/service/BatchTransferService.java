@@ -0,0 +1,181 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.config.TransferBatchConfig;
+import com.banking.transfer.dto.BatchTransferItemRequest;
+import com.banking.transfer.dto.BatchTransferItemResponse;
+import com.banking.transfer.dto.BatchTransferRequest;
+import com.banking.transfer.dto.BatchTransferResponse;
+import com.banking.transfer.exception.BatchNotFoundException;
+import com.banking.transfer.exception.DuplicateTransferException;
+import com.banking.transfer.exception.InvalidTransferException;
+import com.banking.transfer.model.BatchItemStatus;
+import com.banking.transfer.model.BatchStatus;
+import com.banking.transfer.model.TransferBatch;
+import com.banking.transfer.model.TransferBatchItem;
+import com.banking.transfer.repository.TransferBatchItemRepository;
+import com.banking.transfer.repository.TransferBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchTransferService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final TransferBatchRepository batchRepository;
+    private final TransferBatchItemRepository itemRepository;
+    private final BatchItemWriter itemWriter;
+    private final BatchTransferProcessor batchProcessor;
+    private final TransferBatchConfig batchConfig;
+
+    /**
+     * Store the batch and its items and queue it for processing
+     */
+    @Transactional
+    public BatchTransferResponse createBatch(BatchTransferRequest request) {
+        if (request.getIdempotencyKey() != null) {
+            TransferBatch existing = batchRepository.findByIdempotencyKey(request.getIdempotencyKey()).orElse(null);
+            if (existing != null) {
+                log.warn("Duplicate batch request detected: {}", request.getIdempotencyKey());
+                return mapToResponse(existing);
+            }
+        }
+
+        List<BatchTransferItemRequest> lines = request.getItems();
+        if (lines.size() > batchConfig.getMaxItems()) {
+            throw new InvalidTransferException("Batch cannot exceed " + batchConfig.getMaxItems() +
+                    " items, got " + lines.size());
+        }
+
+        BigDecimal totalAmount = lines.stream()
+                .map(BatchTransferItemRequest::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        TransferBatch batch = TransferBatch.builder()
+                .batchReference(generateBatchReference())
+                .idempotencyKey(request.getIdempotencyKey())
+                .description(request.getDescription())
+                .status(BatchStatus.PENDING)
+                .totalItems(lines.size())
+                .totalAmount(totalAmount)
+                .build();
+        try {
+            batch = batchRepository.save(batch);
+        } catch (DataIntegrityViolationException e) {
+            if (request.getIdempotencyKey() != null) {
+                throw new DuplicateTransferException(request.getIdempotencyKey());
+            }
+            throw e;
+        }
+
+        List<TransferBatchItem> items = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            BatchTransferItemRequest line = lines.get(i);
+            items.add(TransferBatchItem.builder()
+                    .batchId(batch.getId())
+                    .lineNumber(i + 1)
+                    .fromAccountNumber(line.getFromAccountNumber())
+                    .toAccountNumber(line.getToAccountNumber())
+                    .amount(line.getAmount())
+                    .currency(line.getCurrency())
+                    .description(line.getDescription())
+                    .status(BatchItemStatus.PENDING)
+                    .build());
+        }
+        itemWriter.insert(items);
+
+        batchProcessor.submitAfterCommit(batch.getId());
+        log.info("Batch {} accepted with {} items totalling {}",
+                batch.getBatchReference(), lines.size(), totalAmount);
+
+        return mapToResponse(batch);
+    }
+
+    /**
+     * Batch progress, counted from the items
+     */
+    @Transactional(readOnly = true)
+    public BatchTransferResponse getBatch(String batchReference) {
+        return mapToResponse(findBatch(batchReference));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BatchTransferItemResponse> getBatchItems(String batchReference, BatchItemStatus status,
+                                                         int page, int size) {
+        TransferBatch batch = findBatch(batchReference);
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE));
+
+        List<TransferBatchItem> items = status == null
+                ? itemRepository.findByBatchIdOrderByLineNumberAsc(batch.getId(), pageable)
+                : itemRepository.findByBatchIdAndStatusOrderByLineNumberAsc(batch.getId(), status, pageable);
+        return items.stream().map(this::mapToItemResponse).toList();
+    }
+
+    private TransferBatch findBatch(String batchReference) {
+        return batchRepository.findByBatchReference(batchReference)
+                .orElseThrow(() -> new BatchNotFoundException(batchReference));
+    }
+
+    private String generateBatchReference() {
+        return "BAT-" + UUID.randomUUID().toString().replace("-", "").substring(0, 12).toUpperCase();
+    }
+
+    private BatchTransferResponse mapToResponse(TransferBatch batch) {
+        int completed = 0;
+        int failed = 0;
+        int unknown = 0;
+        BigDecimal completedAmount = BigDecimal.ZERO;
+        for (TransferBatchItemRepository.StatusTotal total : itemRepository.summarizeByStatus(batch.getId())) {
+            if (total.getStatus() == BatchItemStatus.COMPLETED) {
+                completed = total.getCount().intValue();
+                completedAmount = total.getAmount();
+            } else if (total.getStatus() == BatchItemStatus.FAILED) {
+                failed = total.getCount().intValue();
+            } else if (total.getStatus() == BatchItemStatus.NEEDS_RECONCILIATION) {
+                unknown = total.getCount().intValue();
+            }
+        }
+
+        return BatchTransferResponse.builder()
+                .id(batch.getId())
+                .batchReference(batch.getBatchReference())
+                .description(batch.getDescription())
+                .status(batch.getStatus())
+                .totalItems(batch.getTotalItems())
+                .pendingItems(batch.getTotalItems() - completed - failed - unknown)
+                .completedItems(completed)
+                .failedItems(failed)
+                .reconciliationItems(unknown)
+                .totalAmount(batch.getTotalAmount())
+                .completedAmount(completedAmount)
+                .createdAt(batch.getCreatedAt())
+                .completedAt(batch.getCompletedAt())
+                .build();
+    }
+
+    private BatchTransferItemResponse mapToItemResponse(TransferBatchItem item) {
+        return BatchTransferItemResponse.builder()
+                .lineNumber(item.getLineNumber())
+                .fromAccountNumber(item.getFromAccountNumber())
+                .toAccountNumber(item.getToAccountNumber())
+                .amount(item.getAmount())
+                .currency(item.getCurrency())
+                .status(item.getStatus())
+                .failureReason(item.getFailureReason())
+                .debitTransactionId(item.getDebitTransactionId())
+                .creditTransactionId(item.getCreditTransactionId())
+                .build();
+    }
+}
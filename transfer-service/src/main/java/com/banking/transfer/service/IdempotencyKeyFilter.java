@@ -0,0 +1,174 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.config.IdempotencyConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Idempotency Key Filter
+ * Local Bloom filter of the idempotency keys stored in the last window, so brand-new
+ * transfers can skip the database lookup. Rebuilt from the transfers table on startup
+ * and daily; until the first build finishes every key is reported as "maybe".
+ * Keys created by other instances are covered by the shared Redis entry and, as a last
+ * resort, by the unique constraint on idempotency_key, on which TransferService returns
+ * the stored transfer. That also covers keys older than the window.
+ */
+@Component
+@Slf4j
+public class IdempotencyKeyFilter {
+
+    private static final int FETCH_SIZE = 5000;
+    private static final String RECENT_KEYS_SQL =
+            "SELECT idempotency_key FROM transfers WHERE idempotency_key IS NOT NULL AND created_at >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyConfig idempotencyConfig;
+    private final TransactionTemplate readTransaction;
+    private final Counter negativeCounter;
+    private final Counter maybeCounter;
+    private final Counter falsePositiveCounter;
+
+    private volatile Filters filters = new Filters(null, null);
+
+    public IdempotencyKeyFilter(JdbcTemplate jdbcTemplate,
+                                IdempotencyConfig idempotencyConfig,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idempotencyConfig = idempotencyConfig;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+
+        this.negativeCounter = Counter.builder("transfer.idempotency.filter.checks")
+                .tag("result", "absent")
+                .description("Idempotency keys the filter has never seen")
+                .register(meterRegistry);
+        this.maybeCounter = Counter.builder("transfer.idempotency.filter.checks")
+                .tag("result", "maybe")
+                .description("Idempotency keys sent on to the database")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("transfer.idempotency.filter.false.positives")
+                .description("Database lookups the filter sent that found nothing")
+                .register(meterRegistry);
+
+        Gauge.builder("transfer.idempotency.filter.fpp.expected", this, IdempotencyKeyFilter::expectedFalsePositiveRate)
+                .description("False-positive rate implied by the filter's fill ratio")
+                .register(meterRegistry);
+        Gauge.builder("transfer.idempotency.filter.fpp.observed", this, IdempotencyKeyFilter::observedFalsePositiveRate)
+                .description("Share of unseen keys the filter answered with maybe")
+                .register(meterRegistry);
+        Gauge.builder("transfer.idempotency.filter.keys", this,
+                        f -> f.filters.current() != null ? f.filters.current().size() : 0)
+                .register(meterRegistry);
+        Gauge.builder("transfer.idempotency.filter.bits", this,
+                        f -> f.filters.current() != null ? f.filters.current().bitSize() : 0)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return false only if the key is certainly not stored
+     */
+    public boolean mightContain(String idempotencyKey) {
+        ScalableBloomFilter current = filters.current();
+        if (!idempotencyConfig.isFilterEnabled() || current == null) {
+            return true;
+        }
+
+        boolean maybe = current.mightContain(idempotencyKey);
+        (maybe ? maybeCounter : negativeCounter).increment();
+        return maybe;
+    }
+
+    public void put(String idempotencyKey) {
+        Filters snapshot = filters;
+        if (snapshot.current() != null) {
+            snapshot.current().put(idempotencyKey);
+        }
+        // Keys arriving during a rebuild must reach the new filter too
+        if (snapshot.loading() != null) {
+            snapshot.loading().put(idempotencyKey);
+        }
+    }
+
+    /**
+     * Record that a key the filter reported as "maybe" was not in the database
+     */
+    public void recordFalsePositive() {
+        if (idempotencyConfig.isFilterEnabled() && filters.current() != null) {
+            falsePositiveCounter.increment();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Replace the filter with one holding only the keys inside the window
+     */
+    @Scheduled(cron = "${transfer.idempotency.rebuild-cron:0 30 3 * * *}")
+    public synchronized void rebuild() {
+        if (!idempotencyConfig.isFilterEnabled()) {
+            return;
+        }
+
+        ScalableBloomFilter previous = filters.current();
+        ScalableBloomFilter next = new ScalableBloomFilter(
+                idempotencyConfig.getExpectedInsertions(), idempotencyConfig.getFalsePositiveRate());
+        filters = new Filters(previous, next);
+        try {
+            LocalDateTime since = LocalDateTime.now().minusHours(idempotencyConfig.getWindowHours());
+            AtomicLong loaded = new AtomicLong();
+            readTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(RECENT_KEYS_SQL);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setTimestamp(1, Timestamp.valueOf(since));
+                return ps;
+            }, rs -> {
+                next.put(rs.getString(1));
+                loaded.incrementAndGet();
+            }));
+
+            filters = new Filters(next, null);
+            log.info("Idempotency filter built with {} keys since {} ({} segments, {} bits)",
+                    loaded.get(), since, next.segmentCount(), next.bitSize());
+        } catch (Exception e) {
+            // Without a filter every key is a "maybe", which only costs database lookups
+            log.error("Failed to build idempotency filter; keeping the previous one: {}", e.getMessage(), e);
+            filters = new Filters(previous, null);
+        }
+    }
+
+    private double expectedFalsePositiveRate() {
+        ScalableBloomFilter current = filters.current();
+        return current != null ? current.expectedFalsePositiveRate() : 0.0;
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositives = falsePositiveCounter.count();
+        double unseen = falsePositives + negativeCounter.count();
+        return unseen > 0 ? falsePositives / unseen : 0.0;
+    }
+
+    /**
+     * The filter answering lookups and, during a rebuild, the one being loaded. Published as
+     * one value so put() never sees the new filter missing from both fields.
+     */
+    private record Filters(ScalableBloomFilter current, ScalableBloomFilter loading) {
+    }
+}
@@ -1,12 +1,15 @@
 package com.banking.transfer.service;
 
 import com.banking.transfer.model.Transfer;
+import com.banking.transfer.model.TransferBatch;
+import com.banking.transfer.model.TransferBatchItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -74,6 +77,64 @@ public class KafkaEventPublisher {
                 });
     }
 
+    /**
+     * One event for a chunk of items of the same source group, rather than one per item
+     */
+    public void publishBatchItemOutcomes(TransferBatch batch, String fromAccountNumber,
+                                         List<TransferBatchItem> items) {
+        String topic = "transfer.batch.items";
+        Map<String, Object> event = new HashMap<>();
+        event.put("batchReference", batch.getBatchReference());
+        event.put("fromAccountNumber", fromAccountNumber);
+        event.put("itemCount", items.size());
+        event.put("items", items.stream().map(this::buildBatchItemEvent).toList());
+
+        kafkaTemplate.send(topic, batch.getBatchReference(), event)
+                .whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        log.info("Batch item outcomes published: {} ({} items from {})",
+                                batch.getBatchReference(), items.size(), fromAccountNumber);
+                    } else {
+                        log.error("Failed to publish batch item outcomes: {}", ex.getMessage());
+                    }
+                });
+    }
+
+    public void publishBatchCompleted(TransferBatch batch) {
+        String topic = "transfer.batch.completed";
+        Map<String, Object> event = new HashMap<>();
+        event.put("batchReference", batch.getBatchReference());
+        event.put("status", batch.getStatus().name());
+        event.put("totalItems", batch.getTotalItems());
+        event.put("completedItems", batch.getCompletedItems());
+        event.put("failedItems", batch.getFailedItems());
+        event.put("reconciliationItems", batch.getReconciliationItems());
+        event.put("totalAmount", batch.getTotalAmount());
+        event.put("completedAt", batch.getCompletedAt());
+
+        kafkaTemplate.send(topic, batch.getBatchReference(), event)
+                .whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        log.info("Batch completed event published: {}", batch.getBatchReference());
+                    } else {
+                        log.error("Failed to publish batch completed event: {}", ex.getMessage());
+                    }
+                });
+    }
+
+    private Map<String, Object> buildBatchItemEvent(TransferBatchItem item) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("lineNumber", item.getLineNumber());
+        event.put("toAccountNumber", item.getToAccountNumber());
+        event.put("amount", item.getAmount());
+        event.put("currency", item.getCurrency());
+        event.put("status", item.getStatus().name());
+        event.put("failureReason", item.getFailureReason());
+        event.put("debitTransactionId", item.getDebitTransactionId());
+        event.put("creditTransactionId", item.getCreditTransactionId());
+        return event;
+    }
+
     private Map<String, Object> buildTransferEvent(Transfer transfer) {
         Map<String, Object> event = new HashMap<>();
         event.put("transferReference", transfer.getTransferReference());
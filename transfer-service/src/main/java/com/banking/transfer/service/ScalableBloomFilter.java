@@ -0,0 +1,154 @@
+package com.banking.transfer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Scalable Bloom filter (Almeida et al.): a chain of fixed-size segments where each new
+ * segment doubles the capacity and halves the false-positive rate, so the compound rate
+ * stays below the target however many keys are added. Thread-safe and lock-free except
+ * when a segment fills up.
+ */
+final class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private volatile Segment active;
+
+    ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + initialCapacity);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        // First segment gets p * (1 - r), so the geometric series of all segments sums to p
+        this.active = new Segment(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO));
+        this.segments.add(active);
+    }
+
+    void put(String key) {
+        long[] hash = hash(key);
+        Segment segment = active;
+        segment.put(hash);
+        if (segment.count.incrementAndGet() >= segment.capacity) {
+            grow(segment);
+        }
+    }
+
+    boolean mightContain(String key) {
+        long[] hash = hash(key);
+        for (Segment segment : segments) {
+            if (segment.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * False-positive probability implied by the bits set so far
+     */
+    double expectedFalsePositiveRate() {
+        double allClear = 1.0;
+        for (Segment segment : segments) {
+            allClear *= 1.0 - segment.falsePositiveRate();
+        }
+        return 1.0 - allClear;
+    }
+
+    long size() {
+        return segments.stream().mapToLong(segment -> segment.count.get()).sum();
+    }
+
+    long bitSize() {
+        return segments.stream().mapToLong(segment -> segment.bitSize).sum();
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    private synchronized void grow(Segment full) {
+        if (active != full) {
+            return;
+        }
+        Segment next = new Segment(full.capacity * GROWTH_FACTOR, full.targetRate * TIGHTENING_RATIO);
+        segments.add(next);
+        active = next;
+    }
+
+    /**
+     * Two independent 64-bit hashes (FNV-1a over the UTF-8 bytes, finalized with the
+     * MurmurHash3 mixer) combined by double hashing
+     */
+    private static long[] hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        long h1 = mix(h);
+        long h2 = mix(h ^ 0x9e3779b97f4a7c15L) | 1L;
+        return new long[]{h1, h2};
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Segment {
+
+        private final long capacity;
+        private final double targetRate;
+        private final long bitSize;
+        private final int hashFunctions;
+        private final AtomicLongArray words;
+        private final AtomicLong bitsSet = new AtomicLong();
+        private final AtomicLong count = new AtomicLong();
+
+        Segment(long capacity, double targetRate) {
+            this.capacity = capacity;
+            this.targetRate = targetRate;
+            double ln2 = Math.log(2);
+            this.bitSize = Math.max(64L, (long) Math.ceil(-capacity * Math.log(targetRate) / (ln2 * ln2)));
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / capacity * ln2));
+            this.words = new AtomicLongArray((int) ((bitSize + 63) / 64));
+        }
+
+        void put(long[] hash) {
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash[0] + i * hash[1], bitSize);
+                long mask = 1L << (bit & 63);
+                long previous = words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+                if ((previous & mask) == 0) {
+                    bitsSet.incrementAndGet();
+                }
+            }
+        }
+
+        boolean mightContain(long[] hash) {
+            for (int i = 0; i < hashFunctions; i++) {
+                long bit = Math.floorMod(hash[0] + i * hash[1], bitSize);
+                if ((words.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double falsePositiveRate() {
+            return Math.pow((double) bitsSet.get() / bitSize, hashFunctions);
+        }
+    }
+}
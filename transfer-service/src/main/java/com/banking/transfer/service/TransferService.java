@@ -1,5 +1,6 @@
 package com.banking.transfer.service;
 
+import com.banking.transfer.config.TransferSagaConfig;
 import com.banking.transfer.dto.TransferRequest;
 import com.banking.transfer.dto.TransferResponse;
 import com.banking.transfer.exception.DuplicateTransferException;
@@ -8,11 +9,14 @@ import com.banking.transfer.model.Transfer;
 import com.banking.transfer.model.TransferStatus;
 import com.banking.transfer.repository.TransferRepository;
 import com.banking.transfer.saga.TransferSagaOrchestrator;
-import lombok.RequiredArgsConstructor;
+import com.banking.transfer.saga.TransferSagaWorker;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,7 +25,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TransferService {
 
@@ -29,12 +32,55 @@ public class TransferService {
     private final TransferSagaOrchestrator sagaOrchestrator;
     private final KafkaEventPublisher eventPublisher;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final TransferSagaWorker sagaWorker;
+    private final TransferSagaConfig sagaConfig;
+    private final IdempotencyKeyFilter idempotencyKeyFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransaction;
 
     private static final String IDEMPOTENCY_KEY_PREFIX = "transfer:idempotency:";
     private static final long IDEMPOTENCY_TTL_HOURS = 24;
 
-    @Transactional
+    public TransferService(TransferRepository transferRepository,
+                           TransferSagaOrchestrator sagaOrchestrator,
+                           KafkaEventPublisher eventPublisher,
+                           RedisTemplate<String, Object> redisTemplate,
+                           TransferSagaWorker sagaWorker,
+                           TransferSagaConfig sagaConfig,
+                           IdempotencyKeyFilter idempotencyKeyFilter,
+                           PlatformTransactionManager transactionManager) {
+        this.transferRepository = transferRepository;
+        this.sagaOrchestrator = sagaOrchestrator;
+        this.eventPublisher = eventPublisher;
+        this.redisTemplate = redisTemplate;
+        this.sagaWorker = sagaWorker;
+        this.sagaConfig = sagaConfig;
+        this.idempotencyKeyFilter = idempotencyKeyFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
     public TransferResponse initiateTransfer(TransferRequest request) {
+        try {
+            return transactionTemplate.execute(status -> createTransfer(request));
+        } catch (DuplicateTransferException e) {
+            // The key was stored by a concurrent request, or before the filter's window and
+            // outside the Redis TTL. The failed insert aborted that transaction, so the
+            // original transfer is read in a new one.
+            Transfer existingTransfer = readTransaction.execute(status -> transferRepository
+                    .findByIdempotencyKey(request.getIdempotencyKey())
+                    .orElse(null));
+            if (existingTransfer == null) {
+                throw e;
+            }
+            log.warn("Duplicate transfer detected on insert with idempotency key: {}",
+                    request.getIdempotencyKey());
+            return mapToResponse(existingTransfer);
+        }
+    }
+
+    private TransferResponse createTransfer(TransferRequest request) {
         log.info("Initiating transfer from {} to {} - Amount: {} {}",
                 request.getFromAccountNumber(), request.getToAccountNumber(),
                 request.getAmount(), request.getCurrency());
@@ -62,8 +108,21 @@ public class TransferService {
                 .idempotencyKey(request.getIdempotencyKey())
                 .build();
 
+        if (!sagaConfig.isAsyncEnabled()) {
+            // Keep recovery away from a saga running on this request thread
+            transfer.setLeaseExpiresAt(LocalDateTime.now().plusSeconds(sagaConfig.getLeaseSeconds()));
+        }
+
         // Save initial transfer
-        transfer = transferRepository.save(transfer);
+        try {
+            transfer = transferRepository.save(transfer);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request (or one the filter did not know about) stored the key first
+            if (request.getIdempotencyKey() != null) {
+                throw new DuplicateTransferException(request.getIdempotencyKey());
+            }
+            throw e;
+        }
 
         // Store idempotency key in Redis
         if (request.getIdempotencyKey() != null) {
@@ -73,6 +132,13 @@ public class TransferService {
         // Publish initiated event
         eventPublisher.publishTransferInitiated(transfer);
 
+        if (sagaConfig.isAsyncEnabled()) {
+            // Accepted: a saga worker drives the transfer once this transaction commits
+            sagaWorker.submitAfterCommit(transfer.getId());
+            log.info("Transfer {} accepted for asynchronous processing", transfer.getTransferReference());
+            return mapToResponse(transfer);
+        }
+
         // Execute SAGA orchestration
         transfer = sagaOrchestrator.executeTransfer(transfer);
 
@@ -145,14 +211,24 @@ public class TransferService {
             return transferRepository.findByTransferReference(transferReference).orElse(null);
         }
 
+        // Keys the filter has never seen cannot be in the database
+        if (!idempotencyKeyFilter.mightContain(idempotencyKey)) {
+            return null;
+        }
+
         // Fallback to database
-        return transferRepository.findByIdempotencyKey(idempotencyKey).orElse(null);
+        Transfer existing = transferRepository.findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (existing == null) {
+            idempotencyKeyFilter.recordFalsePositive();
+        }
+        return existing;
     }
 
     private void storeIdempotencyKey(String idempotencyKey, String transferReference) {
         String redisKey = IDEMPOTENCY_KEY_PREFIX + idempotencyKey;
         redisTemplate.opsForValue().set(redisKey, transferReference,
                 IDEMPOTENCY_TTL_HOURS, TimeUnit.HOURS);
+        idempotencyKeyFilter.put(idempotencyKey);
     }
 
     private String generateTransferReference() {
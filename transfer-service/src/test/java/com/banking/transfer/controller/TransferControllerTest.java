@@ -109,6 +109,26 @@ class TransferControllerTest {
                 .andExpect(jsonPath("$.data.status").value("COMPLETED"));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Should return 202 while the transfer saga is still in flight")
+    void shouldReturnAccepted_WhenTransferIsProcessedAsynchronously() throws Exception {
+        // Given
+        transferResponse.setStatus(TransferStatus.PENDING);
+        transferResponse.setCompletedAt(null);
+        when(transferService.initiateTransfer(any(TransferRequest.class)))
+                .thenReturn(transferResponse);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/transfers")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transferRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.message").value("Transfer accepted for processing"))
+                .andExpect(jsonPath("$.data.status").value("PENDING"));
+    }
+
     @Test
     
     @WithMockUser
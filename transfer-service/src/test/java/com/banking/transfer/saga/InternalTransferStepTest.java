@@ -0,0 +1,121 @@
+package com.banking.transfer.saga;
+
+import com.banking.transfer.client.AccountServiceClient;
+import com.banking.transfer.dto.ApiResponse;
+import com.banking.transfer.dto.InternalTransferRequest;
+import com.banking.transfer.dto.InternalTransferResponse;
+import com.banking.transfer.model.Transfer;
+import com.banking.transfer.model.TransferStatus;
+import com.banking.transfer.model.TransferType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InternalTransferStep Unit Tests")
+class InternalTransferStepTest {
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.POST,
+            "/api/v1/accounts/transfers/internal", Map.of(), null, StandardCharsets.UTF_8, null);
+
+    @Mock
+    private AccountServiceClient accountServiceClient;
+
+    private InternalTransferStep internalTransferStep;
+    private Transfer transfer;
+
+    @BeforeEach
+    void setUp() {
+        internalTransferStep = new InternalTransferStep(accountServiceClient, new ObjectMapper());
+
+        transfer = Transfer.builder()
+                .transferReference("TXF-123456789012")
+                .fromAccountNumber("ACC001")
+                .toAccountNumber("ACC002")
+                .amount(new BigDecimal("100.00"))
+                .currency("TRY")
+                .transferType(TransferType.INTERNAL)
+                .status(TransferStatus.PENDING)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should post both legs with the transfer reference and record the entry ids")
+    void shouldExecuteInternalTransfer() {
+        // Given
+        ArgumentCaptor<InternalTransferRequest> requestCaptor = ArgumentCaptor.forClass(InternalTransferRequest.class);
+        when(accountServiceClient.transferInternal(any(InternalTransferRequest.class)))
+                .thenReturn(ApiResponse.success(InternalTransferResponse.builder()
+                        .debitEntryId(11L)
+                        .creditEntryId(12L)
+                        .build(), "Internal transfer completed"));
+
+        // When
+        boolean result = internalTransferStep.execute(transfer);
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(transfer.getDebitTransactionId()).isEqualTo("11");
+        assertThat(transfer.getCreditTransactionId()).isEqualTo("12");
+
+        verify(accountServiceClient).transferInternal(requestCaptor.capture());
+        InternalTransferRequest request = requestCaptor.getValue();
+        assertThat(request.getReferenceId()).isEqualTo("TXF-123456789012");
+        assertThat(request.getFromAccountNumber()).isEqualTo("ACC001");
+        assertThat(request.getToAccountNumber()).isEqualTo("ACC002");
+        assertThat(request.getCurrency()).isEqualTo("TRY");
+    }
+
+    @Test
+    @DisplayName("Should fail with the account-service message when the transfer is rejected")
+    void shouldFailWhenRejected() {
+        // Given
+        byte[] body = "{\"success\":false,\"message\":\"Insufficient balance in account: ACC001\"}"
+                .getBytes(StandardCharsets.UTF_8);
+        when(accountServiceClient.transferInternal(any(InternalTransferRequest.class)))
+                .thenThrow(new FeignException.BadRequest("Bad Request", REQUEST, body, Map.of()));
+
+        // When
+        boolean result = internalTransferStep.execute(transfer);
+
+        // Then
+        assertThat(result).isFalse();
+        assertThat(transfer.getFailureReason())
+                .isEqualTo("Internal transfer rejected: Insufficient balance in account: ACC001");
+    }
+
+    @Test
+    @DisplayName("Should propagate server errors because the outcome is unknown")
+    void shouldPropagateServerErrors() {
+        // Given
+        when(accountServiceClient.transferInternal(any(InternalTransferRequest.class)))
+                .thenThrow(new FeignException.InternalServerError("Internal Server Error", REQUEST, null, Map.of()));
+
+        // When & Then
+        assertThatThrownBy(() -> internalTransferStep.execute(transfer))
+                .isInstanceOf(FeignException.InternalServerError.class);
+        assertThat(transfer.getFailureReason()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should have nothing to compensate")
+    void shouldCompensateAsNoOp() {
+        assertThat(internalTransferStep.compensate(transfer)).isTrue();
+        verifyNoInteractions(accountServiceClient);
+    }
+}
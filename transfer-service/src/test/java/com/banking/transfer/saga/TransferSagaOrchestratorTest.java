@@ -1,18 +1,32 @@
 package com.banking.transfer.saga;
 
 
+import com.banking.transfer.config.TransferSagaConfig;
+import com.banking.transfer.exception.SagaStepRejectedException;
+import com.banking.transfer.exception.SagaStepTimeoutException;
+import com.banking.transfer.model.SagaJournalEntry;
+import com.banking.transfer.model.SagaStepOutcome;
 import com.banking.transfer.model.Transfer;
 import com.banking.transfer.model.TransferStatus;
+import com.banking.transfer.model.TransferType;
 import com.banking.transfer.repository.TransferRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,10 +49,23 @@ class TransferSagaOrchestratorTest {
     @Mock
     private TransferRepository transferRepository;
 
+    @Spy
+    private SagaStepRunner stepRunner = new SagaStepRunner(new TransferSagaConfig());
+
+    @Mock
+    private SagaJournal journal;
+
+    @Mock
+    private InternalTransferStep internalTransferStep;
+
+    @Spy
+    private TransferSagaConfig sagaConfig = new TransferSagaConfig();
+
     @InjectMocks
     private TransferSagaOrchestrator sagaOrchestrator;
 
     private Transfer transfer;
+    private List<SagaJournalEntry> journaled;
 
     @BeforeEach
     void setUp() {
@@ -55,10 +82,23 @@ class TransferSagaOrchestratorTest {
         // Default: repository returns the transfer after save
         when(transferRepository.save(any(Transfer.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
+        // Journal keeps what was appended and runs the row update in the same "transaction"
+        journaled = new ArrayList<>();
+        lenient().doAnswer(invocation -> {
+            journaled.addAll(invocation.getArgument(0));
+            Runnable rowUpdate = invocation.getArgument(1);
+            if (rowUpdate != null) {
+                rowUpdate.run();
+            }
+            return null;
+        }).when(journal).append(anyList(), any());
+        lenient().when(journal.lastEntry(anyLong())).thenReturn(Optional.empty());
+
         // Default step names (lenient to avoid UnnecessaryStubbingException)
         lenient().when(validationStep.getStepName()).thenReturn("VALIDATION_STEP");
         lenient().when(debitStep.getStepName()).thenReturn("DEBIT_STEP");
         lenient().when(creditStep.getStepName()).thenReturn("CREDIT_STEP");
+        lenient().when(internalTransferStep.getStepName()).thenReturn("INTERNAL_TRANSFER_STEP");
     }
 
     // ==================== SUCCESSFUL SAGA EXECUTION ====================
@@ -79,16 +119,18 @@ class TransferSagaOrchestratorTest {
         assertThat(result.getInitiatedAt()).isNotNull();
         assertThat(result.getCompletedAt()).isNotNull();
 
-        verify(validationStep, times(1)).execute(transfer);
-        verify(debitStep, times(1)).execute(transfer);
-        verify(creditStep, times(1)).execute(transfer);
+        verify(validationStep, times(1)).execute(any(Transfer.class));
+        verify(debitStep, times(1)).execute(any(Transfer.class));
+        verify(creditStep, times(1)).execute(any(Transfer.class));
 
         verify(validationStep, never()).compensate(any());
         verify(debitStep, never()).compensate(any());
         verify(creditStep, never()).compensate(any());
 
-        verify(transferRepository, times(5)).save(transfer);
-        // 1: VALIDATING, 2: after validation, 3: DEBIT_PENDING, 4: DEBIT_COMPLETED + CREDIT_PENDING, 5: COMPLETED
+        verify(transferRepository, times(1)).save(transfer);
+        // Checkpoints before debit and credit, then the final batch with the row update
+        verify(journal, times(2)).append(anyList(), isNull());
+        verify(journal, times(1)).append(anyList(), notNull());
     }
 
     @Test
@@ -103,14 +145,21 @@ class TransferSagaOrchestratorTest {
         sagaOrchestrator.executeTransfer(transfer);
 
         // Then - Verify status progression
-        verify(transferRepository, atLeast(5)).save(argThat(t -> {
-            TransferStatus status = t.getStatus();
-            return status == TransferStatus.VALIDATING ||
-                   status == TransferStatus.DEBIT_PENDING ||
-                   status == TransferStatus.DEBIT_COMPLETED ||
-                   status == TransferStatus.CREDIT_PENDING ||
-                   status == TransferStatus.COMPLETED;
-        }));
+        assertThat(journaled).extracting(SagaJournalEntry::getStatus).containsExactly(
+                TransferStatus.VALIDATING,
+                TransferStatus.VALIDATING,
+                TransferStatus.DEBIT_PENDING,
+                TransferStatus.DEBIT_COMPLETED,
+                TransferStatus.CREDIT_PENDING,
+                TransferStatus.COMPLETED);
+        assertThat(journaled).extracting(SagaJournalEntry::getOutcome).containsExactly(
+                SagaStepOutcome.STARTED,
+                SagaStepOutcome.SUCCEEDED,
+                SagaStepOutcome.STARTED,
+                SagaStepOutcome.SUCCEEDED,
+                SagaStepOutcome.STARTED,
+                SagaStepOutcome.SUCCEEDED);
+        assertThat(journaled).allMatch(entry -> entry.getTransferId().equals(1L));
     }
 
     // ==================== VALIDATION STEP FAILURES ====================
@@ -132,7 +181,7 @@ class TransferSagaOrchestratorTest {
         assertThat(result.getStatus()).isEqualTo(TransferStatus.FAILED);
         assertThat(result.getFailureReason()).isEqualTo("Source account not found");
 
-        verify(validationStep, times(1)).execute(transfer);
+        verify(validationStep, times(1)).execute(any(Transfer.class));
         verify(debitStep, never()).execute(any());
         verify(creditStep, never()).execute(any());
         verify(validationStep, never()).compensate(any());
@@ -159,8 +208,8 @@ class TransferSagaOrchestratorTest {
         assertThat(result.getStatus()).isEqualTo(TransferStatus.COMPENSATED);
         assertThat(result.getFailureReason()).contains("Insufficient balance");
 
-        verify(validationStep, times(1)).execute(transfer);
-        verify(debitStep, times(1)).execute(transfer);
+        verify(validationStep, times(1)).execute(any(Transfer.class));
+        verify(debitStep, times(1)).execute(any(Transfer.class));
         verify(creditStep, never()).execute(any());
 
         // Compensation should occur in reverse order
@@ -186,7 +235,9 @@ class TransferSagaOrchestratorTest {
         // Then - Check that status transitions include COMPENSATING
         // Note: Transfer is mutated, so we check the final status
         assertThat(transfer.getStatus()).isIn(TransferStatus.COMPENSATING, TransferStatus.COMPENSATED, TransferStatus.FAILED);
-        verify(transferRepository, atLeast(2)).save(any(Transfer.class));
+        assertThat(journaled).anyMatch(entry -> entry.getStatus() == TransferStatus.COMPENSATING
+                && entry.getOutcome() == SagaStepOutcome.STARTED);
+        verify(transferRepository, times(1)).save(any(Transfer.class));
     }
 
     // ==================== CREDIT STEP FAILURES ====================
@@ -212,9 +263,9 @@ class TransferSagaOrchestratorTest {
         assertThat(result.getStatus()).isEqualTo(TransferStatus.COMPENSATED);
         assertThat(result.getFailureReason()).contains("Destination account not active");
 
-        verify(validationStep, times(1)).execute(transfer);
-        verify(debitStep, times(1)).execute(transfer);
-        verify(creditStep, times(1)).execute(transfer);
+        verify(validationStep, times(1)).execute(any(Transfer.class));
+        verify(debitStep, times(1)).execute(any(Transfer.class));
+        verify(creditStep, times(1)).execute(any(Transfer.class));
 
         // Compensation in reverse order
         verify(debitStep, times(1)).compensate(transfer);
@@ -480,8 +531,8 @@ class TransferSagaOrchestratorTest {
     }
 
     @Test
-    @DisplayName("Should persist transfer state at each step")
-    void shouldPersistTransferStateAtEachStep() {
+    @DisplayName("Should make the journal durable before debit and credit calls")
+    void shouldCheckpointJournalBeforeNonIdempotentSteps() {
         // Given
         when(validationStep.execute(any(Transfer.class))).thenReturn(true);
         when(debitStep.execute(any(Transfer.class))).thenReturn(true);
@@ -490,7 +541,389 @@ class TransferSagaOrchestratorTest {
         // When
         sagaOrchestrator.executeTransfer(transfer);
 
-        // Then - Verify save is called multiple times for status updates
-        verify(transferRepository, atLeast(5)).save(transfer);
+        // Then
+        InOrder inOrder = inOrder(journal, debitStep, creditStep, transferRepository);
+        inOrder.verify(journal).append(anyList(), isNull());
+        inOrder.verify(debitStep).execute(any(Transfer.class));
+        inOrder.verify(journal).append(anyList(), isNull());
+        inOrder.verify(creditStep).execute(any(Transfer.class));
+        inOrder.verify(transferRepository).save(transfer);
+    }
+
+    @Test
+    @DisplayName("Should write only the final row update when validation fails")
+    void shouldWriteRowOnce_WhenValidationFails() {
+        // Given
+        when(validationStep.execute(any(Transfer.class))).thenReturn(false);
+
+        // When
+        sagaOrchestrator.executeTransfer(transfer);
+
+        // Then
+        verify(journal, times(1)).append(anyList(), notNull());
+        verify(journal, never()).append(anyList(), isNull());
+        verify(transferRepository, times(1)).save(transfer);
+        assertThat(journaled).extracting(SagaJournalEntry::getOutcome)
+                .containsExactly(SagaStepOutcome.STARTED, SagaStepOutcome.FAILED);
+    }
+
+    // ==================== RESUME / TIMEOUT ====================
+
+    @Test
+    @DisplayName("Should resume a saga after the debit with only the credit step")
+    void shouldResumeFromDebitCompleted() {
+        // Given
+        transfer.setStatus(TransferStatus.DEBIT_COMPLETED);
+        transfer.setDebitTransactionId("DEBIT-1");
+        when(creditStep.execute(any(Transfer.class))).thenReturn(true);
+
+        // When
+        Transfer result = sagaOrchestrator.resumeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.COMPLETED);
+        verify(validationStep, never()).execute(any());
+        verify(debitStep, never()).execute(any());
+        verify(creditStep, times(1)).execute(any(Transfer.class));
+    }
+
+    @Test
+    @DisplayName("Should compensate the earlier debit when a resumed credit fails")
+    void shouldCompensateDebitWhenResumedCreditFails() {
+        // Given
+        transfer.setStatus(TransferStatus.DEBIT_COMPLETED);
+        transfer.setDebitTransactionId("DEBIT-1");
+        when(creditStep.execute(any(Transfer.class))).thenReturn(false);
+        when(debitStep.compensate(any(Transfer.class))).thenReturn(true);
+        when(validationStep.compensate(any(Transfer.class))).thenReturn(true);
+
+        // When
+        Transfer result = sagaOrchestrator.resumeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.COMPENSATED);
+        verify(debitStep, times(1)).compensate(transfer);
+    }
+
+    @Test
+    @DisplayName("Should fail for reconciliation instead of retrying a saga interrupted mid-debit")
+    void shouldRequireReconciliationWhenInterruptedMidDebit() {
+        // Given
+        transfer.setStatus(TransferStatus.DEBIT_PENDING);
+
+        // When
+        Transfer result = sagaOrchestrator.resumeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.FAILED);
+        assertThat(result.getFailureReason()).contains("manual intervention required");
+        verifyNoInteractions(validationStep, debitStep, creditStep);
+    }
+
+    @Test
+    @DisplayName("Should take the saga position from the journal when the row is behind")
+    void shouldRequireReconciliationWhenJournalShowsDebitInFlight() {
+        // Given - the row is still PENDING but the debit had started
+        when(journal.lastEntry(1L)).thenReturn(Optional.of(SagaJournalEntry.builder()
+                .transferId(1L)
+                .step("DEBIT_STEP")
+                .outcome(SagaStepOutcome.STARTED)
+                .status(TransferStatus.DEBIT_PENDING)
+                .build()));
+
+        // When
+        Transfer result = sagaOrchestrator.resumeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.FAILED);
+        assertThat(result.getFailureReason()).contains("DEBIT_PENDING");
+        verifyNoInteractions(validationStep, debitStep, creditStep);
+    }
+
+    @Test
+    @DisplayName("Should leave finished sagas untouched")
+    void shouldIgnoreFinishedSagaOnResume() {
+        // Given
+        transfer.setStatus(TransferStatus.COMPLETED);
+        reset(transferRepository);
+
+        // When
+        Transfer result = sagaOrchestrator.resumeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.COMPLETED);
+        verifyNoInteractions(transferRepository);
+    }
+
+    @Test
+    @DisplayName("Should not compensate when the debit step times out with an unknown outcome")
+    void shouldRequireReconciliationWhenDebitTimesOut() {
+        // Given
+        TransferSagaConfig config = new TransferSagaConfig();
+        config.setStepTimeoutMs(50);
+        SagaStepRunner runner = new SagaStepRunner(config);
+        TransferSagaOrchestrator orchestrator = new TransferSagaOrchestrator(
+                validationStep, debitStep, creditStep, transferRepository, runner, journal, internalTransferStep, config);
+        when(validationStep.execute(any(Transfer.class))).thenReturn(true);
+        when(debitStep.execute(any(Transfer.class))).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return true;
+        });
+
+        try {
+            // When
+            Transfer result = orchestrator.executeTransfer(transfer);
+
+            // Then
+            assertThat(result.getStatus()).isEqualTo(TransferStatus.FAILED);
+            assertThat(result.getFailureReason()).contains("DEBIT_STEP did not finish within 50 ms");
+            verify(debitStep, never()).compensate(any());
+            verify(creditStep, never()).execute(any());
+        } finally {
+            runner.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail cleanly when validation times out")
+    void shouldFailWhenValidationTimesOut() {
+        // Given
+        TransferSagaConfig config = new TransferSagaConfig();
+        config.getStepTimeoutsMs().put("VALIDATION_STEP", 50L);
+        SagaStepRunner runner = new SagaStepRunner(config);
+        TransferSagaOrchestrator orchestrator = new TransferSagaOrchestrator(
+                validationStep, debitStep, creditStep, transferRepository, runner, journal, internalTransferStep, config);
+        when(validationStep.execute(any(Transfer.class))).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return true;
+        });
+
+        try {
+            // When
+            Transfer result = orchestrator.executeTransfer(transfer);
+
+            // Then
+            assertThat(result.getStatus()).isEqualTo(TransferStatus.FAILED);
+            assertThat(result.getFailureReason()).startsWith("Validation error:");
+            verify(debitStep, never()).execute(any());
+        } finally {
+            runner.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should interrupt a timed-out step and keep its late changes off the transfer")
+    void shouldIsolateTimedOutStep() throws Exception {
+        // Given
+        TransferSagaConfig config = new TransferSagaConfig();
+        config.setStepTimeoutMs(50);
+        SagaStepRunner runner = new SagaStepRunner(config);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(debitStep.execute(any(Transfer.class))).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            invocation.<Transfer>getArgument(0).setDebitTransactionId("TXN-LATE");
+            finished.countDown();
+            return true;
+        });
+
+        try {
+            // When
+            assertThatThrownBy(() -> runner.run(debitStep, transfer))
+                    .isInstanceOf(SagaStepTimeoutException.class);
+
+            // Then
+            assertThat(finished.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(interrupted).isTrue();
+            assertThat(transfer.getDebitTransactionId()).isNull();
+        } finally {
+            runner.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not start a step when every step thread is busy")
+    void shouldRejectStepWhenNoThreadIsFree() throws Exception {
+        // Given - the only step thread is held by another saga's debit
+        TransferSagaConfig config = new TransferSagaConfig();
+        config.setStepThreads(1);
+        SagaStepRunner runner = new SagaStepRunner(config);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(debitStep.execute(any(Transfer.class))).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return true;
+        });
+        Thread busy = new Thread(() -> runner.run(debitStep, transfer.toBuilder().build()));
+        busy.start();
+
+        try {
+            assertThat(running.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // When / Then
+            assertThatThrownBy(() -> runner.run(creditStep, transfer))
+                    .isInstanceOf(SagaStepRejectedException.class)
+                    .hasMessageContaining("CREDIT_STEP was not started");
+            verify(creditStep, never()).execute(any());
+        } finally {
+            release.countDown();
+            busy.join(1000);
+            runner.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the saga for recovery after the debit when the credit cannot start")
+    void shouldDeferSagaWhenCreditNotStarted() {
+        // Given
+        when(validationStep.execute(any(Transfer.class))).thenReturn(true);
+        when(debitStep.execute(any(Transfer.class))).thenReturn(true);
+        doThrow(new SagaStepRejectedException("CREDIT_STEP was not started"))
+                .when(stepRunner).run(eq(creditStep), any(Transfer.class));
+
+        // When
+        Transfer result = sagaOrchestrator.executeTransfer(transfer);
+
+        // Then - recovery resumes from DEBIT_COMPLETED and runs only the credit
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.DEBIT_COMPLETED);
+        verify(debitStep, never()).compensate(any());
+        verify(transferRepository, never()).save(any());
+        SagaJournalEntry last = journaled.get(journaled.size() - 1);
+        assertThat(last.getOutcome()).isEqualTo(SagaStepOutcome.NOT_STARTED);
+        assertThat(last.getStatus()).isEqualTo(TransferStatus.DEBIT_COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should merge the step's results into the transfer when it returns in time")
+    void shouldMergeStepResults() {
+        // Given
+        when(debitStep.execute(any(Transfer.class))).thenAnswer(invocation -> {
+            invocation.<Transfer>getArgument(0).setDebitTransactionId("TXN-DEBIT");
+            return true;
+        });
+
+        // When
+        boolean succeeded = stepRunner.run(debitStep, transfer);
+
+        // Then
+        assertThat(succeeded).isTrue();
+        assertThat(transfer.getDebitTransactionId()).isEqualTo("TXN-DEBIT");
+        verify(debitStep).execute(argThat(executed -> executed != transfer));
+    }
+
+    // ==================== INTERNAL FAST PATH ====================
+
+    @Test
+    @DisplayName("Should complete internal transfers with one account-service call")
+    void shouldRouteInternalTransferToFastPath() {
+        // Given
+        transfer.setTransferType(TransferType.INTERNAL);
+        when(internalTransferStep.execute(any(Transfer.class))).thenReturn(true);
+
+        // When
+        Transfer result = sagaOrchestrator.executeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.COMPLETED);
+        assertThat(result.getCompletedAt()).isNotNull();
+        verifyNoInteractions(validationStep, debitStep, creditStep);
+        verify(transferRepository, times(1)).save(transfer);
+        // No checkpoint: the call is idempotent, so the only write is the final one
+        verify(journal, never()).append(anyList(), isNull());
+        assertThat(journaled).extracting(SagaJournalEntry::getOutcome)
+                .containsExactly(SagaStepOutcome.STARTED, SagaStepOutcome.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("Should fail an internal transfer rejected by account-service without compensation")
+    void shouldFailRejectedInternalTransfer() {
+        // Given
+        transfer.setTransferType(TransferType.INTERNAL);
+        when(internalTransferStep.execute(any(Transfer.class))).thenAnswer(invocation -> {
+            invocation.<Transfer>getArgument(0).setFailureReason("Internal transfer rejected: Insufficient balance");
+            return false;
+        });
+
+        // When
+        Transfer result = sagaOrchestrator.executeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.FAILED);
+        assertThat(result.getFailureReason()).contains("Insufficient balance");
+        verify(internalTransferStep, never()).compensate(any());
+        verify(transferRepository, times(1)).save(transfer);
+    }
+
+    @Test
+    @DisplayName("Should leave an internal transfer pending for retry when the outcome is unknown")
+    void shouldLeaveInternalTransferPendingWhenOutcomeUnknown() {
+        // Given
+        transfer.setTransferType(TransferType.INTERNAL);
+        when(internalTransferStep.execute(any(Transfer.class))).thenThrow(new RuntimeException("Read timed out"));
+
+        // When
+        Transfer result = sagaOrchestrator.executeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.PENDING);
+        verify(transferRepository, never()).save(any());
+        verify(journal, times(1)).append(anyList(), isNull());
+        assertThat(journaled).extracting(SagaJournalEntry::getOutcome)
+                .containsExactly(SagaStepOutcome.STARTED, SagaStepOutcome.FAILED);
+    }
+
+    @Test
+    @DisplayName("Should fail an internal transfer for reconciliation once its attempts are used up")
+    void shouldRequireReconciliationAfterMaxInternalAttempts() {
+        // Given - four earlier calls ended with an unknown outcome
+        transfer.setTransferType(TransferType.INTERNAL);
+        sagaConfig.setInternalMaxAttempts(5);
+        List<SagaJournalEntry> history = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            history.add(SagaJournalEntry.builder()
+                    .transferId(1L)
+                    .step("INTERNAL_TRANSFER_STEP")
+                    .outcome(i % 2 == 0 ? SagaStepOutcome.TIMED_OUT : SagaStepOutcome.FAILED)
+                    .status(TransferStatus.PENDING)
+                    .build());
+        }
+        when(journal.history(1L)).thenReturn(history);
+        when(internalTransferStep.execute(any(Transfer.class))).thenThrow(new RuntimeException("Read timed out"));
+
+        // When
+        Transfer result = sagaOrchestrator.resumeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.FAILED);
+        assertThat(result.getFailureReason())
+                .contains("outcome still unknown after 5 attempts")
+                .contains("manual intervention required");
+        verify(transferRepository, times(1)).save(transfer);
+        verify(journal, never()).append(anyList(), isNull());
+        assertThat(journaled).extracting(SagaJournalEntry::getOutcome)
+                .containsExactly(SagaStepOutcome.STARTED, SagaStepOutcome.FAILED, SagaStepOutcome.FAILED);
+    }
+
+    @Test
+    @DisplayName("Should run internal transfers through the full saga when the fast path is off")
+    void shouldUseSagaForInternalTransferWhenFastPathDisabled() {
+        // Given
+        transfer.setTransferType(TransferType.INTERNAL);
+        sagaConfig.setInternalFastPath(false);
+        when(validationStep.execute(any(Transfer.class))).thenReturn(true);
+        when(debitStep.execute(any(Transfer.class))).thenReturn(true);
+        when(creditStep.execute(any(Transfer.class))).thenReturn(true);
+
+        // When
+        Transfer result = sagaOrchestrator.executeTransfer(transfer);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransferStatus.COMPLETED);
+        verify(internalTransferStep, never()).execute(any());
     }
 }
@@ -0,0 +1,116 @@
+package com.banking.transfer.saga;
+
+import com.banking.transfer.config.TransferSagaConfig;
+import com.banking.transfer.model.Transfer;
+import com.banking.transfer.model.TransferStatus;
+import com.banking.transfer.repository.TransferRepository;
+import com.banking.transfer.service.KafkaEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferSagaWorker Unit Tests")
+class TransferSagaWorkerTest {
+
+    @Mock
+    private TransferRepository transferRepository;
+
+    @Mock
+    private TransferSagaOrchestrator sagaOrchestrator;
+
+    @Mock
+    private KafkaEventPublisher eventPublisher;
+
+    private TransferSagaWorker sagaWorker;
+    private Transfer transfer;
+
+    @BeforeEach
+    void setUp() {
+        sagaWorker = new TransferSagaWorker(transferRepository, sagaOrchestrator, eventPublisher,
+                new TransferSagaConfig(), new SimpleMeterRegistry());
+
+        transfer = Transfer.builder()
+                .id(1L)
+                .transferReference("TXF-123456789012")
+                .fromAccountNumber("ACC001")
+                .toAccountNumber("ACC002")
+                .amount(new BigDecimal("100.00"))
+                .currency("TRY")
+                .status(TransferStatus.PENDING)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sagaWorker.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run and publish the outcome of a claimed saga")
+    void shouldDriveClaimedSaga() {
+        // Given
+        when(transferRepository.claimSaga(eq(1L), eq(TransferSagaWorker.IN_FLIGHT), eq(sagaWorker.getOwnerId()),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        when(transferRepository.findById(1L)).thenReturn(Optional.of(transfer));
+        when(sagaOrchestrator.resumeTransfer(transfer)).thenAnswer(invocation -> {
+            transfer.setStatus(TransferStatus.COMPLETED);
+            return transfer;
+        });
+
+        // When
+        sagaWorker.drive(1L);
+
+        // Then
+        verify(sagaOrchestrator).resumeTransfer(transfer);
+        verify(eventPublisher).publishTransferCompleted(transfer);
+    }
+
+    @Test
+    @DisplayName("Should skip a saga another instance holds or that already finished")
+    void shouldSkipUnclaimableSaga() {
+        // Given
+        when(transferRepository.claimSaga(eq(1L), anyList(), anyString(),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+
+        // When
+        sagaWorker.drive(1L);
+
+        // Then
+        verify(transferRepository, never()).findById(anyLong());
+        verifyNoInteractions(sagaOrchestrator, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should resubmit orphaned sagas found by recovery")
+    void shouldResubmitOrphanedSagas() {
+        // Given
+        when(transferRepository.findOrphanedSagaIds(eq(TransferSagaWorker.IN_FLIGHT), any(LocalDateTime.class),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(transferRepository.claimSaga(anyLong(), anyList(), anyString(),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+
+        // When
+        sagaWorker.recoverOrphanedSagas();
+
+        // Then
+        verify(transferRepository, timeout(1000)).claimSaga(eq(1L), anyList(), anyString(),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(transferRepository, timeout(1000)).claimSaga(eq(2L), anyList(), anyString(),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+}
@@ -1,20 +1,28 @@
 package com.banking.transfer.saga;
 
 import com.banking.transfer.client.AccountServiceClient;
+import com.banking.transfer.config.AccountStatusCacheConfig;
+import com.banking.transfer.config.TransferSagaConfig;
 import com.banking.transfer.dto.AccountBalanceResponse;
 import com.banking.transfer.dto.ApiResponse;
+import com.banking.transfer.event.AccountEventConsumer;
 
 import com.banking.transfer.model.Transfer;
 import com.banking.transfer.model.TransferStatus;
+import com.banking.transfer.service.AccountStatusCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,8 +35,10 @@ class ValidationStepTest {
     @Mock
     private AccountServiceClient accountServiceClient;
 
-    @InjectMocks
     private ValidationStep validationStep;
+    private TransferSagaConfig sagaConfig;
+    private SimpleMeterRegistry meterRegistry;
+    private AccountStatusCache accountStatusCache;
 
     private Transfer transfer;
     private ApiResponse<AccountBalanceResponse> fromAccountResponse;
@@ -38,6 +48,13 @@ class ValidationStepTest {
 
     @BeforeEach
     void setUp() {
+        // Sequential lookups unless a test opts into the concurrent path
+        sagaConfig = new TransferSagaConfig();
+        sagaConfig.setConcurrentValidation(false);
+        meterRegistry = new SimpleMeterRegistry();
+        accountStatusCache = new AccountStatusCache(new AccountStatusCacheConfig(), meterRegistry);
+        validationStep = new ValidationStep(accountServiceClient, sagaConfig, meterRegistry, accountStatusCache);
+
         transfer = Transfer.builder()
                 .transferReference("TXF-123456789012")
                 .fromAccountNumber("ACC001")
@@ -74,6 +91,11 @@ class ValidationStepTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        validationStep.shutdown();
+    }
+
     // ==================== SUCCESSFUL VALIDATION ====================
 
     @Test
@@ -416,4 +438,160 @@ class ValidationStepTest {
         assertThat(result).isFalse();
         assertThat(transfer.getFailureReason()).contains("Source account not found");
     }
-}
\ No newline at end of file
+
+    // ==================== CONCURRENT LOOKUPS ====================
+
+    @Test
+    @DisplayName("Should look up both accounts at the same time in concurrent mode")
+    void shouldLookUpAccountsConcurrently() {
+        // Given
+        sagaConfig.setConcurrentValidation(true);
+        sagaConfig.setValidationDeadlineMs(2000);
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        when(accountServiceClient.getAccountByNumber("ACC001")).thenAnswer(invocation -> {
+            bothInFlight.countDown();
+            assertThat(bothInFlight.await(1, TimeUnit.SECONDS)).isTrue();
+            return fromAccountResponse;
+        });
+        when(accountServiceClient.getAccountByNumber("ACC002")).thenAnswer(invocation -> {
+            bothInFlight.countDown();
+            assertThat(bothInFlight.await(1, TimeUnit.SECONDS)).isTrue();
+            return toAccountResponse;
+        });
+
+        // When
+        boolean result = validationStep.execute(transfer);
+
+        // Then
+        assertThat(result).isTrue();
+        assertThat(meterRegistry.get("transfer.validation.latency")
+                .tag("mode", "concurrent").tag("outcome", "valid").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should apply the existing checks to concurrently fetched accounts")
+    void shouldApplyChecksInConcurrentMode() {
+        // Given
+        sagaConfig.setConcurrentValidation(true);
+        toAccount.setCurrency("EUR");
+        when(accountServiceClient.getAccountByNumber("ACC001")).thenReturn(fromAccountResponse);
+        when(accountServiceClient.getAccountByNumber("ACC002")).thenReturn(toAccountResponse);
+
+        // When
+        boolean result = validationStep.execute(transfer);
+
+        // Then
+        assertThat(result).isFalse();
+        assertThat(transfer.getFailureReason()).contains("Currency mismatch - Destination account");
+    }
+
+    @Test
+    @DisplayName("Should fail when the lookups miss the shared deadline")
+    void shouldFailWhenLookupsExceedDeadline() {
+        // Given
+        sagaConfig.setConcurrentValidation(true);
+        sagaConfig.setValidationDeadlineMs(50);
+        when(accountServiceClient.getAccountByNumber("ACC001")).thenReturn(fromAccountResponse);
+        when(accountServiceClient.getAccountByNumber("ACC002")).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return toAccountResponse;
+        });
+
+        // When
+        boolean result = validationStep.execute(transfer);
+
+        // Then
+        assertThat(result).isFalse();
+        assertThat(transfer.getFailureReason()).isEqualTo("Validation error: account lookup exceeded 50 ms");
+    }
+
+    @Test
+    @DisplayName("Should report lookup errors from the concurrent path")
+    void shouldReportLookupErrorInConcurrentMode() {
+        // Given
+        sagaConfig.setConcurrentValidation(true);
+        when(accountServiceClient.getAccountByNumber("ACC001"))
+                .thenThrow(new RuntimeException("Network error"));
+        lenient().when(accountServiceClient.getAccountByNumber("ACC002")).thenReturn(toAccountResponse);
+
+        // When
+        boolean result = validationStep.execute(transfer);
+
+        // Then
+        assertThat(result).isFalse();
+        assertThat(transfer.getFailureReason()).isEqualTo("Validation error: Network error");
+    }
+
+    // ==================== ACCOUNT STATUS CACHE ====================
+
+    @Test
+    @DisplayName("Should validate from the status cache without account lookups")
+    void shouldValidateFromCacheWithoutLookups() {
+        // Given
+        when(accountServiceClient.getAccountByNumber("ACC001")).thenReturn(fromAccountResponse);
+        when(accountServiceClient.getAccountByNumber("ACC002")).thenReturn(toAccountResponse);
+        validationStep.execute(transfer);
+
+        // When - a larger amount than the source balance; the debit is left to enforce it
+        Transfer next = Transfer.builder()
+                .transferReference("TXF-123456789013")
+                .fromAccountNumber("ACC001")
+                .toAccountNumber("ACC002")
+                .amount(new BigDecimal("1000.00"))
+                .currency("TRY")
+                .status(TransferStatus.VALIDATING)
+                .build();
+        boolean result = validationStep.execute(next);
+
+        // Then
+        assertThat(result).isTrue();
+        verify(accountServiceClient, times(1)).getAccountByNumber("ACC001");
+        verify(accountServiceClient, times(1)).getAccountByNumber("ACC002");
+        assertThat(meterRegistry.get("transfer.account.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should reject transfers as soon as the account frozen event arrives")
+    void shouldRejectTransferImmediatelyAfterAccountFrozen() {
+        // Given - both accounts cached by a first validation
+        when(accountServiceClient.getAccountByNumber("ACC001")).thenReturn(fromAccountResponse);
+        when(accountServiceClient.getAccountByNumber("ACC002")).thenReturn(toAccountResponse);
+        assertThat(validationStep.execute(transfer)).isTrue();
+
+        AccountEventConsumer consumer = new AccountEventConsumer(accountStatusCache, new ObjectMapper());
+        consumer.handleAccountStatusChanged("{\"accountNumber\":\"ACC001\",\"previousStatus\":\"ACTIVE\"," +
+                "\"newStatus\":\"FROZEN\",\"timestamp\":\"2026-01-15T10:00:00\"}");
+
+        // When
+        transfer.setFailureReason(null);
+        boolean result = validationStep.execute(transfer);
+
+        // Then
+        assertThat(result).isFalse();
+        assertThat(transfer.getFailureReason()).isEqualTo("Source account is not active");
+        verify(accountServiceClient, times(1)).getAccountByNumber("ACC001");
+    }
+
+    @Test
+    @DisplayName("Should accept transfers again once the account is reactivated")
+    void shouldAcceptTransferAfterAccountReactivated() {
+        // Given
+        when(accountServiceClient.getAccountByNumber("ACC001")).thenReturn(fromAccountResponse);
+        when(accountServiceClient.getAccountByNumber("ACC002")).thenReturn(toAccountResponse);
+        validationStep.execute(transfer);
+
+        AccountEventConsumer consumer = new AccountEventConsumer(accountStatusCache, new ObjectMapper());
+        consumer.handleAccountStatusChanged("{\"accountNumber\":\"ACC002\",\"newStatus\":\"FROZEN\"," +
+                "\"timestamp\":\"2026-01-15T10:00:00\"}");
+        consumer.handleAccountStatusChanged("{\"accountNumber\":\"ACC002\",\"newStatus\":\"ACTIVE\"," +
+                "\"timestamp\":\"2026-01-15T10:05:00\"}");
+
+        // When
+        boolean result = validationStep.execute(transfer);
+
+        // Then
+        assertThat(result).isTrue();
+        verify(accountServiceClient, times(1)).getAccountByNumber("ACC002");
+    }
+}
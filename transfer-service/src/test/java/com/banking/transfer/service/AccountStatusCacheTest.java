@@ -0,0 +1,95 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.config.AccountStatusCacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AccountStatusCache Unit Tests")
+class AccountStatusCacheTest {
+
+    private AccountStatusCacheConfig config;
+    private AccountStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        config = new AccountStatusCacheConfig();
+        cache = new AccountStatusCache(config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should keep an event applied while a lookup was in flight")
+    void shouldKeepEventAppliedDuringLookup() {
+        // Given - the lookup started before the freeze was applied
+        long lookupStartedAt = System.nanoTime();
+        cache.apply("ACC001", "FROZEN", null, LocalDateTime.now());
+
+        // When - the stale lookup result arrives afterwards
+        cache.load("ACC001", "ACTIVE", "TRY", lookupStartedAt);
+
+        // Then
+        AccountStatusCache.CachedStatus cached = cache.get("ACC001");
+        assertThat(cached).isNotNull();
+        assertThat(cached.status()).isEqualTo("FROZEN");
+        assertThat(cached.currency()).isEqualTo("TRY");
+    }
+
+    @Test
+    @DisplayName("Should ignore events older than the last one applied")
+    void shouldIgnoreOutOfOrderEvents() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        cache.apply("ACC001", "ACTIVE", "TRY", now);
+        cache.apply("ACC001", "FROZEN", null, now.plusSeconds(5));
+
+        // When
+        cache.apply("ACC001", "ACTIVE", null, now.plusSeconds(1));
+
+        // Then
+        assertThat(cache.get("ACC001").status()).isEqualTo("FROZEN");
+    }
+
+    @Test
+    @DisplayName("Should miss until the currency of an account is known")
+    void shouldMissWithoutCurrency() {
+        // Given - only a status event has been seen for the account
+        cache.apply("ACC001", "ACTIVE", null, LocalDateTime.now());
+
+        // Then
+        assertThat(cache.get("ACC001")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stop serving entries after the TTL")
+    void shouldExpireEntries() {
+        // Given
+        config.setTtlMs(0);
+        cache.load("ACC001", "ACTIVE", "TRY", System.nanoTime());
+
+        // Then
+        assertThat(cache.get("ACC001")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop least recently used entries beyond the maximum size")
+    void shouldBoundSize() {
+        // Given
+        config.setMaxSize(2);
+        cache.load("ACC001", "ACTIVE", "TRY", System.nanoTime());
+        cache.load("ACC002", "ACTIVE", "TRY", System.nanoTime());
+        cache.get("ACC001");
+
+        // When
+        cache.load("ACC003", "ACTIVE", "TRY", System.nanoTime());
+
+        // Then
+        assertThat(cache.get("ACC001")).isNotNull();
+        assertThat(cache.get("ACC002")).isNull();
+        assertThat(cache.get("ACC003")).isNotNull();
+    }
+}
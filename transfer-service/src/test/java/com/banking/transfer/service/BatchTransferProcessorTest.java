@@ -0,0 +1,379 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.client.AccountServiceClient;
+import com.banking.transfer.config.TransferBatchConfig;
+import com.banking.transfer.dto.AccountBalanceResponse;
+import com.banking.transfer.dto.ApiResponse;
+import com.banking.transfer.dto.TransactionRequest;
+import com.banking.transfer.dto.TransactionResponse;
+import com.banking.transfer.model.BatchItemStatus;
+import com.banking.transfer.model.BatchStatus;
+import com.banking.transfer.model.TransferBatch;
+import com.banking.transfer.model.TransferBatchItem;
+import com.banking.transfer.repository.TransferBatchItemRepository;
+import com.banking.transfer.repository.TransferBatchRepository;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchTransferProcessor Unit Tests")
+class BatchTransferProcessorTest {
+
+    private static final String SOURCE = "TR000000000001";
+    private static final String DEST_A = "TR000000000002";
+    private static final String DEST_B = "TR000000000003";
+
+    private static final Request REQUEST = Request.create(Request.HttpMethod.POST,
+            "/api/v1/accounts/credit", Map.of(), null, StandardCharsets.UTF_8, null);
+
+    @Mock
+    private TransferBatchRepository batchRepository;
+
+    @Mock
+    private TransferBatchItemRepository itemRepository;
+
+    @Mock
+    private BatchItemWriter itemWriter;
+
+    @Mock
+    private AccountServiceClient accountServiceClient;
+
+    @Mock
+    private KafkaEventPublisher eventPublisher;
+
+    private TransferBatchConfig batchConfig;
+    private BatchTransferProcessor processor;
+    private TransferBatch batch;
+
+    @BeforeEach
+    void setUp() {
+        batchConfig = new TransferBatchConfig();
+        batchConfig.setCreditConcurrency(4);
+        processor = new BatchTransferProcessor(batchRepository, itemRepository, itemWriter,
+                accountServiceClient, eventPublisher, batchConfig, new SimpleMeterRegistry());
+
+        batch = TransferBatch.builder()
+                .id(7L)
+                .batchReference("BAT-123456789012")
+                .status(BatchStatus.PROCESSING)
+                .totalItems(2)
+                .totalAmount(new BigDecimal("300.00"))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        processor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should debit the source once for the group and credit every item")
+    void shouldDebitOnceAndCreditEachItem() {
+        // Given
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"), item(2, DEST_B, "200.00"));
+        stubAccount(SOURCE, "1000.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        stubAccount(DEST_B, "0.00", "ACTIVE");
+        when(accountServiceClient.debitAccount(eq(SOURCE), any())).thenReturn(transaction("DEBIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_A), any())).thenReturn(transaction("CREDIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_B), any())).thenReturn(transaction("CREDIT-2"));
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        ArgumentCaptor<TransactionRequest> debit = ArgumentCaptor.forClass(TransactionRequest.class);
+        verify(accountServiceClient, times(1)).debitAccount(eq(SOURCE), debit.capture());
+        assertThat(debit.getValue().getAmount()).isEqualByComparingTo("300.00");
+        assertThat(debit.getValue().getReferenceId()).isEqualTo("BAT-123456789012-" + SOURCE);
+
+        assertThat(items).allMatch(item -> item.getStatus() == BatchItemStatus.COMPLETED);
+        assertThat(items).allMatch(item -> "DEBIT-1".equals(item.getDebitTransactionId()));
+        assertThat(items).extracting(TransferBatchItem::getCreditTransactionId)
+                .containsExactly("CREDIT-1", "CREDIT-2");
+        verify(eventPublisher, times(1)).publishBatchItemOutcomes(batch, SOURCE, items);
+    }
+
+    @Test
+    @DisplayName("Should refund the amounts of failed credits in one reversal")
+    void shouldRefundFailedCredits() {
+        // Given
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"), item(2, DEST_B, "200.00"));
+        stubAccount(SOURCE, "1000.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        stubAccount(DEST_B, "0.00", "ACTIVE");
+        when(accountServiceClient.debitAccount(eq(SOURCE), any())).thenReturn(transaction("DEBIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_A), any())).thenReturn(transaction("CREDIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_B), any())).thenReturn(ApiResponse.error("Account frozen"));
+        when(accountServiceClient.creditAccount(eq(SOURCE), any())).thenReturn(transaction("REVERSAL-1"));
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        ArgumentCaptor<TransactionRequest> refund = ArgumentCaptor.forClass(TransactionRequest.class);
+        verify(accountServiceClient).creditAccount(eq(SOURCE), refund.capture());
+        assertThat(refund.getValue().getAmount()).isEqualByComparingTo("200.00");
+        assertThat(refund.getValue().getReferenceId()).endsWith("-REVERSAL");
+
+        assertThat(items.get(0).getStatus()).isEqualTo(BatchItemStatus.COMPLETED);
+        assertThat(items.get(1).getStatus()).isEqualTo(BatchItemStatus.FAILED);
+        assertThat(items.get(1).getFailureReason()).contains("Account frozen").contains("Refunded");
+    }
+
+    @Test
+    @DisplayName("Should refund a credit rejected with a client error")
+    void shouldRefundCreditRejectedWithClientError() {
+        // Given
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"));
+        stubAccount(SOURCE, "1000.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        when(accountServiceClient.debitAccount(eq(SOURCE), any())).thenReturn(transaction("DEBIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_A), any()))
+                .thenThrow(new FeignException.BadRequest("Bad Request", REQUEST, null, Map.of()));
+        when(accountServiceClient.creditAccount(eq(SOURCE), any())).thenReturn(transaction("REVERSAL-1"));
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        verify(accountServiceClient).creditAccount(eq(SOURCE), any());
+        assertThat(items.get(0).getStatus()).isEqualTo(BatchItemStatus.FAILED);
+        assertThat(items.get(0).getFailureReason()).startsWith("Credit rejected").contains("Refunded");
+    }
+
+    @Test
+    @DisplayName("Should leave a credit with an unknown outcome for reconciliation without refunding it")
+    void shouldNotRefundCreditWithUnknownOutcome() {
+        // Given
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"), item(2, DEST_B, "200.00"));
+        stubAccount(SOURCE, "1000.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        stubAccount(DEST_B, "0.00", "ACTIVE");
+        when(accountServiceClient.debitAccount(eq(SOURCE), any())).thenReturn(transaction("DEBIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_A), any())).thenReturn(transaction("CREDIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_B), any()))
+                .thenThrow(new FeignException.GatewayTimeout("Gateway Timeout", REQUEST, null, Map.of()));
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        verify(accountServiceClient, never()).creditAccount(eq(SOURCE), any());
+        assertThat(items.get(0).getStatus()).isEqualTo(BatchItemStatus.COMPLETED);
+        assertThat(items.get(1).getStatus()).isEqualTo(BatchItemStatus.NEEDS_RECONCILIATION);
+        assertThat(items.get(1).getFailureReason()).contains("outcome unknown");
+    }
+
+    @Test
+    @DisplayName("Should mark the group for reconciliation when the debit outcome is unknown")
+    void shouldReconcileGroup_WhenDebitOutcomeUnknown() {
+        // Given
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"));
+        stubAccount(SOURCE, "1000.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        when(accountServiceClient.debitAccount(eq(SOURCE), any()))
+                .thenThrow(new FeignException.InternalServerError("Internal Server Error", REQUEST, null, Map.of()));
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        assertThat(items.get(0).getStatus()).isEqualTo(BatchItemStatus.NEEDS_RECONCILIATION);
+        verify(accountServiceClient, never()).creditAccount(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail the whole group without debiting when the balance does not cover it")
+    void shouldFailGroup_WhenBalanceInsufficient() {
+        // Given
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"), item(2, DEST_B, "200.00"));
+        stubAccount(SOURCE, "250.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        stubAccount(DEST_B, "0.00", "ACTIVE");
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        verify(accountServiceClient, never()).debitAccount(anyString(), any());
+        assertThat(items).allMatch(item -> item.getStatus() == BatchItemStatus.FAILED);
+        assertThat(items.get(0).getFailureReason()).startsWith("Insufficient balance");
+    }
+
+    @Test
+    @DisplayName("Should drop items with an unusable destination and debit only the rest")
+    void shouldDebitOnlyValidItems() {
+        // Given
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"), item(2, DEST_B, "200.00"));
+        stubAccount(SOURCE, "1000.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        stubAccount(DEST_B, "0.00", "CLOSED");
+        when(accountServiceClient.debitAccount(eq(SOURCE), any())).thenReturn(transaction("DEBIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_A), any())).thenReturn(transaction("CREDIT-1"));
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        ArgumentCaptor<TransactionRequest> debit = ArgumentCaptor.forClass(TransactionRequest.class);
+        verify(accountServiceClient).debitAccount(eq(SOURCE), debit.capture());
+        assertThat(debit.getValue().getAmount()).isEqualByComparingTo("100.00");
+        assertThat(items.get(0).getStatus()).isEqualTo(BatchItemStatus.COMPLETED);
+        assertThat(items.get(1).getStatus()).isEqualTo(BatchItemStatus.FAILED);
+        assertThat(items.get(1).getFailureReason()).isEqualTo("Destination account is not active");
+        verify(accountServiceClient, never()).creditAccount(eq(DEST_B), any());
+    }
+
+    @Test
+    @DisplayName("Should fail every item when the group debit fails")
+    void shouldFailItems_WhenDebitFails() {
+        // Given
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"));
+        stubAccount(SOURCE, "1000.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        when(accountServiceClient.debitAccount(eq(SOURCE), any())).thenReturn(ApiResponse.error("Account locked"));
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        assertThat(items.get(0).getStatus()).isEqualTo(BatchItemStatus.FAILED);
+        assertThat(items.get(0).getFailureReason()).isEqualTo("Debit failed: Account locked");
+        verify(accountServiceClient, never()).creditAccount(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should publish item outcomes in chunks")
+    void shouldPublishOutcomesInChunks() {
+        // Given
+        batchConfig.setEventChunkSize(1);
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"), item(2, DEST_B, "200.00"));
+        when(accountServiceClient.getAccountByNumber(SOURCE)).thenReturn(ApiResponse.error("Not found"));
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        assertThat(items).allMatch(item -> item.getStatus() == BatchItemStatus.FAILED);
+        verify(eventPublisher, times(2)).publishBatchItemOutcomes(eq(batch), eq(SOURCE), anyList());
+    }
+
+    @Test
+    @DisplayName("Should renew the lease while credits are running")
+    void shouldRenewLeaseDuringCredits() {
+        // Given - a zero lease makes every heartbeat renew
+        batchConfig.setLeaseSeconds(0);
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"), item(2, DEST_B, "200.00"));
+        stubAccount(SOURCE, "1000.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        stubAccount(DEST_B, "0.00", "ACTIVE");
+        when(batchRepository.renewLease(eq(7L), anyString(), any())).thenReturn(1);
+        when(accountServiceClient.debitAccount(eq(SOURCE), any())).thenReturn(transaction("DEBIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_A), any())).thenReturn(transaction("CREDIT-1"));
+        when(accountServiceClient.creditAccount(eq(DEST_B), any())).thenReturn(transaction("CREDIT-2"));
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then - before validation, before the debit and before each credit
+        verify(batchRepository, times(4)).renewLease(eq(7L), eq(processor.getOwnerId()), any());
+        assertThat(items).allMatch(item -> item.getStatus() == BatchItemStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should stop crediting once the lease cannot be renewed")
+    void shouldStopCrediting_WhenLeaseLost() {
+        // Given - renewals succeed up to the debit, then the batch is owned elsewhere
+        batchConfig.setLeaseSeconds(0);
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"));
+        stubAccount(SOURCE, "1000.00", "ACTIVE");
+        stubAccount(DEST_A, "0.00", "ACTIVE");
+        when(batchRepository.renewLease(eq(7L), anyString(), any())).thenReturn(1, 1, 0);
+        when(accountServiceClient.debitAccount(eq(SOURCE), any())).thenReturn(transaction("DEBIT-1"));
+        BatchTransferProcessor.RunLease lease = processor.newLease(7L);
+
+        // When
+        processor.processGroup(batch, SOURCE, items, lease);
+
+        // Then - the item is left DEBITED for reconciliation, never credited or refunded
+        assertThat(lease.isLost()).isTrue();
+        assertThat(items.get(0).getStatus()).isEqualTo(BatchItemStatus.DEBITED);
+        verify(accountServiceClient, never()).creditAccount(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should not touch a group when the lease is already lost")
+    void shouldSkipGroup_WhenLeaseLost() {
+        // Given
+        batchConfig.setLeaseSeconds(0);
+        List<TransferBatchItem> items = List.of(item(1, DEST_A, "100.00"));
+        when(batchRepository.renewLease(eq(7L), anyString(), any())).thenReturn(0);
+
+        // When
+        processor.processGroup(batch, SOURCE, items, processor.newLease(7L));
+
+        // Then
+        assertThat(items.get(0).getStatus()).isEqualTo(BatchItemStatus.PENDING);
+        verifyNoInteractions(accountServiceClient, itemWriter, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should skip batches claimed by another instance")
+    void shouldSkipBatch_WhenNotClaimed() {
+        // Given
+        when(batchRepository.claimBatch(eq(7L), anyList(), anyString(), any(), any())).thenReturn(0);
+
+        // When
+        processor.drive(7L);
+
+        // Then
+        verify(batchRepository, never()).findById(anyLong());
+        verifyNoInteractions(accountServiceClient, itemWriter);
+    }
+
+    private TransferBatchItem item(int lineNumber, String toAccountNumber, String amount) {
+        return TransferBatchItem.builder()
+                .id((long) lineNumber)
+                .batchId(7L)
+                .lineNumber(lineNumber)
+                .fromAccountNumber(SOURCE)
+                .toAccountNumber(toAccountNumber)
+                .amount(new BigDecimal(amount))
+                .currency("TRY")
+                .status(BatchItemStatus.PENDING)
+                .build();
+    }
+
+    private void stubAccount(String accountNumber, String balance, String status) {
+        when(accountServiceClient.getAccountByNumber(accountNumber)).thenReturn(ApiResponse.success(
+                AccountBalanceResponse.builder()
+                        .accountNumber(accountNumber)
+                        .balance(new BigDecimal(balance))
+                        .currency("TRY")
+                        .status(status)
+                        .build(), "OK"));
+    }
+
+    private static ApiResponse<TransactionResponse> transaction(String transactionId) {
+        return ApiResponse.success(TransactionResponse.builder().transactionId(transactionId).build(), "OK");
+    }
+}
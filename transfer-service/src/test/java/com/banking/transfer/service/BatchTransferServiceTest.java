@@ -0,0 +1,202 @@
+package com.banking.transfer.service;
+
+import com.banking.transfer.config.TransferBatchConfig;
+import com.banking.transfer.dto.BatchTransferItemRequest;
+import com.banking.transfer.dto.BatchTransferRequest;
+import com.banking.transfer.dto.BatchTransferResponse;
+import com.banking.transfer.exception.BatchNotFoundException;
+import com.banking.transfer.exception.InvalidTransferException;
+import com.banking.transfer.model.BatchItemStatus;
+import com.banking.transfer.model.BatchStatus;
+import com.banking.transfer.model.TransferBatch;
+import com.banking.transfer.model.TransferBatchItem;
+import com.banking.transfer.repository.TransferBatchItemRepository;
+import com.banking.transfer.repository.TransferBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchTransferService Unit Tests")
+class BatchTransferServiceTest {
+
+    @Mock
+    private TransferBatchRepository batchRepository;
+
+    @Mock
+    private TransferBatchItemRepository itemRepository;
+
+    @Mock
+    private BatchItemWriter itemWriter;
+
+    @Mock
+    private BatchTransferProcessor batchProcessor;
+
+    @Spy
+    private TransferBatchConfig batchConfig = new TransferBatchConfig();
+
+    @InjectMocks
+    private BatchTransferService batchTransferService;
+
+    private BatchTransferRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = BatchTransferRequest.builder()
+                .description("Payroll")
+                .idempotencyKey("payroll-2026-10")
+                .items(List.of(line("TR000000000002", "100.00"), line("TR000000000003", "250.50")))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should store the batch with numbered items and queue it")
+    void shouldCreateBatchAndQueueIt() {
+        // Given
+        when(batchRepository.findByIdempotencyKey("payroll-2026-10")).thenReturn(Optional.empty());
+        when(batchRepository.save(any(TransferBatch.class))).thenAnswer(invocation -> {
+            TransferBatch batch = invocation.getArgument(0);
+            batch.setId(7L);
+            return batch;
+        });
+        when(itemRepository.summarizeByStatus(7L)).thenReturn(List.of());
+
+        // When
+        BatchTransferResponse response = batchTransferService.createBatch(request);
+
+        // Then
+        assertThat(response.getBatchReference()).startsWith("BAT-");
+        assertThat(response.getStatus()).isEqualTo(BatchStatus.PENDING);
+        assertThat(response.getTotalItems()).isEqualTo(2);
+        assertThat(response.getPendingItems()).isEqualTo(2);
+        assertThat(response.getTotalAmount()).isEqualByComparingTo("350.50");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<TransferBatchItem>> items = ArgumentCaptor.forClass(Collection.class);
+        verify(itemWriter).insert(items.capture());
+        List<TransferBatchItem> inserted = new ArrayList<>(items.getValue());
+        assertThat(inserted).extracting(TransferBatchItem::getLineNumber).containsExactly(1, 2);
+        assertThat(inserted).allMatch(item -> item.getBatchId().equals(7L)
+                && item.getStatus() == BatchItemStatus.PENDING);
+        verify(batchProcessor).submitAfterCommit(7L);
+    }
+
+    @Test
+    @DisplayName("Should return the existing batch for a repeated idempotency key")
+    void shouldReturnExistingBatch_WhenDuplicateIdempotencyKey() {
+        // Given
+        TransferBatch existing = TransferBatch.builder()
+                .id(7L)
+                .batchReference("BAT-123456789012")
+                .status(BatchStatus.PROCESSING)
+                .totalItems(2)
+                .totalAmount(new BigDecimal("350.50"))
+                .build();
+        when(batchRepository.findByIdempotencyKey("payroll-2026-10")).thenReturn(Optional.of(existing));
+        when(itemRepository.summarizeByStatus(7L)).thenReturn(List.of());
+
+        // When
+        BatchTransferResponse response = batchTransferService.createBatch(request);
+
+        // Then
+        assertThat(response.getBatchReference()).isEqualTo("BAT-123456789012");
+        verify(batchRepository, never()).save(any());
+        verifyNoInteractions(itemWriter, batchProcessor);
+    }
+
+    @Test
+    @DisplayName("Should reject batches over the configured size")
+    void shouldRejectOversizedBatch() {
+        // Given
+        batchConfig.setMaxItems(1);
+        request.setIdempotencyKey(null);
+
+        // When / Then
+        assertThatThrownBy(() -> batchTransferService.createBatch(request))
+                .isInstanceOf(InvalidTransferException.class)
+                .hasMessageContaining("cannot exceed 1 items");
+        verifyNoInteractions(batchRepository, itemWriter, batchProcessor);
+    }
+
+    @Test
+    @DisplayName("Should report progress counted from item statuses")
+    void shouldReportProgress() {
+        // Given
+        TransferBatch batch = TransferBatch.builder()
+                .id(7L)
+                .batchReference("BAT-123456789012")
+                .status(BatchStatus.PROCESSING)
+                .totalItems(10)
+                .totalAmount(new BigDecimal("1000.00"))
+                .build();
+        when(batchRepository.findByBatchReference("BAT-123456789012")).thenReturn(Optional.of(batch));
+        when(itemRepository.summarizeByStatus(7L)).thenReturn(List.of(
+                total(BatchItemStatus.COMPLETED, 6, "600.00"),
+                total(BatchItemStatus.FAILED, 1, "100.00"),
+                total(BatchItemStatus.DEBITED, 3, "300.00")));
+
+        // When
+        BatchTransferResponse response = batchTransferService.getBatch("BAT-123456789012");
+
+        // Then
+        assertThat(response.getCompletedItems()).isEqualTo(6);
+        assertThat(response.getFailedItems()).isEqualTo(1);
+        assertThat(response.getPendingItems()).isEqualTo(3);
+        assertThat(response.getCompletedAmount()).isEqualByComparingTo("600.00");
+    }
+
+    @Test
+    @DisplayName("Should throw BatchNotFoundException for an unknown batch")
+    void shouldThrowBatchNotFound() {
+        // Given
+        when(batchRepository.findByBatchReference("BAT-UNKNOWN")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> batchTransferService.getBatch("BAT-UNKNOWN"))
+                .isInstanceOf(BatchNotFoundException.class);
+    }
+
+    private static BatchTransferItemRequest line(String toAccountNumber, String amount) {
+        return BatchTransferItemRequest.builder()
+                .fromAccountNumber("TR000000000001")
+                .toAccountNumber(toAccountNumber)
+                .amount(new BigDecimal(amount))
+                .currency("TRY")
+                .build();
+    }
+
+    private static TransferBatchItemRepository.StatusTotal total(BatchItemStatus status, long count, String amount) {
+        return new TransferBatchItemRepository.StatusTotal() {
+            @Override
+            public BatchItemStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.banking.transfer.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ScalableBloomFilter Unit Tests")
+class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an inserted key as absent")
+    void shouldNeverReportInsertedKeyAsAbsent() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+
+        for (int i = 0; i < 5_000; i++) {
+            filter.put("key-" + i);
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(filter.mightContain("key-" + i)).isTrue();
+        }
+        assertThat(filter.size()).isEqualTo(5_000);
+    }
+
+    @Test
+    @DisplayName("Should add segments when capacity is exceeded")
+    void shouldAddSegments_WhenCapacityExceeded() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+        assertThat(filter.segmentCount()).isEqualTo(1);
+        long initialBits = filter.bitSize();
+
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("key-" + i);
+        }
+
+        assertThat(filter.segmentCount()).isGreaterThan(1);
+        assertThat(filter.bitSize()).isGreaterThan(initialBits);
+    }
+
+    @Test
+    @DisplayName("Should keep false-positive rate near target after growing")
+    void shouldKeepFalsePositiveRateNearTarget() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(2_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("present-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing")
+    void shouldRejectInvalidSizing() {
+        assertThatThrownBy(() -> new ScalableBloomFilter(0, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ScalableBloomFilter(100, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,13 +1,16 @@
 package com.banking.transfer.service;
 
+import com.banking.transfer.config.TransferSagaConfig;
 import com.banking.transfer.dto.TransferRequest;
 import com.banking.transfer.dto.TransferResponse;
+import com.banking.transfer.exception.DuplicateTransferException;
 import com.banking.transfer.exception.TransferNotFoundException;
 import com.banking.transfer.model.Transfer;
 import com.banking.transfer.model.TransferStatus;
 import com.banking.transfer.model.TransferType;
 import com.banking.transfer.repository.TransferRepository;
 import com.banking.transfer.saga.TransferSagaOrchestrator;
+import com.banking.transfer.saga.TransferSagaWorker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,9 +18,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -50,6 +57,18 @@ class TransferServiceTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
+    @Mock
+    private TransferSagaWorker sagaWorker;
+
+    @Spy
+    private TransferSagaConfig sagaConfig = new TransferSagaConfig();
+
+    @Mock
+    private IdempotencyKeyFilter idempotencyKeyFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private TransferService transferService;
 
@@ -60,6 +79,13 @@ class TransferServiceTest {
     void setUp() {
         // Mock Redis operations (lenient to avoid UnnecessaryStubbingException)
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        // Filter answers "maybe" unless a test says otherwise, so the database is consulted
+        lenient().when(idempotencyKeyFilter.mightContain(anyString())).thenReturn(true);
+
+        // Most tests exercise the synchronous saga path
+        sagaConfig.setAsyncEnabled(false);
 
         // Setup test data
         transferRequest = TransferRequest.builder()
@@ -125,6 +151,26 @@ class TransferServiceTest {
         verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
     }
 
+    @Test
+    @DisplayName("Should accept transfer and hand the saga to the worker in async mode")
+    void shouldAcceptTransferAndSubmitSaga_WhenAsyncEnabled() {
+        // Given
+        sagaConfig.setAsyncEnabled(true);
+        transferRequest.setIdempotencyKey(null);
+        transfer.setIdempotencyKey(null);
+        when(transferRepository.save(any(Transfer.class))).thenReturn(transfer);
+
+        // When
+        TransferResponse response = transferService.initiateTransfer(transferRequest);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(TransferStatus.PENDING);
+        verify(eventPublisher).publishTransferInitiated(transfer);
+        verify(sagaWorker).submitAfterCommit(1L);
+        verify(sagaOrchestrator, never()).executeTransfer(any(Transfer.class));
+        verify(eventPublisher, never()).publishTransferCompleted(any(Transfer.class));
+    }
+
     @Test
     @DisplayName("Should initiate transfer successfully with idempotency key")
     void shouldInitiateTransferSuccessfully_WithIdempotencyKey() {
@@ -203,6 +249,79 @@ class TransferServiceTest {
         verify(sagaOrchestrator, never()).executeTransfer(any(Transfer.class));
     }
 
+    @Test
+    @DisplayName("Should skip database lookup when idempotency filter has never seen the key")
+    void shouldSkipDatabaseLookup_WhenIdempotencyFilterReportsAbsent() {
+        // Given
+        when(valueOperations.get("transfer:idempotency:test-idempotency-key")).thenReturn(null);
+        when(idempotencyKeyFilter.mightContain("test-idempotency-key")).thenReturn(false);
+        when(transferRepository.save(any(Transfer.class))).thenReturn(transfer);
+        when(sagaOrchestrator.executeTransfer(any(Transfer.class))).thenReturn(transfer);
+
+        // When
+        transferService.initiateTransfer(transferRequest);
+
+        // Then
+        verify(transferRepository, never()).findByIdempotencyKey(anyString());
+        verify(idempotencyKeyFilter).put("test-idempotency-key");
+        verify(idempotencyKeyFilter, never()).recordFalsePositive();
+    }
+
+    @Test
+    @DisplayName("Should record false positive when filter says maybe but database has no transfer")
+    void shouldRecordFalsePositive_WhenDatabaseMissesAfterFilterMaybe() {
+        // Given
+        when(valueOperations.get("transfer:idempotency:test-idempotency-key")).thenReturn(null);
+        when(transferRepository.findByIdempotencyKey("test-idempotency-key")).thenReturn(Optional.empty());
+        when(transferRepository.save(any(Transfer.class))).thenReturn(transfer);
+        when(sagaOrchestrator.executeTransfer(any(Transfer.class))).thenReturn(transfer);
+
+        // When
+        transferService.initiateTransfer(transferRequest);
+
+        // Then
+        verify(idempotencyKeyFilter).recordFalsePositive();
+    }
+
+    @Test
+    @DisplayName("Should return the stored transfer when the insert hits the idempotency key constraint")
+    void shouldReturnExistingTransfer_WhenUniqueConstraintViolated() {
+        // Given - the key is older than the filter window and the Redis entry
+        when(valueOperations.get("transfer:idempotency:test-idempotency-key")).thenReturn(null);
+        when(idempotencyKeyFilter.mightContain("test-idempotency-key")).thenReturn(false);
+        when(transferRepository.save(any(Transfer.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(transferRepository.findByIdempotencyKey("test-idempotency-key")).thenReturn(Optional.of(transfer));
+
+        // When
+        TransferResponse response = transferService.initiateTransfer(transferRequest);
+
+        // Then - the aborted transaction is rolled back and the transfer is read in a new one
+        assertThat(response.getTransferReference()).isEqualTo("TXF-123456789012");
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(sagaOrchestrator, never()).executeTransfer(any(Transfer.class));
+        verify(idempotencyKeyFilter, never()).put(anyString());
+    }
+
+    @Test
+    @DisplayName("Should throw DuplicateTransferException when the conflicting transfer cannot be read")
+    void shouldThrowDuplicateTransferException_WhenUniqueConstraintViolated() {
+        // Given
+        when(valueOperations.get("transfer:idempotency:test-idempotency-key")).thenReturn(null);
+        when(idempotencyKeyFilter.mightContain("test-idempotency-key")).thenReturn(false);
+        when(transferRepository.save(any(Transfer.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(transferRepository.findByIdempotencyKey("test-idempotency-key")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> transferService.initiateTransfer(transferRequest))
+                .isInstanceOf(DuplicateTransferException.class);
+
+        verify(sagaOrchestrator, never()).executeTransfer(any(Transfer.class));
+        verify(idempotencyKeyFilter, never()).put(anyString());
+    }
+
     @Test
     @DisplayName("Should publish TransferFailed event when SAGA fails")
     void shouldPublishTransferFailedEvent_WhenSagaFails() {